@@ -86,6 +86,21 @@ public record Aresta(String label, Vertice origem, Vertice destino, double peso)
 		return comLabel(funcaoLabel.apply(label));
 	}
 
+	/**
+	 * Retorna a extremidade da aresta oposta ao vértice informado.
+	 * <br>
+	 * Exemplo: para A -> B, o oposto de A é B e o oposto de B é A. Para um laço,
+	 * o oposto é o próprio vértice.
+	 *
+	 * @param vertice uma das extremidades da aresta
+	 * @return a outra extremidade da aresta
+	 */
+	public Vertice oposto(Vertice vertice) {
+		checkNotNull(vertice, "Vértice não pode ser nulo");
+		checkArgument(vertice.equals(origem) || vertice.equals(destino), "Vértice não é extremidade da aresta");
+		return vertice.equals(origem) ? destino : origem;
+	}
+
 	public boolean ehLaco() {
 		return origem.equals(destino);
 	}
@@ -0,0 +1,184 @@
+package grafo;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import grafo.digrafo.Digrafo;
+
+/**
+ * {@link GrafoCongelado} guardado em arrays primitivos na memória.
+ * <br>
+ * Quando é a transposta de outro grafo congelado, só as adjacências são
+ * próprias: os vértices e as arestas são consultados no original, que pode
+ * estar em qualquer formato.
+ */
+final class CsrEmMemoria extends GrafoCongelado {
+	private final boolean orientado;
+	private final Vertice[] vertices;
+	private final Map<Vertice, Integer> ids;
+	private final Aresta[] arestas;
+	private final GrafoCongelado original;
+	private final int[] inicios;
+	private final int[] destinos;
+	private final double[] pesos;
+	private final int[] idsArestas;
+
+	CsrEmMemoria(Grafo grafo) {
+		this.orientado = grafo instanceof Digrafo;
+		// As arestas são copiadas antes dos vértices, e os extremos que faltarem na
+		// cópia dos vértices entram nela. Assim um grafo concorrente alterado entre
+		// as duas cópias resulta em um estado antigo, mas nunca em uma aresta cujo
+		// extremo não tem id
+		this.arestas = grafo.getArestas().toArray(Aresta[]::new);
+		List<Vertice> copiados = new ArrayList<>(grafo.getVertices());
+		this.original = null;
+		this.ids = new HashMap<>(copiados.size() * 2);
+		for (int id = 0; id < copiados.size(); id++) {
+			ids.put(copiados.get(id), id);
+		}
+		for (Aresta aresta : arestas) {
+			if (ids.putIfAbsent(aresta.origem(), ids.size()) == null) {
+				copiados.add(aresta.origem());
+			}
+			if (ids.putIfAbsent(aresta.destino(), ids.size()) == null) {
+				copiados.add(aresta.destino());
+			}
+		}
+		this.vertices = copiados.toArray(Vertice[]::new);
+
+		int[] origensArestas = new int[arestas.length];
+		int[] destinosArestas = new int[arestas.length];
+		this.inicios = new int[vertices.length + 1];
+		for (int a = 0; a < arestas.length; a++) {
+			origensArestas[a] = ids.get(arestas[a].origem());
+			destinosArestas[a] = ids.get(arestas[a].destino());
+			inicios[origensArestas[a] + 1]++;
+			if (!orientado && origensArestas[a] != destinosArestas[a]) {
+				inicios[destinosArestas[a] + 1]++;
+			}
+		}
+		for (int id = 0; id < vertices.length; id++) {
+			inicios[id + 1] += inicios[id];
+		}
+
+		int posicoes = inicios[vertices.length];
+		this.destinos = new int[posicoes];
+		this.pesos = new double[posicoes];
+		this.idsArestas = new int[posicoes];
+		int[] proximas = inicios.clone();
+		for (int a = 0; a < arestas.length; a++) {
+			preencher(proximas[origensArestas[a]]++, destinosArestas[a], a);
+			if (!orientado && origensArestas[a] != destinosArestas[a]) {
+				preencher(proximas[destinosArestas[a]]++, origensArestas[a], a);
+			}
+		}
+	}
+
+	/**
+	 * Monta a transposta do grafo orientado informado.
+	 */
+	CsrEmMemoria(GrafoCongelado original) {
+		int quantidade = original.getQuantidadeDeVertices();
+		this.orientado = true;
+		this.vertices = null;
+		this.ids = null;
+		this.arestas = null;
+		this.original = original;
+
+		this.inicios = new int[quantidade + 1];
+		int posicoes = quantidade == 0 ? 0 : original.fim(quantidade - 1);
+		for (int posicao = 0; posicao < posicoes; posicao++) {
+			inicios[original.destino(posicao) + 1]++;
+		}
+		for (int id = 0; id < quantidade; id++) {
+			inicios[id + 1] += inicios[id];
+		}
+
+		this.destinos = new int[posicoes];
+		this.pesos = new double[posicoes];
+		this.idsArestas = new int[posicoes];
+		int[] proximas = inicios.clone();
+		for (int id = 0; id < quantidade; id++) {
+			for (int posicao = original.inicio(id); posicao < original.fim(id); posicao++) {
+				int nova = proximas[original.destino(posicao)]++;
+				destinos[nova] = id;
+				pesos[nova] = original.peso(posicao);
+				idsArestas[nova] = original.idAresta(posicao);
+			}
+		}
+	}
+
+	private void preencher(int posicao, int destino, int aresta) {
+		destinos[posicao] = destino;
+		pesos[posicao] = arestas[aresta].peso();
+		idsArestas[posicao] = aresta;
+	}
+
+	@Override
+	public boolean ehOrientado() {
+		return orientado;
+	}
+
+	@Override
+	public int getQuantidadeDeVertices() {
+		return inicios.length - 1;
+	}
+
+	@Override
+	public int getQuantidadeDeArestas() {
+		return original == null ? arestas.length : original.getQuantidadeDeArestas();
+	}
+
+	@Override
+	public int id(Vertice vertice) {
+		if (original != null) {
+			return original.id(vertice);
+		}
+		checkNotNull(vertice, Grafo.MSG_VERTICE_NULO);
+		return ids.getOrDefault(vertice, -1);
+	}
+
+	@Override
+	public Vertice vertice(int id) {
+		return original == null ? vertices[id] : original.vertice(id);
+	}
+
+	@Override
+	public Aresta aresta(int idAresta) {
+		return original == null ? arestas[idAresta] : original.aresta(idAresta);
+	}
+
+	@Override
+	public int inicio(int id) {
+		return inicios[id];
+	}
+
+	@Override
+	public int fim(int id) {
+		return inicios[id + 1];
+	}
+
+	@Override
+	public int grauDeSaida(int id) {
+		return inicios[id + 1] - inicios[id];
+	}
+
+	@Override
+	public int destino(int posicao) {
+		return destinos[posicao];
+	}
+
+	@Override
+	public double peso(int posicao) {
+		return pesos[posicao];
+	}
+
+	@Override
+	public int idAresta(int posicao) {
+		return idsArestas[posicao];
+	}
+}
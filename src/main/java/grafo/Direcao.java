@@ -0,0 +1,22 @@
+package grafo;
+
+/**
+ * Sentido em que as arestas incidentes a um vértice são consideradas.
+ * <br>
+ * Em grafos não orientados as três direções são equivalentes: toda aresta
+ * incidente ao vértice é considerada.
+ */
+public enum Direcao {
+	/**
+	 * Arestas que partem do vértice (vertice -> vizinho).
+	 */
+	SAIDA,
+	/**
+	 * Arestas que chegam ao vértice (vizinho -> vertice).
+	 */
+	ENTRADA,
+	/**
+	 * Arestas em qualquer sentido. Laços são considerados uma única vez.
+	 */
+	AMBAS
+}
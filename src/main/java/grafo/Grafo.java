@@ -3,14 +3,18 @@ package grafo;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 import grafo.digrafo.Digrafo;
@@ -21,6 +25,57 @@ public abstract class Grafo {
 	protected static final String MSG_VERTICE_NAO_EXISTE = "Vértice não existe no grafo";
 	protected static final String MSG_ARESTA_NULA = "Aresta não pode ser nula";
 	protected static final String MSG_ARESTA_EXISTE = "Aresta já existe no grafo com o label informado";
+	protected static final String MSG_DIRECAO_NULA = "Direção não pode ser nula";
+	protected static final String MSG_ID_INVALIDO = "Nenhum vértice do grafo tem o id informado";
+
+	private final IndiceDeVertices indiceDeVertices;
+
+	/**
+	 * Como o índice de ids dos vértices é guardado.
+	 */
+	protected enum Indexacao {
+		/** Alterado e consultado por uma thread por vez. */
+		SIMPLES,
+		/**
+		 * Aceita vértices inseridos e removidos por várias threads ao mesmo tempo,
+		 * enquanto outras consultam ids.
+		 */
+		CONCORRENTE,
+		/**
+		 * Guardado em estruturas persistentes, para que instantâneos do grafo
+		 * compartilhem o índice em vez de copiá-lo.
+		 */
+		VERSIONADA
+	}
+
+	protected Grafo() {
+		this(Indexacao.SIMPLES);
+	}
+
+	protected Grafo(Indexacao indexacao) {
+		checkNotNull(indexacao, "Indexação não pode ser nula");
+		this.indiceDeVertices = switch (indexacao) {
+			case SIMPLES -> IndiceDeVertices.simples();
+			case CONCORRENTE -> IndiceDeVertices.concorrente();
+			case VERSIONADA -> IndiceDeVertices.versionado();
+		};
+	}
+
+	/**
+	 * Cria o instantâneo de um grafo com indexação
+	 * {@link Indexacao#VERSIONADA}, que consulta os ids atuais do original em
+	 * O(1) e não vê as alterações seguintes dele.
+	 *
+	 * @param original
+	 * @throws IllegalArgumentException se o original não tiver indexação
+	 *                                  {@link Indexacao#VERSIONADA}
+	 */
+	protected Grafo(Grafo original) {
+		checkNotNull(original, "Grafo não pode ser nulo");
+		checkArgument(original.indiceDeVertices instanceof IndiceDeVertices.Versionado,
+				"Só grafos com indexação versionada têm instantâneos");
+		this.indiceDeVertices = ((IndiceDeVertices.Versionado) original.indiceDeVertices).instantaneo();
+	}
 
 	public abstract void addAresta(Aresta aresta);
 
@@ -30,6 +85,101 @@ public abstract class Grafo {
 		}
 	}
 
+	/**
+	 * Adiciona um lote de vértices e arestas de uma vez, para cargas grandes.
+	 * <br>
+	 * A capacidade das estruturas é reservada para o lote inteiro antes das
+	 * inserções e cada vértice é inserido uma única vez: as arestas não passam de
+	 * novo por {@link #addVertice(Vertice)}, só têm o rótulo verificado. Por isso
+	 * os extremos de cada aresta devem estar entre os vértices do lote ou já
+	 * existir no grafo.
+	 * <br>
+	 * O lote inteiro é validado antes da primeira inserção, então um lote
+	 * inválido não altera o grafo.
+	 *
+	 * @param vertices
+	 * @param arestas
+	 * @throws IllegalArgumentException se um rótulo se repetir no lote ou já
+	 *                                  existir no grafo, ou se um extremo não
+	 *                                  existir
+	 * @see #reservarCapacidade(int, int)
+	 */
+	public final void addEmLote(Collection<Vertice> vertices, Collection<Aresta> arestas) {
+		checkNotNull(vertices, "Vértices não podem ser nulos");
+		checkNotNull(arestas, "Arestas não podem ser nulas");
+
+		Set<Vertice> novos = vertices instanceof Set<Vertice> conjunto ? conjunto : new HashSet<>(vertices);
+		Set<String> rotulos = HashSet.newHashSet(arestas.size());
+		for (Vertice vertice : novos) {
+			checkNotNull(vertice, MSG_VERTICE_NULO);
+		}
+		for (Aresta aresta : arestas) {
+			checkNotNull(aresta, MSG_ARESTA_NULA);
+			checkArgument(rotulos.add(aresta.label()) && !existeAresta(aresta.label()), MSG_ARESTA_EXISTE);
+			checkArgument(novos.contains(aresta.origem()) || existeVertice(aresta.origem()), MSG_VERTICE_NAO_EXISTE);
+			checkArgument(novos.contains(aresta.destino()) || existeVertice(aresta.destino()), MSG_VERTICE_NAO_EXISTE);
+		}
+
+		reservarCapacidade(vertices.size(), arestas.size());
+		for (Vertice vertice : vertices) {
+			addVertice(vertice);
+		}
+		for (Aresta aresta : arestas) {
+			inserirAresta(aresta);
+		}
+	}
+
+	/**
+	 * Insere a aresta nas estruturas da representação, sem validá-la. Só é
+	 * chamado quando os dois extremos já existem no grafo e nenhuma aresta tem o
+	 * mesmo rótulo.
+	 *
+	 * @param aresta
+	 */
+	protected abstract void inserirAresta(Aresta aresta);
+
+	/**
+	 * Reserva espaço para mais vértices e arestas, dimensionando de uma vez o
+	 * índice de ids e as estruturas da representação em vez de deixá-los crescer
+	 * aos poucos a cada inserção. Não altera o conteúdo do grafo.
+	 *
+	 * @param verticesAdicionais quantos vértices ainda serão inseridos
+	 * @param arestasAdicionais  quantas arestas ainda serão inseridas
+	 */
+	public final void reservarCapacidade(int verticesAdicionais, int arestasAdicionais) {
+		checkArgument(verticesAdicionais >= 0 && arestasAdicionais >= 0, "Capacidade adicional não pode ser negativa");
+		indiceDeVertices.reservar(verticesAdicionais);
+		reservar(verticesAdicionais, arestasAdicionais);
+	}
+
+	/**
+	 * Dimensiona as estruturas da representação para receber mais vértices e
+	 * arestas. O índice de ids já foi dimensionado, então {@link #limiteDeIds()}
+	 * mais os vértices adicionais limita os ids que ainda serão atribuídos.
+	 *
+	 * @param verticesAdicionais
+	 * @param arestasAdicionais
+	 */
+	protected abstract void reservar(int verticesAdicionais, int arestasAdicionais);
+
+	/**
+	 * Retorna um mapa com os mesmos pares e espaço para mais elementos sem
+	 * precisar crescer, para as representações usarem em
+	 * {@link #reservar(int, int)}.
+	 *
+	 * @param mapa
+	 * @param adicionais
+	 * @return o próprio mapa, se não houver adicionais, ou um novo mapa
+	 */
+	protected static <K, V> Map<K, V> comCapacidade(Map<K, V> mapa, int adicionais) {
+		if (adicionais == 0) {
+			return mapa;
+		}
+		Map<K, V> novo = HashMap.newHashMap((int) Math.min(Integer.MAX_VALUE - 8, (long) mapa.size() + adicionais));
+		novo.putAll(mapa);
+		return novo;
+	}
+
 	public abstract void removeAresta(String label);
 
 	public final void removeArestas(String... labels) {
@@ -61,20 +211,13 @@ public abstract class Grafo {
 	/**
 	 * Tenta encontrar uma aresta pelo seu label (rótulo).
 	 * <br>
-	 * Obs.: O label é o identificador único da aresta.
+	 * Obs.: O label é o identificador único da aresta. Cada representação mantém
+	 * um índice de arestas por label, então a busca é feita em tempo constante.
 	 *
 	 * @param label o rótulo da aresta
 	 * @return a aresta com o label informado ou null se não existir
 	 */
-	public final Aresta encontrarAresta(String label) {
-		checkNotNull(label, MSG_ARESTA_NULA);
-
-		return getArestas()
-				.stream()
-				.filter(aresta -> aresta.label().equals(label))
-				.findFirst()
-				.orElse(null);
-	}
+	public abstract Aresta encontrarAresta(String label);
 
 	/**
 	 * Tenta encontrar uma aresta entre dois vértices.
@@ -101,11 +244,7 @@ public abstract class Grafo {
 	public abstract Set<Aresta> encontrarArestas(Vertice origem, Vertice destino);
 
 	public Set<Aresta> encontrarArestas(Vertice origem) {
-		return getVertices()
-				.stream()
-				.map(destino -> encontrarArestas(origem, destino))
-				.flatMap(Set::stream)
-				.collect(Collectors.toSet());
+		return Sets.newHashSet(getArestasIncidentes(origem, Direcao.SAIDA));
 	}
 
 	@CanIgnoreReturnValue
@@ -168,6 +307,16 @@ public abstract class Grafo {
 	 */
 	public final boolean existeVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
+		return contemVertice(vertice);
+	}
+
+	/**
+	 * Responde {@link #existeVertice(Vertice)}. As representações em que
+	 * {@link #getVertices()} tem custo além da consulta podem responder direto.
+	 *
+	 * @param vertice o vértice, não nulo
+	 */
+	protected boolean contemVertice(Vertice vertice) {
 		return getVertices().contains(vertice);
 	}
 
@@ -196,13 +345,7 @@ public abstract class Grafo {
 	 * @return lista de vértices vizinhos do vértice informado
 	 */
 	public final Set<Vertice> getAdjacentes(Vertice vertice) {
-		checkNotNull(vertice, MSG_VERTICE_NULO);
-		checkArgument(existeVertice(vertice), MSG_VERTICE_NAO_EXISTE);
-
-		return getVertices()
-				.stream()
-				.filter(v -> existeAresta(vertice, v))
-				.collect(Collectors.toSet());
+		return Sets.newHashSet(getVizinhos(vertice, Direcao.SAIDA));
 	}
 
 	/**
@@ -216,15 +359,137 @@ public abstract class Grafo {
 	 * @return conjunto de vértices conectados ao vértice informado
 	 */
 	public final Set<Vertice> getConectados(Vertice vertice) {
+		return Sets.newHashSet(getVizinhos(vertice, Direcao.AMBAS));
+	}
+
+	/**
+	 * Retorna as arestas incidentes ao vértice na direção informada, lidas
+	 * diretamente da estrutura da representação.
+	 * <br>
+	 * O resultado é uma visão somente leitura: não deve ser percorrido enquanto o
+	 * grafo é modificado.
+	 *
+	 * @param vertice
+	 * @param direcao quais arestas considerar em um grafo orientado
+	 * @return as arestas incidentes ao vértice
+	 * @see Direcao
+	 */
+	public final Iterable<Aresta> getArestasIncidentes(Vertice vertice, Direcao direcao) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
+		checkNotNull(direcao, MSG_DIRECAO_NULA);
 		checkArgument(existeVertice(vertice), MSG_VERTICE_NAO_EXISTE);
 
-		return getVertices()
-				.stream()
-				.filter(v -> existeAresta(vertice, v) || existeAresta(v, vertice))
-				.collect(Collectors.toSet());
+		return arestasIncidentes(vertice, direcao);
 	}
 
+	protected abstract Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao);
+
+	/**
+	 * Percorre os vizinhos do vértice na direção informada, sem passar pelos
+	 * demais vértices do grafo.
+	 * <br>
+	 * Um vizinho aparece uma vez para cada aresta que o liga ao vértice.
+	 *
+	 * @param vertice
+	 * @param direcao quais arestas considerar em um grafo orientado
+	 * @return os vizinhos do vértice
+	 * @see #getArestasIncidentes(Vertice, Direcao)
+	 */
+	public final Iterable<Vertice> getVizinhos(Vertice vertice, Direcao direcao) {
+		return Iterables.transform(getArestasIncidentes(vertice, direcao), aresta -> aresta.oposto(vertice));
+	}
+
+	/**
+	 * Registra o vértice no índice de ids do grafo. Deve ser chamado pela
+	 * representação sempre que um vértice for inserido.
+	 *
+	 * @param vertice
+	 * @return o id atribuído ao vértice
+	 */
+	protected final int registrarVertice(Vertice vertice) {
+		return indiceDeVertices.adicionar(vertice);
+	}
+
+	/**
+	 * Libera o id do vértice para ser reaproveitado. Deve ser chamado pela
+	 * representação sempre que um vértice for removido.
+	 *
+	 * @param vertice
+	 */
+	protected final void liberarVertice(Vertice vertice) {
+		indiceDeVertices.remover(vertice);
+	}
+
+	/**
+	 * Retorna uma visão somente leitura dos vértices registrados, para as
+	 * representações que guardam as adjacências indexadas por id.
+	 *
+	 * @return os vértices do grafo
+	 */
+	protected final Set<Vertice> verticesRegistrados() {
+		return indiceDeVertices.vertices();
+	}
+
+	/**
+	 * Retorna o id inteiro atribuído ao vértice quando ele foi inserido no grafo.
+	 * <br>
+	 * Os ids são densos: ficam entre zero e {@link #limiteDeIds()} e os ids de
+	 * vértices removidos são reaproveitados, então podem indexar arrays e
+	 * {@link java.util.BitSet}s.
+	 *
+	 * @param vertice
+	 * @return o id do vértice, ou -1 se ele não existir no grafo
+	 */
+	public final int id(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		return indiceDeVertices.id(vertice);
+	}
+
+	/**
+	 * Retorna o vértice que recebeu o id informado.
+	 *
+	 * @param id
+	 * @return o vértice com o id informado
+	 * @throws IllegalArgumentException se nenhum vértice do grafo tiver o id
+	 */
+	public final Vertice vertice(int id) {
+		Vertice vertice = indiceDeVertices.vertice(id);
+		checkArgument(vertice != null, MSG_ID_INVALIDO);
+		return vertice;
+	}
+
+	/**
+	 * Retorna um limite superior, exclusivo, para os ids dos vértices do grafo.
+	 *
+	 * @return o tamanho necessário para um array indexado por id
+	 */
+	public final int limiteDeIds() {
+		return indiceDeVertices.limite();
+	}
+
+	/**
+	 * Retorna os ids dos vizinhos de saída do vértice, como em
+	 * {@link #getVizinhos(Vertice, Direcao)}.
+	 *
+	 * @param id o id do vértice
+	 * @return os ids dos vizinhos, um para cada aresta
+	 */
+	public final int[] adjacentesIds(int id) {
+		Vertice vertice = vertice(id);
+		return Streams.stream(arestasIncidentes(vertice, Direcao.SAIDA))
+					  .mapToInt(aresta -> indiceDeVertices.id(aresta.oposto(vertice)))
+					  .toArray();
+	}
+
+	/**
+	 * Retorna o grau do vértice com o id informado. Em digrafos é a soma dos graus
+	 * de entrada e de saída.
+	 *
+	 * @param id o id do vértice
+	 * @return o grau do vértice
+	 */
+	public abstract long grau(int id);
+
 	public abstract long getGrauDeEntrada(Vertice vertice);
 
 	public abstract long getGrauDeSaida(Vertice vertice);
@@ -255,6 +520,18 @@ public abstract class Grafo {
 
 	protected abstract Grafo novaInstancia();
 
+	/**
+	 * Cria uma cópia imutável do grafo no formato CSR, com ids inteiros densos para
+	 * os vértices e arrays primitivos para as adjacências. Indicada para executar
+	 * algoritmos que apenas percorrem o grafo.
+	 *
+	 * @return uma cópia imutável do estado atual do grafo
+	 * @see GrafoCongelado
+	 */
+	public final GrafoCongelado congelar() {
+		return GrafoCongelado.de(this);
+	}
+
 	public final boolean mesmoTipo(Grafo outroGrafo) {
 		checkNotNull(outroGrafo, "Outro grafo não pode ser nulo");
 		boolean saoDigrafos = this instanceof Digrafo && outroGrafo instanceof Digrafo;
@@ -284,21 +561,26 @@ public abstract class Grafo {
 	}
 
 	public final int componentesConexas() {
-		Set<Vertice> visitados = new HashSet<>();
+		BitSet visitados = new BitSet(limiteDeIds());
+		int[] fila = new int[limiteDeIds()];
 		int componentes = 0;
 
 		for (Vertice v : getVertices()) {
-			if (!visitados.contains(v)) {
+			int id = indiceDeVertices.id(v);
+			if (!visitados.get(id)) {
 				componentes++;
-				Deque<Vertice> fila = new ArrayDeque<>();
-				fila.add(v);
-				visitados.add(v);
-
-				while (!fila.isEmpty()) {
-					Vertice atual = fila.removeFirst();
-					for (Vertice vizinho : getConectados(atual)) {
-						if (visitados.add(vizinho)) {
-							fila.add(vizinho);
+				int inicioFila = 0;
+				int fimFila = 0;
+				fila[fimFila++] = id;
+				visitados.set(id);
+
+				while (inicioFila < fimFila) {
+					Vertice atual = indiceDeVertices.vertice(fila[inicioFila++]);
+					for (Vertice vizinho : getVizinhos(atual, Direcao.AMBAS)) {
+						int idVizinho = indiceDeVertices.id(vizinho);
+						if (!visitados.get(idVizinho)) {
+							visitados.set(idVizinho);
+							fila[fimFila++] = idVizinho;
 						}
 					}
 				}
@@ -311,14 +593,48 @@ public abstract class Grafo {
 		return componentesConexas() == 1;
 	}
 
+	/**
+	 * Verifica se a aresta é uma ponte, isto é, se removê-la aumenta o número de
+	 * componentes conexas. A verificação é uma busca em largura da origem até o
+	 * destino que não passa pela aresta, em O(V + E). Para consultar várias
+	 * arestas, use {@link grafo.algoritmos.Tarjan}, que analisa o grafo uma
+	 * única vez.
+	 *
+	 * @param aresta
+	 * @return se a aresta é uma ponte
+	 */
 	public final boolean ehPonte(Aresta aresta) {
 		checkNotNull(aresta, MSG_ARESTA_NULA);
 		checkArgument(existeAresta(aresta.label()), "Aresta deve existir no grafo");
+		if (aresta.ehLaco()) {
+			return false;
+		}
 
-		Grafo grafoSemAresta = clonar();
-		grafoSemAresta.removeAresta(aresta.label());
-
-		return !grafoSemAresta.ehConexo();
+		BitSet visitados = new BitSet(limiteDeIds());
+		int[] fila = new int[limiteDeIds()];
+		int inicioFila = 0;
+		int fimFila = 0;
+		int destino = indiceDeVertices.id(aresta.destino());
+		fila[fimFila++] = indiceDeVertices.id(aresta.origem());
+		visitados.set(fila[0]);
+
+		while (inicioFila < fimFila) {
+			Vertice atual = indiceDeVertices.vertice(fila[inicioFila++]);
+			for (Aresta incidente : arestasIncidentes(atual, Direcao.AMBAS)) {
+				if (incidente.label().equals(aresta.label())) {
+					continue;
+				}
+				int idVizinho = indiceDeVertices.id(incidente.oposto(atual));
+				if (idVizinho == destino) {
+					return false;
+				}
+				if (!visitados.get(idVizinho)) {
+					visitados.set(idVizinho);
+					fila[fimFila++] = idVizinho;
+				}
+			}
+		}
+		return true;
 	}
 
 	public final boolean ehDisjunto(Grafo outroGrafo) {
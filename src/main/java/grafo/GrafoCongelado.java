@@ -0,0 +1,155 @@
+package grafo;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Visão imutável de um {@link Grafo} no formato CSR (Compressed Sparse Row).
+ * <br>
+ * Os vértices recebem ids densos de 0 a n - 1 e as arestas que partem de cada
+ * vértice ficam contíguas: as posições de {@code inicio(id)} até
+ * {@code fim(id) - 1} guardam o destino, o peso e o id da aresta. Em grafos
+ * não orientados cada aresta aparece nas posições das duas extremidades (laços
+ * aparecem uma única vez).
+ * <br>
+ * É indicado para algoritmos que só percorrem o grafo: ocupa bem menos memória
+ * por aresta do que as representações por mapa e é percorrido sequencialmente.
+ * A cópia em memória é criada por {@link #de(Grafo)}, e
+ * {@link grafo.io.GrafoMapeado} lê o mesmo formato direto de um arquivo mapeado
+ * em memória. Os algoritmos só usam os métodos de acesso, então funcionam com
+ * qualquer uma das duas. Alterações no grafo original não são refletidas.
+ *
+ * @see Grafo#congelar()
+ */
+public abstract class GrafoCongelado {
+	private volatile GrafoCongelado transposta;
+
+	protected GrafoCongelado() {
+	}
+
+	/**
+	 * Congela o estado atual do grafo informado.
+	 *
+	 * @param grafo
+	 * @return uma cópia imutável do grafo no formato CSR
+	 */
+	public static GrafoCongelado de(Grafo grafo) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		return new CsrEmMemoria(grafo);
+	}
+
+	/**
+	 * Retorna o grafo com o sentido de todas as arestas invertido, em que as
+	 * posições de cada vértice guardam as arestas que chegam nele. Os ids dos
+	 * vértices e das arestas são os mesmos deste grafo.
+	 * <br>
+	 * A transposta é montada em memória na primeira chamada e reaproveitada nas
+	 * seguintes. Grafos não orientados são a própria transposta.
+	 *
+	 * @return o grafo transposto
+	 */
+	public final GrafoCongelado transposta() {
+		if (!ehOrientado()) {
+			return this;
+		}
+		GrafoCongelado resultado = transposta;
+		if (resultado == null) {
+			resultado = new CsrEmMemoria(this);
+			resultado.transposta = this;
+			transposta = resultado;
+		}
+		return resultado;
+	}
+
+	public abstract boolean ehOrientado();
+
+	public abstract int getQuantidadeDeVertices();
+
+	public abstract int getQuantidadeDeArestas();
+
+	/**
+	 * Retorna o id denso atribuído ao vértice.
+	 *
+	 * @param vertice
+	 * @return o id do vértice, ou -1 se ele não existir no grafo
+	 */
+	public abstract int id(Vertice vertice);
+
+	public abstract Vertice vertice(int id);
+
+	public abstract Aresta aresta(int idAresta);
+
+	/**
+	 * Primeira posição das arestas que partem do vértice.
+	 *
+	 * @param id o id do vértice
+	 * @return a posição inicial, inclusiva
+	 */
+	public abstract int inicio(int id);
+
+	/**
+	 * Posição seguinte à última aresta que parte do vértice.
+	 *
+	 * @param id o id do vértice
+	 * @return a posição final, exclusiva
+	 */
+	public abstract int fim(int id);
+
+	public int grauDeSaida(int id) {
+		return fim(id) - inicio(id);
+	}
+
+	public abstract int destino(int posicao);
+
+	public abstract double peso(int posicao);
+
+	public abstract int idAresta(int posicao);
+
+	/**
+	 * Conta as componentes conexas sem considerar o sentido das arestas, como
+	 * {@link Grafo#componentesConexas()}.
+	 *
+	 * @return o número de componentes conexas
+	 */
+	public final int componentesConexas() {
+		int quantidade = getQuantidadeDeVertices();
+		int[] pais = new int[quantidade];
+		for (int id = 0; id < pais.length; id++) {
+			pais[id] = id;
+		}
+
+		int componentes = quantidade;
+		for (int id = 0; id < quantidade; id++) {
+			for (int posicao = inicio(id); posicao < fim(id); posicao++) {
+				int raizOrigem = raiz(pais, id);
+				int raizDestino = raiz(pais, destino(posicao));
+				if (raizOrigem != raizDestino) {
+					pais[raizDestino] = raizOrigem;
+					componentes--;
+				}
+			}
+		}
+		return componentes;
+	}
+
+	public final boolean ehConexo() {
+		return componentesConexas() == 1;
+	}
+
+	private static int raiz(int[] pais, int id) {
+		while (pais[id] != id) {
+			pais[id] = pais[pais[id]];
+			id = pais[id];
+		}
+		return id;
+	}
+
+	/**
+	 * Verifica se o id pertence a um vértice deste grafo.
+	 *
+	 * @param id
+	 * @return se o id é válido
+	 */
+	public final boolean contem(int id) {
+		return id >= 0 && id < getQuantidadeDeVertices();
+	}
+}
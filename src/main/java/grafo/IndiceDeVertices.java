@@ -0,0 +1,319 @@
+package grafo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Atribui ids inteiros densos aos vértices de um grafo.
+ * <br>
+ * Os ids de vértices removidos são reaproveitados pelos próximos vértices
+ * inseridos, de modo que todos os ids ficam sempre abaixo de {@link #limite()}
+ * e podem indexar arrays primitivos.
+ * <br>
+ * O índice criado por {@link #concorrente()} aceita consultas simultâneas às
+ * alterações, para as representações concorrentes: as alterações são
+ * serializadas no próprio índice e as consultas não esperam por elas. O criado
+ * por {@link #versionado()}, para as representações versionadas, é o único que
+ * tira instantâneos de si mesmo, em O(1).
+ */
+abstract class IndiceDeVertices {
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	private int[] livres = new int[CAPACIDADE_INICIAL];
+	private int quantidadeLivres;
+	private volatile int limite;
+
+	IndiceDeVertices() {
+	}
+
+	/**
+	 * Cria um índice somente leitura com o limite do original.
+	 */
+	IndiceDeVertices(IndiceDeVertices original) {
+		this.limite = original.limite;
+	}
+
+	static IndiceDeVertices simples() {
+		return new PorArray(new HashMap<>());
+	}
+
+	static IndiceDeVertices concorrente() {
+		return new Concorrente();
+	}
+
+	static IndiceDeVertices versionado() {
+		return new Versionado();
+	}
+
+	int adicionar(Vertice vertice) {
+		int existente = id(vertice);
+		if (existente != -1) {
+			return existente;
+		}
+
+		int id = quantidadeLivres > 0 ? livres[--quantidadeLivres] : limite;
+		gravarVertice(id, vertice);
+		// O limite só cresce depois de o vértice ser gravado, para que uma consulta
+		// simultânea nunca veja um id maior que o array
+		if (id == limite) {
+			limite = id + 1;
+		}
+		gravarId(vertice, id);
+		return id;
+	}
+
+	/**
+	 * Garante espaço para mais vértices sem que as estruturas do índice precisem
+	 * crescer durante as inserções.
+	 */
+	void reservar(int adicionais) {
+	}
+
+	void remover(Vertice vertice) {
+		int id = apagarId(vertice);
+		if (id == -1) {
+			return;
+		}
+
+		gravarVertice(id, null);
+		if (vazio()) {
+			quantidadeLivres = 0;
+			limite = 0;
+			return;
+		}
+		if (quantidadeLivres == livres.length) {
+			livres = Arrays.copyOf(livres, livres.length * 2);
+		}
+		livres[quantidadeLivres++] = id;
+	}
+
+	abstract int id(Vertice vertice);
+
+	Vertice vertice(int id) {
+		return id >= 0 && id < limite ? verticeDoId(id) : null;
+	}
+
+	abstract Set<Vertice> vertices();
+
+	int limite() {
+		return limite;
+	}
+
+	/**
+	 * Grava o vértice no id, ou apaga o vértice do id quando ele é null.
+	 */
+	abstract void gravarVertice(int id, Vertice vertice);
+
+	abstract Vertice verticeDoId(int id);
+
+	abstract void gravarId(Vertice vertice, int id);
+
+	/**
+	 * @return o id que o vértice tinha, ou -1 se ele não existir
+	 */
+	abstract int apagarId(Vertice vertice);
+
+	abstract boolean vazio();
+
+	/**
+	 * Ids em um mapa e vértices em um array indexado pelo id.
+	 */
+	private static class PorArray extends IndiceDeVertices {
+		private Map<Vertice, Integer> ids;
+		private volatile Vertice[] vertices = new Vertice[CAPACIDADE_INICIAL];
+
+		PorArray(Map<Vertice, Integer> ids) {
+			this.ids = ids;
+		}
+
+		@Override
+		void reservar(int adicionais) {
+			if (adicionais == 0) {
+				return;
+			}
+			int necessario = (int) Math.min(Integer.MAX_VALUE - 8, (long) limite() + adicionais);
+			if (necessario > vertices.length) {
+				vertices = Arrays.copyOf(vertices, necessario);
+			}
+			Map<Vertice, Integer> novos = HashMap.newHashMap(necessario);
+			novos.putAll(ids);
+			ids = novos;
+		}
+
+		@Override
+		int id(Vertice vertice) {
+			Integer id = ids.get(vertice);
+			return id == null ? -1 : id;
+		}
+
+		@Override
+		Set<Vertice> vertices() {
+			return Collections.unmodifiableSet(ids.keySet());
+		}
+
+		@Override
+		void gravarVertice(int id, Vertice vertice) {
+			if (id >= vertices.length) {
+				vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, id + 1));
+			}
+			vertices[id] = vertice;
+		}
+
+		@Override
+		Vertice verticeDoId(int id) {
+			return vertices[id];
+		}
+
+		@Override
+		void gravarId(Vertice vertice, int id) {
+			ids.put(vertice, id);
+		}
+
+		@Override
+		int apagarId(Vertice vertice) {
+			Integer id = ids.remove(vertice);
+			return id == null ? -1 : id;
+		}
+
+		@Override
+		boolean vazio() {
+			return ids.isEmpty();
+		}
+	}
+
+	/**
+	 * O vértice é gravado no array antes de o id entrar no mapa concorrente,
+	 * então quem encontra o id no mapa também encontra o vértice no array. A
+	 * reserva de capacidade é ignorada, porque trocar o mapa deixaria as
+	 * consultas simultâneas sem os vértices inseridos durante a cópia.
+	 */
+	private static final class Concorrente extends PorArray {
+		Concorrente() {
+			super(new ConcurrentHashMap<>());
+		}
+
+		@Override
+		synchronized int adicionar(Vertice vertice) {
+			return super.adicionar(vertice);
+		}
+
+		@Override
+		synchronized void remover(Vertice vertice) {
+			super.remover(vertice);
+		}
+
+		@Override
+		void reservar(int adicionais) {
+		}
+	}
+
+	/**
+	 * Ids em um mapa persistente e vértices em blocos de
+	 * {@value #VERTICES_POR_BLOCO} posições indexados pelo id, então
+	 * {@link #vertice(int)} é um acesso a array, sem o boxing de uma chave
+	 * {@link Integer}.
+	 * <br>
+	 * Tudo é alterado no lugar até o próximo instantâneo, que compartilha o mapa
+	 * e os blocos e troca o dono das alterações. Depois disso, a primeira escrita
+	 * copia o array de blocos e cada bloco é copiado na primeira escrita nele, de
+	 * modo que o instantâneo nunca vê as alterações seguintes.
+	 */
+	static final class Versionado extends IndiceDeVertices {
+		private static final int BITS_POR_BLOCO = 6;
+		private static final int VERTICES_POR_BLOCO = 1 << BITS_POR_BLOCO;
+		private static final int MASCARA_DO_BLOCO = VERTICES_POR_BLOCO - 1;
+
+		private MapaPersistente<Vertice, Integer> ids = MapaPersistente.vazio();
+		private Vertice[][] blocos = new Vertice[0][];
+		/** O dono de cada bloco, que pode alterá-lo no lugar. */
+		private Object[] donos = new Object[0];
+		/** Se os arrays de blocos e de donos são compartilhados com um instantâneo. */
+		private boolean compartilhados;
+		/** O dono das alterações, ou null nos instantâneos. */
+		private Object versao = new Object();
+
+		Versionado() {
+		}
+
+		private Versionado(Versionado original) {
+			super(original);
+			this.ids = original.ids;
+			this.blocos = original.blocos;
+			this.donos = original.donos;
+			this.versao = null;
+		}
+
+		/**
+		 * Retorna uma cópia somente leitura do índice, que não muda com as
+		 * alterações seguintes deste.
+		 */
+		Versionado instantaneo() {
+			Versionado copia = new Versionado(this);
+			compartilhados = true;
+			versao = new Object();
+			return copia;
+		}
+
+		@Override
+		int id(Vertice vertice) {
+			Integer id = ids.get(vertice);
+			return id == null ? -1 : id;
+		}
+
+		@Override
+		Set<Vertice> vertices() {
+			return ids.chaves();
+		}
+
+		@Override
+		void gravarVertice(int id, Vertice vertice) {
+			int bloco = id >>> BITS_POR_BLOCO;
+			if (bloco >= blocos.length) {
+				int tamanho = Math.max(blocos.length * 2, bloco + 1);
+				blocos = Arrays.copyOf(blocos, tamanho);
+				donos = Arrays.copyOf(donos, tamanho);
+				compartilhados = false;
+			} else if (compartilhados) {
+				blocos = blocos.clone();
+				donos = donos.clone();
+				compartilhados = false;
+			}
+			if (blocos[bloco] == null) {
+				blocos[bloco] = new Vertice[VERTICES_POR_BLOCO];
+				donos[bloco] = versao;
+			} else if (donos[bloco] != versao) {
+				blocos[bloco] = blocos[bloco].clone();
+				donos[bloco] = versao;
+			}
+			blocos[bloco][id & MASCARA_DO_BLOCO] = vertice;
+		}
+
+		@Override
+		Vertice verticeDoId(int id) {
+			return blocos[id >>> BITS_POR_BLOCO][id & MASCARA_DO_BLOCO];
+		}
+
+		@Override
+		void gravarId(Vertice vertice, int id) {
+			ids = ids.com(vertice, id, versao);
+		}
+
+		@Override
+		int apagarId(Vertice vertice) {
+			int id = id(vertice);
+			if (id != -1) {
+				ids = ids.sem(vertice, versao);
+			}
+			return id;
+		}
+
+		@Override
+		boolean vazio() {
+			return ids.estaVazio();
+		}
+	}
+}
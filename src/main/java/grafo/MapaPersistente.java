@@ -0,0 +1,456 @@
+package grafo;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Mapa imutável com compartilhamento estrutural (hash array mapped trie), usado
+ * pelas representações versionadas para guardar vértices, arestas e
+ * adjacências.
+ * <br>
+ * Os pares ficam em uma árvore de até 32 filhos por nó, escolhidos por cinco
+ * bits do hash da chave em cada nível. Inserir ou remover uma chave copia só os
+ * nós do caminho até ela, O(log₃₂ n), e todos os outros nós são compartilhados
+ * com o mapa anterior, que continua válido e inalterado.
+ * <br>
+ * As alterações recebem um dono: os nós criados por um dono podem ser alterados
+ * no lugar pelas alterações seguintes com o mesmo dono, sem cópia. Quem guarda
+ * uma versão do mapa para leitura deve trocar de dono antes de continuar
+ * alterando, e então nenhum nó alcançável pela versão guardada muda de novo.
+ * Com dono {@code null} toda alteração copia o caminho.
+ *
+ * @param <K> o tipo das chaves
+ * @param <V> o tipo dos valores, que não podem ser nulos
+ */
+public final class MapaPersistente<K, V> {
+	private static final int BITS_POR_NIVEL = 5;
+	private static final int PROFUNDIDADE_MAXIMA = 32 / BITS_POR_NIVEL + 2;
+	private static final MapaPersistente<?, ?> VAZIO = new MapaPersistente<>(null, 0);
+
+	private final No raiz;
+	private final int tamanho;
+
+	private MapaPersistente(No raiz, int tamanho) {
+		this.raiz = raiz;
+		this.tamanho = tamanho;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <K, V> MapaPersistente<K, V> vazio() {
+		return (MapaPersistente<K, V>) VAZIO;
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	public boolean estaVazio() {
+		return tamanho == 0;
+	}
+
+	public boolean contem(Object chave) {
+		return get(chave) != null;
+	}
+
+	/**
+	 * @param chave
+	 * @return o valor associado à chave, ou null se ela não estiver no mapa
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object chave) {
+		int hash = hash(chave);
+		No no = raiz;
+		int deslocamento = 0;
+		while (no != null) {
+			Object[] pares = no.pares;
+			if (no instanceof Colisao) {
+				for (int i = 0; i < pares.length; i += 2) {
+					if (chave.equals(pares[i])) {
+						return (V) pares[i + 1];
+					}
+				}
+				return null;
+			}
+			int bit = bit(hash, deslocamento);
+			if ((no.mapa & bit) == 0) {
+				return null;
+			}
+			int posicao = 2 * Integer.bitCount(no.mapa & (bit - 1));
+			Object chaveNoNo = pares[posicao];
+			if (chaveNoNo == null) {
+				no = (No) pares[posicao + 1];
+				deslocamento += BITS_POR_NIVEL;
+			} else {
+				return chave.equals(chaveNoNo) ? (V) pares[posicao + 1] : null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Associa o valor à chave.
+	 *
+	 * @param chave
+	 * @param valor
+	 * @param dono  quem pode alterar no lugar os nós criados, ou null
+	 * @return o mapa com a associação; este mapa só muda se tiver nós do mesmo
+	 *         dono
+	 */
+	public MapaPersistente<K, V> com(K chave, V valor, Object dono) {
+		checkNotNull(chave, "Chave não pode ser nula");
+		checkNotNull(valor, "Valor não pode ser nulo");
+
+		boolean[] inseriu = new boolean[1];
+		No novaRaiz = raiz == null
+				? Ramo.novo(dono, 0, hash(chave), chave, valor)
+				: raiz.com(dono, 0, hash(chave), chave, valor, inseriu);
+		if (raiz == null) {
+			inseriu[0] = true;
+		}
+		if (novaRaiz == raiz && !inseriu[0]) {
+			return this;
+		}
+		return new MapaPersistente<>(novaRaiz, inseriu[0] ? tamanho + 1 : tamanho);
+	}
+
+	/**
+	 * Remove a chave.
+	 *
+	 * @param chave
+	 * @param dono  quem pode alterar no lugar os nós criados, ou null
+	 * @return o mapa sem a chave
+	 */
+	public MapaPersistente<K, V> sem(Object chave, Object dono) {
+		checkNotNull(chave, "Chave não pode ser nula");
+		if (raiz == null) {
+			return this;
+		}
+		boolean[] removeu = new boolean[1];
+		No novaRaiz = raiz.sem(dono, 0, hash(chave), chave, removeu);
+		if (!removeu[0]) {
+			return this;
+		}
+		return novaRaiz == null ? vazio() : new MapaPersistente<>(novaRaiz, tamanho - 1);
+	}
+
+	/**
+	 * @return uma visão somente leitura das chaves
+	 */
+	public Set<K> chaves() {
+		return new AbstractSet<>() {
+			@Override
+			public boolean contains(Object chave) {
+				return chave != null && contem(chave);
+			}
+
+			@Override
+			public Iterator<K> iterator() {
+				return new Percurso<>(true);
+			}
+
+			@Override
+			public int size() {
+				return tamanho;
+			}
+		};
+	}
+
+	/**
+	 * @return uma visão somente leitura dos valores
+	 */
+	public Collection<V> valores() {
+		return new AbstractCollection<>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new Percurso<>(false);
+			}
+
+			@Override
+			public int size() {
+				return tamanho;
+			}
+		};
+	}
+
+	private static int hash(Object chave) {
+		int hash = chave.hashCode();
+		return hash ^ hash >>> 16;
+	}
+
+	private static int bit(int hash, int deslocamento) {
+		return 1 << (hash >>> deslocamento & 31);
+	}
+
+	/**
+	 * Nó da árvore. Os pares guardam chave e valor lado a lado; em um
+	 * {@link Ramo}, chave nula indica que o valor é um nó filho.
+	 */
+	private abstract static sealed class No permits Ramo, Colisao {
+		final Object dono;
+		int mapa;
+		Object[] pares;
+
+		No(Object dono, int mapa, Object[] pares) {
+			this.dono = dono;
+			this.mapa = mapa;
+			this.pares = pares;
+		}
+
+		abstract No com(Object dono, int deslocamento, int hash, Object chave, Object valor, boolean[] inseriu);
+
+		/**
+		 * @return o nó sem a chave, que pode ser ele mesmo alterado no lugar, ou
+		 *         null se ficar vazio
+		 */
+		abstract No sem(Object dono, int deslocamento, int hash, Object chave, boolean[] removeu);
+
+		/**
+		 * Retorna este nó, se puder ser alterado no lugar pelo dono, ou uma cópia
+		 * que pertence a ele.
+		 */
+		abstract No editavel(Object dono);
+	}
+
+	/**
+	 * Nó com um bit no mapa para cada um dos 32 filhos possíveis que está
+	 * ocupado, e os pares só dos ocupados.
+	 */
+	private static final class Ramo extends No {
+		Ramo(Object dono, int mapa, Object[] pares) {
+			super(dono, mapa, pares);
+		}
+
+		static No novo(Object dono, int deslocamento, int hash, Object chave, Object valor) {
+			return new Ramo(dono, bit(hash, deslocamento), new Object[] { chave, valor });
+		}
+
+		/**
+		 * Cria o nó que separa dois pares cujos hashes coincidem até este nível.
+		 */
+		static No separar(Object dono, int deslocamento, Object chave1, Object valor1, int hash2, Object chave2,
+				Object valor2) {
+			int hash1 = hash(chave1);
+			if (hash1 == hash2) {
+				return new Colisao(dono, hash1, new Object[] { chave1, valor1, chave2, valor2 });
+			}
+			int bit1 = bit(hash1, deslocamento);
+			int bit2 = bit(hash2, deslocamento);
+			if (bit1 == bit2) {
+				No filho = separar(dono, deslocamento + BITS_POR_NIVEL, chave1, valor1, hash2, chave2, valor2);
+				return new Ramo(dono, bit1, new Object[] { null, filho });
+			}
+			Object[] pares = Integer.compareUnsigned(bit1, bit2) < 0
+					? new Object[] { chave1, valor1, chave2, valor2 }
+					: new Object[] { chave2, valor2, chave1, valor1 };
+			return new Ramo(dono, bit1 | bit2, pares);
+		}
+
+		@Override
+		No editavel(Object dono) {
+			if (dono != null && this.dono == dono) {
+				return this;
+			}
+			return new Ramo(dono, mapa, pares.clone());
+		}
+
+		@Override
+		No com(Object dono, int deslocamento, int hash, Object chave, Object valor, boolean[] inseriu) {
+			int bit = bit(hash, deslocamento);
+			int posicao = 2 * Integer.bitCount(mapa & (bit - 1));
+			if ((mapa & bit) == 0) {
+				inseriu[0] = true;
+				Object[] novos = new Object[pares.length + 2];
+				System.arraycopy(pares, 0, novos, 0, posicao);
+				novos[posicao] = chave;
+				novos[posicao + 1] = valor;
+				System.arraycopy(pares, posicao, novos, posicao + 2, pares.length - posicao);
+				No alvo = dono != null && this.dono == dono ? this : new Ramo(dono, mapa, null);
+				alvo.mapa = mapa | bit;
+				alvo.pares = novos;
+				return alvo;
+			}
+
+			Object chaveNoNo = pares[posicao];
+			Object valorNoNo = pares[posicao + 1];
+			Object novoValor;
+			if (chaveNoNo == null) {
+				No filho = (No) valorNoNo;
+				novoValor = filho.com(dono, deslocamento + BITS_POR_NIVEL, hash, chave, valor, inseriu);
+			} else if (chave.equals(chaveNoNo)) {
+				novoValor = valor;
+			} else {
+				inseriu[0] = true;
+				novoValor = separar(dono, deslocamento + BITS_POR_NIVEL, chaveNoNo, valorNoNo, hash, chave, valor);
+				chaveNoNo = null;
+			}
+			if (novoValor == valorNoNo) {
+				return this;
+			}
+			No alvo = editavel(dono);
+			alvo.pares[posicao] = chaveNoNo;
+			alvo.pares[posicao + 1] = novoValor;
+			return alvo;
+		}
+
+		@Override
+		No sem(Object dono, int deslocamento, int hash, Object chave, boolean[] removeu) {
+			int bit = bit(hash, deslocamento);
+			if ((mapa & bit) == 0) {
+				return this;
+			}
+			int posicao = 2 * Integer.bitCount(mapa & (bit - 1));
+			Object chaveNoNo = pares[posicao];
+			if (chaveNoNo == null) {
+				No filho = (No) pares[posicao + 1];
+				No novoFilho = filho.sem(dono, deslocamento + BITS_POR_NIVEL, hash, chave, removeu);
+				if (novoFilho == filho) {
+					return this;
+				}
+				if (novoFilho != null) {
+					No alvo = editavel(dono);
+					alvo.pares[posicao + 1] = novoFilho;
+					return alvo;
+				}
+			} else if (!chave.equals(chaveNoNo)) {
+				return this;
+			} else {
+				removeu[0] = true;
+			}
+
+			if (mapa == bit) {
+				return null;
+			}
+			Object[] novos = new Object[pares.length - 2];
+			System.arraycopy(pares, 0, novos, 0, posicao);
+			System.arraycopy(pares, posicao + 2, novos, posicao, pares.length - posicao - 2);
+			No alvo = dono != null && this.dono == dono ? this : new Ramo(dono, mapa, null);
+			alvo.mapa = mapa ^ bit;
+			alvo.pares = novos;
+			return alvo;
+		}
+	}
+
+	/**
+	 * Nó com os pares de chaves diferentes que têm exatamente o mesmo hash.
+	 */
+	private static final class Colisao extends No {
+		private final int hash;
+
+		Colisao(Object dono, int hash, Object[] pares) {
+			super(dono, 0, pares);
+			this.hash = hash;
+		}
+
+		@Override
+		No editavel(Object dono) {
+			if (dono != null && this.dono == dono) {
+				return this;
+			}
+			return new Colisao(dono, hash, pares.clone());
+		}
+
+		@Override
+		No com(Object dono, int deslocamento, int hash, Object chave, Object valor, boolean[] inseriu) {
+			if (hash != this.hash) {
+				No ramo = new Ramo(dono, bit(this.hash, deslocamento), new Object[] { null, this });
+				return ramo.com(dono, deslocamento, hash, chave, valor, inseriu);
+			}
+			for (int i = 0; i < pares.length; i += 2) {
+				if (chave.equals(pares[i])) {
+					if (pares[i + 1] == valor) {
+						return this;
+					}
+					No alvo = editavel(dono);
+					alvo.pares[i + 1] = valor;
+					return alvo;
+				}
+			}
+			inseriu[0] = true;
+			Object[] novos = new Object[pares.length + 2];
+			System.arraycopy(pares, 0, novos, 0, pares.length);
+			novos[pares.length] = chave;
+			novos[pares.length + 1] = valor;
+			return new Colisao(dono, hash, novos);
+		}
+
+		@Override
+		No sem(Object dono, int deslocamento, int hash, Object chave, boolean[] removeu) {
+			for (int i = 0; i < pares.length; i += 2) {
+				if (chave.equals(pares[i])) {
+					removeu[0] = true;
+					if (pares.length == 2) {
+						return null;
+					}
+					Object[] novos = new Object[pares.length - 2];
+					System.arraycopy(pares, 0, novos, 0, i);
+					System.arraycopy(pares, i + 2, novos, i, pares.length - i - 2);
+					return new Colisao(dono, this.hash, novos);
+				}
+			}
+			return this;
+		}
+	}
+
+	/**
+	 * Percorre os pares em profundidade, com uma pilha de nós e posições.
+	 */
+	private final class Percurso<T> implements Iterator<T> {
+		private final boolean chaves;
+		private final No[] nos = new No[PROFUNDIDADE_MAXIMA];
+		private final int[] posicoes = new int[PROFUNDIDADE_MAXIMA];
+		private int nivel = -1;
+		private Object proximo;
+
+		Percurso(boolean chaves) {
+			this.chaves = chaves;
+			if (raiz != null) {
+				nivel = 0;
+				nos[0] = raiz;
+			}
+			avancar();
+		}
+
+		private void avancar() {
+			proximo = null;
+			while (nivel >= 0) {
+				Object[] pares = nos[nivel].pares;
+				int posicao = posicoes[nivel];
+				if (posicao >= pares.length) {
+					nos[nivel--] = null;
+					continue;
+				}
+				posicoes[nivel] = posicao + 2;
+				if (pares[posicao] == null) {
+					nivel++;
+					nos[nivel] = (No) pares[posicao + 1];
+					posicoes[nivel] = 0;
+				} else {
+					proximo = chaves ? pares[posicao] : pares[posicao + 1];
+					return;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return proximo != null;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (proximo == null) {
+				throw new NoSuchElementException();
+			}
+			T atual = (T) proximo;
+			avancar();
+			return atual;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package grafo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Matriz quadrada de bits indexada pelos ids dos vértices, usada pelas
+ * representações por matriz para marcar quais pares de vértices têm arestas.
+ * <br>
+ * Cada linha é um array de {@code long}, com um bit por coluna, então a
+ * matriz ocupa n² / 8 bytes e operações entre linhas inteiras, como a
+ * interseção de vizinhanças, processam 64 colunas por vez.
+ */
+public final class MatrizDeBits {
+	private static final int BITS_POR_PALAVRA = 64;
+
+	private long[][] linhas = new long[0][];
+	private int capacidade;
+
+	/**
+	 * Garante que a matriz tenha linhas e colunas para todos os ids menores que o
+	 * informado. A capacidade dobra a cada crescimento, então o custo de copiar as
+	 * linhas é amortizado entre as inserções.
+	 *
+	 * @param limite o maior id mais um
+	 */
+	public void garantirCapacidade(int limite) {
+		if (limite <= capacidade) {
+			return;
+		}
+
+		int novaCapacidade = Math.max(limite, Math.max(BITS_POR_PALAVRA, capacidade * 2));
+		int palavras = palavras(novaCapacidade);
+		long[][] novasLinhas = new long[novaCapacidade][];
+		for (int i = 0; i < novaCapacidade; i++) {
+			novasLinhas[i] = i < capacidade ? Arrays.copyOf(linhas[i], palavras) : new long[palavras];
+		}
+		linhas = novasLinhas;
+		capacidade = novaCapacidade;
+	}
+
+	public boolean get(int linha, int coluna) {
+		return (linhas[linha][coluna / BITS_POR_PALAVRA] & (1L << coluna)) != 0;
+	}
+
+	public void set(int linha, int coluna) {
+		linhas[linha][coluna / BITS_POR_PALAVRA] |= 1L << coluna;
+	}
+
+	public void clear(int linha, int coluna) {
+		linhas[linha][coluna / BITS_POR_PALAVRA] &= ~(1L << coluna);
+	}
+
+	/**
+	 * Retorna a primeira coluna marcada na linha a partir da coluna informada.
+	 *
+	 * @param linha
+	 * @param coluna a coluna inicial, inclusiva
+	 * @return a coluna marcada, ou -1 se não houver nenhuma
+	 */
+	public int proximaColuna(int linha, int coluna) {
+		long[] palavras = linhas[linha];
+		int indice = coluna / BITS_POR_PALAVRA;
+		if (indice >= palavras.length) {
+			return -1;
+		}
+
+		long palavra = palavras[indice] & (-1L << coluna);
+		while (true) {
+			if (palavra != 0) {
+				return indice * BITS_POR_PALAVRA + Long.numberOfTrailingZeros(palavra);
+			}
+			if (++indice == palavras.length) {
+				return -1;
+			}
+			palavra = palavras[indice];
+		}
+	}
+
+	/**
+	 * Percorre as colunas marcadas na linha, em ordem crescente, pulando 64
+	 * colunas vazias por vez.
+	 *
+	 * @param linha
+	 * @return as colunas marcadas na linha
+	 */
+	public Iterable<Integer> colunas(int linha) {
+		return () -> new PrimitiveIterator.OfInt() {
+			private int proxima = proximaColuna(linha, 0);
+
+			@Override
+			public boolean hasNext() {
+				return proxima != -1;
+			}
+
+			@Override
+			public int nextInt() {
+				if (proxima == -1) {
+					throw new NoSuchElementException();
+				}
+				int atual = proxima;
+				proxima = proximaColuna(linha, atual + 1);
+				return atual;
+			}
+		};
+	}
+
+	/**
+	 * Retorna as colunas marcadas nas duas linhas ao mesmo tempo, combinando as
+	 * linhas uma palavra de 64 bits por vez.
+	 *
+	 * @param linha
+	 * @param outraLinha
+	 * @return as colunas em comum, em ordem crescente
+	 */
+	public int[] intersecao(int linha, int outraLinha) {
+		long[] a = linhas[linha];
+		long[] b = linhas[outraLinha];
+		int[] colunas = new int[contarIntersecao(linha, outraLinha)];
+		int quantidade = 0;
+		for (int i = 0; i < a.length; i++) {
+			long palavra = a[i] & b[i];
+			while (palavra != 0) {
+				colunas[quantidade++] = i * BITS_POR_PALAVRA + Long.numberOfTrailingZeros(palavra);
+				palavra &= palavra - 1;
+			}
+		}
+		return colunas;
+	}
+
+	public int contarIntersecao(int linha, int outraLinha) {
+		checkArgument(linha < capacidade && outraLinha < capacidade, "Linha fora da matriz");
+		long[] a = linhas[linha];
+		long[] b = linhas[outraLinha];
+		int quantidade = 0;
+		for (int i = 0; i < a.length; i++) {
+			quantidade += Long.bitCount(a[i] & b[i]);
+		}
+		return quantidade;
+	}
+
+	private static int palavras(int colunas) {
+		return (colunas + BITS_POR_PALAVRA - 1) / BITS_POR_PALAVRA;
+	}
+}
@@ -0,0 +1,100 @@
+package grafo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto fixo de travas em que cada vértice é associado a uma delas pelo seu
+ * hash (lock striping), usado pelas representações concorrentes para proteger
+ * as adjacências de cada vértice sem uma trava por vértice nem uma trava
+ * global.
+ * <br>
+ * Operações que envolvem dois vértices travam as duas travas sempre na ordem
+ * dos índices, e operações que envolvem um número arbitrário de vértices travam
+ * todas, também em ordem, então as travas nunca entram em impasse.
+ */
+public final class TravasPorVertice {
+	private final ReentrantLock[] travas;
+	private final int mascara;
+
+	/**
+	 * Cria quatro travas por processador disponível, arredondadas para uma
+	 * potência de dois.
+	 */
+	public TravasPorVertice() {
+		this(4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param quantidade o número mínimo de travas, arredondado para a próxima
+	 *                   potência de dois
+	 */
+	public TravasPorVertice(int quantidade) {
+		checkArgument(quantidade > 0 && quantidade <= 1 << 16, "Quantidade de travas deve estar entre 1 e 65536");
+		int potencia = Integer.highestOneBit(quantidade);
+		this.travas = new ReentrantLock[potencia == quantidade ? potencia : potencia << 1];
+		for (int i = 0; i < travas.length; i++) {
+			travas[i] = new ReentrantLock();
+		}
+		this.mascara = travas.length - 1;
+	}
+
+	public int quantidade() {
+		return travas.length;
+	}
+
+	public void travar(Vertice vertice) {
+		travas[indice(vertice)].lock();
+	}
+
+	public void destravar(Vertice vertice) {
+		travas[indice(vertice)].unlock();
+	}
+
+	/**
+	 * Trava os dois vértices, na ordem dos índices das travas. Se os dois
+	 * caírem na mesma trava, ela é travada uma única vez.
+	 *
+	 * @param um
+	 * @param outro
+	 */
+	public void travar(Vertice um, Vertice outro) {
+		int i = indice(um);
+		int j = indice(outro);
+		travas[Math.min(i, j)].lock();
+		if (i != j) {
+			travas[Math.max(i, j)].lock();
+		}
+	}
+
+	public void destravar(Vertice um, Vertice outro) {
+		int i = indice(um);
+		int j = indice(outro);
+		if (i != j) {
+			travas[Math.max(i, j)].unlock();
+		}
+		travas[Math.min(i, j)].unlock();
+	}
+
+	/**
+	 * Trava todas as travas em ordem, excluindo qualquer outra operação sobre
+	 * qualquer vértice.
+	 */
+	public void travarTodas() {
+		for (ReentrantLock trava : travas) {
+			trava.lock();
+		}
+	}
+
+	public void destravarTodas() {
+		for (int i = travas.length - 1; i >= 0; i--) {
+			travas[i].unlock();
+		}
+	}
+
+	private int indice(Vertice vertice) {
+		int hash = vertice.hashCode();
+		return (hash ^ hash >>> 16) & mascara;
+	}
+}
@@ -0,0 +1,85 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Caminho mínimo pelo peso das arestas entre dois vértices pelo algoritmo A*,
+ * que ordena a fila pela distância desde a origem somada à estimativa da
+ * {@link Heuristica} até o destino.
+ * <br>
+ * Quanto mais próxima da distância real for a estimativa, menos vértices são
+ * finalizados fora do caminho; com {@link Heuristica#nula()}, a busca é a do
+ * {@link Dijkstra}. A estimativa de cada vértice é calculada uma única vez.
+ * Se a heuristica não respeitar a desigualdade triangular, um vértice já
+ * finalizado pode voltar para a fila ao ser alcançado por um caminho mais
+ * curto, o que mantém o resultado mínimo.
+ * <br>
+ * Os pesos não podem ser negativos, como no {@link Dijkstra}.
+ */
+public final class AEstrela extends BuscaPontoAPonto {
+	private static final int ARIDADE = 4;
+
+	private final Heuristica heuristica;
+
+	public AEstrela(Grafo grafo, Vertice origem, Vertice destino, Heuristica heuristica) {
+		this(grafo.congelar(), origem, destino, heuristica);
+	}
+
+	public AEstrela(GrafoCongelado grafo, Vertice origem, Vertice destino, Heuristica heuristica) {
+		super(grafo, origem, destino);
+		this.heuristica = checkNotNull(heuristica, "Heurística não pode ser nula");
+		executar();
+	}
+
+	private void executar() {
+		int n = grafo.getQuantidadeDeVertices();
+		double[] distancias = new double[n];
+		double[] estimativas = new double[n];
+		int[] antecessores = new int[n];
+		HeapIndexado fila = new HeapIndexado(n, ARIDADE);
+		Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+		Arrays.fill(estimativas, Double.NaN);
+		Arrays.fill(antecessores, SEM_ANTECESSOR);
+		Vertice verticeDestino = grafo.vertice(destino);
+
+		distancias[origem] = 0.0;
+		fila.inserirOuDiminuir(origem, 0.0);
+		while (!fila.estaVazio()) {
+			int atual = fila.removerMinimo();
+			quantidadeDeFinalizados++;
+			if (atual == destino) {
+				registrar(distancias[destino], destino, antecessores, null);
+				return;
+			}
+
+			for (int posicao = grafo.inicio(atual); posicao < grafo.fim(atual); posicao++) {
+				int vizinho = grafo.destino(posicao);
+				double peso = grafo.peso(posicao);
+				checkArgument(peso >= 0, "A* não aceita arestas com peso negativo");
+				double distancia = distancias[atual] + peso;
+				if (distancia < distancias[vizinho]) {
+					if (Double.isNaN(estimativas[vizinho])) {
+						estimativas[vizinho] = estimar(vizinho, verticeDestino);
+					}
+					distancias[vizinho] = distancia;
+					antecessores[vizinho] = atual;
+					fila.inserirOuDiminuir(vizinho, distancia + estimativas[vizinho]);
+				}
+			}
+		}
+	}
+
+	private double estimar(int vertice, Vertice verticeDestino) {
+		if (heuristica instanceof PontosDeReferencia pontos && pontos.grafo() == grafo) {
+			return pontos.estimar(vertice, destino);
+		}
+		return heuristica.estimar(grafo.vertice(vertice), verticeDestino);
+	}
+}
@@ -1,16 +1,18 @@
 package grafo.algoritmos;
 
-import java.util.ArrayDeque;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.ImmutableMap;
 
 import grafo.Grafo;
+import grafo.GrafoCongelado;
 import grafo.Vertice;
 
 public class BFS {
@@ -18,76 +20,151 @@ public class BFS {
         BRANCO, CINZA, PRETO
     }
 
-    private final Grafo grafo;
-    private final Map<Vertice, Cor> cores = new HashMap<>();
-    private final Map<Vertice, Integer> descobertos = new HashMap<>();
-    private final Map<Vertice, Vertice> antecessores = new HashMap<>();
-    private final Map<Vertice, Integer> distancias = new HashMap<>();
+    private static final int SEM_ANTECESSOR = -1;
+
+    private final GrafoCongelado grafo;
+    private final Cor[] cores;
+    private final int[] descobertos;
+    private final int[] antecessores;
+    private final int[] distancias;
     private Resultado resultado;
 
     public BFS(Grafo grafo, Vertice origem) {
+        this(grafo.congelar(), origem);
+    }
+
+    /**
+     * Executa a busca em largura diretamente sobre um grafo congelado, usando os
+     * ids dos vértices para indexar o estado da busca.
+     *
+     * @param grafo
+     * @param origem
+     */
+    public BFS(GrafoCongelado grafo, Vertice origem) {
+        this(grafo, origem, null, false);
+    }
+
+    public BFS(Grafo grafo, Vertice origem, ForkJoinPool pool, boolean alternarDirecao) {
+        this(grafo.congelar(), origem, pool, alternarDirecao);
+    }
+
+    /**
+     * Executa a busca em largura expandindo cada nível em paralelo no pool
+     * informado. As distâncias são as mesmas da busca sequencial; os antecessores
+     * formam uma árvore de busca em largura válida, mas, quando um vértice pode
+     * ser descoberto por mais de um vértice do nível anterior, qual deles vira o
+     * antecessor depende do escalonamento das tarefas. Os tempos de descoberta
+     * seguem a ordem dos níveis.
+     *
+     * @param grafo
+     * @param origem
+     * @param pool            o pool que executa as tarefas, ou {@code null} para
+     *                        executar sequencialmente
+     * @param alternarDirecao se os níveis com fronteiras grandes devem ser
+     *                        expandidos de baixo para cima, a partir dos vértices
+     *                        ainda não visitados
+     */
+    public BFS(GrafoCongelado grafo, Vertice origem, ForkJoinPool pool, boolean alternarDirecao) {
+        checkNotNull(grafo, "Grafo não pode ser nulo");
+        checkNotNull(origem, "Vértice de origem não pode ser nulo");
+        int idOrigem = grafo.id(origem);
+        checkArgument(idOrigem != -1, "Vértice de origem não existe no grafo");
+
+        int n = grafo.getQuantidadeDeVertices();
         this.grafo = grafo;
-        grafo.getVertices().forEach(vertice -> {
-            cores.put(vertice, Cor.BRANCO);
-            distancias.put(vertice, Integer.MAX_VALUE);
-            antecessores.put(vertice, null);
-        });
-        
-        bfsVisit(origem);
-        
-        // Filtra os antecessores para remover valores nulos antes de criar o ImmutableMap
-        Map<Vertice, Vertice> antecessoresFiltrados = new HashMap<>();
-        antecessores.entrySet().stream()
-            .filter(entry -> entry.getValue() != null)
-            .forEach(entry -> antecessoresFiltrados.put(entry.getKey(), entry.getValue()));
-        
-        resultado = new Resultado(
-                ImmutableMap.copyOf(cores),
-                ImmutableMap.copyOf(descobertos),
-                ImmutableMap.copyOf(antecessoresFiltrados),
-                ImmutableMap.copyOf(distancias));
+        this.cores = new Cor[n];
+        this.descobertos = new int[n];
+        this.antecessores = new int[n];
+        this.distancias = new int[n];
+        Arrays.fill(cores, Cor.BRANCO);
+        Arrays.fill(antecessores, SEM_ANTECESSOR);
+        Arrays.fill(distancias, Integer.MAX_VALUE);
+
+        if (pool == null) {
+            bfsVisit(idOrigem);
+        } else {
+            bfsParalela(idOrigem, pool, alternarDirecao);
+        }
+
+        resultado = criarResultado();
     }
 
-    private void bfsVisit(Vertice origem) {
-        Queue<Vertice> fila = new ArrayDeque<>();
+    private void bfsVisit(int origem) {
+        int[] fila = new int[grafo.getQuantidadeDeVertices()];
+        int inicioFila = 0;
+        int fimFila = 0;
         int tempo = 0;
-        
-        cores.put(origem, Cor.CINZA);
-        distancias.put(origem, 0);
-        descobertos.put(origem, ++tempo);
-        fila.offer(origem);
-        
-        while (!fila.isEmpty()) {
-            Vertice atual = fila.poll();
-            
-            for (Vertice vizinho : grafo.getAdjacentes(atual)) {
-                if (cores.get(vizinho).equals(Cor.BRANCO)) {
-                    cores.put(vizinho, Cor.CINZA);
-                    distancias.put(vizinho, distancias.get(atual) + 1);
-                    antecessores.put(vizinho, atual);
-                    descobertos.put(vizinho, ++tempo);
-                    fila.offer(vizinho);
+
+        cores[origem] = Cor.CINZA;
+        distancias[origem] = 0;
+        descobertos[origem] = ++tempo;
+        fila[fimFila++] = origem;
+
+        while (inicioFila < fimFila) {
+            int atual = fila[inicioFila++];
+
+            for (int posicao = grafo.inicio(atual); posicao < grafo.fim(atual); posicao++) {
+                int vizinho = grafo.destino(posicao);
+                if (cores[vizinho] == Cor.BRANCO) {
+                    cores[vizinho] = Cor.CINZA;
+                    distancias[vizinho] = distancias[atual] + 1;
+                    antecessores[vizinho] = atual;
+                    descobertos[vizinho] = ++tempo;
+                    fila[fimFila++] = vizinho;
                 }
             }
-            
-            cores.put(atual, Cor.PRETO);
+
+            cores[atual] = Cor.PRETO;
+        }
+    }
+
+    private void bfsParalela(int origem, ForkJoinPool pool, boolean alternarDirecao) {
+        int[] ordem = new BFSParalela(grafo, pool, alternarDirecao, distancias, antecessores).executar(origem);
+        for (int i = 0; i < ordem.length; i++) {
+            cores[ordem[i]] = Cor.PRETO;
+            descobertos[ordem[i]] = i + 1;
+        }
+    }
+
+    private Resultado criarResultado() {
+        ImmutableMap.Builder<Vertice, Cor> mapaCores = ImmutableMap.builder();
+        ImmutableMap.Builder<Vertice, Integer> mapaDescobertos = ImmutableMap.builder();
+        ImmutableMap.Builder<Vertice, Vertice> mapaAntecessores = ImmutableMap.builder();
+        ImmutableMap.Builder<Vertice, Integer> mapaDistancias = ImmutableMap.builder();
+
+        for (int id = 0; id < grafo.getQuantidadeDeVertices(); id++) {
+            Vertice vertice = grafo.vertice(id);
+            mapaCores.put(vertice, cores[id]);
+            mapaDistancias.put(vertice, distancias[id]);
+            if (descobertos[id] != 0) {
+                mapaDescobertos.put(vertice, descobertos[id]);
+            }
+            if (antecessores[id] != SEM_ANTECESSOR) {
+                mapaAntecessores.put(vertice, grafo.vertice(antecessores[id]));
+            }
         }
+
+        return new Resultado(
+                mapaCores.build(),
+                mapaDescobertos.build(),
+                mapaAntecessores.build(),
+                mapaDistancias.build());
     }
 
     /**
      * Retorna a distância (número de arestas) entre a origem e o vértice de destino.
-     * 
+     *
      * @param destino o vértice de destino
      * @return a distância entre origem e destino, ou -1 se não houver caminho
      */
     public int getDistanciaEntre(Vertice destino) {
-        Integer distancia = distancias.get(destino);
-        return (distancia == null || distancia == Integer.MAX_VALUE) ? -1 : distancia;
+        int id = grafo.id(destino);
+        return (id == -1 || distancias[id] == Integer.MAX_VALUE) ? -1 : distancias[id];
     }
 
     /**
      * Reconstrói o caminho da origem até o vértice de destino.
-     * 
+     *
      * @param destino o vértice de destino
      * @return uma lista com o caminho da origem ao destino, ou lista vazia se não houver caminho
      */
@@ -97,20 +174,20 @@ public class BFS {
         }
 
         List<Vertice> caminho = new ArrayList<>();
-        Vertice atual = destino;
-        
-        while (atual != null) {
-            caminho.add(atual);
-            atual = antecessores.get(atual);
+        int atual = grafo.id(destino);
+
+        while (atual != SEM_ANTECESSOR) {
+            caminho.add(grafo.vertice(atual));
+            atual = antecessores[atual];
         }
-        
+
         Collections.reverse(caminho);
         return caminho;
     }
 
     /**
      * Verifica se existe um caminho da origem até o vértice de destino.
-     * 
+     *
      * @param destino o vértice de destino
      * @return true se existe caminho, false caso contrário
      */
@@ -0,0 +1,110 @@
+package grafo.algoritmos;
+
+import java.util.Arrays;
+
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Caminho com o menor número de arestas entre dois vértices, por buscas em
+ * largura que partem ao mesmo tempo da origem e do destino.
+ * <br>
+ * A cada passo, a fronteira menor avança um nível inteiro, a do destino pelas
+ * arestas da {@link GrafoCongelado#transposta()}. No primeiro nível em que as
+ * buscas se tocam, o melhor encontro entre os vértices do nível dá o caminho
+ * mínimo. Em grafos com grau médio d e distância k, cada busca visita cerca de
+ * d^(k/2) vértices em vez de d^k.
+ */
+public final class BFSBidirecional extends BuscaPontoAPonto {
+
+	public BFSBidirecional(Grafo grafo, Vertice origem, Vertice destino) {
+		this(grafo.congelar(), origem, destino);
+	}
+
+	public BFSBidirecional(GrafoCongelado grafo, Vertice origem, Vertice destino) {
+		super(grafo, origem, destino);
+		executar();
+	}
+
+	private void executar() {
+		int n = grafo.getQuantidadeDeVertices();
+		Lado daOrigem = new Lado(grafo, origem, n);
+		Lado doDestino = new Lado(grafo.transposta(), destino, n);
+		if (origem == destino) {
+			registrar(0, origem, daOrigem.antecessores, null);
+			return;
+		}
+
+		while (daOrigem.tamanho > 0 && doDestino.tamanho > 0) {
+			boolean avancarOrigem = daOrigem.tamanho <= doDestino.tamanho;
+			Lado lado = avancarOrigem ? daOrigem : doDestino;
+			Lado outro = avancarOrigem ? doDestino : daOrigem;
+			quantidadeDeFinalizados += lado.tamanho;
+
+			int encontro = lado.avancar(outro);
+			if (encontro != SEM_ANTECESSOR) {
+				registrar(daOrigem.distancias[encontro] + doDestino.distancias[encontro], encontro,
+						daOrigem.antecessores, doDestino.antecessores);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Estado da busca em um dos sentidos.
+	 */
+	private static final class Lado {
+		private final GrafoCongelado grafo;
+		private final int[] distancias;
+		private final int[] antecessores;
+		private int[] fronteira;
+		private int[] proxima;
+		private int tamanho;
+
+		Lado(GrafoCongelado grafo, int raiz, int n) {
+			this.grafo = grafo;
+			this.distancias = new int[n];
+			this.antecessores = new int[n];
+			this.fronteira = new int[n];
+			this.proxima = new int[n];
+			Arrays.fill(distancias, -1);
+			Arrays.fill(antecessores, SEM_ANTECESSOR);
+			distancias[raiz] = 0;
+			fronteira[tamanho++] = raiz;
+		}
+
+		/**
+		 * Expande o nível inteiro da fronteira.
+		 *
+		 * @return o vértice alcançado pelas duas buscas com a menor soma de
+		 *         distâncias, ou {@link #SEM_ANTECESSOR} se as buscas não se tocaram
+		 */
+		int avancar(Lado outro) {
+			int quantidade = 0;
+			int encontro = SEM_ANTECESSOR;
+			int melhorSoma = Integer.MAX_VALUE;
+			for (int i = 0; i < tamanho; i++) {
+				int atual = fronteira[i];
+				for (int posicao = grafo.inicio(atual); posicao < grafo.fim(atual); posicao++) {
+					int vizinho = grafo.destino(posicao);
+					if (distancias[vizinho] == -1) {
+						distancias[vizinho] = distancias[atual] + 1;
+						antecessores[vizinho] = atual;
+						proxima[quantidade++] = vizinho;
+						if (outro.distancias[vizinho] != -1 && distancias[vizinho] + outro.distancias[vizinho] < melhorSoma) {
+							melhorSoma = distancias[vizinho] + outro.distancias[vizinho];
+							encontro = vizinho;
+						}
+					}
+				}
+			}
+
+			int[] anterior = fronteira;
+			fronteira = proxima;
+			proxima = anterior;
+			tamanho = quantidade;
+			return encontro;
+		}
+	}
+}
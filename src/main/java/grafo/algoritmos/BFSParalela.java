@@ -0,0 +1,222 @@
+package grafo.algoritmos;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import grafo.GrafoCongelado;
+
+/**
+ * Busca em largura sincronizada por nível, em que cada nível é expandido em
+ * paralelo por um {@link ForkJoinPool}.
+ * <br>
+ * A fronteira é dividida entre as tarefas e os vértices descobertos são
+ * marcados em um conjunto de bits atômico, então cada vértice é reivindicado
+ * por uma única tarefa, que grava sua distância e seu antecessor. As novas
+ * fronteiras das tarefas são concatenadas ao fim de cada nível.
+ * <br>
+ * Com {@code alternarDirecao}, a busca passa a expandir os níveis de baixo
+ * para cima quando as arestas que saem da fronteira passam de
+ * {@code 1/ALFA} das arestas ainda não exploradas: cada vértice ainda não
+ * visitado procura, entre os vértices que chegam nele, algum que esteja na
+ * fronteira, e para no primeiro que encontrar. Ela volta a expandir de cima
+ * para baixo quando a fronteira fica com menos de {@code 1/BETA} dos vértices.
+ */
+final class BFSParalela {
+	private static final int LIMIAR = 1024;
+	private static final int ALFA = 14;
+	private static final int BETA = 24;
+
+	private final GrafoCongelado grafo;
+	private final ForkJoinPool pool;
+	private final boolean alternarDirecao;
+	private final int[] distancias;
+	private final int[] antecessores;
+	private final AtomicLongArray visitados;
+
+	BFSParalela(GrafoCongelado grafo, ForkJoinPool pool, boolean alternarDirecao, int[] distancias,
+			int[] antecessores) {
+		this.grafo = grafo;
+		this.pool = pool;
+		this.alternarDirecao = alternarDirecao;
+		this.distancias = distancias;
+		this.antecessores = antecessores;
+		this.visitados = new AtomicLongArray((grafo.getQuantidadeDeVertices() + 63) / 64);
+	}
+
+	/**
+	 * Executa a busca a partir da origem, preenchendo as distâncias e os
+	 * antecessores.
+	 *
+	 * @param origem
+	 * @return os vértices alcançados, na ordem dos níveis
+	 */
+	int[] executar(int origem) {
+		int n = grafo.getQuantidadeDeVertices();
+		GrafoCongelado transposta = alternarDirecao ? grafo.transposta() : null;
+		int[] ordem = new int[n];
+		int alcancados = 0;
+
+		marcar(origem);
+		distancias[origem] = 0;
+		ordem[alcancados++] = origem;
+
+		int[] fronteira = { origem };
+		long arestasNaoExploradas = grafo.fim(n - 1);
+		boolean deBaixoParaCima = false;
+		int nivel = 0;
+		while (fronteira.length > 0) {
+			nivel++;
+			if (alternarDirecao) {
+				long arestasDaFronteira = 0;
+				for (int vertice : fronteira) {
+					arestasDaFronteira += grafo.grauDeSaida(vertice);
+				}
+				if (!deBaixoParaCima && arestasDaFronteira > arestasNaoExploradas / ALFA) {
+					deBaixoParaCima = true;
+				} else if (deBaixoParaCima && fronteira.length < n / BETA) {
+					deBaixoParaCima = false;
+				}
+				arestasNaoExploradas -= arestasDaFronteira;
+			}
+
+			fronteira = deBaixoParaCima
+					? pool.invoke(new PassoDeBaixoParaCima(transposta, 0, n, nivel))
+					: pool.invoke(new PassoDeCimaParaBaixo(fronteira, 0, fronteira.length, nivel));
+			System.arraycopy(fronteira, 0, ordem, alcancados, fronteira.length);
+			alcancados += fronteira.length;
+		}
+		return Arrays.copyOf(ordem, alcancados);
+	}
+
+	private boolean visitado(int vertice) {
+		return (visitados.get(vertice >>> 6) & (1L << vertice)) != 0;
+	}
+
+	private boolean marcar(int vertice) {
+		int palavra = vertice >>> 6;
+		long bit = 1L << vertice;
+		long atual;
+		do {
+			atual = visitados.get(palavra);
+			if ((atual & bit) != 0) {
+				return false;
+			}
+		} while (!visitados.compareAndSet(palavra, atual, atual | bit));
+		return true;
+	}
+
+	@SuppressWarnings("serial")
+	private abstract class Passo extends RecursiveTask<int[]> {
+		final int inicio;
+		final int fim;
+		final int nivel;
+
+		Passo(int inicio, int fim, int nivel) {
+			this.inicio = inicio;
+			this.fim = fim;
+			this.nivel = nivel;
+		}
+
+		abstract Passo dividir(int inicio, int fim);
+
+		abstract int[] processar();
+
+		@Override
+		protected int[] compute() {
+			if (fim - inicio <= LIMIAR) {
+				return processar();
+			}
+
+			int meio = (inicio + fim) >>> 1;
+			Passo esquerda = dividir(inicio, meio);
+			Passo direita = dividir(meio, fim);
+			esquerda.fork();
+			int[] descobertosDireita = direita.compute();
+			int[] descobertosEsquerda = esquerda.join();
+
+			int[] descobertos = Arrays.copyOf(descobertosEsquerda,
+					descobertosEsquerda.length + descobertosDireita.length);
+			System.arraycopy(descobertosDireita, 0, descobertos, descobertosEsquerda.length,
+					descobertosDireita.length);
+			return descobertos;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private final class PassoDeCimaParaBaixo extends Passo {
+		private final int[] fronteira;
+
+		PassoDeCimaParaBaixo(int[] fronteira, int inicio, int fim, int nivel) {
+			super(inicio, fim, nivel);
+			this.fronteira = fronteira;
+		}
+
+		@Override
+		Passo dividir(int inicio, int fim) {
+			return new PassoDeCimaParaBaixo(fronteira, inicio, fim, nivel);
+		}
+
+		@Override
+		int[] processar() {
+			int[] descobertos = new int[16];
+			int quantidade = 0;
+			for (int i = inicio; i < fim; i++) {
+				int atual = fronteira[i];
+				for (int posicao = grafo.inicio(atual); posicao < grafo.fim(atual); posicao++) {
+					int vizinho = grafo.destino(posicao);
+					if (!visitado(vizinho) && marcar(vizinho)) {
+						distancias[vizinho] = nivel;
+						antecessores[vizinho] = atual;
+						if (quantidade == descobertos.length) {
+							descobertos = Arrays.copyOf(descobertos, quantidade * 2);
+						}
+						descobertos[quantidade++] = vizinho;
+					}
+				}
+			}
+			return Arrays.copyOf(descobertos, quantidade);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private final class PassoDeBaixoParaCima extends Passo {
+		private final GrafoCongelado transposta;
+
+		PassoDeBaixoParaCima(GrafoCongelado transposta, int inicio, int fim, int nivel) {
+			super(inicio, fim, nivel);
+			this.transposta = transposta;
+		}
+
+		@Override
+		Passo dividir(int inicio, int fim) {
+			return new PassoDeBaixoParaCima(transposta, inicio, fim, nivel);
+		}
+
+		@Override
+		int[] processar() {
+			int[] descobertos = new int[16];
+			int quantidade = 0;
+			for (int vertice = inicio; vertice < fim; vertice++) {
+				if (visitado(vertice)) {
+					continue;
+				}
+				for (int posicao = transposta.inicio(vertice); posicao < transposta.fim(vertice); posicao++) {
+					int predecessor = transposta.destino(posicao);
+					if (distancias[predecessor] == nivel - 1) {
+						marcar(vertice);
+						distancias[vertice] = nivel;
+						antecessores[vertice] = predecessor;
+						if (quantidade == descobertos.length) {
+							descobertos = Arrays.copyOf(descobertos, quantidade * 2);
+						}
+						descobertos[quantidade++] = vertice;
+						break;
+					}
+				}
+			}
+			return Arrays.copyOf(descobertos, quantidade);
+		}
+	}
+}
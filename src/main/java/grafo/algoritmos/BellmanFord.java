@@ -0,0 +1,352 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import grafo.Aresta;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+import grafo.digrafo.Digrafo;
+
+/**
+ * Caminhos mínimos a partir de uma origem em digrafos com pesos negativos,
+ * pelo algoritmo de Bellman e Ford, que também encontra um ciclo de peso
+ * negativo alcançável a partir da origem, se houver.
+ * <br>
+ * Sem ciclos negativos, todo caminho mínimo tem no máximo V - 1 arestas, então
+ * V - 1 rodadas relaxando todas as arestas bastam, e uma aresta que ainda
+ * melhora alguma distância depois disso denuncia um ciclo negativo. Nesse caso
+ * o grafo dos antecessores acaba contendo um ciclo, que tem peso negativo e é o
+ * ciclo reportado.
+ * <br>
+ * Em grafos não orientados, cada aresta vale nos dois sentidos, então qualquer
+ * aresta negativa alcançável já forma um ciclo negativo.
+ */
+public class BellmanFord {
+	private static final int SEM_ANTECESSOR = -1;
+	private static final int LIMIAR = 1024;
+
+	private final GrafoCongelado grafo;
+	private final double[] distancias;
+	private final int[] antecessores;
+	private final int[] arestasDeChegada;
+	private final List<Integer> cicloNegativo = new ArrayList<>();
+	private boolean temCicloNegativo;
+
+	/**
+	 * Como as arestas são relaxadas.
+	 */
+	public enum Estrategia {
+		/**
+		 * Rodadas que percorrem todas as arestas, até uma rodada sem melhora. O(VE)
+		 * no pior caso.
+		 */
+		RODADAS,
+		/**
+		 * Algoritmo SPFA: só as arestas que saem de vértices cuja distância mudou
+		 * são relaxadas, em ordem de fila. Também O(VE) no pior caso, mas costuma
+		 * relaxar bem menos arestas.
+		 */
+		FILA,
+		/**
+		 * Rodadas em que cada vértice, em paralelo no
+		 * {@link ForkJoinPool#commonPool()}, calcula sua nova distância a partir das
+		 * arestas que chegam nele e das distâncias da rodada anterior, sem
+		 * sincronização entre as tarefas.
+		 */
+		PARALELA
+	}
+
+	public BellmanFord(Digrafo grafo, Vertice origem) {
+		this(grafo, origem, Estrategia.FILA);
+	}
+
+	public BellmanFord(Digrafo grafo, Vertice origem, Estrategia estrategia) {
+		this(checkNotNull(grafo, "Grafo não pode ser nulo").congelar(), origem, estrategia);
+	}
+
+	public BellmanFord(GrafoCongelado grafo, Vertice origem, Estrategia estrategia) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(origem, "Vértice de origem não pode ser nulo");
+		checkNotNull(estrategia, "Estratégia não pode ser nula");
+		int idOrigem = grafo.id(origem);
+		checkArgument(idOrigem != -1, "Vértice de origem não existe no grafo");
+
+		int n = grafo.getQuantidadeDeVertices();
+		this.grafo = grafo;
+		this.distancias = new double[n];
+		this.antecessores = new int[n];
+		this.arestasDeChegada = new int[n];
+		Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+		Arrays.fill(antecessores, SEM_ANTECESSOR);
+		distancias[idOrigem] = 0.0;
+
+		temCicloNegativo = switch (estrategia) {
+			case RODADAS -> !relaxarEmRodadas(n);
+			case FILA -> !relaxarEmFila(idOrigem);
+			case PARALELA -> !relaxarEmParalelo(ForkJoinPool.commonPool());
+		};
+		if (temCicloNegativo) {
+			encontrarCicloNegativo();
+		}
+	}
+
+	/**
+	 * Relaxa todas as arestas até uma rodada sem melhora, por no máximo o número
+	 * de rodadas informado.
+	 *
+	 * @return se as distâncias convergiram
+	 */
+	private boolean relaxarEmRodadas(int rodadas) {
+		for (int rodada = 0; rodada < rodadas; rodada++) {
+			boolean melhorou = false;
+			for (int vertice = 0; vertice < distancias.length; vertice++) {
+				if (distancias[vertice] == Double.POSITIVE_INFINITY) {
+					continue;
+				}
+				for (int posicao = grafo.inicio(vertice); posicao < grafo.fim(vertice); posicao++) {
+					melhorou |= relaxar(vertice, posicao);
+				}
+			}
+			if (!melhorou) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * SPFA. Cada distância vem de um passeio desde a origem, e o número de arestas
+	 * desse passeio é guardado; um passeio com V arestas repete algum vértice,
+	 * o que sem ciclos negativos nunca melhoraria uma distância.
+	 *
+	 * @return se as distâncias convergiram
+	 */
+	private boolean relaxarEmFila(int origem) {
+		int n = distancias.length;
+		int[] fila = new int[n];
+		boolean[] naFila = new boolean[n];
+		int[] arestasDoPasseio = new int[n];
+		int inicio = 0;
+		int tamanho = 0;
+		fila[tamanho++] = origem;
+		naFila[origem] = true;
+
+		while (tamanho > 0) {
+			int vertice = fila[inicio];
+			inicio = (inicio + 1) % n;
+			tamanho--;
+			naFila[vertice] = false;
+
+			for (int posicao = grafo.inicio(vertice); posicao < grafo.fim(vertice); posicao++) {
+				int vizinho = grafo.destino(posicao);
+				if (relaxar(vertice, posicao)) {
+					arestasDoPasseio[vizinho] = arestasDoPasseio[vertice] + 1;
+					if (arestasDoPasseio[vizinho] >= n) {
+						return false;
+					}
+					if (!naFila[vizinho]) {
+						fila[(inicio + tamanho++) % n] = vizinho;
+						naFila[vizinho] = true;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Rodadas de Jacobi: as novas distâncias só dependem das da rodada anterior,
+	 * então cada vértice pode ser processado por uma tarefa diferente, que só
+	 * escreve nas posições do próprio vértice.
+	 *
+	 * @return se as distâncias convergiram
+	 */
+	private boolean relaxarEmParalelo(ForkJoinPool pool) {
+		GrafoCongelado transposta = grafo.transposta();
+		double[] anteriores = distancias.clone();
+		for (int rodada = 0; rodada < distancias.length; rodada++) {
+			if (!pool.invoke(new Rodada(transposta, anteriores, 0, distancias.length))) {
+				return true;
+			}
+			System.arraycopy(distancias, 0, anteriores, 0, distancias.length);
+		}
+		return false;
+	}
+
+	private boolean relaxar(int vertice, int posicao) {
+		int vizinho = grafo.destino(posicao);
+		double distancia = distancias[vertice] + grafo.peso(posicao);
+		if (distancia < distancias[vizinho]) {
+			distancias[vizinho] = distancia;
+			antecessores[vizinho] = vertice;
+			arestasDeChegada[vizinho] = grafo.idAresta(posicao);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Procura um ciclo no grafo dos antecessores, relaxando mais rodadas enquanto
+	 * ele não aparece. Todo ciclo formado pelos antecessores tem peso negativo.
+	 */
+	private void encontrarCicloNegativo() {
+		int n = distancias.length;
+		for (int rodada = 0; rodada <= n; rodada++) {
+			int vertice = verticeEmCiclo();
+			if (vertice != SEM_ANTECESSOR) {
+				int atual = vertice;
+				do {
+					cicloNegativo.add(atual);
+					atual = antecessores[atual];
+				} while (atual != vertice);
+				Collections.reverse(cicloNegativo);
+				return;
+			}
+			relaxarEmRodadas(1);
+		}
+	}
+
+	/**
+	 * Percorre os antecessores a partir de cada vértice, marcando por qual
+	 * partida cada um foi visitado; voltar a um vértice da mesma partida fecha
+	 * um ciclo.
+	 */
+	private int verticeEmCiclo() {
+		int[] partidas = new int[distancias.length];
+		Arrays.fill(partidas, -1);
+		for (int partida = 0; partida < distancias.length; partida++) {
+			int atual = partida;
+			while (atual != SEM_ANTECESSOR && partidas[atual] == -1) {
+				partidas[atual] = partida;
+				atual = antecessores[atual];
+			}
+			if (atual != SEM_ANTECESSOR && partidas[atual] == partida) {
+				return atual;
+			}
+		}
+		return SEM_ANTECESSOR;
+	}
+
+	/**
+	 * Verifica se há um ciclo de peso negativo alcançável a partir da origem,
+	 * caso em que as distâncias não são definidas.
+	 */
+	public boolean temCicloNegativo() {
+		return temCicloNegativo;
+	}
+
+	/**
+	 * Retorna os vértices de um ciclo de peso negativo alcançável a partir da
+	 * origem, na ordem das arestas, sem repetir o primeiro no final.
+	 *
+	 * @return o ciclo, ou lista vazia se não houver
+	 */
+	public List<Vertice> getCicloNegativo() {
+		return cicloNegativo.stream().map(grafo::vertice).toList();
+	}
+
+	/**
+	 * Retorna as arestas do ciclo de {@link #getCicloNegativo()}, cada uma
+	 * saindo do vértice na mesma posição.
+	 *
+	 * @return as arestas do ciclo, ou lista vazia se não houver
+	 */
+	public List<Aresta> getArestasDoCicloNegativo() {
+		List<Aresta> arestas = new ArrayList<>();
+		for (int i = 0; i < cicloNegativo.size(); i++) {
+			arestas.add(grafo.aresta(arestasDeChegada[cicloNegativo.get((i + 1) % cicloNegativo.size())]));
+		}
+		return arestas;
+	}
+
+	/**
+	 * Retorna a soma dos pesos do caminho mínimo entre a origem e o vértice de
+	 * destino.
+	 *
+	 * @param destino o vértice de destino
+	 * @return a distância, que pode ser negativa, ou
+	 *         {@link Double#POSITIVE_INFINITY} se não houver caminho
+	 */
+	public double getDistanciaEntre(Vertice destino) {
+		checkState(!temCicloNegativo, "Distâncias não são definidas com um ciclo negativo alcançável");
+		int id = grafo.id(destino);
+		return id == -1 ? Double.POSITIVE_INFINITY : distancias[id];
+	}
+
+	/**
+	 * Reconstrói o caminho mínimo da origem até o vértice de destino.
+	 *
+	 * @param destino o vértice de destino
+	 * @return uma lista com o caminho da origem ao destino, ou lista vazia se não
+	 *         houver caminho
+	 */
+	public List<Vertice> getCaminhoAte(Vertice destino) {
+		if (!existeCaminhoAte(destino)) {
+			return Collections.emptyList();
+		}
+
+		List<Vertice> caminho = new ArrayList<>();
+		for (int atual = grafo.id(destino); atual != SEM_ANTECESSOR; atual = antecessores[atual]) {
+			caminho.add(grafo.vertice(atual));
+		}
+		Collections.reverse(caminho);
+		return caminho;
+	}
+
+	public boolean existeCaminhoAte(Vertice destino) {
+		return getDistanciaEntre(destino) != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Uma rodada de Jacobi sobre um intervalo de vértices.
+	 */
+	@SuppressWarnings("serial")
+	private final class Rodada extends RecursiveTask<Boolean> {
+		private final GrafoCongelado transposta;
+		private final double[] anteriores;
+		private final int inicio;
+		private final int fim;
+
+		Rodada(GrafoCongelado transposta, double[] anteriores, int inicio, int fim) {
+			this.transposta = transposta;
+			this.anteriores = anteriores;
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		protected Boolean compute() {
+			if (fim - inicio > LIMIAR) {
+				int meio = (inicio + fim) >>> 1;
+				Rodada esquerda = new Rodada(transposta, anteriores, inicio, meio);
+				esquerda.fork();
+				boolean melhorouDireita = new Rodada(transposta, anteriores, meio, fim).compute();
+				return esquerda.join() | melhorouDireita;
+			}
+
+			boolean melhorou = false;
+			for (int vertice = inicio; vertice < fim; vertice++) {
+				for (int posicao = transposta.inicio(vertice); posicao < transposta.fim(vertice); posicao++) {
+					int predecessor = transposta.destino(posicao);
+					double distancia = anteriores[predecessor] + transposta.peso(posicao);
+					if (distancia < distancias[vertice]) {
+						distancias[vertice] = distancia;
+						antecessores[vertice] = predecessor;
+						arestasDeChegada[vertice] = transposta.idAresta(posicao);
+						melhorou = true;
+					}
+				}
+			}
+			return melhorou;
+		}
+	}
+}
@@ -4,6 +4,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import grafo.Aresta;
 import grafo.Vertice;
@@ -14,157 +18,157 @@ import grafo.nao_orientado.GrafoNaoDirecionado;
  * caixeiro viajante (TSP).
  * Este algoritmo usa branch-and-bound para encontrar o ciclo hamiltoniano de
  * menor custo.
+ * <br>
+ * O limite inferior usado para podar é escolhido na {@link Configuracao}, e a
+ * busca pode começar com um ciclo construído por heurística como melhor ciclo
+ * conhecido, para que a poda funcione desde os primeiros ramos.
+ * <br>
+ * Com paralelismo maior que 1, os ramos das primeiras
+ * {@value #PROFUNDIDADE_DE_DIVISAO} escolhas viram tarefas de um
+ * {@link ForkJoinPool}, e abaixo disso cada tarefa explora sua subárvore
+ * sequencialmente. O melhor ciclo encontrado até o momento é compartilhado
+ * entre as tarefas por uma referência atômica, usada por todas para podar.
+ * <br>
+ * Entre ciclos de mesmo custo vence o primeiro na ordem de exploração, então o
+ * resultado não depende do paralelismo nem da ordem em que as tarefas terminam.
  */
 public class BellmoreNemhauser {
-	private final GrafoNaoDirecionado grafo;
+	private static final int PROFUNDIDADE_DE_DIVISAO = 3;
+	private static final Incumbente SEM_INCUMBENTE = new Incumbente(Double.MAX_VALUE, null);
+
 	private final Vertice verticeInicial;
+	private final Configuracao configuracao;
 	private final Set<Aresta> melhorCaminhoArestas = new LinkedHashSet<>();
 	private final List<Vertice> melhorCaminhoVertices = new ArrayList<>();
+	private final AtomicReference<Incumbente> incumbente = new AtomicReference<>(SEM_INCUMBENTE);
 	private double melhorCusto = Double.MAX_VALUE;
 
-	private final Map<Vertice, Map<Vertice, Double>> matrizDistancia;
+	private final MatrizDeDistancias matrizDistancia;
 	private final int numVertices;
+	private final int inicial;
+	private final long todos;
+	private final LongAdder nosExplorados = new LongAdder();
+	private CalculoDeLimite calculoDeLimite;
 
 	public BellmoreNemhauser(GrafoNaoDirecionado grafo, Vertice verticeInicial) {
+		this(grafo, verticeInicial, Configuracao.padrao());
+	}
+
+	public BellmoreNemhauser(GrafoNaoDirecionado grafo, Vertice verticeInicial, Configuracao configuracao) {
 		checkNotNull(grafo, "Grafo não pode ser nulo");
 		checkNotNull(verticeInicial, "Vértice inicial não pode ser nulo");
+		checkNotNull(configuracao, "Configuração não pode ser nula");
 		checkArgument(grafo.existeVertice(verticeInicial), "Vértice inicial existe no grafo");
 		checkArgument(grafo.ehConexo(), "Grafo deve ser conexo para aplicar o algoritmo");
+		checkArgument(grafo.getVertices().size() <= Long.SIZE,
+				"O algoritmo suporta no máximo " + Long.SIZE + " vértices");
 
-		this.grafo = grafo;
 		this.verticeInicial = verticeInicial;
-		this.numVertices = grafo.getVertices().size();
-		this.matrizDistancia = construirMatrizDistancia();
+		this.configuracao = configuracao;
+		this.matrizDistancia = new MatrizDeDistancias(grafo.congelar());
+		this.numVertices = matrizDistancia.tamanho();
+		this.inicial = matrizDistancia.id(verticeInicial);
+		this.todos = numVertices == Long.SIZE ? -1L : (1L << numVertices) - 1;
 
 		rodar();
 	}
 
-	private Map<Vertice, Map<Vertice, Double>> construirMatrizDistancia() {
-		Map<Vertice, Map<Vertice, Double>> matriz = new HashMap<>();
-		Set<Vertice> vertices = grafo.getVertices();
-
-		for (Vertice origem : vertices) {
-			Map<Vertice, Double> distancias = new HashMap<>();
-			for (Vertice destino : vertices) {
-				if (origem.equals(destino)) {
-					distancias.put(destino, Double.MAX_VALUE);
-				} else {
-					Aresta aresta = grafo.encontrarAresta(origem, destino);
-					if (aresta != null) {
-						distancias.put(destino, aresta.peso());
-					} else {
-						distancias.put(destino, Double.MAX_VALUE);
-					}
-				}
+	public void rodar() {
+		int[] caminhoAtual = new int[numVertices];
+		caminhoAtual[0] = inicial;
+		long visitados = 1L << inicial;
+
+		if (configuracao.incumbenteInicial()) {
+			int[] ciclo = HeuristicasDoCaixeiro.vizinhoMaisProximo(matrizDistancia, inicial);
+			if (ciclo != null) {
+				HeuristicasDoCaixeiro.doisOpt(matrizDistancia, ciclo);
+				incumbente.accumulateAndGet(new Incumbente(HeuristicasDoCaixeiro.custo(matrizDistancia, ciclo), ciclo),
+						(atual, novo) -> novo.melhorQue(atual) ? novo : atual);
 			}
-			matriz.put(origem, distancias);
 		}
-		return matriz;
-	}
-
-	public void rodar() {
-		List<Vertice> vertices = new ArrayList<>(grafo.getVertices());
-		vertices.remove(verticeInicial);
+		calculoDeLimite = switch (configuracao.limite()) {
+			case SIMPLES -> new LimiteSimples(matrizDistancia, inicial, todos);
+			case ARVORE_1 -> new LimiteArvore1(matrizDistancia, inicial, todos, incumbente.get().custo());
+			case MATRIZ_REDUZIDA -> new LimiteMatrizReduzida(matrizDistancia, inicial, todos);
+		};
 
 		// Inicia o branch-and-bound
-		List<Vertice> caminhoAtual = new ArrayList<>();
-		caminhoAtual.add(verticeInicial);
-		Set<Vertice> visitados = new HashSet<>();
-		visitados.add(verticeInicial);
-
-		branchAndBound(caminhoAtual, visitados, 0.0, vertices);
-	}
-
-	private void branchAndBound(List<Vertice> caminhoAtual, Set<Vertice> visitados,
-			double custoAtual, List<Vertice> verticesRestantes) {
-
-		if (visitados.size() == numVertices) {
-			Vertice ultimoVertice = caminhoAtual.get(caminhoAtual.size() - 1);
-			double custoRetorno = matrizDistancia.get(ultimoVertice).get(verticeInicial);
-
-			if (custoRetorno != Double.MAX_VALUE) {
-				double custoTotal = custoAtual + custoRetorno;
-				if (custoTotal < melhorCusto) {
-					melhorCusto = custoTotal;
-					melhorCaminhoVertices.clear();
-					melhorCaminhoVertices.addAll(caminhoAtual);
-					melhorCaminhoVertices.add(verticeInicial);
-
-					atualizarMelhorCaminhoArestas();
-				}
+		if (configuracao.paralelismo() == 1) {
+			branchAndBound(caminhoAtual, 1, visitados, 0.0);
+		} else {
+			ForkJoinPool pool = new ForkJoinPool(configuracao.paralelismo());
+			try {
+				pool.invoke(new Ramo(caminhoAtual, 1, visitados, 0.0));
+			} finally {
+				pool.shutdown();
 			}
-			return;
 		}
 
-		double bound = custoAtual + calcularBound(caminhoAtual.get(caminhoAtual.size() - 1), visitados);
+		Incumbente melhor = incumbente.get();
+		if (melhor != SEM_INCUMBENTE) {
+			melhorCusto = melhor.custo();
+			melhorCaminhoVertices.clear();
+			for (int vertice : melhor.caminho()) {
+				melhorCaminhoVertices.add(matrizDistancia.vertice(vertice));
+			}
+			melhorCaminhoVertices.add(verticeInicial);
 
-		if (bound >= melhorCusto) {
-			return;
+			atualizarMelhorCaminhoArestas(melhor.caminho());
 		}
+	}
 
-		Vertice verticeAtual = caminhoAtual.get(caminhoAtual.size() - 1);
-		for (Vertice proximoVertice : grafo.getVertices()) {
-			if (!visitados.contains(proximoVertice)) {
-				double custo = matrizDistancia.get(verticeAtual).get(proximoVertice);
-
-				if (custo != Double.MAX_VALUE) {
-					caminhoAtual.add(proximoVertice);
-					visitados.add(proximoVertice);
+	private void branchAndBound(int[] caminhoAtual, int profundidade, long visitados, double custoAtual) {
+		if (!deveExpandir(caminhoAtual, profundidade, visitados, custoAtual)) {
+			return;
+		}
 
-					branchAndBound(caminhoAtual, visitados, custoAtual + custo, verticesRestantes);
+		double[] distancias = matrizDistancia.linha(caminhoAtual[profundidade - 1]);
+		for (long restantes = todos & ~visitados; restantes != 0; restantes &= restantes - 1) {
+			int proximoVertice = Long.numberOfTrailingZeros(restantes);
+			double custo = distancias[proximoVertice];
 
-					caminhoAtual.remove(caminhoAtual.size() - 1);
-					visitados.remove(proximoVertice);
-				}
+			if (custo != Double.POSITIVE_INFINITY) {
+				caminhoAtual[profundidade] = proximoVertice;
+				branchAndBound(caminhoAtual, profundidade + 1, visitados | (1L << proximoVertice), custoAtual + custo);
 			}
 		}
 	}
 
-	private double calcularBound(Vertice verticeAtual, Set<Vertice> visitados) {
-		double bound = 0.0;
-		Set<Vertice> naoVisitados = new HashSet<>(grafo.getVertices());
-		naoVisitados.removeAll(visitados);
-
-		if (naoVisitados.isEmpty()) {
-			return matrizDistancia.get(verticeAtual).get(verticeInicial);
-		}
-
-		double menorCusto = Double.MAX_VALUE;
-		for (Vertice v : naoVisitados) {
-			double custo = matrizDistancia.get(verticeAtual).get(v);
-			if (custo < menorCusto) {
-				menorCusto = custo;
+	/**
+	 * Fecha o ciclo quando todos os vértices foram visitados ou poda o ramo cujo
+	 * limite inferior não melhora o melhor ciclo conhecido.
+	 *
+	 * @return se os filhos do ramo ainda precisam ser explorados
+	 */
+	private boolean deveExpandir(int[] caminhoAtual, int profundidade, long visitados, double custoAtual) {
+		int verticeAtual = caminhoAtual[profundidade - 1];
+		if (profundidade == numVertices) {
+			double custoTotal = custoAtual + matrizDistancia.distancia(verticeAtual, inicial);
+
+			if (custoTotal <= incumbente.get().custo()) {
+				Incumbente candidato = new Incumbente(custoTotal, caminhoAtual.clone());
+				incumbente.accumulateAndGet(candidato,
+						(atual, novo) -> novo.melhorQue(atual) ? novo : atual);
 			}
+			return false;
 		}
 
-		if (menorCusto != Double.MAX_VALUE) {
-			bound += menorCusto;
-		}
-
-		for (Vertice v : naoVisitados) {
-			menorCusto = Double.MAX_VALUE;
-			for (Vertice destino : naoVisitados) {
-				if (!destino.equals(v)) {
-					double custo = matrizDistancia.get(v).get(destino);
-					if (custo < menorCusto) {
-						menorCusto = custo;
-					}
-				}
-			}
-			if (menorCusto != Double.MAX_VALUE) {
-				bound += menorCusto;
-			}
+		nosExplorados.increment();
+		Incumbente atual = incumbente.get();
+		double bound = custoAtual + calculoDeLimite.calcular(verticeAtual, visitados, atual.custo() - custoAtual);
+		if (bound > atual.custo()) {
+			return false;
 		}
-
-		return bound;
+		// Com o mesmo custo, só poda se o melhor ciclo vem antes de todo o ramo
+		return bound < atual.custo()
+				|| atual.caminho() == null
+				|| Arrays.compare(atual.caminho(), 0, profundidade, caminhoAtual, 0, profundidade) >= 0;
 	}
 
-	private void atualizarMelhorCaminhoArestas() {
+	private void atualizarMelhorCaminhoArestas(int[] caminho) {
 		melhorCaminhoArestas.clear();
-		for (int i = 0; i < melhorCaminhoVertices.size() - 1; i++) {
-			Vertice origem = melhorCaminhoVertices.get(i);
-			Vertice destino = melhorCaminhoVertices.get(i + 1);
-			Aresta aresta = grafo.encontrarAresta(origem, destino);
+		for (int i = 0; i < caminho.length; i++) {
+			Aresta aresta = matrizDistancia.aresta(caminho[i], caminho[(i + 1) % caminho.length]);
 			if (aresta != null) {
 				melhorCaminhoArestas.add(aresta);
 			}
@@ -182,4 +186,122 @@ public class BellmoreNemhauser {
 	public double getMelhorCusto() {
 		return melhorCusto;
 	}
+
+	/**
+	 * Retorna quantos nós da árvore de busca tiveram o limite inferior calculado,
+	 * o que permite comparar a eficácia dos limites.
+	 *
+	 * @return o número de nós explorados
+	 */
+	public long getNosExplorados() {
+		return nosExplorados.sum();
+	}
+
+	/**
+	 * Limites inferiores usados para podar a árvore de busca. Todos levam ao
+	 * mesmo ciclo ótimo; os mais fortes custam mais por nó, mas podam muito mais.
+	 */
+	public enum Limite {
+		/**
+		 * Soma da aresta mais barata que sai de cada vértice ainda por sair.
+		 */
+		SIMPLES,
+		/**
+		 * Árvore 1 de Held e Karp, reforçada por otimização por subgradiente.
+		 */
+		ARVORE_1,
+		/**
+		 * Redução das linhas e colunas da matriz de distâncias, como no algoritmo
+		 * de Little.
+		 */
+		MATRIZ_REDUZIDA
+	}
+
+	/**
+	 * Opções de execução do algoritmo.
+	 *
+	 * @param paralelismo       o número de threads usadas no branch-and-bound; com
+	 *                          1, a busca roda sequencialmente na thread que
+	 *                          chamou
+	 * @param limite            o limite inferior usado para podar
+	 * @param incumbenteInicial se a busca deve começar com o ciclo do vizinho mais
+	 *                          próximo melhorado por 2-opt, o que permite podar
+	 *                          desde a raiz
+	 */
+	public record Configuracao(int paralelismo, Limite limite, boolean incumbenteInicial) {
+		public Configuracao {
+			checkArgument(paralelismo >= 1, "Paralelismo deve ser pelo menos 1");
+			checkNotNull(limite, "Limite não pode ser nulo");
+		}
+
+		public static Configuracao padrao() {
+			return new Configuracao(1, Limite.ARVORE_1, true);
+		}
+
+		public Configuracao comParalelismo(int paralelismo) {
+			return new Configuracao(paralelismo, limite, incumbenteInicial);
+		}
+
+		public Configuracao comLimite(Limite limite) {
+			return new Configuracao(paralelismo, limite, incumbenteInicial);
+		}
+
+		public Configuracao comIncumbenteInicial(boolean incumbenteInicial) {
+			return new Configuracao(paralelismo, limite, incumbenteInicial);
+		}
+	}
+
+	/**
+	 * Melhor ciclo conhecido, sem o retorno ao vértice inicial.
+	 */
+	private record Incumbente(double custo, int[] caminho) {
+		boolean melhorQue(Incumbente outro) {
+			return custo < outro.custo
+					|| (custo == outro.custo && (outro.caminho == null || Arrays.compare(caminho, outro.caminho) < 0));
+		}
+	}
+
+	/**
+	 * Ramo da árvore de busca explorado como tarefa. Até a profundidade de
+	 * divisão, cada filho vira uma nova tarefa com sua própria cópia do caminho.
+	 */
+	@SuppressWarnings("serial")
+	private final class Ramo extends RecursiveAction {
+		private final int[] caminhoAtual;
+		private final int profundidade;
+		private final long visitados;
+		private final double custoAtual;
+
+		Ramo(int[] caminhoAtual, int profundidade, long visitados, double custoAtual) {
+			this.caminhoAtual = caminhoAtual;
+			this.profundidade = profundidade;
+			this.visitados = visitados;
+			this.custoAtual = custoAtual;
+		}
+
+		@Override
+		protected void compute() {
+			if (profundidade > PROFUNDIDADE_DE_DIVISAO) {
+				branchAndBound(caminhoAtual, profundidade, visitados, custoAtual);
+				return;
+			}
+			if (!deveExpandir(caminhoAtual, profundidade, visitados, custoAtual)) {
+				return;
+			}
+
+			double[] distancias = matrizDistancia.linha(caminhoAtual[profundidade - 1]);
+			List<Ramo> filhos = new ArrayList<>();
+			for (long restantes = todos & ~visitados; restantes != 0; restantes &= restantes - 1) {
+				int proximoVertice = Long.numberOfTrailingZeros(restantes);
+				double custo = distancias[proximoVertice];
+				if (custo != Double.POSITIVE_INFINITY) {
+					int[] caminhoFilho = caminhoAtual.clone();
+					caminhoFilho[profundidade] = proximoVertice;
+					filhos.add(new Ramo(caminhoFilho, profundidade + 1, visitados | (1L << proximoVertice),
+							custoAtual + custo));
+				}
+			}
+			invokeAll(filhos);
+		}
+	}
 }
@@ -0,0 +1,89 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Base das buscas de um único par origem e destino, que guardam só o caminho
+ * encontrado, sua distância e quantos vértices foram finalizados.
+ */
+abstract class BuscaPontoAPonto {
+	static final int SEM_ANTECESSOR = -1;
+
+	final GrafoCongelado grafo;
+	final int origem;
+	final int destino;
+	int quantidadeDeFinalizados;
+	private List<Vertice> caminho = Collections.emptyList();
+	private double distancia = -1;
+
+	BuscaPontoAPonto(GrafoCongelado grafo, Vertice origem, Vertice destino) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(origem, "Vértice de origem não pode ser nulo");
+		checkNotNull(destino, "Vértice de destino não pode ser nulo");
+		this.grafo = grafo;
+		this.origem = grafo.id(origem);
+		this.destino = grafo.id(destino);
+		checkArgument(this.origem != -1, "Vértice de origem não existe no grafo");
+		checkArgument(this.destino != -1, "Vértice de destino não existe no grafo");
+	}
+
+	/**
+	 * Registra o caminho que passa pelo vértice de encontro, seguindo os
+	 * antecessores até a origem e, se houver, os sucessores até o destino.
+	 *
+	 * @param sucessores os sucessores na busca a partir do destino, ou
+	 *                   {@code null} se o encontro for o próprio destino
+	 */
+	void registrar(double distancia, int encontro, int[] antecessores, int[] sucessores) {
+		List<Vertice> vertices = new ArrayList<>();
+		for (int atual = encontro; atual != SEM_ANTECESSOR; atual = antecessores[atual]) {
+			vertices.add(grafo.vertice(atual));
+		}
+		Collections.reverse(vertices);
+		if (sucessores != null) {
+			for (int atual = sucessores[encontro]; atual != SEM_ANTECESSOR; atual = sucessores[atual]) {
+				vertices.add(grafo.vertice(atual));
+			}
+		}
+		this.distancia = distancia;
+		this.caminho = Collections.unmodifiableList(vertices);
+	}
+
+	/**
+	 * Retorna o caminho mínimo da origem ao destino.
+	 *
+	 * @return o caminho, ou lista vazia se não houver
+	 */
+	public List<Vertice> getCaminho() {
+		return caminho;
+	}
+
+	/**
+	 * Retorna a distância do caminho mínimo da origem ao destino.
+	 *
+	 * @return a distância, ou -1 se não houver caminho
+	 */
+	public double getDistancia() {
+		return distancia;
+	}
+
+	public boolean existeCaminho() {
+		return distancia != -1;
+	}
+
+	/**
+	 * Retorna quantos vértices foram finalizados, somando os dois sentidos nas
+	 * buscas bidirecionais, o que mede o trabalho da busca.
+	 */
+	public int getQuantidadeDeFinalizados() {
+		return quantidadeDeFinalizados;
+	}
+}
@@ -0,0 +1,615 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import grafo.Aresta;
+import grafo.Vertice;
+import grafo.nao_orientado.GrafoNaoDirecionado;
+
+/**
+ * Heurística para o problema do caixeiro viajante em instâncias grandes, de
+ * milhares de vértices, onde os algoritmos exatos não terminam.
+ * <br>
+ * Um ciclo inicial é construído pelo vizinho mais próximo ou pela
+ * junção gulosa das arestas mais baratas, e depois melhorado por busca local
+ * com movimentos 2-opt e Or-opt. Cada vértice só considera como novos vizinhos
+ * os mais próximos dele, e vértices cujos movimentos não melhoraram o ciclo
+ * ficam de fora (don't look bits) até que uma aresta sua mude.
+ * <br>
+ * Ao chegar em um ótimo local, o ciclo é perturbado por um double bridge
+ * perto de um ponto aleatório e melhorado de novo, ficando o melhor ciclo
+ * encontrado, até acabar o orçamento de tempo. O resultado não é
+ * necessariamente ótimo e, por depender do tempo, pode variar entre execuções.
+ * <br>
+ * As distâncias vêm direto das arestas, sem matriz n × n. Pares de vértices
+ * sem aresta podem aparecer nos ciclos intermediários com uma penalidade maior
+ * que o custo de qualquer ciclo válido, que a busca local tenta eliminar; se o
+ * melhor ciclo ainda usar algum deles, não há resultado. Em grafos muito
+ * esparsos, isso pode acontecer mesmo havendo ciclo hamiltoniano.
+ */
+public class CaixeiroViajanteHeuristico {
+	private static final double TOLERANCIA = 1e-9;
+	private static final int TAMANHO_MAXIMO_DO_TRECHO = 3;
+	private static final int ALCANCE_DA_PERTURBACAO = 50;
+	private static final int PERTURBACOES_SEM_MELHORA_POR_VERTICE = 100;
+	private static final Duration ORCAMENTO_MAXIMO = Duration.ofDays(36_500);
+
+	private final Vertice verticeInicial;
+	private final Configuracao configuracao;
+	private final ListasDeDistancias distancias;
+	private final Set<Aresta> melhorCaminhoArestas = new LinkedHashSet<>();
+	private final List<Vertice> melhorCaminhoVertices = new ArrayList<>();
+	private double melhorCusto = Double.MAX_VALUE;
+	private double custoInicial = Double.MAX_VALUE;
+
+	private int n;
+	private double penalidade;
+	private int[][] vizinhos;
+	private int[][] todosOsVizinhos;
+	private int[] ciclo;
+	private int[] posicoes;
+	private int[] fila;
+	private boolean[] naFila;
+	private int inicioDaFila;
+	private int tamanhoDaFila;
+
+	/**
+	 * Como o ciclo inicial é construído.
+	 */
+	public enum Construcao {
+		/**
+		 * Sai do vértice inicial e vai sempre para o vértice não visitado mais
+		 * próximo.
+		 */
+		VIZINHO_MAIS_PROXIMO,
+		/**
+		 * Escolhe as arestas mais baratas que não formam ciclo nem dão grau maior
+		 * que 2 a um vértice, e junta os caminhos resultantes pelas pontas mais
+		 * próximas.
+		 */
+		GULOSA
+	}
+
+	/**
+	 * Opções de execução da heurística.
+	 *
+	 * @param construcao como o ciclo inicial é construído
+	 * @param vizinhos   quantos vizinhos mais próximos de cada vértice são
+	 *                   considerados pela busca local
+	 * @param orcamento  o tempo máximo da busca local; com zero, só o ciclo
+	 *                   inicial é calculado
+	 * @param semente    a semente das perturbações
+	 */
+	public record Configuracao(Construcao construcao, int vizinhos, Duration orcamento, long semente) {
+		public Configuracao {
+			checkNotNull(construcao, "Construção não pode ser nula");
+			checkArgument(vizinhos >= 1, "Deve haver pelo menos 1 vizinho");
+			checkNotNull(orcamento, "Orçamento não pode ser nulo");
+			checkArgument(!orcamento.isNegative(), "Orçamento não pode ser negativo");
+		}
+
+		public static Configuracao padrao() {
+			return new Configuracao(Construcao.GULOSA, 10, Duration.ofSeconds(1), 0);
+		}
+
+		public Configuracao comConstrucao(Construcao construcao) {
+			return new Configuracao(construcao, vizinhos, orcamento, semente);
+		}
+
+		public Configuracao comVizinhos(int vizinhos) {
+			return new Configuracao(construcao, vizinhos, orcamento, semente);
+		}
+
+		public Configuracao comOrcamento(Duration orcamento) {
+			return new Configuracao(construcao, vizinhos, orcamento, semente);
+		}
+
+		public Configuracao comSemente(long semente) {
+			return new Configuracao(construcao, vizinhos, orcamento, semente);
+		}
+	}
+
+	public CaixeiroViajanteHeuristico(GrafoNaoDirecionado grafo, Vertice verticeInicial) {
+		this(grafo, verticeInicial, Configuracao.padrao());
+	}
+
+	public CaixeiroViajanteHeuristico(GrafoNaoDirecionado grafo, Vertice verticeInicial,
+			Configuracao configuracao) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(verticeInicial, "Vértice inicial não pode ser nulo");
+		checkNotNull(configuracao, "Configuração não pode ser nula");
+		checkArgument(grafo.existeVertice(verticeInicial), "Vértice inicial existe no grafo");
+		checkArgument(grafo.ehConexo(), "Grafo deve ser conexo para aplicar o algoritmo");
+
+		this.verticeInicial = verticeInicial;
+		this.configuracao = configuracao;
+		this.distancias = new ListasDeDistancias(grafo.congelar());
+
+		Duration orcamento = configuracao.orcamento().compareTo(ORCAMENTO_MAXIMO) < 0 ? configuracao.orcamento()
+				: ORCAMENTO_MAXIMO;
+		rodar(System.nanoTime() + orcamento.toNanos());
+	}
+
+	private void rodar(long prazo) {
+		n = distancias.tamanho();
+		if (n < 2) {
+			return;
+		}
+
+		vizinhos = new int[n][];
+		todosOsVizinhos = new int[n][];
+		for (int vertice = 0; vertice < n; vertice++) {
+			vizinhos[vertice] = distancias.vizinhosMaisProximos(vertice, configuracao.vizinhos());
+		}
+		penalidade = 1 + 2.0 * n * distancias.maiorPesoAbsoluto();
+		int inicial = distancias.grafo().id(verticeInicial);
+		ciclo = configuracao.construcao() == Construcao.GULOSA ? construirGuloso() : construirPorVizinhos(inicial);
+		custoInicial = custoReal(ciclo);
+		posicoes = new int[n];
+		atualizarPosicoes();
+
+		fila = new int[n];
+		naFila = new boolean[n];
+		for (int vertice = 0; vertice < n; vertice++) {
+			enfileirar(vertice);
+		}
+		melhorar(prazo);
+
+		int[] melhorCiclo = ciclo.clone();
+		double custoDoMelhor = custo(ciclo);
+		if (n >= 8) {
+			Random random = new Random(configuracao.semente());
+			int[] auxiliar = new int[n];
+			long semMelhora = 0;
+			while (System.nanoTime() - prazo < 0 && semMelhora < (long) PERTURBACOES_SEM_MELHORA_POR_VERTICE * n) {
+				perturbar(random, auxiliar);
+				melhorar(prazo);
+				double custo = custo(ciclo);
+				if (custo + TOLERANCIA < custoDoMelhor) {
+					custoDoMelhor = custo;
+					System.arraycopy(ciclo, 0, melhorCiclo, 0, n);
+					semMelhora = 0;
+				} else {
+					System.arraycopy(melhorCiclo, 0, ciclo, 0, n);
+					atualizarPosicoes();
+					semMelhora++;
+				}
+			}
+		}
+
+		if (custoReal(melhorCiclo) != Double.MAX_VALUE) {
+			registrar(melhorCiclo, inicial, custoReal(melhorCiclo));
+		}
+	}
+
+	private int[] construirPorVizinhos(int inicial) {
+		int[] construido = new int[n];
+		boolean[] visitados = new boolean[n];
+		int menorNaoVisitado = 0;
+		construido[0] = inicial;
+		visitados[inicial] = true;
+
+		for (int posicao = 1; posicao < n; posicao++) {
+			int atual = construido[posicao - 1];
+			int proximo = -1;
+			for (int vizinho : vizinhos[atual]) {
+				if (!visitados[vizinho]) {
+					proximo = vizinho;
+					break;
+				}
+			}
+			if (proximo == -1) {
+				proximo = distancias.vizinhoMaisProximo(atual, vertice -> !visitados[vertice]);
+			}
+			if (proximo == -1) {
+				// Sem arestas para vértices não visitados, a busca local tenta consertar o salto
+				while (visitados[menorNaoVisitado]) {
+					menorNaoVisitado++;
+				}
+				proximo = menorNaoVisitado;
+			}
+			construido[posicao] = proximo;
+			visitados[proximo] = true;
+		}
+		return construido;
+	}
+
+	private int[] construirGuloso() {
+		List<int[]> candidatas = new ArrayList<>();
+		for (int vertice = 0; vertice < n; vertice++) {
+			for (int vizinho : vizinhos[vertice]) {
+				candidatas.add(new int[] { vertice, vizinho });
+			}
+		}
+		candidatas.sort(Comparator.comparingDouble(par -> distancia(par[0], par[1])));
+
+		int[][] ligacoes = new int[n][];
+		int[] pais = new int[n];
+		for (int vertice = 0; vertice < n; vertice++) {
+			ligacoes[vertice] = new int[] { -1, -1 };
+			pais[vertice] = vertice;
+		}
+		for (int[] par : candidatas) {
+			int a = par[0];
+			int b = par[1];
+			int raizA = raiz(pais, a);
+			int raizB = raiz(pais, b);
+			if (ligacoes[a][1] == -1 && ligacoes[b][1] == -1 && raizA != raizB) {
+				ligacoes[a][ligacoes[a][0] == -1 ? 0 : 1] = b;
+				ligacoes[b][ligacoes[b][0] == -1 ? 0 : 1] = a;
+				pais[raizA] = raizB;
+			}
+		}
+
+		// Junta os caminhos, saindo da ponta de cada um para a ponta livre mais próxima
+		int[] pontas = new int[n];
+		int quantidadeDePontas = 0;
+		for (int vertice = 0; vertice < n; vertice++) {
+			if (ligacoes[vertice][1] == -1) {
+				pontas[quantidadeDePontas++] = vertice;
+			}
+		}
+		int[] construido = new int[n];
+		boolean[] usados = new boolean[n];
+		int posicao = 0;
+		int atual = pontas[0];
+		while (true) {
+			int anterior = -1;
+			while (true) {
+				construido[posicao++] = atual;
+				usados[atual] = true;
+				int proximo = ligacoes[atual][0] != anterior ? ligacoes[atual][0] : ligacoes[atual][1];
+				if (proximo == -1 || proximo == anterior) {
+					break;
+				}
+				anterior = atual;
+				atual = proximo;
+			}
+			if (posicao == n) {
+				return construido;
+			}
+
+			int fimDoCaminho = atual;
+			atual = -1;
+			for (int vizinho : vizinhos[fimDoCaminho]) {
+				if (!usados[vizinho] && ligacoes[vizinho][1] == -1) {
+					atual = vizinho;
+					break;
+				}
+			}
+			if (atual == -1) {
+				int restantes = 0;
+				double menorDistancia = Double.POSITIVE_INFINITY;
+				for (int i = 0; i < quantidadeDePontas; i++) {
+					int ponta = pontas[i];
+					if (usados[ponta]) {
+						continue;
+					}
+					pontas[restantes++] = ponta;
+					double distancia = distancia(fimDoCaminho, ponta);
+					if (atual == -1 || distancia < menorDistancia) {
+						atual = ponta;
+						menorDistancia = distancia;
+					}
+				}
+				quantidadeDePontas = restantes;
+			}
+		}
+	}
+
+	private static int raiz(int[] pais, int vertice) {
+		while (pais[vertice] != vertice) {
+			pais[vertice] = pais[pais[vertice]];
+			vertice = pais[vertice];
+		}
+		return vertice;
+	}
+
+	/**
+	 * Aplica movimentos que melhoram o ciclo a partir dos vértices da fila até
+	 * esvaziá-la ou acabar o prazo.
+	 */
+	private void melhorar(long prazo) {
+		int processados = 0;
+		while (tamanhoDaFila > 0) {
+			if ((processados++ & 63) == 0 && System.nanoTime() - prazo >= 0) {
+				while (tamanhoDaFila > 0) {
+					desenfileirar();
+				}
+				return;
+			}
+			int vertice = desenfileirar();
+			if (doisOpt(vertice) || orOpt(vertice)) {
+				enfileirar(vertice);
+			}
+		}
+	}
+
+	/**
+	 * Procura, entre os vizinhos próximos de a, um c tal que trocar as arestas
+	 * (a, b) e (c, d) por (a, c) e (b, d) diminua o custo, com b e d seguindo a
+	 * e c no mesmo sentido do ciclo. Como (a, c) precisa ser mais curta que
+	 * (a, b) para haver ganho, os vizinhos são percorridos só até lá.
+	 */
+	private boolean doisOpt(int a) {
+		for (int sentido = 0; sentido < 2; sentido++) {
+			boolean paraFrente = sentido == 0;
+			int b = paraFrente ? sucessor(a) : antecessor(a);
+			double ab = distancia(a, b);
+			for (int c : candidatos(a, ab)) {
+				double ac = distancia(a, c);
+				if (ac >= ab) {
+					break;
+				}
+				int d = paraFrente ? sucessor(c) : antecessor(c);
+				if (c == b || d == a) {
+					continue;
+				}
+				if (ac + distancia(b, d) + TOLERANCIA < ab + distancia(c, d)) {
+					if (paraFrente) {
+						trocar(a, b, c, d);
+					} else {
+						trocar(b, a, d, c);
+					}
+					enfileirar(b);
+					enfileirar(c);
+					enfileirar(d);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Procura um lugar para mover o trecho de até três vértices que começa em
+	 * s1, entre uma aresta (x, y) próxima de uma das pontas do trecho, mantendo
+	 * ou invertendo o sentido do trecho.
+	 */
+	private boolean orOpt(int s1) {
+		for (int tamanho = 1; tamanho <= TAMANHO_MAXIMO_DO_TRECHO && tamanho + 3 <= n; tamanho++) {
+			int s2 = s1;
+			for (int i = 1; i < tamanho; i++) {
+				s2 = sucessor(s2);
+			}
+			int p = antecessor(s1);
+			int proximo = sucessor(s2);
+			double removidas = distancia(p, s1) + distancia(s2, proximo);
+			double religacao = distancia(p, proximo);
+
+			for (int ponta = 0; ponta < (tamanho == 1 ? 1 : 2); ponta++) {
+				int extremo = ponta == 0 ? s1 : s2;
+				for (int c : candidatos(extremo, removidas)) {
+					if (distancia(extremo, c) >= removidas) {
+						break;
+					}
+					for (int lado = 0; lado < 2; lado++) {
+						int x = lado == 0 ? antecessor(c) : c;
+						int y = sucessor(x);
+						if (noTrecho(x, s1, tamanho) || noTrecho(y, s1, tamanho) || y == p) {
+							continue;
+						}
+						double antes = removidas + distancia(x, y);
+						double mantendo = religacao + distancia(x, s1) + distancia(s2, y);
+						double invertendo = religacao + distancia(x, s2) + distancia(s1, y);
+						if (Math.min(mantendo, invertendo) + TOLERANCIA < antes) {
+							mover(p, s1, s2, proximo, x, y, mantendo <= invertendo);
+							enfileirar(p);
+							enfileirar(proximo);
+							enfileirar(s2);
+							enfileirar(x);
+							enfileirar(y);
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Retorna os vizinhos próximos do vértice, ou todos os seus vizinhos se uma
+	 * aresta a remover for um par sem aresta no grafo, que os vizinhos próximos
+	 * raramente bastam para eliminar.
+	 */
+	private int[] candidatos(int vertice, double distanciaRemovida) {
+		if (distanciaRemovida < penalidade) {
+			return vizinhos[vertice];
+		}
+		if (todosOsVizinhos[vertice] == null) {
+			todosOsVizinhos[vertice] = distancias.vizinhosMaisProximos(vertice, Integer.MAX_VALUE);
+		}
+		return todosOsVizinhos[vertice];
+	}
+
+	private boolean noTrecho(int vertice, int inicio, int tamanho) {
+		return Math.floorMod(posicoes[vertice] - posicoes[inicio], n) < tamanho;
+	}
+
+	/**
+	 * Move o trecho de s1 a s2, entre p e proximo, para entre x e y, com duas
+	 * trocas de arestas que o deixam invertido e uma terceira que o desinverte.
+	 */
+	private void mover(int p, int s1, int s2, int proximo, int x, int y, boolean manterSentido) {
+		trocar(p, s1, x, y);
+		trocar(p, x, proximo, s2);
+		if (manterSentido && s1 != s2) {
+			trocar(x, s2, s1, y);
+		}
+	}
+
+	/**
+	 * Troca as arestas (a, b) e (c, d), que seguem o mesmo sentido no ciclo, por
+	 * (a, c) e (b, d). Uma troca anterior pode ter espelhado o array, e aí as
+	 * arestas aparecem como (b, a) e (d, c).
+	 */
+	private void trocar(int a, int b, int c, int d) {
+		if (sucessor(a) == b) {
+			inverter(b, c);
+		} else {
+			inverter(c, b);
+		}
+	}
+
+	/**
+	 * Inverte o caminho de u até v no sentido do array. Inverter o restante do
+	 * ciclo resulta no mesmo ciclo espelhado, então é invertido o lado menor.
+	 */
+	private void inverter(int u, int v) {
+		int i = posicoes[u];
+		int j = posicoes[v];
+		int tamanho = Math.floorMod(j - i, n) + 1;
+		if (2 * tamanho > n) {
+			i = posicoes[sucessor(v)];
+			j = posicoes[antecessor(u)];
+			tamanho = n - tamanho;
+		}
+		for (int k = 0; k < tamanho / 2; k++) {
+			int esquerda = (i + k) % n;
+			int direita = Math.floorMod(j - k, n);
+			int vertice = ciclo[esquerda];
+			ciclo[esquerda] = ciclo[direita];
+			ciclo[direita] = vertice;
+			posicoes[ciclo[esquerda]] = esquerda;
+			posicoes[ciclo[direita]] = direita;
+		}
+	}
+
+	/**
+	 * Double bridge local: troca de lugar dois trechos consecutivos e curtos a
+	 * partir de uma posição aleatória, o que a busca local não desfaz com um
+	 * único movimento.
+	 */
+	private void perturbar(Random random, int[] auxiliar) {
+		int alcance = Math.min(ALCANCE_DA_PERTURBACAO, n / 4);
+		int inicio = random.nextInt(n);
+		int primeiro = 1 + random.nextInt(alcance);
+		int segundo = 1 + random.nextInt(alcance);
+
+		int posicao = 0;
+		for (int i = primeiro; i < primeiro + segundo; i++) {
+			auxiliar[posicao++] = ciclo[(inicio + i) % n];
+		}
+		for (int i = 0; i < primeiro; i++) {
+			auxiliar[posicao++] = ciclo[(inicio + i) % n];
+		}
+		for (int i = primeiro + segundo; i < n; i++) {
+			auxiliar[posicao++] = ciclo[(inicio + i) % n];
+		}
+		System.arraycopy(auxiliar, 0, ciclo, 0, n);
+		atualizarPosicoes();
+
+		enfileirar(ciclo[0]);
+		enfileirar(ciclo[segundo - 1]);
+		enfileirar(ciclo[segundo]);
+		enfileirar(ciclo[segundo + primeiro - 1]);
+		enfileirar(ciclo[segundo + primeiro]);
+		enfileirar(ciclo[n - 1]);
+	}
+
+	private int sucessor(int vertice) {
+		int posicao = posicoes[vertice] + 1;
+		return ciclo[posicao == n ? 0 : posicao];
+	}
+
+	private int antecessor(int vertice) {
+		int posicao = posicoes[vertice];
+		return ciclo[posicao == 0 ? n - 1 : posicao - 1];
+	}
+
+	private void atualizarPosicoes() {
+		for (int posicao = 0; posicao < n; posicao++) {
+			posicoes[ciclo[posicao]] = posicao;
+		}
+	}
+
+	private void enfileirar(int vertice) {
+		if (!naFila[vertice]) {
+			naFila[vertice] = true;
+			fila[(inicioDaFila + tamanhoDaFila++) % n] = vertice;
+		}
+	}
+
+	private int desenfileirar() {
+		int vertice = fila[inicioDaFila];
+		inicioDaFila = (inicioDaFila + 1) % n;
+		tamanhoDaFila--;
+		naFila[vertice] = false;
+		return vertice;
+	}
+
+	private double custo(int[] ciclo) {
+		double custo = 0.0;
+		for (int i = 0; i < ciclo.length; i++) {
+			custo += distancia(ciclo[i], ciclo[(i + 1) % ciclo.length]);
+		}
+		return custo;
+	}
+
+	/**
+	 * Retorna a distância entre os vértices para a busca local. Pares sem aresta
+	 * custam mais que qualquer ciclo só com arestas, então a busca também
+	 * procura eliminá-los.
+	 */
+	private double distancia(int origem, int destino) {
+		double distancia = distancias.distancia(origem, destino);
+		return distancia == Double.POSITIVE_INFINITY ? penalidade : distancia;
+	}
+
+	private double custoReal(int[] ciclo) {
+		double custo = 0.0;
+		for (int i = 0; i < ciclo.length; i++) {
+			custo += distancias.distancia(ciclo[i], ciclo[(i + 1) % ciclo.length]);
+		}
+		return custo == Double.POSITIVE_INFINITY ? Double.MAX_VALUE : custo;
+	}
+
+	private void registrar(int[] ciclo, int inicial, double custo) {
+		melhorCusto = custo;
+		int deslocamento = 0;
+		while (ciclo[deslocamento] != inicial) {
+			deslocamento++;
+		}
+		for (int i = 0; i < n; i++) {
+			int vertice = ciclo[(deslocamento + i) % n];
+			melhorCaminhoVertices.add(distancias.grafo().vertice(vertice));
+			Aresta aresta = distancias.aresta(vertice, ciclo[(deslocamento + i + 1) % n]);
+			if (aresta != null) {
+				melhorCaminhoArestas.add(aresta);
+			}
+		}
+		melhorCaminhoVertices.add(verticeInicial);
+	}
+
+	public List<Aresta> getCaminhoHamiltonianoArestas() {
+		return new ArrayList<>(melhorCaminhoArestas);
+	}
+
+	public List<Vertice> getCaminhoHamiltonianoVertices() {
+		return new ArrayList<>(melhorCaminhoVertices);
+	}
+
+	public double getMelhorCusto() {
+		return melhorCusto;
+	}
+
+	/**
+	 * Retorna o custo do ciclo construído, antes da busca local.
+	 *
+	 * @return o custo, ou {@link Double#MAX_VALUE} se a construção usou pares
+	 *         de vértices sem aresta
+	 */
+	public double getCustoInicial() {
+		return custoInicial;
+	}
+}
@@ -0,0 +1,23 @@
+package grafo.algoritmos;
+
+/**
+ * Limite inferior para o custo de completar um ciclo hamiltoniano parcial no
+ * branch-and-bound de {@link BellmoreNemhauser}.
+ * <br>
+ * O ciclo parcial sai do vértice inicial e chega ao vértice atual passando
+ * pelos vértices visitados; completá-lo exige um caminho do vértice atual até o
+ * inicial que passe por todos os não visitados. O limite nunca pode superar o
+ * custo desse caminho, senão o ramo ótimo pode ser podado. As implementações
+ * podem ser chamadas por várias threads ao mesmo tempo.
+ */
+interface CalculoDeLimite {
+	/**
+	 * @param verticeAtual    o último vértice do ciclo parcial
+	 * @param visitados       os vértices do ciclo parcial, um bit por id
+	 * @param limiteSuperior  o custo restante do melhor ciclo conhecido, que pode
+	 *                        ser infinito; só serve para acelerar o cálculo
+	 * @return o limite inferior, possivelmente infinito se não houver como
+	 *         completar o ciclo
+	 */
+	double calcular(int verticeAtual, long visitados, double limiteSuperior);
+}
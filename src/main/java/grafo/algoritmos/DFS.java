@@ -1,14 +1,16 @@
 package grafo.algoritmos;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import grafo.Grafo;
+import grafo.GrafoCongelado;
 import grafo.Vertice;
 
 public class DFS {
@@ -16,56 +18,155 @@ public class DFS {
         BRANCO, CINZA, PRETO
     };
 
-    private final Grafo grafo;
-    private final Map<Vertice, Cor> cores = new HashMap<>();
-    private final Map<Vertice, Integer> descobertos = new HashMap<>();
-    private final Map<Vertice, Integer> finalizados = new HashMap<>();
-    private final Map<Vertice, Vertice> antecessores = new HashMap<>();
-    private final List<List<Vertice>> ciclos = new ArrayList<>();
+    private static final int SEM_ANTECESSOR = -1;
+
+    private final GrafoCongelado grafo;
+    private final Cor[] cores;
+    private final int[] descobertos;
+    private final int[] finalizados;
+    private final int[] antecessores;
+    private final int[] arestasDeChegada;
+    private final int[] proximas;
+    private final int[] pilha;
+    private int[] arestasDeRetorno = new int[16];
+    private int quantidadeDeRetornos;
     private Resultado resultado;
     int tempo = 0;
 
     public DFS(Grafo grafo) {
+        this(grafo.congelar());
+    }
+
+    /**
+     * Executa a busca em profundidade diretamente sobre um grafo congelado, usando
+     * os ids dos vértices para indexar o estado da busca.
+     * <br>
+     * A busca usa uma pilha explícita em vez de recursão, então a profundidade do
+     * grafo não é limitada pela pilha de chamadas. Cada vértice guarda a próxima
+     * posição da sua lista de arestas a ser examinada, e os vértices são
+     * descobertos e finalizados na mesma ordem da versão recursiva.
+     *
+     * @param grafo
+     */
+    public DFS(GrafoCongelado grafo) {
+        checkNotNull(grafo, "Grafo não pode ser nulo");
+        int n = grafo.getQuantidadeDeVertices();
         this.grafo = grafo;
-        grafo.getVertices().forEach(vertice -> cores.put(vertice, Cor.BRANCO));
-        for (Map.Entry<Vertice, Cor> entry : cores.entrySet()) {
-            Vertice vertice = entry.getKey();
-            Cor cor = entry.getValue();
-            if (cor.equals(Cor.BRANCO))
-                dfsVisit(vertice, ImmutableList.of());
+        this.cores = new Cor[n];
+        this.descobertos = new int[n];
+        this.finalizados = new int[n];
+        this.antecessores = new int[n];
+        this.arestasDeChegada = new int[n];
+        this.proximas = new int[n];
+        this.pilha = new int[n];
+        Arrays.fill(cores, Cor.BRANCO);
+        Arrays.fill(antecessores, SEM_ANTECESSOR);
+        Arrays.fill(arestasDeChegada, -1);
+
+        for (int vertice = 0; vertice < n; vertice++) {
+            if (cores[vertice] == Cor.BRANCO)
+                dfsVisit(vertice);
         }
-        resultado = new Resultado(
-                ImmutableMap.copyOf(cores),
-                ImmutableMap.copyOf(descobertos),
-                ImmutableMap.copyOf(finalizados),
-                ImmutableMap.copyOf(antecessores));
+        resultado = criarResultado();
     }
 
-    private void dfsVisit(Vertice vertice, final ImmutableList<Vertice> caminho) {
-        ImmutableList<Vertice> novoCaminho = ImmutableList
-                .<Vertice>builderWithExpectedSize(caminho.size() + 1)
-                .addAll(caminho)
-                .add(vertice)
-                .build();
-        cores.put(vertice, Cor.CINZA);
-        descobertos.put(vertice, ++tempo);
-        for (Vertice vizinho : grafo.getAdjacentes(vertice)) {
-            if (vizinho.equals(caminho.getFirst()) && caminho.size() > 1) {
-                ciclos.add(caminho);
+    private void dfsVisit(int origem) {
+        int topo = 0;
+        descobrir(origem);
+        pilha[topo++] = origem;
+
+        while (topo > 0) {
+            int vertice = pilha[topo - 1];
+            if (proximas[vertice] == grafo.fim(vertice)) {
+                cores[vertice] = Cor.PRETO;
+                finalizados[vertice] = ++tempo;
+                topo--;
+                continue;
             }
-            if (cores.get(vizinho).equals(Cor.BRANCO)) {
-                antecessores.put(vizinho, vertice);
-                dfsVisit(vizinho, novoCaminho);
+
+            int posicao = proximas[vertice]++;
+            int vizinho = grafo.destino(posicao);
+            if (cores[vizinho] == Cor.BRANCO) {
+                antecessores[vizinho] = vertice;
+                arestasDeChegada[vizinho] = grafo.idAresta(posicao);
+                descobrir(vizinho);
+                pilha[topo++] = vizinho;
+            } else if (cores[vizinho] == Cor.CINZA
+                    && (grafo.ehOrientado() || grafo.idAresta(posicao) != arestasDeChegada[vertice])) {
+                registrarRetorno(vertice, vizinho);
+            }
+        }
+    }
+
+    private void descobrir(int vertice) {
+        cores[vertice] = Cor.CINZA;
+        descobertos[vertice] = ++tempo;
+        proximas[vertice] = grafo.inicio(vertice);
+    }
+
+    private void registrarRetorno(int vertice, int ancestral) {
+        if (2 * quantidadeDeRetornos == arestasDeRetorno.length) {
+            arestasDeRetorno = Arrays.copyOf(arestasDeRetorno, arestasDeRetorno.length * 2);
+        }
+        arestasDeRetorno[2 * quantidadeDeRetornos] = vertice;
+        arestasDeRetorno[2 * quantidadeDeRetornos + 1] = ancestral;
+        quantidadeDeRetornos++;
+    }
+
+    private Resultado criarResultado() {
+        ImmutableMap.Builder<Vertice, Cor> mapaCores = ImmutableMap.builder();
+        ImmutableMap.Builder<Vertice, Integer> mapaDescobertos = ImmutableMap.builder();
+        ImmutableMap.Builder<Vertice, Integer> mapaFinalizados = ImmutableMap.builder();
+        ImmutableMap.Builder<Vertice, Vertice> mapaAntecessores = ImmutableMap.builder();
+
+        for (int id = 0; id < grafo.getQuantidadeDeVertices(); id++) {
+            Vertice vertice = grafo.vertice(id);
+            mapaCores.put(vertice, cores[id]);
+            mapaDescobertos.put(vertice, descobertos[id]);
+            mapaFinalizados.put(vertice, finalizados[id]);
+            if (antecessores[id] != SEM_ANTECESSOR) {
+                mapaAntecessores.put(vertice, grafo.vertice(antecessores[id]));
             }
         }
-        cores.put(vertice, Cor.PRETO);
-        finalizados.put(vertice, ++tempo);
+
+        return new Resultado(
+                mapaCores.build(),
+                mapaDescobertos.build(),
+                mapaFinalizados.build(),
+                mapaAntecessores.build());
     }
 
     public Resultado getResultado() {
         return resultado;
     }
 
+    /**
+     * Retorna os ciclos fechados pelas arestas de retorno encontradas na busca,
+     * um para cada aresta que chega em um vértice ainda na pilha. Em grafos não
+     * orientados a aresta usada para descobrir um vértice não conta como retorno
+     * para o seu antecessor, mas arestas paralelas a ela contam.
+     * <br>
+     * Durante a busca só os pares de vértices das arestas de retorno são
+     * guardados. Cada ciclo é montado aqui, subindo pelos antecessores do vértice
+     * até o ancestral em que a aresta chega.
+     *
+     * @return os ciclos, cada um começando no ancestral e seguindo pelas arestas
+     *         da árvore até o vértice que fecha o ciclo
+     */
+    public List<List<Vertice>> getCiclos() {
+        List<List<Vertice>> ciclos = new ArrayList<>(quantidadeDeRetornos);
+        for (int i = 0; i < quantidadeDeRetornos; i++) {
+            int ancestral = arestasDeRetorno[2 * i + 1];
+            List<Vertice> ciclo = new ArrayList<>();
+            for (int atual = arestasDeRetorno[2 * i]; atual != ancestral; atual = antecessores[atual]) {
+                ciclo.add(grafo.vertice(atual));
+            }
+            ciclo.add(grafo.vertice(ancestral));
+            ciclos.add(ImmutableList.copyOf(ciclo.reversed()));
+        }
+        return ciclos;
+    }
+
     public record Resultado(
             ImmutableMap<Vertice, Cor> cores,
             ImmutableMap<Vertice, Integer> descobertos,
@@ -0,0 +1,199 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Caminhos mínimos pelo peso das arestas a partir de uma origem, pelo algoritmo
+ * de Dijkstra, com as mesmas consultas da {@link BFS}.
+ * <br>
+ * Os vértices a finalizar ficam em um {@link HeapIndexado} 4-ário pelos ids, e
+ * cada vértice é finalizado uma única vez, então o tempo é O((V + E) log V).
+ * Com um destino, a busca para assim que ele é finalizado, e só os vértices
+ * finalizados até lá podem ser consultados.
+ * <br>
+ * Os pesos não podem ser negativos; uma aresta negativa alcançada pela busca
+ * lança {@link IllegalArgumentException}.
+ */
+public class Dijkstra {
+	private static final int ARIDADE = 4;
+	private static final int SEM_ANTECESSOR = -1;
+
+	private final GrafoCongelado grafo;
+	private final double[] distancias;
+	private final int[] antecessores;
+	private final int[] arestasDeChegada;
+	private final boolean[] finalizados;
+	/**
+	 * Se todos os vértices alcançáveis foram finalizados, seja por não haver
+	 * destino, seja por a fila esvaziar antes de chegar nele.
+	 */
+	private boolean buscaCompleta;
+	private int quantidadeDeFinalizados;
+
+	public Dijkstra(Grafo grafo, Vertice origem) {
+		this(grafo.congelar(), origem);
+	}
+
+	public Dijkstra(GrafoCongelado grafo, Vertice origem) {
+		this(grafo, origem, null);
+	}
+
+	public Dijkstra(Grafo grafo, Vertice origem, Vertice destino) {
+		this(grafo.congelar(), origem, destino);
+	}
+
+	/**
+	 * Executa a busca da origem até o destino, parando assim que a distância
+	 * até ele é conhecida.
+	 *
+	 * @param grafo
+	 * @param origem
+	 * @param destino o vértice em que a busca para, ou {@code null} para
+	 *                calcular as distâncias até todos os vértices
+	 */
+	public Dijkstra(GrafoCongelado grafo, Vertice origem, Vertice destino) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(origem, "Vértice de origem não pode ser nulo");
+		int idOrigem = grafo.id(origem);
+		checkArgument(idOrigem != -1, "Vértice de origem não existe no grafo");
+		int idDestino = destino == null ? -1 : grafo.id(destino);
+		checkArgument(destino == null || idDestino != -1, "Vértice de destino não existe no grafo");
+
+		int n = grafo.getQuantidadeDeVertices();
+		this.grafo = grafo;
+		this.distancias = new double[n];
+		this.antecessores = new int[n];
+		this.arestasDeChegada = new int[n];
+		this.finalizados = new boolean[n];
+		this.buscaCompleta = destino == null;
+		Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+		Arrays.fill(antecessores, SEM_ANTECESSOR);
+
+		executar(idOrigem, idDestino);
+	}
+
+	private void executar(int origem, int destino) {
+		HeapIndexado fila = new HeapIndexado(grafo.getQuantidadeDeVertices(), ARIDADE);
+		distancias[origem] = 0.0;
+		fila.inserirOuDiminuir(origem, 0.0);
+
+		while (!fila.estaVazio()) {
+			int atual = fila.removerMinimo();
+			finalizados[atual] = true;
+			quantidadeDeFinalizados++;
+			if (atual == destino) {
+				return;
+			}
+
+			for (int posicao = grafo.inicio(atual); posicao < grafo.fim(atual); posicao++) {
+				int vizinho = grafo.destino(posicao);
+				double peso = grafo.peso(posicao);
+				checkArgument(peso >= 0, "Dijkstra não aceita arestas com peso negativo");
+				double distancia = distancias[atual] + peso;
+				if (!finalizados[vizinho] && distancia < distancias[vizinho]) {
+					distancias[vizinho] = distancia;
+					antecessores[vizinho] = atual;
+					arestasDeChegada[vizinho] = grafo.idAresta(posicao);
+					fila.inserirOuDiminuir(vizinho, distancia);
+				}
+			}
+		}
+		// O destino não é alcançável, e todos os que são já foram finalizados
+		buscaCompleta = true;
+	}
+
+	/**
+	 * Retorna a soma dos pesos do caminho mínimo entre a origem e o vértice de
+	 * destino.
+	 *
+	 * @param destino o vértice de destino
+	 * @return a distância entre origem e destino, ou
+	 *         {@link Double#POSITIVE_INFINITY} se não houver caminho
+	 */
+	public double getDistanciaEntre(Vertice destino) {
+		int id = grafo.id(destino);
+		if (id == -1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		checkState(buscaCompleta || finalizados[id], "Vértice não foi finalizado antes do destino da busca");
+		return distancias[id];
+	}
+
+	/**
+	 * Reconstrói o caminho mínimo da origem até o vértice de destino.
+	 *
+	 * @param destino o vértice de destino
+	 * @return uma lista com o caminho da origem ao destino, ou lista vazia se não
+	 *         houver caminho
+	 */
+	public List<Vertice> getCaminhoAte(Vertice destino) {
+		if (!existeCaminhoAte(destino)) {
+			return Collections.emptyList();
+		}
+
+		List<Vertice> caminho = new ArrayList<>();
+		for (int atual = grafo.id(destino); atual != SEM_ANTECESSOR; atual = antecessores[atual]) {
+			caminho.add(grafo.vertice(atual));
+		}
+		Collections.reverse(caminho);
+		return caminho;
+	}
+
+	/**
+	 * Reconstrói as arestas do caminho mínimo da origem até o vértice de
+	 * destino, que entre arestas paralelas usa a mais leve.
+	 *
+	 * @param destino o vértice de destino
+	 * @return as arestas do caminho, ou lista vazia se não houver caminho
+	 */
+	public List<Aresta> getArestasAte(Vertice destino) {
+		if (!existeCaminhoAte(destino)) {
+			return Collections.emptyList();
+		}
+
+		List<Aresta> arestas = new ArrayList<>();
+		for (int atual = grafo.id(destino); antecessores[atual] != SEM_ANTECESSOR; atual = antecessores[atual]) {
+			arestas.add(grafo.aresta(arestasDeChegada[atual]));
+		}
+		Collections.reverse(arestas);
+		return arestas;
+	}
+
+	/**
+	 * Verifica se existe um caminho da origem até o vértice de destino.
+	 *
+	 * @param destino o vértice de destino
+	 * @return true se existe caminho, false caso contrário
+	 */
+	public boolean existeCaminhoAte(Vertice destino) {
+		return getDistanciaEntre(destino) != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Retorna as distâncias pelos ids dos vértices, infinitas para os não
+	 * alcançados.
+	 */
+	double[] distancias() {
+		return distancias;
+	}
+
+	/**
+	 * Retorna quantos vértices foram finalizados, isto é, removidos da fila com
+	 * a distância definitiva, o que mede o trabalho da busca.
+	 */
+	public int getQuantidadeDeFinalizados() {
+		return quantidadeDeFinalizados;
+	}
+}
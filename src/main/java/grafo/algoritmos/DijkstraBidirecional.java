@@ -0,0 +1,100 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Caminho mínimo pelo peso das arestas entre dois vértices, por duas buscas de
+ * Dijkstra que partem ao mesmo tempo da origem e do destino.
+ * <br>
+ * A cada passo avança a busca cuja fila tem a menor chave, a do destino pelas
+ * arestas da {@link GrafoCongelado#transposta()}. Toda aresta relaxada que
+ * chega a um vértice já alcançado pela outra busca fecha um caminho candidato,
+ * e a busca termina quando a soma das menores chaves das duas filas não é
+ * menor que o melhor candidato, pois nenhum caminho ainda não visto pode ser
+ * mais curto.
+ * <br>
+ * Os pesos não podem ser negativos, como no {@link Dijkstra}.
+ */
+public final class DijkstraBidirecional extends BuscaPontoAPonto {
+	private static final int ARIDADE = 4;
+
+	public DijkstraBidirecional(Grafo grafo, Vertice origem, Vertice destino) {
+		this(grafo.congelar(), origem, destino);
+	}
+
+	public DijkstraBidirecional(GrafoCongelado grafo, Vertice origem, Vertice destino) {
+		super(grafo, origem, destino);
+		executar();
+	}
+
+	private void executar() {
+		int n = grafo.getQuantidadeDeVertices();
+		Lado daOrigem = new Lado(grafo, origem, n);
+		Lado doDestino = new Lado(grafo.transposta(), destino, n);
+
+		double melhorDistancia = origem == destino ? 0.0 : Double.POSITIVE_INFINITY;
+		int encontro = origem == destino ? origem : SEM_ANTECESSOR;
+		while (!daOrigem.fila.estaVazio() && !doDestino.fila.estaVazio()
+				&& daOrigem.fila.menorChave() + doDestino.fila.menorChave() < melhorDistancia) {
+			boolean avancarOrigem = daOrigem.fila.menorChave() <= doDestino.fila.menorChave();
+			Lado lado = avancarOrigem ? daOrigem : doDestino;
+			Lado outro = avancarOrigem ? doDestino : daOrigem;
+			quantidadeDeFinalizados++;
+
+			int atual = lado.fila.removerMinimo();
+			lado.finalizados[atual] = true;
+			for (int posicao = lado.grafo.inicio(atual); posicao < lado.grafo.fim(atual); posicao++) {
+				int vizinho = lado.grafo.destino(posicao);
+				double peso = lado.grafo.peso(posicao);
+				checkArgument(peso >= 0, "Dijkstra não aceita arestas com peso negativo");
+				double distancia = lado.distancias[atual] + peso;
+				if (!lado.finalizados[vizinho] && distancia < lado.distancias[vizinho]) {
+					lado.distancias[vizinho] = distancia;
+					lado.antecessores[vizinho] = atual;
+					lado.fila.inserirOuDiminuir(vizinho, distancia);
+				}
+				double candidato = distancia + outro.distancias[vizinho];
+				if (candidato < melhorDistancia) {
+					melhorDistancia = candidato;
+					encontro = vizinho;
+				}
+			}
+		}
+
+		if (encontro != SEM_ANTECESSOR) {
+			// As distâncias do encontro podem ter diminuído depois do candidato, e os antecessores
+			// formam um caminho com exatamente essa soma
+			registrar(daOrigem.distancias[encontro] + doDestino.distancias[encontro], encontro,
+					daOrigem.antecessores, doDestino.antecessores);
+		}
+	}
+
+	/**
+	 * Estado da busca em um dos sentidos.
+	 */
+	private static final class Lado {
+		private final GrafoCongelado grafo;
+		private final double[] distancias;
+		private final int[] antecessores;
+		private final boolean[] finalizados;
+		private final HeapIndexado fila;
+
+		Lado(GrafoCongelado grafo, int raiz, int n) {
+			this.grafo = grafo;
+			this.distancias = new double[n];
+			this.antecessores = new int[n];
+			this.finalizados = new boolean[n];
+			this.fila = new HeapIndexado(n, ARIDADE);
+			Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+			Arrays.fill(antecessores, SEM_ANTECESSOR);
+			distancias[raiz] = 0.0;
+			fila.inserirOuDiminuir(raiz, 0.0);
+		}
+	}
+}
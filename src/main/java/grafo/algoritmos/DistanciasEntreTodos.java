@@ -0,0 +1,351 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Caminhos mínimos entre todos os pares de vértices, guardados em matrizes
+ * planas de V × V posições indexadas pelos ids dos vértices: as distâncias em
+ * um {@code double[]} e o antecessor de cada destino no caminho a partir de
+ * cada origem em um {@code int[]}, com o qual os caminhos são reconstruídos.
+ * <br>
+ * Há dois métodos, executados em paralelo no {@link ForkJoinPool#commonPool()}:
+ * <ul>
+ * <li>Floyd-Warshall em blocos, O(V³), melhor para grafos densos. A matriz é
+ * processada em blocos que cabem no cache, e em cada rodada os blocos que não
+ * dependem uns dos outros são relaxados em paralelo.</li>
+ * <li>Um Dijkstra a partir de cada vértice, O(V (V + E) log V), melhor para
+ * grafos esparsos. Com pesos negativos, as arestas são antes repesadas pelos
+ * potenciais de Johnson, calculados por Bellman-Ford.</li>
+ * </ul>
+ * O método automático escolhe pelo número de arestas em relação a V².
+ * <br>
+ * Ciclos de peso negativo deixam as distâncias indefinidas e lançam
+ * {@link IllegalArgumentException}; em grafos não orientados, qualquer aresta
+ * negativa forma um.
+ */
+public class DistanciasEntreTodos {
+	private static final int SEM_ANTECESSOR = -1;
+	private static final int TAMANHO_DO_BLOCO = 64;
+	private static final int ARIDADE = 4;
+	private static final int ORIGENS_POR_TAREFA = 16;
+	private static final String MSG_CICLO_NEGATIVO = "Grafo não pode ter ciclos de peso negativo";
+
+	private final GrafoCongelado grafo;
+	private final int n;
+	private final double[] distancias;
+	private final int[] antecessores;
+	private final Metodo metodo;
+
+	/**
+	 * Como as distâncias são calculadas.
+	 */
+	public enum Metodo {
+		/**
+		 * Floyd-Warshall quando o grafo for denso, e Dijkstra repetido quando for
+		 * esparso.
+		 */
+		AUTOMATICO,
+		FLOYD_WARSHALL,
+		DIJKSTRA_REPETIDO
+	}
+
+	public DistanciasEntreTodos(Grafo grafo) {
+		this(grafo.congelar(), Metodo.AUTOMATICO);
+	}
+
+	public DistanciasEntreTodos(Grafo grafo, Metodo metodo) {
+		this(grafo.congelar(), metodo);
+	}
+
+	public DistanciasEntreTodos(GrafoCongelado grafo, Metodo metodo) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(metodo, "Método não pode ser nulo");
+		checkArgument((long) grafo.getQuantidadeDeVertices() * grafo.getQuantidadeDeVertices() <= Integer.MAX_VALUE - 8,
+				"Grafo tem vértices demais para as matrizes de distâncias");
+		this.grafo = grafo;
+		this.n = grafo.getQuantidadeDeVertices();
+		this.metodo = metodo == Metodo.AUTOMATICO ? escolherMetodo() : metodo;
+		this.distancias = new double[n * n];
+		this.antecessores = new int[n * n];
+
+		if (this.metodo == Metodo.FLOYD_WARSHALL) {
+			floydWarshall();
+		} else {
+			dijkstraRepetido();
+		}
+	}
+
+	/**
+	 * Compara V³ com V (V + E) log V, dando ao Floyd-Warshall uma vantagem pelo
+	 * laço interno mais barato e sequencial na memória.
+	 */
+	private Metodo escolherMetodo() {
+		long arestas = n == 0 ? 0 : grafo.fim(n - 1);
+		double log = Math.max(1.0, Math.log(n) / Math.log(2));
+		return (double) n * n <= 8.0 * (arestas + n) * log ? Metodo.FLOYD_WARSHALL : Metodo.DIJKSTRA_REPETIDO;
+	}
+
+	/**
+	 * Entre caminhos de mesma distância, fica o de menos arestas, contadas em
+	 * uma matriz temporária. Sem esse desempate, ciclos de peso zero (como
+	 * qualquer aresta de peso zero em grafos não orientados) podem deixar
+	 * antecessores apontando uns para os outros.
+	 */
+	private void floydWarshall() {
+		int[] saltos = new int[n * n];
+		Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+		Arrays.fill(antecessores, SEM_ANTECESSOR);
+		for (int origem = 0; origem < n; origem++) {
+			distancias[origem * n + origem] = 0.0;
+			for (int posicao = grafo.inicio(origem); posicao < grafo.fim(origem); posicao++) {
+				int indice = origem * n + grafo.destino(posicao);
+				if (grafo.peso(posicao) < distancias[indice]) {
+					distancias[indice] = grafo.peso(posicao);
+					antecessores[indice] = origem;
+					saltos[indice] = 1;
+				}
+			}
+		}
+
+		int blocos = (n + TAMANHO_DO_BLOCO - 1) / TAMANHO_DO_BLOCO;
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		for (int k = 0; k < blocos; k++) {
+			int bloco = k;
+			relaxarBloco(saltos, k, k, k);
+
+			List<RecursiveAction> linhaEColuna = new ArrayList<>();
+			for (int outro = 0; outro < blocos; outro++) {
+				if (outro != k) {
+					int outroBloco = outro;
+					linhaEColuna.add(acao(() -> relaxarBloco(saltos, bloco, bloco, outroBloco)));
+					linhaEColuna.add(acao(() -> relaxarBloco(saltos, bloco, outroBloco, bloco)));
+				}
+			}
+			pool.invoke(acao(() -> ForkJoinTask.invokeAll(linhaEColuna)));
+
+			List<RecursiveAction> restantes = new ArrayList<>();
+			for (int i = 0; i < blocos; i++) {
+				for (int j = 0; j < blocos; j++) {
+					if (i != k && j != k) {
+						int linha = i;
+						int coluna = j;
+						restantes.add(acao(() -> relaxarBloco(saltos, bloco, linha, coluna)));
+					}
+				}
+			}
+			pool.invoke(acao(() -> ForkJoinTask.invokeAll(restantes)));
+		}
+
+		for (int vertice = 0; vertice < n; vertice++) {
+			checkArgument(distancias[vertice * n + vertice] >= 0, MSG_CICLO_NEGATIVO);
+		}
+	}
+
+	/**
+	 * Relaxa o bloco (linha, coluna) da matriz passando pelos vértices
+	 * intermediários do bloco k.
+	 */
+	private void relaxarBloco(int[] saltos, int k, int linha, int coluna) {
+		int fimK = Math.min(n, (k + 1) * TAMANHO_DO_BLOCO);
+		int fimLinha = Math.min(n, (linha + 1) * TAMANHO_DO_BLOCO);
+		int inicioColuna = coluna * TAMANHO_DO_BLOCO;
+		int fimColuna = Math.min(n, inicioColuna + TAMANHO_DO_BLOCO);
+		for (int intermediario = k * TAMANHO_DO_BLOCO; intermediario < fimK; intermediario++) {
+			int linhaDoIntermediario = intermediario * n;
+			for (int origem = linha * TAMANHO_DO_BLOCO; origem < fimLinha; origem++) {
+				double ate = distancias[origem * n + intermediario];
+				if (ate == Double.POSITIVE_INFINITY) {
+					continue;
+				}
+				int saltosAte = saltos[origem * n + intermediario];
+				int linhaDaOrigem = origem * n;
+				for (int destino = inicioColuna; destino < fimColuna; destino++) {
+					double distancia = ate + distancias[linhaDoIntermediario + destino];
+					double atual = distancias[linhaDaOrigem + destino];
+					if (distancia < atual || distancia == atual
+							&& saltosAte + saltos[linhaDoIntermediario + destino] < saltos[linhaDaOrigem + destino]) {
+						distancias[linhaDaOrigem + destino] = distancia;
+						antecessores[linhaDaOrigem + destino] = antecessores[linhaDoIntermediario + destino];
+						saltos[linhaDaOrigem + destino] = saltosAte + saltos[linhaDoIntermediario + destino];
+					}
+				}
+			}
+		}
+	}
+
+	private static RecursiveAction acao(Runnable corpo) {
+		return new RecursiveAction() {
+			@Override
+			protected void compute() {
+				corpo.run();
+			}
+		};
+	}
+
+	private void dijkstraRepetido() {
+		double[] potenciais = potenciaisDeJohnson();
+		List<RecursiveAction> tarefas = new ArrayList<>();
+		for (int inicio = 0; inicio < n; inicio += ORIGENS_POR_TAREFA) {
+			int primeira = inicio;
+			int ultima = Math.min(n, inicio + ORIGENS_POR_TAREFA);
+			tarefas.add(acao(() -> {
+				HeapIndexado fila = new HeapIndexado(n, ARIDADE);
+				boolean[] finalizados = new boolean[n];
+				for (int origem = primeira; origem < ultima; origem++) {
+					dijkstra(origem, potenciais, fila, finalizados);
+				}
+			}));
+		}
+		ForkJoinPool.commonPool().invoke(acao(() -> ForkJoinTask.invokeAll(tarefas)));
+	}
+
+	/**
+	 * Dijkstra sobre os pesos repesados w(u, v) + p(u) - p(v), que não são
+	 * negativos, escrevendo direto na linha da origem. A distância real é a
+	 * repesada menos p(origem) e mais p(destino).
+	 */
+	private void dijkstra(int origem, double[] potenciais, HeapIndexado fila, boolean[] finalizados) {
+		int linha = origem * n;
+		Arrays.fill(distancias, linha, linha + n, Double.POSITIVE_INFINITY);
+		Arrays.fill(antecessores, linha, linha + n, SEM_ANTECESSOR);
+		Arrays.fill(finalizados, false);
+
+		distancias[linha + origem] = 0.0;
+		fila.inserirOuDiminuir(origem, 0.0);
+		while (!fila.estaVazio()) {
+			int atual = fila.removerMinimo();
+			finalizados[atual] = true;
+			for (int posicao = grafo.inicio(atual); posicao < grafo.fim(atual); posicao++) {
+				int vizinho = grafo.destino(posicao);
+				// O máximo evita que arredondamentos deixem o peso repesado levemente negativo
+				double peso = Math.max(0.0, grafo.peso(posicao) + potenciais[atual] - potenciais[vizinho]);
+				double distancia = distancias[linha + atual] + peso;
+				if (!finalizados[vizinho] && distancia < distancias[linha + vizinho]) {
+					distancias[linha + vizinho] = distancia;
+					antecessores[linha + vizinho] = atual;
+					fila.inserirOuDiminuir(vizinho, distancia);
+				}
+			}
+		}
+
+		for (int destino = 0; destino < n; destino++) {
+			if (distancias[linha + destino] != Double.POSITIVE_INFINITY) {
+				distancias[linha + destino] += potenciais[destino] - potenciais[origem];
+			}
+		}
+	}
+
+	/**
+	 * Calcula os potenciais de Johnson, as distâncias a partir de uma origem
+	 * virtual ligada a todos os vértices por arestas de peso zero, por rodadas
+	 * de Bellman-Ford. Sem pesos negativos, todos os potenciais são zero e
+	 * nenhuma rodada é feita.
+	 */
+	private double[] potenciaisDeJohnson() {
+		double[] potenciais = new double[n];
+		boolean temPesoNegativo = false;
+		for (int posicao = 0; n > 0 && posicao < grafo.fim(n - 1) && !temPesoNegativo; posicao++) {
+			temPesoNegativo = grafo.peso(posicao) < 0;
+		}
+
+		for (int rodada = 0; temPesoNegativo; rodada++) {
+			checkArgument(rodada <= n, MSG_CICLO_NEGATIVO);
+			temPesoNegativo = false;
+			for (int vertice = 0; vertice < n; vertice++) {
+				for (int posicao = grafo.inicio(vertice); posicao < grafo.fim(vertice); posicao++) {
+					int vizinho = grafo.destino(posicao);
+					if (potenciais[vertice] + grafo.peso(posicao) < potenciais[vizinho]) {
+						potenciais[vizinho] = potenciais[vertice] + grafo.peso(posicao);
+						temPesoNegativo = true;
+					}
+				}
+			}
+		}
+		return potenciais;
+	}
+
+	/**
+	 * Retorna o método usado, nunca {@link Metodo#AUTOMATICO}.
+	 */
+	public Metodo getMetodo() {
+		return metodo;
+	}
+
+	/**
+	 * Retorna os vértices na ordem das linhas e colunas de
+	 * {@link #getMatrizDeDistancias()}.
+	 */
+	public List<Vertice> getVertices() {
+		List<Vertice> vertices = new ArrayList<>(n);
+		for (int id = 0; id < n; id++) {
+			vertices.add(grafo.vertice(id));
+		}
+		return vertices;
+	}
+
+	/**
+	 * Retorna uma cópia da matriz de distâncias, em que a distância do i-ésimo ao
+	 * j-ésimo vértice de {@link #getVertices()} fica na posição i · V + j.
+	 */
+	public double[] getMatrizDeDistancias() {
+		return distancias.clone();
+	}
+
+	/**
+	 * Retorna a soma dos pesos do caminho mínimo entre os vértices.
+	 *
+	 * @return a distância, ou {@link Double#POSITIVE_INFINITY} se não houver
+	 *         caminho
+	 */
+	public double getDistancia(Vertice origem, Vertice destino) {
+		return distancias[indice(origem, destino)];
+	}
+
+	public boolean existeCaminho(Vertice origem, Vertice destino) {
+		return getDistancia(origem, destino) != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Reconstrói o caminho mínimo entre os vértices pela linha da origem na
+	 * matriz de antecessores.
+	 *
+	 * @return uma lista com o caminho da origem ao destino, ou lista vazia se não
+	 *         houver caminho
+	 */
+	public List<Vertice> getCaminho(Vertice origem, Vertice destino) {
+		if (!existeCaminho(origem, destino)) {
+			return Collections.emptyList();
+		}
+
+		int linha = grafo.id(origem) * n;
+		List<Vertice> caminho = new ArrayList<>();
+		for (int atual = grafo.id(destino); atual != grafo.id(origem); atual = antecessores[linha + atual]) {
+			caminho.add(grafo.vertice(atual));
+		}
+		caminho.add(origem);
+		Collections.reverse(caminho);
+		return caminho;
+	}
+
+	private int indice(Vertice origem, Vertice destino) {
+		checkNotNull(origem, "Vértice de origem não pode ser nulo");
+		checkNotNull(destino, "Vértice de destino não pode ser nulo");
+		int idOrigem = grafo.id(origem);
+		int idDestino = grafo.id(destino);
+		checkArgument(idOrigem != -1 && idDestino != -1, "Vértice deve existir no grafo");
+		return idOrigem * n + idDestino;
+	}
+}
@@ -3,19 +3,32 @@ package grafo.algoritmos;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.SequencedSet;
 
 import grafo.Aresta;
+import grafo.GrafoCongelado;
 import grafo.Vertice;
 import grafo.nao_orientado.GrafoNaoDirecionado;
 
+/**
+ * Algoritmo de Fleury: a partir do vértice atual, segue sempre por uma aresta
+ * ainda não usada que não seja ponte no grafo restante, a menos que ela seja a
+ * única opção.
+ * <br>
+ * As pontes são consultadas em uma única análise de {@link Tarjan}, da qual
+ * cada aresta percorrida é removida, e a verificação só é feita quando o
+ * vértice atual ainda tem mais de uma aresta disponível.
+ * <br>
+ * Remover uma aresta invalida a componente conexa inteira, e não só o bloco
+ * 2-aresta-conexo dela, então a consulta seguinte recalcula a componente
+ * restante em O(V + E). Por isso o algoritmo continua O(E·(V + E)) no pior
+ * caso; {@link Hierholzer} encontra o mesmo tipo de caminho em O(V + E).
+ */
 public class Fleury {
     private final GrafoNaoDirecionado grafo;
     private final Vertice verticeInicial;
-    private final SequencedSet<Aresta> caminhoEuleriano = new LinkedHashSet<>();
-    private Vertice verticeAtual;
+    private final List<Aresta> caminhoEuleriano = new ArrayList<>();
 
     public List<Aresta> getCaminhoEuleriano() {
         return List.copyOf(caminhoEuleriano);
@@ -33,25 +46,44 @@ public class Fleury {
     }
 
     private void rodar() {
-        verticeAtual = verticeInicial;
-        int qtdArestas = grafo.getArestas().size();
-        while (caminhoEuleriano.size() < qtdArestas) {
-            Aresta aresta = escolheAresta();
-            verticeAtual = verticeAtual != aresta.destino() ? aresta.destino() : aresta.origem();
-            caminhoEuleriano.add(aresta);
+        GrafoCongelado congelado = grafo.congelar();
+        Tarjan tarjan = new Tarjan(congelado);
+        boolean[] usadas = new boolean[congelado.getQuantidadeDeArestas()];
+        int[] restantes = new int[congelado.getQuantidadeDeVertices()];
+        for (int id = 0; id < restantes.length; id++) {
+            restantes[id] = congelado.grauDeSaida(id);
         }
-    }
 
-    private Aresta escolheAresta() {
-        var vizinhos = grafo.getAdjacentes(verticeAtual);
-        if (vizinhos.isEmpty()) {
-            return null;
+        int verticeAtual = congelado.id(verticeInicial);
+        while (caminhoEuleriano.size() < usadas.length) {
+            int aresta = escolheAresta(congelado, tarjan, usadas, restantes[verticeAtual], verticeAtual);
+            Aresta escolhida = congelado.aresta(aresta);
+            int proximo = congelado.id(escolhida.oposto(congelado.vertice(verticeAtual)));
+
+            usadas[aresta] = true;
+            tarjan.removerAresta(aresta);
+            restantes[verticeAtual]--;
+            if (proximo != verticeAtual) {
+                restantes[proximo]--;
+            }
+            caminhoEuleriano.add(escolhida);
+            verticeAtual = proximo;
         }
-        var arestasCandidatas = vizinhos
-                .stream()
-                .flatMap(v -> grafo.encontrarArestas(verticeAtual, v).stream())
-                .filter(aresta -> !caminhoEuleriano.contains(aresta) && !grafo.ehPonte(aresta));
+    }
 
-        return arestasCandidatas.findFirst().orElse(null);
+    private int escolheAresta(GrafoCongelado congelado, Tarjan tarjan, boolean[] usadas, int restantes,
+            int verticeAtual) {
+        int ponte = -1;
+        for (int posicao = congelado.inicio(verticeAtual); posicao < congelado.fim(verticeAtual); posicao++) {
+            int aresta = congelado.idAresta(posicao);
+            if (usadas[aresta]) {
+                continue;
+            }
+            if (restantes == 1 || !tarjan.ehPonte(aresta)) {
+                return aresta;
+            }
+            ponte = aresta;
+        }
+        return ponte;
     }
 }
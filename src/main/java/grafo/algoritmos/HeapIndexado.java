@@ -0,0 +1,139 @@
+package grafo.algoritmos;
+
+import java.util.Arrays;
+
+/**
+ * Fila de prioridade mínima sobre os ids dos vértices, em um heap d-ário
+ * guardado em arrays de primitivos.
+ * <br>
+ * Cada id aparece no máximo uma vez, e a posição de cada um no heap é mantida
+ * em um array à parte, então diminuir a chave de um vértice já na fila é
+ * O(log_d n), sem inserir entradas duplicadas. Com d maior que 2 o heap fica
+ * mais raso, o que barateia as muitas diminuições de chave do Dijkstra em troca
+ * de remoções um pouco mais caras.
+ */
+final class HeapIndexado {
+	private static final int FORA = -1;
+
+	private final int aridade;
+	private final int[] heap;
+	private final int[] posicoes;
+	private final double[] chaves;
+	private int tamanho;
+
+	/**
+	 * @param capacidade o maior id mais um
+	 * @param aridade    quantos filhos cada nó do heap tem
+	 */
+	HeapIndexado(int capacidade, int aridade) {
+		this.aridade = aridade;
+		this.heap = new int[capacidade];
+		this.posicoes = new int[capacidade];
+		this.chaves = new double[capacidade];
+		Arrays.fill(posicoes, FORA);
+	}
+
+	boolean estaVazio() {
+		return tamanho == 0;
+	}
+
+	int tamanho() {
+		return tamanho;
+	}
+
+	boolean contem(int id) {
+		return posicoes[id] != FORA;
+	}
+
+	/**
+	 * Retorna a chave do id, válida enquanto ele estiver na fila.
+	 */
+	double chave(int id) {
+		return chaves[id];
+	}
+
+	double menorChave() {
+		return chaves[heap[0]];
+	}
+
+	/**
+	 * Insere o id com a chave, ou diminui a chave se ele já estiver na fila com
+	 * uma chave maior.
+	 *
+	 * @return se a fila mudou
+	 */
+	boolean inserirOuDiminuir(int id, double chave) {
+		int posicao = posicoes[id];
+		if (posicao == FORA) {
+			posicao = tamanho++;
+			heap[posicao] = id;
+			posicoes[id] = posicao;
+		} else if (chave >= chaves[id]) {
+			return false;
+		}
+		chaves[id] = chave;
+		subir(posicao);
+		return true;
+	}
+
+	int removerMinimo() {
+		int minimo = heap[0];
+		posicoes[minimo] = FORA;
+		if (--tamanho > 0) {
+			heap[0] = heap[tamanho];
+			posicoes[heap[0]] = 0;
+			descer(0);
+		}
+		return minimo;
+	}
+
+	void limpar() {
+		for (int i = 0; i < tamanho; i++) {
+			posicoes[heap[i]] = FORA;
+		}
+		tamanho = 0;
+	}
+
+	private void subir(int posicao) {
+		int id = heap[posicao];
+		double chave = chaves[id];
+		while (posicao > 0) {
+			int pai = (posicao - 1) / aridade;
+			if (chaves[heap[pai]] <= chave) {
+				break;
+			}
+			colocar(posicao, heap[pai]);
+			posicao = pai;
+		}
+		colocar(posicao, id);
+	}
+
+	private void descer(int posicao) {
+		int id = heap[posicao];
+		double chave = chaves[id];
+		while (true) {
+			int primeiroFilho = posicao * aridade + 1;
+			if (primeiroFilho >= tamanho) {
+				break;
+			}
+			int menor = primeiroFilho;
+			int ultimoFilho = Math.min(primeiroFilho + aridade, tamanho);
+			for (int filho = primeiroFilho + 1; filho < ultimoFilho; filho++) {
+				if (chaves[heap[filho]] < chaves[heap[menor]]) {
+					menor = filho;
+				}
+			}
+			if (chaves[heap[menor]] >= chave) {
+				break;
+			}
+			colocar(posicao, heap[menor]);
+			posicao = menor;
+		}
+		colocar(posicao, id);
+	}
+
+	private void colocar(int posicao, int id) {
+		heap[posicao] = id;
+		posicoes[id] = posicao;
+	}
+}
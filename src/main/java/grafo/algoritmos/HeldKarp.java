@@ -0,0 +1,218 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import grafo.Aresta;
+import grafo.Vertice;
+import grafo.nao_orientado.GrafoNaoDirecionado;
+
+/**
+ * Algoritmo de Held e Karp para o problema do caixeiro viajante, por
+ * programação dinâmica sobre subconjuntos.
+ * <br>
+ * Para cada subconjunto S dos demais vértices, representado por uma máscara de
+ * bits, e cada vértice j de S, a tabela guarda o menor custo de sair do vértice
+ * inicial, passar por todos os vértices de S e terminar em j. Os subconjuntos
+ * são processados em ordem crescente de máscara, então S sem j sempre já foi
+ * calculado. O tempo é sempre O(n² · 2ⁿ), independentemente dos pesos.
+ * <br>
+ * A tabela é um único array plano. Como j sempre pertence a S, a posição de
+ * (S, j) usa a máscara de S sem o bit de j, e a memória é de
+ * (n - 1) · 2ⁿ⁻² posições de {@code double}, cerca de 1,6 GB com o máximo de
+ * {@value #MAXIMO_DE_VERTICES} vértices. Quando o heap não comporta a
+ * tabela, ela pode ficar fora dele ou em um arquivo mapeado em memória. O
+ * ciclo é reconstruído pela
+ * própria tabela, procurando o vértice anterior que explica cada custo, sem
+ * uma segunda tabela de antecessores.
+ */
+public class HeldKarp {
+	private static final int MAXIMO_DE_VERTICES = 25;
+
+	private final Vertice verticeInicial;
+	private final MatrizDeDistancias matrizDistancia;
+	private final Set<Aresta> melhorCaminhoArestas = new LinkedHashSet<>();
+	private final List<Vertice> melhorCaminhoVertices = new ArrayList<>();
+	private double melhorCusto = Double.MAX_VALUE;
+
+	/**
+	 * Onde a tabela de custos é guardada.
+	 */
+	public enum Armazenamento {
+		/**
+		 * Em um array no heap.
+		 */
+		HEAP,
+		/**
+		 * Em blocos de memória nativa, fora do heap.
+		 */
+		FORA_DO_HEAP,
+		/**
+		 * Em um arquivo temporário mapeado em memória, apagado ao fim.
+		 */
+		MAPEADO_EM_ARQUIVO
+	}
+
+	public HeldKarp(GrafoNaoDirecionado grafo, Vertice verticeInicial) {
+		this(grafo, verticeInicial, Armazenamento.HEAP);
+	}
+
+	public HeldKarp(GrafoNaoDirecionado grafo, Vertice verticeInicial, Armazenamento armazenamento) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(verticeInicial, "Vértice inicial não pode ser nulo");
+		checkNotNull(armazenamento, "Armazenamento não pode ser nulo");
+		checkArgument(grafo.existeVertice(verticeInicial), "Vértice inicial existe no grafo");
+		checkArgument(grafo.ehConexo(), "Grafo deve ser conexo para aplicar o algoritmo");
+		checkArgument(grafo.getVertices().size() <= MAXIMO_DE_VERTICES,
+				"O algoritmo suporta no máximo " + MAXIMO_DE_VERTICES + " vértices");
+
+		this.verticeInicial = verticeInicial;
+		this.matrizDistancia = new MatrizDeDistancias(grafo.congelar());
+
+		rodar(armazenamento);
+	}
+
+	private void rodar(Armazenamento armazenamento) {
+		int n = matrizDistancia.tamanho();
+		int inicial = matrizDistancia.id(verticeInicial);
+		if (n < 2) {
+			return;
+		}
+
+		// Os demais vértices, numerados de 0 a m - 1 nas máscaras
+		int m = n - 1;
+		int[] vertices = new int[m];
+		for (int id = 0, i = 0; id < n; id++) {
+			if (id != inicial) {
+				vertices[i++] = id;
+			}
+		}
+		double[][] distancias = new double[m][m];
+		double[] saidas = new double[m];
+		for (int i = 0; i < m; i++) {
+			saidas[i] = matrizDistancia.distancia(inicial, vertices[i]);
+			for (int j = 0; j < m; j++) {
+				distancias[i][j] = matrizDistancia.distancia(vertices[i], vertices[j]);
+			}
+		}
+
+		long subconjuntos = 1L << m;
+		try (TabelaDeCustos tabela = criarTabela(armazenamento, (subconjuntos >>> 1) * m)) {
+			preencher(tabela, distancias, saidas, subconjuntos, m);
+
+			long todos = subconjuntos - 1;
+			int ultimo = -1;
+			double custo = Double.POSITIVE_INFINITY;
+			for (int j = 0; j < m; j++) {
+				double total = tabela.get(indice(todos, j, m)) + matrizDistancia.distancia(vertices[j], inicial);
+				if (total < custo) {
+					custo = total;
+					ultimo = j;
+				}
+			}
+			if (ultimo == -1) {
+				return;
+			}
+
+			int[] ciclo = reconstruir(tabela, distancias, todos, ultimo, m);
+			int[] ids = new int[n];
+			ids[0] = inicial;
+			for (int i = 0; i < m; i++) {
+				ids[i + 1] = vertices[ciclo[i]];
+			}
+			registrar(ids, custo);
+		}
+	}
+
+	private static TabelaDeCustos criarTabela(Armazenamento armazenamento, long tamanho) {
+		return switch (armazenamento) {
+			case HEAP -> TabelaDeCustos.noHeap(tamanho);
+			case FORA_DO_HEAP -> TabelaDeCustos.foraDoHeap(tamanho);
+			case MAPEADO_EM_ARQUIVO -> TabelaDeCustos.mapeadaEmArquivo(tamanho);
+		};
+	}
+
+	private static void preencher(TabelaDeCustos tabela, double[][] distancias, double[] saidas, long subconjuntos,
+			int m) {
+		for (long mascara = 1; mascara < subconjuntos; mascara++) {
+			for (long vertices = mascara; vertices != 0; vertices &= vertices - 1) {
+				int j = Long.numberOfTrailingZeros(vertices);
+				long anterior = mascara & ~(1L << j);
+				if (anterior == 0) {
+					tabela.set(indice(mascara, j, m), saidas[j]);
+					continue;
+				}
+
+				double melhor = Double.POSITIVE_INFINITY;
+				for (long restantes = anterior; restantes != 0; restantes &= restantes - 1) {
+					int k = Long.numberOfTrailingZeros(restantes);
+					melhor = Math.min(melhor, tabela.get(indice(anterior, k, m)) + distancias[k][j]);
+				}
+				tabela.set(indice(mascara, j, m), melhor);
+			}
+		}
+	}
+
+	/**
+	 * Posição de (mascara, j) na tabela, com j em mascara: o bit de j é retirado
+	 * da máscara, deslocando os bits acima dele uma posição para baixo.
+	 */
+	private static long indice(long mascara, int j, int m) {
+		long abaixo = mascara & ((1L << j) - 1);
+		long acima = mascara >>> (j + 1) << j;
+		return (abaixo | acima) * m + j;
+	}
+
+	/**
+	 * Refaz o ciclo de trás para frente: em cada passo, o vértice anterior é
+	 * aquele cujo custo somado à aresta até o atual dá exatamente o custo
+	 * guardado para o atual, já que a tabela foi preenchida com a mesma conta.
+	 */
+	private static int[] reconstruir(TabelaDeCustos tabela, double[][] distancias, long mascara, int ultimo, int m) {
+		int[] ciclo = new int[m];
+		int atual = ultimo;
+		for (int posicao = m - 1; posicao > 0; posicao--) {
+			ciclo[posicao] = atual;
+			double custo = tabela.get(indice(mascara, atual, m));
+			mascara &= ~(1L << atual);
+			for (long restantes = mascara; restantes != 0; restantes &= restantes - 1) {
+				int k = Long.numberOfTrailingZeros(restantes);
+				if (tabela.get(indice(mascara, k, m)) + distancias[k][atual] == custo) {
+					atual = k;
+					break;
+				}
+			}
+		}
+		ciclo[0] = atual;
+		return ciclo;
+	}
+
+	private void registrar(int[] ciclo, double custo) {
+		melhorCusto = custo;
+		for (int i = 0; i < ciclo.length; i++) {
+			melhorCaminhoVertices.add(matrizDistancia.vertice(ciclo[i]));
+			Aresta aresta = matrizDistancia.aresta(ciclo[i], ciclo[(i + 1) % ciclo.length]);
+			if (aresta != null) {
+				melhorCaminhoArestas.add(aresta);
+			}
+		}
+		melhorCaminhoVertices.add(verticeInicial);
+	}
+
+	public List<Aresta> getCaminhoHamiltonianoArestas() {
+		return new ArrayList<>(melhorCaminhoArestas);
+	}
+
+	public List<Vertice> getCaminhoHamiltonianoVertices() {
+		return new ArrayList<>(melhorCaminhoVertices);
+	}
+
+	public double getMelhorCusto() {
+		return melhorCusto;
+	}
+}
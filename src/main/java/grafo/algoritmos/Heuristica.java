@@ -0,0 +1,25 @@
+package grafo.algoritmos;
+
+import grafo.Vertice;
+
+/**
+ * Estimativa da distância entre dois vértices, usada pela {@link AEstrela}
+ * para explorar primeiro os vértices que parecem mais próximos do destino.
+ * <br>
+ * Para que o caminho encontrado seja mínimo, a estimativa não pode passar da
+ * distância real. Se além disso ela respeitar a desigualdade triangular com
+ * os pesos das arestas, cada vértice é finalizado uma única vez.
+ */
+@FunctionalInterface
+public interface Heuristica {
+
+	double estimar(Vertice vertice, Vertice destino);
+
+	/**
+	 * Heurística que sempre estima zero, com a qual a {@link AEstrela} se
+	 * comporta como o {@link Dijkstra}.
+	 */
+	static Heuristica nula() {
+		return (vertice, destino) -> 0.0;
+	}
+}
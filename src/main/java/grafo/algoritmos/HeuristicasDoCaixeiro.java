@@ -0,0 +1,92 @@
+package grafo.algoritmos;
+
+/**
+ * Heurísticas de construção e melhoria de ciclos hamiltonianos sobre uma
+ * {@link MatrizDeDistancias} simétrica. Os ciclos são arrays com os ids dos
+ * vértices na ordem de visita, sem repetir o primeiro no final.
+ */
+final class HeuristicasDoCaixeiro {
+	private static final double TOLERANCIA = 1e-12;
+
+	private HeuristicasDoCaixeiro() {
+	}
+
+	/**
+	 * Constrói um ciclo saindo do vértice inicial e indo sempre para o vértice
+	 * não visitado mais próximo.
+	 *
+	 * @return o ciclo, ou {@code null} se a construção ficar sem arestas para
+	 *         seguir ou para voltar ao início
+	 */
+	static int[] vizinhoMaisProximo(MatrizDeDistancias matriz, int inicial) {
+		int n = matriz.tamanho();
+		int[] ciclo = new int[n];
+		boolean[] visitados = new boolean[n];
+		ciclo[0] = inicial;
+		visitados[inicial] = true;
+
+		for (int posicao = 1; posicao < n; posicao++) {
+			double[] distancias = matriz.linha(ciclo[posicao - 1]);
+			int proximo = -1;
+			for (int vertice = 0; vertice < n; vertice++) {
+				if (!visitados[vertice] && distancias[vertice] != Double.POSITIVE_INFINITY
+						&& (proximo == -1 || distancias[vertice] < distancias[proximo])) {
+					proximo = vertice;
+				}
+			}
+			if (proximo == -1) {
+				return null;
+			}
+			ciclo[posicao] = proximo;
+			visitados[proximo] = true;
+		}
+
+		return custo(matriz, ciclo) == Double.POSITIVE_INFINITY ? null : ciclo;
+	}
+
+	/**
+	 * Melhora o ciclo trocando pares de arestas (a, b) e (c, d) por (a, c) e
+	 * (b, d), invertendo o trecho entre elas, enquanto alguma troca diminuir o
+	 * custo. A primeira posição do ciclo não muda.
+	 *
+	 * @param ciclo o ciclo, alterado no lugar
+	 */
+	static void doisOpt(MatrizDeDistancias matriz, int[] ciclo) {
+		int n = ciclo.length;
+		boolean melhorou = true;
+		while (melhorou) {
+			melhorou = false;
+			for (int i = 1; i < n - 1; i++) {
+				int a = ciclo[i - 1];
+				int b = ciclo[i];
+				for (int j = i + 1; j < n; j++) {
+					int c = ciclo[j];
+					int d = ciclo[(j + 1) % n];
+					double variacao = matriz.distancia(a, c) + matriz.distancia(b, d)
+							- matriz.distancia(a, b) - matriz.distancia(c, d);
+					if (variacao < -TOLERANCIA) {
+						inverter(ciclo, i, j);
+						b = ciclo[i];
+						melhorou = true;
+					}
+				}
+			}
+		}
+	}
+
+	static void inverter(int[] ciclo, int inicio, int fim) {
+		for (; inicio < fim; inicio++, fim--) {
+			int vertice = ciclo[inicio];
+			ciclo[inicio] = ciclo[fim];
+			ciclo[fim] = vertice;
+		}
+	}
+
+	static double custo(MatrizDeDistancias matriz, int[] ciclo) {
+		double custo = 0.0;
+		for (int i = 0; i < ciclo.length; i++) {
+			custo += matriz.distancia(ciclo[i], ciclo[(i + 1) % ciclo.length]);
+		}
+		return custo;
+	}
+}
@@ -0,0 +1,144 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+import grafo.digrafo.Digrafo;
+import grafo.nao_orientado.GrafoNaoDirecionado;
+
+/**
+ * Algoritmo de Hierholzer para encontrar um circuito ou caminho euleriano em
+ * O(V + E).
+ * <br>
+ * A partir do vértice inicial, segue por arestas ainda não usadas até ficar
+ * sem saída, empilhando os vértices visitados. Ao ficar sem saída, desempilha o
+ * vértice e adiciona ao caminho a aresta pela qual ele foi alcançado, retomando
+ * a partir do vértice anterior. Cada vértice guarda a próxima posição da sua
+ * lista de arestas a ser examinada, então cada aresta é examinada no máximo
+ * duas vezes.
+ * <br>
+ * Em grafos não direcionados o caminho pode começar em qualquer vértice se
+ * todos os graus forem pares, ou deve começar em um dos dois vértices de grau
+ * ímpar. Em digrafos, deve começar no vértice com uma aresta de saída a mais,
+ * se houver.
+ */
+public class Hierholzer {
+	private final GrafoCongelado grafo;
+	private final List<Aresta> caminhoEuleriano;
+
+	/**
+	 * Encontra um caminho euleriano começando em um vértice de grau ímpar (ou com
+	 * uma aresta de saída a mais, em digrafos), se houver, ou em um circuito a
+	 * partir de algum vértice com arestas.
+	 *
+	 * @param grafo
+	 */
+	public Hierholzer(Grafo grafo) {
+		this(grafo, null);
+	}
+
+	public Hierholzer(Grafo grafo, Vertice verticeInicial) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkArgument(ehSemiEuleriano(grafo), "Grafo deve ser Euleriano ou semi-Euleriano");
+		this.grafo = grafo.congelar();
+
+		int inicio = inicioObrigatorio();
+		if (verticeInicial != null) {
+			int id = this.grafo.id(verticeInicial);
+			checkArgument(id != -1, "Vértice inicial deve existir no grafo");
+			checkArgument(inicio == -1 || id == inicio
+					|| (!this.grafo.ehOrientado() && saldo(id) != 0),
+					"O caminho euleriano deve começar em um vértice de grau ímpar");
+			inicio = id;
+		} else if (inicio == -1) {
+			inicio = algumVerticeComArestas();
+		}
+
+		this.caminhoEuleriano = inicio == -1 ? List.of() : rodar(inicio);
+		checkArgument(caminhoEuleriano.size() == this.grafo.getQuantidadeDeArestas(),
+				"As arestas do grafo devem estar em uma única componente conexa");
+	}
+
+	public List<Aresta> getCaminhoEuleriano() {
+		return caminhoEuleriano;
+	}
+
+	private static boolean ehSemiEuleriano(Grafo grafo) {
+		if (grafo instanceof Digrafo digrafo) {
+			return digrafo.ehSemiEuleriano();
+		}
+		return ((GrafoNaoDirecionado) grafo).ehSemiEuleriano();
+	}
+
+	/**
+	 * Em grafos não direcionados, a paridade do grau; em digrafos, o grau de
+	 * saída menos o de entrada.
+	 */
+	private int saldo(int id) {
+		if (!grafo.ehOrientado()) {
+			int grau = 0;
+			for (int posicao = grafo.inicio(id); posicao < grafo.fim(id); posicao++) {
+				grau += grafo.destino(posicao) == id ? 2 : 1;
+			}
+			return grau % 2;
+		}
+		return grafo.grauDeSaida(id) - grafo.transposta().grauDeSaida(id);
+	}
+
+	private int inicioObrigatorio() {
+		for (int id = 0; id < grafo.getQuantidadeDeVertices(); id++) {
+			if (saldo(id) == 1) {
+				return id;
+			}
+		}
+		return -1;
+	}
+
+	private int algumVerticeComArestas() {
+		for (int id = 0; id < grafo.getQuantidadeDeVertices(); id++) {
+			if (grafo.grauDeSaida(id) > 0) {
+				return id;
+			}
+		}
+		return -1;
+	}
+
+	private List<Aresta> rodar(int inicio) {
+		int m = grafo.getQuantidadeDeArestas();
+		boolean[] usadas = new boolean[m];
+		int[] proximas = new int[grafo.getQuantidadeDeVertices()];
+		for (int id = 0; id < proximas.length; id++) {
+			proximas[id] = grafo.inicio(id);
+		}
+		int[] pilhaDeVertices = new int[m + 1];
+		int[] pilhaDeArestas = new int[m + 1];
+		List<Aresta> caminho = new ArrayList<>(m);
+
+		int topo = 0;
+		pilhaDeVertices[topo] = inicio;
+		pilhaDeArestas[topo++] = -1;
+		while (topo > 0) {
+			int vertice = pilhaDeVertices[topo - 1];
+			while (proximas[vertice] < grafo.fim(vertice) && usadas[grafo.idAresta(proximas[vertice])]) {
+				proximas[vertice]++;
+			}
+
+			if (proximas[vertice] < grafo.fim(vertice)) {
+				int posicao = proximas[vertice]++;
+				usadas[grafo.idAresta(posicao)] = true;
+				pilhaDeVertices[topo] = grafo.destino(posicao);
+				pilhaDeArestas[topo++] = grafo.idAresta(posicao);
+			} else if (pilhaDeArestas[--topo] != -1) {
+				caminho.add(grafo.aresta(pilhaDeArestas[topo]));
+			}
+		}
+		return List.copyOf(caminho.reversed());
+	}
+}
@@ -0,0 +1,198 @@
+package grafo.algoritmos;
+
+/**
+ * Limite de Held e Karp pela árvore 1: o caminho que falta, do vértice atual
+ * até o inicial passando pelos não visitados, é uma árvore geradora dos não
+ * visitados mais uma aresta ligando cada extremidade a ela. A árvore geradora
+ * mínima mais as duas ligações mais baratas é, portanto, um limite inferior.
+ * <br>
+ * O limite é reforçado por otimização por subgradiente: cada não visitado
+ * recebe uma penalidade somada às suas arestas, que aumenta quando ele tem
+ * grau maior que 2 na árvore e diminui quando tem grau 1. O custo do caminho
+ * muda pelo dobro da soma das penalidades, que é descontado. As penalidades
+ * são otimizadas com mais iterações na raiz e reaproveitadas como ponto de
+ * partida em cada nó, que faz só algumas iterações a mais.
+ */
+final class LimiteArvore1 implements CalculoDeLimite {
+	private static final int ITERACOES_NA_RAIZ = 100;
+	private static final int ITERACOES_POR_NO = 5;
+	private static final int ITERACOES_SEM_MELHORA = 3;
+	private static final double TOLERANCIA = 1e-9;
+
+	private final MatrizDeDistancias matriz;
+	private final int inicial;
+	private final long todos;
+	private final double[] penalidadesDaRaiz;
+	private final ThreadLocal<Rascunho> rascunhos;
+
+	LimiteArvore1(MatrizDeDistancias matriz, int inicial, long todos, double limiteSuperior) {
+		this.matriz = matriz;
+		this.inicial = inicial;
+		this.todos = todos;
+		this.rascunhos = ThreadLocal.withInitial(() -> new Rascunho(matriz.tamanho()));
+		this.penalidadesDaRaiz = new double[matriz.tamanho()];
+		otimizar(inicial, 1L << inicial, limiteSuperior, penalidadesDaRaiz, ITERACOES_NA_RAIZ, rascunhos.get());
+	}
+
+	@Override
+	public double calcular(int verticeAtual, long visitados, double limiteSuperior) {
+		if ((todos & ~visitados) == 0) {
+			return matriz.distancia(verticeAtual, inicial);
+		}
+
+		Rascunho rascunho = rascunhos.get();
+		System.arraycopy(penalidadesDaRaiz, 0, rascunho.penalidades, 0, penalidadesDaRaiz.length);
+		return otimizar(verticeAtual, visitados, limiteSuperior, rascunho.penalidades, ITERACOES_POR_NO, rascunho);
+	}
+
+	/**
+	 * Executa as iterações do subgradiente, deixando em {@code penalidades} as
+	 * que deram o maior limite.
+	 *
+	 * @return o maior limite encontrado
+	 */
+	private double otimizar(int verticeAtual, long visitados, double limiteSuperior, double[] penalidades,
+			int iteracoes, Rascunho rascunho) {
+		long naoVisitados = todos & ~visitados;
+		double melhor = Double.NEGATIVE_INFINITY;
+		double lambda = 2.0;
+		int semMelhora = 0;
+
+		for (int iteracao = 0; iteracao < iteracoes; iteracao++) {
+			double valor = arvore1(verticeAtual, naoVisitados, penalidades, rascunho);
+			if (valor == Double.POSITIVE_INFINITY) {
+				return valor;
+			}
+			if (valor > melhor) {
+				melhor = valor;
+				semMelhora = 0;
+				copiar(naoVisitados, penalidades, rascunho.melhoresPenalidades);
+			} else if (++semMelhora == ITERACOES_SEM_MELHORA) {
+				lambda /= 2;
+				semMelhora = 0;
+			}
+			if (melhor > limiteSuperior) {
+				break;
+			}
+
+			double normaQuadrada = 0.0;
+			for (long restantes = naoVisitados; restantes != 0; restantes &= restantes - 1) {
+				int gradiente = rascunho.graus[Long.numberOfTrailingZeros(restantes)] - 2;
+				normaQuadrada += gradiente * gradiente;
+			}
+			if (normaQuadrada == 0) {
+				// A árvore 1 já é um caminho, então o limite é exato
+				break;
+			}
+
+			double alvo = limiteSuperior < Double.MAX_VALUE / 2
+					? limiteSuperior
+					: valor + 0.1 * Math.max(Math.abs(valor), 1.0);
+			double passo = lambda * (alvo - valor) / normaQuadrada;
+			for (long restantes = naoVisitados; restantes != 0; restantes &= restantes - 1) {
+				int vertice = Long.numberOfTrailingZeros(restantes);
+				penalidades[vertice] += passo * (rascunho.graus[vertice] - 2);
+			}
+		}
+
+		copiar(naoVisitados, rascunho.melhoresPenalidades, penalidades);
+		return melhor - TOLERANCIA * Math.abs(melhor);
+	}
+
+	private static void copiar(long vertices, double[] origem, double[] destino) {
+		for (long restantes = vertices; restantes != 0; restantes &= restantes - 1) {
+			int vertice = Long.numberOfTrailingZeros(restantes);
+			destino[vertice] = origem[vertice];
+		}
+	}
+
+	/**
+	 * Monta a árvore geradora mínima dos não visitados pelo algoritmo de Prim,
+	 * com os custos penalizados, e liga o vértice atual e o inicial a ela pelas
+	 * arestas mais baratas, anotando o grau de cada não visitado.
+	 *
+	 * @return o custo da árvore 1 menos o dobro das penalidades, ou infinito se
+	 *         ela não existir
+	 */
+	private double arvore1(int verticeAtual, long naoVisitados, double[] penalidades, Rascunho rascunho) {
+		double[] minimos = rascunho.minimos;
+		int[] pais = rascunho.pais;
+		int[] graus = rascunho.graus;
+		double custo = 0.0;
+
+		int raiz = Long.numberOfTrailingZeros(naoVisitados);
+		long foraDaArvore = naoVisitados & ~(1L << raiz);
+		for (long restantes = naoVisitados; restantes != 0; restantes &= restantes - 1) {
+			int vertice = Long.numberOfTrailingZeros(restantes);
+			graus[vertice] = 0;
+			minimos[vertice] = matriz.distancia(raiz, vertice) + penalidades[raiz] + penalidades[vertice];
+			pais[vertice] = raiz;
+			custo -= 2 * penalidades[vertice];
+		}
+
+		while (foraDaArvore != 0) {
+			int proximo = -1;
+			for (long restantes = foraDaArvore; restantes != 0; restantes &= restantes - 1) {
+				int vertice = Long.numberOfTrailingZeros(restantes);
+				if (proximo == -1 || minimos[vertice] < minimos[proximo]) {
+					proximo = vertice;
+				}
+			}
+			if (minimos[proximo] == Double.POSITIVE_INFINITY) {
+				return Double.POSITIVE_INFINITY;
+			}
+
+			custo += minimos[proximo];
+			graus[proximo]++;
+			graus[pais[proximo]]++;
+			foraDaArvore &= ~(1L << proximo);
+
+			double[] distancias = matriz.linha(proximo);
+			for (long restantes = foraDaArvore; restantes != 0; restantes &= restantes - 1) {
+				int vertice = Long.numberOfTrailingZeros(restantes);
+				double distancia = distancias[vertice] + penalidades[proximo] + penalidades[vertice];
+				if (distancia < minimos[vertice]) {
+					minimos[vertice] = distancia;
+					pais[vertice] = proximo;
+				}
+			}
+		}
+
+		return custo + ligar(verticeAtual, naoVisitados, penalidades, graus)
+				+ ligar(inicial, naoVisitados, penalidades, graus);
+	}
+
+	private double ligar(int extremidade, long naoVisitados, double[] penalidades, int[] graus) {
+		double[] distancias = matriz.linha(extremidade);
+		int melhor = -1;
+		double menorCusto = Double.POSITIVE_INFINITY;
+		for (long restantes = naoVisitados; restantes != 0; restantes &= restantes - 1) {
+			int vertice = Long.numberOfTrailingZeros(restantes);
+			double custo = distancias[vertice] + penalidades[vertice];
+			if (custo < menorCusto) {
+				menorCusto = custo;
+				melhor = vertice;
+			}
+		}
+		if (melhor != -1) {
+			graus[melhor]++;
+		}
+		return menorCusto;
+	}
+
+	private static final class Rascunho {
+		final double[] minimos;
+		final int[] pais;
+		final int[] graus;
+		final double[] penalidades;
+		final double[] melhoresPenalidades;
+
+		Rascunho(int n) {
+			this.minimos = new double[n];
+			this.pais = new int[n];
+			this.graus = new int[n];
+			this.penalidades = new double[n];
+			this.melhoresPenalidades = new double[n];
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package grafo.algoritmos;
+
+/**
+ * Limite da matriz reduzida, como no algoritmo de Little: cada vértice que ainda
+ * precisa sair (o atual e os não visitados) paga a sua saída mais barata, e
+ * cada vértice que ainda precisa ser alcançado (os não visitados e o inicial)
+ * paga a entrada mais barata que sobra depois de descontados esses mínimos das
+ * linhas.
+ * <br>
+ * A ida direta do atual ao inicial só é permitida quando não há mais vértices a
+ * visitar. Uma linha ou coluna sem nenhuma aresta torna o limite infinito, o
+ * que poda o ramo.
+ */
+final class LimiteMatrizReduzida implements CalculoDeLimite {
+	private static final double TOLERANCIA = 1e-9;
+
+	private final MatrizDeDistancias matriz;
+	private final int inicial;
+	private final long todos;
+	private final ThreadLocal<double[]> minimosDasLinhas;
+
+	LimiteMatrizReduzida(MatrizDeDistancias matriz, int inicial, long todos) {
+		this.matriz = matriz;
+		this.inicial = inicial;
+		this.todos = todos;
+		this.minimosDasLinhas = ThreadLocal.withInitial(() -> new double[matriz.tamanho()]);
+	}
+
+	@Override
+	public double calcular(int verticeAtual, long visitados, double limiteSuperior) {
+		long naoVisitados = todos & ~visitados;
+		if (naoVisitados == 0) {
+			return matriz.distancia(verticeAtual, inicial);
+		}
+
+		long linhas = naoVisitados | (1L << verticeAtual);
+		long colunas = naoVisitados | (1L << inicial);
+		double[] minimos = minimosDasLinhas.get();
+		double reducao = 0.0;
+
+		for (long restantes = linhas; restantes != 0; restantes &= restantes - 1) {
+			int linha = Long.numberOfTrailingZeros(restantes);
+			double[] distancias = matriz.linha(linha);
+			double minimo = Double.POSITIVE_INFINITY;
+			for (long destinos = colunas; destinos != 0; destinos &= destinos - 1) {
+				int coluna = Long.numberOfTrailingZeros(destinos);
+				if (permitida(linha, coluna, verticeAtual)) {
+					minimo = Math.min(minimo, distancias[coluna]);
+				}
+			}
+			if (minimo == Double.POSITIVE_INFINITY) {
+				return minimo;
+			}
+			minimos[linha] = minimo;
+			reducao += minimo;
+		}
+
+		for (long destinos = colunas; destinos != 0; destinos &= destinos - 1) {
+			int coluna = Long.numberOfTrailingZeros(destinos);
+			double minimo = Double.POSITIVE_INFINITY;
+			for (long restantes = linhas; restantes != 0; restantes &= restantes - 1) {
+				int linha = Long.numberOfTrailingZeros(restantes);
+				if (permitida(linha, coluna, verticeAtual)) {
+					minimo = Math.min(minimo, matriz.distancia(linha, coluna) - minimos[linha]);
+				}
+			}
+			if (minimo == Double.POSITIVE_INFINITY) {
+				return minimo;
+			}
+			reducao += minimo;
+		}
+
+		return reducao - TOLERANCIA * Math.abs(reducao);
+	}
+
+	private boolean permitida(int linha, int coluna, int verticeAtual) {
+		return linha != coluna && !(linha == verticeAtual && coluna == inicial);
+	}
+}
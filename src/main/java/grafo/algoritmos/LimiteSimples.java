@@ -0,0 +1,47 @@
+package grafo.algoritmos;
+
+/**
+ * A aresta mais barata saindo do vértice atual para um não visitado, mais, para
+ * cada não visitado, a aresta mais barata saindo dele para outro não visitado
+ * ou de volta ao início. Pares sem aresta são ignorados, como se não
+ * existissem.
+ */
+final class LimiteSimples implements CalculoDeLimite {
+	private final MatrizDeDistancias matriz;
+	private final int inicial;
+	private final long todos;
+
+	LimiteSimples(MatrizDeDistancias matriz, int inicial, long todos) {
+		this.matriz = matriz;
+		this.inicial = inicial;
+		this.todos = todos;
+	}
+
+	@Override
+	public double calcular(int verticeAtual, long visitados, double limiteSuperior) {
+		long naoVisitados = todos & ~visitados;
+		double[] distanciasAtual = matriz.linha(verticeAtual);
+		double bound = 0.0;
+
+		double menorCusto = Double.POSITIVE_INFINITY;
+		for (long restantes = naoVisitados; restantes != 0; restantes &= restantes - 1) {
+			menorCusto = Math.min(menorCusto, distanciasAtual[Long.numberOfTrailingZeros(restantes)]);
+		}
+		if (menorCusto != Double.POSITIVE_INFINITY) {
+			bound += menorCusto;
+		}
+
+		for (long restantes = naoVisitados; restantes != 0; restantes &= restantes - 1) {
+			double[] distancias = matriz.linha(Long.numberOfTrailingZeros(restantes));
+			menorCusto = distancias[inicial];
+			for (long destinos = naoVisitados; destinos != 0; destinos &= destinos - 1) {
+				menorCusto = Math.min(menorCusto, distancias[Long.numberOfTrailingZeros(destinos)]);
+			}
+			if (menorCusto != Double.POSITIVE_INFINITY) {
+				bound += menorCusto;
+			}
+		}
+
+		return bound;
+	}
+}
@@ -0,0 +1,141 @@
+package grafo.algoritmos;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+import grafo.Aresta;
+import grafo.GrafoCongelado;
+
+/**
+ * Distâncias diretas entre os vértices de um grafo esparso, para heurísticas que
+ * não podem pagar por uma matriz n × n.
+ * <br>
+ * As arestas de cada vértice ficam ordenadas pelo id do destino, sem laços e
+ * com só a mais leve entre as paralelas, então a distância entre dois vértices
+ * é encontrada por busca binária. Pares sem aresta têm distância
+ * {@link Double#POSITIVE_INFINITY}.
+ */
+final class ListasDeDistancias {
+	private final GrafoCongelado grafo;
+	private final int[] inicios;
+	private final int[] destinos;
+	private final double[] pesos;
+	private final int[] arestas;
+
+	ListasDeDistancias(GrafoCongelado grafo) {
+		int n = grafo.getQuantidadeDeVertices();
+		this.grafo = grafo;
+		this.inicios = new int[n + 1];
+		int posicoes = n == 0 ? 0 : grafo.fim(n - 1);
+		int[] destinosOrdenados = new int[posicoes];
+		double[] pesosOrdenados = new double[posicoes];
+		int[] arestasOrdenadas = new int[posicoes];
+
+		int quantidade = 0;
+		for (int origem = 0; origem < n; origem++) {
+			int inicio = grafo.inicio(origem);
+			long[] chaves = new long[grafo.grauDeSaida(origem)];
+			for (int i = 0; i < chaves.length; i++) {
+				chaves[i] = ((long) grafo.destino(inicio + i) << Integer.SIZE) | i;
+			}
+			Arrays.sort(chaves);
+
+			for (long chave : chaves) {
+				int posicao = inicio + (int) chave;
+				int destino = grafo.destino(posicao);
+				if (destino == origem) {
+					continue;
+				}
+				if (quantidade > inicios[origem] && destinosOrdenados[quantidade - 1] == destino) {
+					if (grafo.peso(posicao) < pesosOrdenados[quantidade - 1]) {
+						pesosOrdenados[quantidade - 1] = grafo.peso(posicao);
+						arestasOrdenadas[quantidade - 1] = grafo.idAresta(posicao);
+					}
+					continue;
+				}
+				destinosOrdenados[quantidade] = destino;
+				pesosOrdenados[quantidade] = grafo.peso(posicao);
+				arestasOrdenadas[quantidade++] = grafo.idAresta(posicao);
+			}
+			inicios[origem + 1] = quantidade;
+		}
+
+		this.destinos = Arrays.copyOf(destinosOrdenados, quantidade);
+		this.pesos = Arrays.copyOf(pesosOrdenados, quantidade);
+		this.arestas = Arrays.copyOf(arestasOrdenadas, quantidade);
+	}
+
+	GrafoCongelado grafo() {
+		return grafo;
+	}
+
+	int tamanho() {
+		return inicios.length - 1;
+	}
+
+	double distancia(int origem, int destino) {
+		int posicao = posicao(origem, destino);
+		return posicao < 0 ? Double.POSITIVE_INFINITY : pesos[posicao];
+	}
+
+	double maiorPesoAbsoluto() {
+		double maior = 0.0;
+		for (double peso : pesos) {
+			maior = Math.max(maior, Math.abs(peso));
+		}
+		return maior;
+	}
+
+	/**
+	 * Retorna a aresta de menor peso entre os vértices.
+	 *
+	 * @return a aresta, ou {@code null} se não houver
+	 */
+	Aresta aresta(int origem, int destino) {
+		int posicao = posicao(origem, destino);
+		return posicao < 0 ? null : grafo.aresta(arestas[posicao]);
+	}
+
+	private int posicao(int origem, int destino) {
+		return Arrays.binarySearch(destinos, inicios[origem], inicios[origem + 1], destino);
+	}
+
+	/**
+	 * Retorna até {@code quantidade} vizinhos do vértice, do mais próximo ao mais
+	 * distante.
+	 */
+	int[] vizinhosMaisProximos(int origem, int quantidade) {
+		int[] vizinhos = new int[Math.min(quantidade, inicios[origem + 1] - inicios[origem])];
+		int encontrados = 0;
+		for (int posicao = inicios[origem]; posicao < inicios[origem + 1]; posicao++) {
+			if (encontrados == vizinhos.length && pesos[posicao] >= distancia(origem, vizinhos[encontrados - 1])) {
+				continue;
+			}
+			int i = encontrados == vizinhos.length ? encontrados - 1 : encontrados++;
+			while (i > 0 && distancia(origem, vizinhos[i - 1]) > pesos[posicao]) {
+				vizinhos[i] = vizinhos[i - 1];
+				i--;
+			}
+			vizinhos[i] = destinos[posicao];
+		}
+		return vizinhos;
+	}
+
+	/**
+	 * Retorna o vizinho mais próximo do vértice que satisfaz o filtro,
+	 * percorrendo todas as suas arestas.
+	 *
+	 * @return o vizinho, ou -1 se nenhum satisfizer o filtro
+	 */
+	int vizinhoMaisProximo(int origem, IntPredicate filtro) {
+		int melhor = -1;
+		double menorDistancia = Double.POSITIVE_INFINITY;
+		for (int posicao = inicios[origem]; posicao < inicios[origem + 1]; posicao++) {
+			if (pesos[posicao] < menorDistancia && filtro.test(destinos[posicao])) {
+				menorDistancia = pesos[posicao];
+				melhor = destinos[posicao];
+			}
+		}
+		return melhor;
+	}
+}
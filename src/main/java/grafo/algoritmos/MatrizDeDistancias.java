@@ -0,0 +1,75 @@
+package grafo.algoritmos;
+
+import java.util.Arrays;
+
+import grafo.Aresta;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Matriz de distâncias diretas entre os vértices de um grafo, indexada pelos
+ * ids do {@link GrafoCongelado}, usada pelos algoritmos do caixeiro viajante.
+ * <br>
+ * Entre arestas paralelas vale a de menor peso. Pares sem aresta, e a diagonal,
+ * têm distância {@link Double#POSITIVE_INFINITY}, então somas com eles nunca
+ * passam em comparações com custos finitos.
+ */
+final class MatrizDeDistancias {
+	private static final int SEM_ARESTA = -1;
+
+	private final GrafoCongelado grafo;
+	private final double[][] distancias;
+	private final int[][] arestas;
+
+	MatrizDeDistancias(GrafoCongelado grafo) {
+		int n = grafo.getQuantidadeDeVertices();
+		this.grafo = grafo;
+		this.distancias = new double[n][n];
+		this.arestas = new int[n][n];
+		for (int origem = 0; origem < n; origem++) {
+			Arrays.fill(distancias[origem], Double.POSITIVE_INFINITY);
+			Arrays.fill(arestas[origem], SEM_ARESTA);
+			for (int posicao = grafo.inicio(origem); posicao < grafo.fim(origem); posicao++) {
+				int destino = grafo.destino(posicao);
+				if (destino != origem && grafo.peso(posicao) < distancias[origem][destino]) {
+					distancias[origem][destino] = grafo.peso(posicao);
+					arestas[origem][destino] = grafo.idAresta(posicao);
+				}
+			}
+		}
+	}
+
+	int tamanho() {
+		return distancias.length;
+	}
+
+	double distancia(int origem, int destino) {
+		return distancias[origem][destino];
+	}
+
+	/**
+	 * Retorna a linha da matriz, sem cópia, para laços que percorrem todos os
+	 * destinos de um mesmo vértice.
+	 */
+	double[] linha(int origem) {
+		return distancias[origem];
+	}
+
+	/**
+	 * Retorna a aresta de menor peso entre os vértices.
+	 *
+	 * @return a aresta, ou {@code null} se não houver
+	 */
+	Aresta aresta(int origem, int destino) {
+		int aresta = arestas[origem][destino];
+		return aresta == SEM_ARESTA ? null : grafo.aresta(aresta);
+	}
+
+	int id(Vertice vertice) {
+		return grafo.id(vertice);
+	}
+
+	Vertice vertice(int id) {
+		return grafo.vertice(id);
+	}
+}
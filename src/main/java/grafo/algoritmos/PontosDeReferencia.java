@@ -0,0 +1,113 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Heurística ALT (A*, landmarks e desigualdade triangular), que estima as
+ * distâncias a partir das distâncias pré-calculadas de e até alguns vértices de
+ * referência.
+ * <br>
+ * Para uma referência L, a desigualdade triangular dá d(v, t) ≥ d(L, t) -
+ * d(L, v) e d(v, t) ≥ d(v, L) - d(t, L), e a estimativa é o maior desses
+ * limites entre as referências. Ela nunca passa da distância real e respeita a
+ * desigualdade triangular, então pode ser usada em qualquer consulta sobre o
+ * mesmo grafo. As referências são escolhidas afastadas entre si, cada uma a
+ * mais distante das anteriores, o que tende a colocá-las na periferia do grafo,
+ * onde os limites são mais justos.
+ * <br>
+ * O pré-processamento é um {@link Dijkstra} por referência em cada sentido e a
+ * memória é de duas distâncias por vértice e referência. Consultas da
+ * {@link AEstrela} sobre o mesmo {@link GrafoCongelado} usado aqui leem as
+ * distâncias direto pelos ids dos vértices.
+ */
+public final class PontosDeReferencia implements Heuristica {
+	private final GrafoCongelado grafo;
+	private final int[] referencias;
+	private final double[][] distanciasDasReferencias;
+	private final double[][] distanciasAteAsReferencias;
+
+	public PontosDeReferencia(Grafo grafo, int quantidade) {
+		this(grafo.congelar(), quantidade);
+	}
+
+	public PontosDeReferencia(GrafoCongelado grafo, int quantidade) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkArgument(quantidade >= 1, "Deve haver pelo menos 1 ponto de referência");
+		int n = grafo.getQuantidadeDeVertices();
+		quantidade = Math.min(quantidade, n);
+
+		this.grafo = grafo;
+		this.referencias = new int[quantidade];
+		this.distanciasDasReferencias = new double[quantidade][];
+		this.distanciasAteAsReferencias = new double[quantidade][];
+
+		boolean[] escolhidos = new boolean[n];
+		double[] menoresDistancias = n == 0 ? null : new Dijkstra(grafo, grafo.vertice(0)).distancias();
+		for (int i = 0; i < quantidade; i++) {
+			int escolhido = maisDistante(menoresDistancias, escolhidos);
+			escolhidos[escolhido] = true;
+			referencias[i] = escolhido;
+			distanciasDasReferencias[i] = new Dijkstra(grafo, grafo.vertice(escolhido)).distancias();
+			distanciasAteAsReferencias[i] = grafo.ehOrientado()
+					? new Dijkstra(grafo.transposta(), grafo.vertice(escolhido)).distancias()
+					: distanciasDasReferencias[i];
+			for (int id = 0; id < n; id++) {
+				menoresDistancias[id] = i == 0 ? distanciasDasReferencias[i][id]
+						: Math.min(menoresDistancias[id], distanciasDasReferencias[i][id]);
+			}
+		}
+	}
+
+	/**
+	 * Escolhe o vértice ainda não escolhido mais distante, começando pelos que
+	 * estão a distância infinita, em partes do grafo não alcançadas.
+	 */
+	private static int maisDistante(double[] distancias, boolean[] escolhidos) {
+		int maisDistante = -1;
+		for (int id = 0; id < distancias.length; id++) {
+			if (!escolhidos[id] && (maisDistante == -1 || distancias[id] > distancias[maisDistante])) {
+				maisDistante = id;
+			}
+		}
+		return maisDistante;
+	}
+
+	GrafoCongelado grafo() {
+		return grafo;
+	}
+
+	public List<Vertice> getReferencias() {
+		return Arrays.stream(referencias).mapToObj(grafo::vertice).toList();
+	}
+
+	@Override
+	public double estimar(Vertice vertice, Vertice destino) {
+		int idVertice = grafo.id(vertice);
+		int idDestino = grafo.id(destino);
+		checkArgument(idVertice != -1 && idDestino != -1, "Vértice deve existir no grafo");
+		return estimar(idVertice, idDestino);
+	}
+
+	double estimar(int vertice, int destino) {
+		double estimativa = 0.0;
+		for (int i = 0; i < referencias.length; i++) {
+			double[] de = distanciasDasReferencias[i];
+			double[] ate = distanciasAteAsReferencias[i];
+			if (de[destino] != Double.POSITIVE_INFINITY && de[vertice] != Double.POSITIVE_INFINITY) {
+				estimativa = Math.max(estimativa, de[destino] - de[vertice]);
+			}
+			if (ate[vertice] != Double.POSITIVE_INFINITY && ate[destino] != Double.POSITIVE_INFINITY) {
+				estimativa = Math.max(estimativa, ate[vertice] - ate[destino]);
+			}
+		}
+		return estimativa;
+	}
+}
@@ -0,0 +1,142 @@
+package grafo.algoritmos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Array de {@code double} indexado por {@code long}, guardado no heap ou em
+ * blocos de memória fora dele, para as tabelas de programação dinâmica que não
+ * cabem no heap.
+ */
+abstract class TabelaDeCustos implements AutoCloseable {
+	private static final int BITS_POR_BLOCO = 27;
+	private static final long TAMANHO_DO_BLOCO = 1L << BITS_POR_BLOCO;
+	private static final long MAXIMO_NO_HEAP = Integer.MAX_VALUE - 8;
+
+	abstract double get(long indice);
+
+	abstract void set(long indice, double valor);
+
+	@Override
+	public void close() {
+	}
+
+	static TabelaDeCustos noHeap(long tamanho) {
+		if (tamanho > MAXIMO_NO_HEAP) {
+			throw new IllegalArgumentException(
+					"Tabela com " + tamanho + " posições não cabe no heap; use armazenamento fora do heap");
+		}
+		return new NoHeap((int) tamanho);
+	}
+
+	static TabelaDeCustos foraDoHeap(long tamanho) {
+		DoubleBuffer[] blocos = new DoubleBuffer[quantidadeDeBlocos(tamanho)];
+		for (int i = 0; i < blocos.length; i++) {
+			blocos[i] = ByteBuffer.allocateDirect(Double.BYTES * tamanhoDoBloco(tamanho, i))
+					.order(ByteOrder.nativeOrder())
+					.asDoubleBuffer();
+		}
+		return new EmBlocos(blocos, null);
+	}
+
+	/**
+	 * Cria a tabela em um arquivo temporário mapeado em memória, que o sistema
+	 * operacional pode descarregar para o disco quando faltar memória. O arquivo
+	 * é apagado ao fechar a tabela ou, onde o mapeamento ainda aberto impedir,
+	 * ao fim da JVM.
+	 */
+	static TabelaDeCustos mapeadaEmArquivo(long tamanho) {
+		try {
+			Path arquivo = Files.createTempFile("held-karp", ".tabela");
+			try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				DoubleBuffer[] blocos = new DoubleBuffer[quantidadeDeBlocos(tamanho)];
+				for (int i = 0; i < blocos.length; i++) {
+					blocos[i] = canal.map(FileChannel.MapMode.READ_WRITE, i * TAMANHO_DO_BLOCO * Double.BYTES,
+							(long) Double.BYTES * tamanhoDoBloco(tamanho, i))
+							.order(ByteOrder.nativeOrder())
+							.asDoubleBuffer();
+				}
+				return new EmBlocos(blocos, arquivo);
+			} catch (IOException | RuntimeException e) {
+				Files.deleteIfExists(arquivo);
+				throw e;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível mapear a tabela em arquivo", e);
+		}
+	}
+
+	private static int quantidadeDeBlocos(long tamanho) {
+		return (int) ((tamanho + TAMANHO_DO_BLOCO - 1) >>> BITS_POR_BLOCO);
+	}
+
+	private static int tamanhoDoBloco(long tamanho, int bloco) {
+		return (int) Math.min(TAMANHO_DO_BLOCO, tamanho - bloco * TAMANHO_DO_BLOCO);
+	}
+
+	private static final class NoHeap extends TabelaDeCustos {
+		private final double[] valores;
+
+		NoHeap(int tamanho) {
+			this.valores = new double[tamanho];
+		}
+
+		@Override
+		double get(long indice) {
+			return valores[(int) indice];
+		}
+
+		@Override
+		void set(long indice, double valor) {
+			valores[(int) indice] = valor;
+		}
+	}
+
+	/**
+	 * Blocos diretos ou mapeados em arquivo. Java não desfaz mapeamentos nem
+	 * libera buffers diretos explicitamente: isso só acontece quando o coletor
+	 * de lixo recolhe os buffers, então o fechamento solta as referências a
+	 * eles e a liberação fica adiada até a próxima coleta. Onde um arquivo não
+	 * pode ser apagado enquanto está mapeado, como no Windows, ele é apagado ao
+	 * fim da JVM.
+	 */
+	private static final class EmBlocos extends TabelaDeCustos {
+		private DoubleBuffer[] blocos;
+		private final Path arquivo;
+
+		EmBlocos(DoubleBuffer[] blocos, Path arquivo) {
+			this.blocos = blocos;
+			this.arquivo = arquivo;
+		}
+
+		@Override
+		double get(long indice) {
+			return blocos[(int) (indice >>> BITS_POR_BLOCO)].get((int) (indice & (TAMANHO_DO_BLOCO - 1)));
+		}
+
+		@Override
+		void set(long indice, double valor) {
+			blocos[(int) (indice >>> BITS_POR_BLOCO)].put((int) (indice & (TAMANHO_DO_BLOCO - 1)), valor);
+		}
+
+		@Override
+		public void close() {
+			blocos = null;
+			if (arquivo != null) {
+				try {
+					Files.deleteIfExists(arquivo);
+				} catch (IOException e) {
+					// Ainda mapeado até a coleta dos buffers
+					arquivo.toFile().deleteOnExit();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package grafo.algoritmos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * Encontra as pontes e os pontos de articulação de um grafo pelo algoritmo de
+ * Tarjan, que calcula o menor tempo de descoberta alcançável a partir de cada
+ * subárvore da busca em profundidade (o {@code low}) em uma única passada.
+ * <br>
+ * O sentido das arestas é ignorado, como em {@link Grafo#componentesConexas()}.
+ * Laços nunca são pontes e arestas paralelas não são pontes.
+ * <br>
+ * A análise é feita por componente conexa e só quando consultada. Arestas
+ * podem ser removidas da análise com {@link #removerAresta(Aresta)}, o que
+ * invalida apenas a componente da aresta, recalculada na próxima consulta que a
+ * envolver.
+ */
+public class Tarjan {
+	private final GrafoCongelado grafo;
+	private final GrafoCongelado transposta;
+	private final boolean[] removidas;
+	private final boolean[] pontes;
+	private final boolean[] articulacoes;
+	private final int[] componentes;
+	private final BitSet componentesDesatualizadas = new BitSet();
+	private final int[] descobertos;
+	private final int[] lows;
+	private final int[] arestasDeChegada;
+	private final int[] proximas;
+	private final int[] pilha;
+	private int quantidadeDeComponentes = 1;
+
+	public Tarjan(Grafo grafo) {
+		this(grafo.congelar());
+	}
+
+	public Tarjan(GrafoCongelado grafo) {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		int n = grafo.getQuantidadeDeVertices();
+		this.grafo = grafo;
+		this.transposta = grafo.ehOrientado() ? grafo.transposta() : null;
+		this.removidas = new boolean[grafo.getQuantidadeDeArestas()];
+		this.pontes = new boolean[grafo.getQuantidadeDeArestas()];
+		this.articulacoes = new boolean[n];
+		this.componentes = new int[n];
+		this.descobertos = new int[n];
+		this.lows = new int[n];
+		this.arestasDeChegada = new int[n];
+		this.proximas = new int[n];
+		this.pilha = new int[n];
+		componentesDesatualizadas.set(0);
+	}
+
+	/**
+	 * Verifica se a aresta é uma ponte, isto é, se removê-la aumenta o número de
+	 * componentes conexas do grafo, já sem as arestas removidas da análise.
+	 *
+	 * @param aresta
+	 * @return se a aresta é uma ponte
+	 */
+	public boolean ehPonte(Aresta aresta) {
+		return ehPonte(idAresta(aresta));
+	}
+
+	/**
+	 * Verifica se o vértice é um ponto de articulação, isto é, se removê-lo
+	 * aumenta o número de componentes conexas do grafo, já sem as arestas
+	 * removidas da análise.
+	 *
+	 * @param vertice
+	 * @return se o vértice é um ponto de articulação
+	 */
+	public boolean ehPontoDeArticulacao(Vertice vertice) {
+		int id = idVertice(vertice);
+		atualizar(id);
+		return articulacoes[id];
+	}
+
+	public Set<Aresta> getPontes() {
+		atualizarTodos();
+		Set<Aresta> resultado = new HashSet<>();
+		for (int aresta = 0; aresta < pontes.length; aresta++) {
+			if (pontes[aresta] && !removidas[aresta]) {
+				resultado.add(grafo.aresta(aresta));
+			}
+		}
+		return resultado;
+	}
+
+	public Set<Vertice> getPontosDeArticulacao() {
+		atualizarTodos();
+		Set<Vertice> resultado = new HashSet<>();
+		for (int id = 0; id < articulacoes.length; id++) {
+			if (articulacoes[id]) {
+				resultado.add(grafo.vertice(id));
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Remove a aresta da análise, sem alterar o grafo. Só a componente conexa da
+	 * aresta precisa ser recalculada, o que acontece na próxima consulta que a
+	 * envolver.
+	 *
+	 * @param aresta
+	 */
+	public void removerAresta(Aresta aresta) {
+		removerAresta(idAresta(aresta));
+	}
+
+	boolean ehPonte(int aresta) {
+		checkArgument(!removidas[aresta], "Aresta já foi removida da análise");
+		atualizar(grafo.id(grafo.aresta(aresta).origem()));
+		return pontes[aresta];
+	}
+
+	void removerAresta(int aresta) {
+		if (!removidas[aresta]) {
+			removidas[aresta] = true;
+			componentesDesatualizadas.set(componentes[grafo.id(grafo.aresta(aresta).origem())]);
+		}
+	}
+
+	private int idVertice(Vertice vertice) {
+		int id = grafo.id(vertice);
+		checkArgument(id != -1, "Vértice deve existir no grafo");
+		return id;
+	}
+
+	private int idAresta(Aresta aresta) {
+		checkNotNull(aresta, "Aresta não pode ser nula");
+		int origem = idVertice(aresta.origem());
+		for (int posicao = grafo.inicio(origem); posicao < grafo.fim(origem); posicao++) {
+			if (grafo.aresta(grafo.idAresta(posicao)).equals(aresta)) {
+				return grafo.idAresta(posicao);
+			}
+		}
+		throw new IllegalArgumentException("Aresta deve existir no grafo");
+	}
+
+	private void atualizarTodos() {
+		for (int id = 0; id < componentes.length; id++) {
+			atualizar(id);
+		}
+	}
+
+	private void atualizar(int vertice) {
+		if (componentesDesatualizadas.get(componentes[vertice])) {
+			analisar(vertice, quantidadeDeComponentes++);
+		}
+	}
+
+	private int grau(int vertice) {
+		return grafo.grauDeSaida(vertice) + (transposta == null ? 0 : transposta.grauDeSaida(vertice));
+	}
+
+	private int posicao(int vertice, int indice) {
+		int grauDeSaida = grafo.grauDeSaida(vertice);
+		return indice < grauDeSaida ? indice : indice - grauDeSaida;
+	}
+
+	private GrafoCongelado lista(int vertice, int indice) {
+		return indice < grafo.grauDeSaida(vertice) ? grafo : transposta;
+	}
+
+	/**
+	 * Busca em profundidade iterativa a partir da raiz, que marca todos os
+	 * vértices alcançados com a nova componente e recalcula as pontes e
+	 * articulações entre eles.
+	 */
+	private void analisar(int raiz, int componente) {
+		int tempo = 0;
+		int filhosDaRaiz = 0;
+		int topo = 0;
+
+		componentes[raiz] = componente;
+		descobertos[raiz] = lows[raiz] = ++tempo;
+		arestasDeChegada[raiz] = -1;
+		proximas[raiz] = 0;
+		articulacoes[raiz] = false;
+		pilha[topo++] = raiz;
+
+		while (topo > 0) {
+			int vertice = pilha[topo - 1];
+			if (proximas[vertice] < grau(vertice)) {
+				int indice = proximas[vertice]++;
+				GrafoCongelado lista = lista(vertice, indice);
+				int posicao = lista.inicio(vertice) + posicao(vertice, indice);
+				int aresta = lista.idAresta(posicao);
+				int vizinho = lista.destino(posicao);
+				if (removidas[aresta] || vizinho == vertice || aresta == arestasDeChegada[vertice]) {
+					continue;
+				}
+
+				pontes[aresta] = false;
+				if (componentes[vizinho] != componente) {
+					componentes[vizinho] = componente;
+					descobertos[vizinho] = lows[vizinho] = ++tempo;
+					arestasDeChegada[vizinho] = aresta;
+					proximas[vizinho] = 0;
+					articulacoes[vizinho] = false;
+					pilha[topo++] = vizinho;
+					if (vertice == raiz) {
+						filhosDaRaiz++;
+					}
+				} else {
+					lows[vertice] = Math.min(lows[vertice], descobertos[vizinho]);
+				}
+				continue;
+			}
+
+			topo--;
+			if (topo > 0) {
+				int pai = pilha[topo - 1];
+				lows[pai] = Math.min(lows[pai], lows[vertice]);
+				if (lows[vertice] > descobertos[pai]) {
+					pontes[arestasDeChegada[vertice]] = true;
+				}
+				if (pai != raiz && lows[vertice] >= descobertos[pai]) {
+					articulacoes[pai] = true;
+				}
+			}
+		}
+		articulacoes[raiz] = filhosDaRaiz > 1;
+	}
+}
@@ -3,21 +3,31 @@ package grafo.digrafo;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.stream.LongStream;
+
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Grafo;
 import grafo.Vertice;
 
 public abstract class Digrafo extends Grafo {
+	protected Digrafo() {
+	}
+
+	protected Digrafo(Indexacao indexacao) {
+		super(indexacao);
+	}
+
+	protected Digrafo(Digrafo original) {
+		super(original);
+	}
 
 	@Override
 	public final long getGrauDeEntrada(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
 		checkArgument(existeVertice(vertice), MSG_VERTICE_NAO_EXISTE);
 
-		return getArestas()
-				.stream()
-				.filter(aresta -> aresta.destino().equals(vertice))
-				.count();
+		return grauDeEntrada(vertice);
 	}
 
 	@Override
@@ -25,21 +35,112 @@ public abstract class Digrafo extends Grafo {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
 		checkArgument(existeVertice(vertice), MSG_VERTICE_NAO_EXISTE);
 
-		return getArestas()
-				.stream()
-				.filter(aresta -> aresta.origem().equals(vertice))
-				.count();
+		return grauDeSaida(vertice);
+	}
+
+	@Override
+	public final long grau(int id) {
+		Vertice vertice = vertice(id);
+		return grauDeEntrada(vertice) + grauDeSaida(vertice);
+	}
+
+	/**
+	 * Retorna o grau de entrada mantido pela representação a cada inserção e
+	 * remoção de aresta, sem percorrer as arestas do grafo.
+	 *
+	 * @param vertice um vértice existente no grafo
+	 * @return o número de arestas que chegam ao vértice
+	 */
+	protected abstract long grauDeEntrada(Vertice vertice);
+
+	/**
+	 * Retorna o grau de saída mantido pela representação a cada inserção e remoção
+	 * de aresta, sem percorrer as arestas do grafo.
+	 *
+	 * @param vertice um vértice existente no grafo
+	 * @return o número de arestas que partem do vértice
+	 */
+	protected abstract long grauDeSaida(Vertice vertice);
+
+	/**
+	 * Retorna a sequência de graus de entrada do grafo, em ordem não crescente.
+	 *
+	 * @return um array com o grau de entrada de cada vértice do grafo
+	 * @see grafo.nao_orientado.GrafoNaoDirecionado#sequenciaDeGraus()
+	 */
+	public final long[] sequenciaDeGrausDeEntrada() {
+		return emOrdemNaoCrescente(getVertices().stream().mapToLong(this::grauDeEntrada));
+	}
+
+	/**
+	 * Retorna a sequência de graus de saída do grafo, em ordem não crescente.
+	 *
+	 * @return um array com o grau de saída de cada vértice do grafo
+	 * @see grafo.nao_orientado.GrafoNaoDirecionado#sequenciaDeGraus()
+	 */
+	public final long[] sequenciaDeGrausDeSaida() {
+		return emOrdemNaoCrescente(getVertices().stream().mapToLong(this::grauDeSaida));
+	}
+
+	private static long[] emOrdemNaoCrescente(LongStream graus) {
+		long[] ordenados = graus.sorted().toArray();
+		for (int i = 0, j = ordenados.length - 1; i < j; i++, j--) {
+			long grau = ordenados[i];
+			ordenados[i] = ordenados[j];
+			ordenados[j] = grau;
+		}
+		return ordenados;
+	}
+
+	/**
+	 * Verifica se todos os vértices têm grau de entrada igual ao grau de saída,
+	 * condição para que exista um circuito euleriano. Assim como em
+	 * {@link grafo.nao_orientado.GrafoNaoDirecionado#ehEuleriano()}, a
+	 * conectividade não é verificada.
+	 *
+	 * @return se os graus de todos os vértices estão balanceados
+	 */
+	public final boolean ehEuleriano() {
+		return getVertices().stream().allMatch(vertice -> grauDeEntrada(vertice) == grauDeSaida(vertice));
+	}
+
+	/**
+	 * Verifica se os graus permitem um caminho euleriano: ou todos os vértices
+	 * estão balanceados, ou exatamente um tem uma aresta de saída a mais (o
+	 * início do caminho) e exatamente um tem uma aresta de entrada a mais (o fim),
+	 * com todos os demais balanceados.
+	 *
+	 * @return se os graus permitem um caminho euleriano
+	 */
+	public final boolean ehSemiEuleriano() {
+		int inicios = 0;
+		int fins = 0;
+		for (Vertice vertice : getVertices()) {
+			long saldo = grauDeSaida(vertice) - grauDeEntrada(vertice);
+			if (saldo == 1) {
+				inicios++;
+			} else if (saldo == -1) {
+				fins++;
+			} else if (saldo != 0) {
+				return false;
+			}
+		}
+		return inicios == fins && inicios <= 1;
 	}
 
 	@Override
-	public final Aresta encontrarAresta(Vertice origem, Vertice destino) {
+	public Aresta encontrarAresta(Vertice origem, Vertice destino) {
 		checkNotNull(origem, MSG_VERTICE_NULO);
 		checkNotNull(destino, MSG_VERTICE_NULO);
 
-		return getArestas()
-				.stream()
-				.filter(aresta -> aresta.origem().equals(origem) && aresta.destino().equals(destino))
-				.findFirst()
-				.orElse(null);
+		if (!existeVertice(origem)) {
+			return null;
+		}
+		for (Aresta aresta : arestasIncidentes(origem, Direcao.SAIDA)) {
+			if (aresta.destino().equals(destino)) {
+				return aresta;
+			}
+		}
+		return null;
 	}
 }
\ No newline at end of file
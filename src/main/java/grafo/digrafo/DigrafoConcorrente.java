@@ -0,0 +1,299 @@
+package grafo.digrafo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+
+import grafo.Aresta;
+import grafo.Direcao;
+import grafo.Grafo;
+import grafo.TravasPorVertice;
+import grafo.Vertice;
+
+/**
+ * Digrafo por lista que pode ser alterado e consultado por várias threads ao
+ * mesmo tempo.
+ * <br>
+ * As adjacências de cada vértice são protegidas por uma das
+ * {@link TravasPorVertice}, escolhida pelo hash do vértice, e os vértices e as
+ * arestas ficam em mapas concorrentes. Assim, threads que inserem arestas entre
+ * vértices de travas diferentes não esperam umas pelas outras.
+ * <br>
+ * Garantias de cada operação:
+ * <ul>
+ * <li>{@code addVertice}, {@code addAresta} e {@code removeAresta} são
+ * linearizáveis: travam as travas dos extremos e fazem todas as alterações
+ * dentro delas, então nenhuma consulta vê a aresta em parte das estruturas. Em
+ * {@code addAresta}, o ponto de linearização é a reserva do rótulo, feita
+ * depois de os extremos existirem. De duas inserções simultâneas com o mesmo
+ * rótulo só uma é aceita, mas a recusada pode já ter inserido seus
+ * extremos.</li>
+ * <li>{@code removeVertice} é linearizável, mas trava todas as travas, então é
+ * bem mais caro que as demais alterações. As arestas incidentes deixam de
+ * existir antes do vértice.</li>
+ * <li>As consultas de um vértice, como {@code getArestasIncidentes},
+ * {@code getAdjacentes}, {@code getGrauDeEntrada} e {@code getGrauDeSaida}, são
+ * linearizáveis: copiam ou contam as adjacências com a trava do vértice, e o
+ * resultado não muda com alterações posteriores. {@code grau(int)} soma duas
+ * consultas linearizáveis, não uma só.</li>
+ * <li>{@code encontrarAresta(String)}, {@code existeAresta(String)},
+ * {@code existeVertice} e {@code id} são linearizáveis e não travam.</li>
+ * <li>{@code getVertices} e {@code getArestas} são fracamente consistentes: não
+ * lançam {@link java.util.ConcurrentModificationException} e refletem as
+ * alterações concluídas antes de começarem, mas podem ou não refletir as
+ * simultâneas. O mesmo vale para operações sobre o grafo inteiro, como
+ * {@code clonar}, {@code congelar} e {@code componentesConexas}, que só dão um
+ * resultado consistente quando não há alterações em andamento.</li>
+ * </ul>
+ */
+public class DigrafoConcorrente extends Digrafo {
+	private final ConcurrentMap<Vertice, Adjacencias> vertices = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Aresta> arestas = new ConcurrentHashMap<>();
+	private final TravasPorVertice travas;
+
+	/**
+	 * Arestas que partem e que chegam em um vértice, protegidas pela trava do
+	 * vértice.
+	 */
+	private static final class Adjacencias {
+		private final Set<Aresta> saidas = new LinkedHashSet<>();
+		private final Set<Aresta> entradas = new LinkedHashSet<>();
+	}
+
+	public DigrafoConcorrente() {
+		this(new TravasPorVertice());
+	}
+
+	/**
+	 * @param quantidadeDeTravas quantas travas dividem os vértices; mais travas
+	 *                           diminuem a disputa entre as threads, mas deixam a
+	 *                           remoção de vértices mais cara
+	 */
+	public DigrafoConcorrente(int quantidadeDeTravas) {
+		this(new TravasPorVertice(quantidadeDeTravas));
+	}
+
+	private DigrafoConcorrente(TravasPorVertice travas) {
+		super(Indexacao.CONCORRENTE);
+		this.travas = travas;
+	}
+
+	@Override
+	public void addAresta(Aresta aresta) {
+		checkNotNull(aresta, MSG_ARESTA_NULA);
+
+		travas.travar(aresta.origem(), aresta.destino());
+		try {
+			checkArgument(!arestas.containsKey(aresta.label()), MSG_ARESTA_EXISTE);
+			Adjacencias origem = adjacencias(aresta.origem());
+			Adjacencias destino = adjacencias(aresta.destino());
+			checkArgument(arestas.putIfAbsent(aresta.label(), aresta) == null, MSG_ARESTA_EXISTE);
+			origem.saidas.add(aresta);
+			destino.entradas.add(aresta);
+		} finally {
+			travas.destravar(aresta.origem(), aresta.destino());
+		}
+	}
+
+	/**
+	 * Os extremos são verificados sem trava antes da inserção, então podem ter
+	 * sido removidos por outra thread; a inserção os recria, como
+	 * {@link #addAresta(Aresta)}.
+	 */
+	@Override
+	protected void inserirAresta(Aresta aresta) {
+		addAresta(aresta);
+	}
+
+	/**
+	 * Mapas concorrentes não podem ser redimensionados de uma vez, então a
+	 * reserva não tem efeito.
+	 */
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+	}
+
+	@Override
+	public Vertice addVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		if (vertices.containsKey(vertice)) {
+			return vertice;
+		}
+
+		travas.travar(vertice);
+		try {
+			adjacencias(vertice);
+		} finally {
+			travas.destravar(vertice);
+		}
+		return vertice;
+	}
+
+	/**
+	 * Retorna as adjacências do vértice, inserindo-o se ainda não existir. Deve
+	 * ser chamado com a trava do vértice.
+	 */
+	private Adjacencias adjacencias(Vertice vertice) {
+		Adjacencias adjacencias = vertices.get(vertice);
+		if (adjacencias == null) {
+			registrarVertice(vertice);
+			adjacencias = new Adjacencias();
+			vertices.put(vertice, adjacencias);
+		}
+		return adjacencias;
+	}
+
+	@Override
+	public void removeVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		if (!vertices.containsKey(vertice)) {
+			return;
+		}
+
+		travas.travarTodas();
+		try {
+			Adjacencias adjacencias = vertices.get(vertice);
+			if (adjacencias == null) {
+				return;
+			}
+			for (Aresta aresta : adjacencias.saidas) {
+				arestas.remove(aresta.label());
+				if (!aresta.ehLaco()) {
+					vertices.get(aresta.destino()).entradas.remove(aresta);
+				}
+			}
+			for (Aresta aresta : adjacencias.entradas) {
+				if (!aresta.ehLaco()) {
+					arestas.remove(aresta.label());
+					vertices.get(aresta.origem()).saidas.remove(aresta);
+				}
+			}
+			vertices.remove(vertice);
+			liberarVertice(vertice);
+		} finally {
+			travas.destravarTodas();
+		}
+	}
+
+	@Override
+	public Set<Aresta> getArestas() {
+		return new HashSet<>(arestas.values());
+	}
+
+	@Override
+	public Set<Vertice> getVertices() {
+		return Collections.unmodifiableSet(vertices.keySet());
+	}
+
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
+	@Override
+	public void removeAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+
+		Aresta aresta = arestas.get(label);
+		if (aresta == null) {
+			return;
+		}
+		travas.travar(aresta.origem(), aresta.destino());
+		try {
+			if (arestas.remove(label, aresta)) {
+				vertices.get(aresta.origem()).saidas.remove(aresta);
+				vertices.get(aresta.destino()).entradas.remove(aresta);
+			}
+		} finally {
+			travas.destravar(aresta.origem(), aresta.destino());
+		}
+	}
+
+	/**
+	 * Como em {@link DigrafoPorLista}, um vértice que não está no grafo não tem
+	 * arestas, então o resultado é vazio em vez de um erro.
+	 */
+	@Override
+	public Set<Aresta> encontrarArestas(Vertice origem, Vertice destino) {
+		checkNotNull(origem, MSG_VERTICE_NULO);
+		checkNotNull(destino, MSG_VERTICE_NULO);
+
+		return copiarIncidentes(origem, Direcao.SAIDA).stream()
+													  .filter(aresta -> aresta.destino().equals(destino))
+													  .collect(Collectors.toSet());
+	}
+
+	@Override
+	protected Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		return copiarIncidentes(vertice, direcao);
+	}
+
+	/**
+	 * Copia as arestas com a trava do vértice, então o resultado pode ser
+	 * percorrido enquanto outras threads alteram o grafo.
+	 */
+	private List<Aresta> copiarIncidentes(Vertice vertice, Direcao direcao) {
+		travas.travar(vertice);
+		try {
+			Adjacencias adjacencias = vertices.get(vertice);
+			if (adjacencias == null) {
+				return List.of();
+			}
+			return switch (direcao) {
+				case SAIDA -> ImmutableList.copyOf(adjacencias.saidas);
+				case ENTRADA -> ImmutableList.copyOf(adjacencias.entradas);
+				case AMBAS -> {
+					ImmutableList.Builder<Aresta> ambas = ImmutableList.builderWithExpectedSize(
+							adjacencias.saidas.size() + adjacencias.entradas.size());
+					ambas.addAll(adjacencias.saidas);
+					for (Aresta aresta : adjacencias.entradas) {
+						if (!aresta.ehLaco()) {
+							ambas.add(aresta);
+						}
+					}
+					yield ambas.build();
+				}
+			};
+		} finally {
+			travas.destravar(vertice);
+		}
+	}
+
+	@Override
+	protected long grauDeEntrada(Vertice vertice) {
+		travas.travar(vertice);
+		try {
+			Adjacencias adjacencias = vertices.get(vertice);
+			return adjacencias == null ? 0 : adjacencias.entradas.size();
+		} finally {
+			travas.destravar(vertice);
+		}
+	}
+
+	@Override
+	protected long grauDeSaida(Vertice vertice) {
+		travas.travar(vertice);
+		try {
+			Adjacencias adjacencias = vertices.get(vertice);
+			return adjacencias == null ? 0 : adjacencias.saidas.size();
+		} finally {
+			travas.destravar(vertice);
+		}
+	}
+
+	@Override
+	protected Grafo novaInstancia() {
+		return new DigrafoConcorrente(travas.quantidade());
+	}
+}
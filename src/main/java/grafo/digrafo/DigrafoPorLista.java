@@ -6,31 +6,87 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Grafo;
 import grafo.Vertice;
 
 public class DigrafoPorLista extends Digrafo {
-	private final Map<Vertice, List<Aresta>> verticesAdjacencias = new HashMap<>();
+	private Map<Vertice, Set<Aresta>> verticesAdjacencias = new HashMap<>();
+	private Map<String, Aresta> arestas = new HashMap<>();
+	private Map<Vertice, Integer> grausDeEntrada = new HashMap<>();
+	/**
+	 * Índice reverso com as arestas que chegam a cada vértice, ou null quando
+	 * desabilitado.
+	 */
+	private Map<Vertice, Set<Aresta>> verticesEntradas;
+
+	/**
+	 * Cria um digrafo por lista que também mantém o índice de arestas de entrada.
+	 */
+	public DigrafoPorLista() {
+		this(true);
+	}
+
+	/**
+	 * Cria um digrafo por lista.
+	 * <br>
+	 * Com o índice de entrada, as consultas de predecessores e a remoção de
+	 * vértices custam O(grau) em vez de percorrer todas as arestas, ao custo de
+	 * guardar cada aresta também na lista do seu destino.
+	 *
+	 * @param indexarEntradas se o índice de arestas de entrada deve ser mantido
+	 */
+	public DigrafoPorLista(boolean indexarEntradas) {
+		this.verticesEntradas = indexarEntradas ? new HashMap<>() : null;
+	}
+
+	public final boolean indexaEntradas() {
+		return verticesEntradas != null;
+	}
 
 	@Override
 	public void addAresta(Aresta aresta) {
 		checkNotNull(aresta, MSG_ARESTA_NULA);
-		checkArgument(!existeAresta(aresta.label()), MSG_ARESTA_EXISTE);
+		checkArgument(!arestas.containsKey(aresta.label()), MSG_ARESTA_EXISTE);
 
-		Vertice origem = aresta.origem();
-		Vertice destino = aresta.destino();
+		addVertice(aresta.origem());
+		addVertice(aresta.destino());
+		inserirAresta(aresta);
+	}
 
-		addVertice(origem);
-		addVertice(destino);
+	@Override
+	protected void inserirAresta(Aresta aresta) {
+		verticesAdjacencias.get(aresta.origem()).add(aresta);
+		if (indexaEntradas()) {
+			verticesEntradas.get(aresta.destino()).add(aresta);
+		}
+		arestas.put(aresta.label(), aresta);
+		grausDeEntrada.merge(aresta.destino(), 1, Integer::sum);
+	}
 
-		verticesAdjacencias.get(origem).add(aresta);
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+		verticesAdjacencias = comCapacidade(verticesAdjacencias, verticesAdicionais);
+		if (indexaEntradas()) {
+			verticesEntradas = comCapacidade(verticesEntradas, verticesAdicionais);
+		}
+		grausDeEntrada = comCapacidade(grausDeEntrada, verticesAdicionais);
+		arestas = comCapacidade(arestas, arestasAdicionais);
 	}
 
 	@Override
 	public Vertice addVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
-		verticesAdjacencias.putIfAbsent(vertice, new ArrayList<>());
+		verticesAdjacencias.putIfAbsent(vertice, new LinkedHashSet<>());
+		if (indexaEntradas()) {
+			verticesEntradas.putIfAbsent(vertice, new LinkedHashSet<>());
+		}
+		grausDeEntrada.putIfAbsent(vertice, 0);
+		registrarVertice(vertice);
 		return vertice;
 	}
 
@@ -38,18 +94,24 @@ public class DigrafoPorLista extends Digrafo {
 	public void removeVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
 
-		verticesAdjacencias.remove(vertice);
+		if (!existeVertice(vertice)) {
+			return;
+		}
+		for (Aresta aresta : ImmutableList.copyOf(arestasIncidentes(vertice, Direcao.AMBAS))) {
+			removeAresta(aresta.label());
+		}
 
-		for (List<Aresta> adjacencias : verticesAdjacencias.values()) {
-			adjacencias.removeIf(aresta -> aresta.origem().equals(vertice) || aresta.destino().equals(vertice));
+		verticesAdjacencias.remove(vertice);
+		if (indexaEntradas()) {
+			verticesEntradas.remove(vertice);
 		}
+		grausDeEntrada.remove(vertice);
+		liberarVertice(vertice);
 	}
 
 	@Override
 	public Set<Aresta> getArestas() {
-		return verticesAdjacencias.values().stream()
-				.flatMap(List::stream)
-				.collect(Collectors.toSet());
+		return new HashSet<>(arestas.values());
 	}
 
 	@Override
@@ -57,25 +119,63 @@ public class DigrafoPorLista extends Digrafo {
 		return verticesAdjacencias.keySet();
 	}
 
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
 	@Override
 	public void removeAresta(String label) {
 		checkNotNull(label, MSG_ARESTA_NULA);
 
-		for (List<Aresta> adjacencias : verticesAdjacencias.values()) {
-			adjacencias.removeIf(aresta -> aresta.label().equals(label));
+		Aresta aresta = arestas.remove(label);
+		if (aresta != null) {
+			verticesAdjacencias.get(aresta.origem()).remove(aresta);
+			if (indexaEntradas()) {
+				verticesEntradas.get(aresta.destino()).remove(aresta);
+			}
+			grausDeEntrada.merge(aresta.destino(), -1, Integer::sum);
 		}
 	}
 
 	@Override
 	public Set<Aresta> encontrarArestas(Vertice origem, Vertice destino) {
-		return getArestas()
+		return verticesAdjacencias.getOrDefault(origem, Set.of())
 				.stream()
-				.filter(aresta -> aresta.origem().equals(origem) && aresta.destino().equals(destino))
+				.filter(aresta -> aresta.destino().equals(destino))
 				.collect(Collectors.toSet());
 	}
 
+	@Override
+	protected Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		Set<Aresta> saida = Collections.unmodifiableSet(verticesAdjacencias.get(vertice));
+		return switch (direcao) {
+			case SAIDA -> saida;
+			case ENTRADA -> arestasDeEntrada(vertice);
+			case AMBAS -> Iterables.concat(saida, Iterables.filter(arestasDeEntrada(vertice), aresta -> !aresta.ehLaco()));
+		};
+	}
+
+	private Iterable<Aresta> arestasDeEntrada(Vertice vertice) {
+		if (indexaEntradas()) {
+			return Collections.unmodifiableSet(verticesEntradas.get(vertice));
+		}
+		return Iterables.filter(arestas.values(), aresta -> aresta.destino().equals(vertice));
+	}
+
+	@Override
+	protected long grauDeEntrada(Vertice vertice) {
+		return grausDeEntrada.get(vertice);
+	}
+
+	@Override
+	protected long grauDeSaida(Vertice vertice) {
+		return verticesAdjacencias.get(vertice).size();
+	}
+
 	@Override
 	protected Grafo novaInstancia() {
-		return new DigrafoPorLista();
+		return new DigrafoPorLista(indexaEntradas());
 	}
 }
@@ -3,40 +3,93 @@ package grafo.digrafo;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Grafo;
+import grafo.MatrizDeBits;
 import grafo.Vertice;
 
+/**
+ * Digrafo representado por uma matriz de adjacência de bits.
+ * <br>
+ * A linha de cada vértice marca os destinos das suas arestas e a matriz
+ * transposta marca as origens, então {@link #existeAresta(Vertice, Vertice)} é
+ * O(1) e percorrer os vizinhos custa O(V / 64 + grau). As arestas em si, que
+ * podem ser paralelas, ficam em um mapa à parte indexado pelo par de ids.
+ */
 public class DigrafoPorMatriz extends Digrafo {
 
-    private final Map<Vertice, Map<Vertice, Set<Aresta>>> matriz = new HashMap<>();
+    private final MatrizDeBits matriz = new MatrizDeBits();
+    private final MatrizDeBits transposta = new MatrizDeBits();
+    private Map<Long, List<Aresta>> celulas = new HashMap<>();
+    private Map<String, Aresta> arestas = new HashMap<>();
+    private int[] grausDeEntrada = new int[0];
+    private int[] grausDeSaida = new int[0];
 
     @Override
     public void addAresta(Aresta aresta) {
         checkNotNull(aresta, MSG_ARESTA_NULA);
-        checkArgument(!existeAresta(aresta.label()), MSG_ARESTA_EXISTE);
+        checkArgument(!arestas.containsKey(aresta.label()), MSG_ARESTA_EXISTE);
 
-        Vertice origem = aresta.origem();
-        Vertice destino = aresta.destino();
+        addVertice(aresta.origem());
+        addVertice(aresta.destino());
+        inserirAresta(aresta);
+    }
 
-        addVertice(origem);
-        addVertice(destino);
+    @Override
+    protected void inserirAresta(Aresta aresta) {
+        int idOrigem = id(aresta.origem());
+        int idDestino = id(aresta.destino());
+        celulas.computeIfAbsent(chave(idOrigem, idDestino), chave -> new ArrayList<>(1)).add(aresta);
+        matriz.set(idOrigem, idDestino);
+        transposta.set(idDestino, idOrigem);
+        arestas.put(aresta.label(), aresta);
+        grausDeSaida[idOrigem]++;
+        grausDeEntrada[idDestino]++;
+    }
 
-        matriz.get(origem).get(destino).add(aresta);
+    @Override
+    protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+        int limite = limiteDeIds() + verticesAdicionais;
+        matriz.garantirCapacidade(limite);
+        transposta.garantirCapacidade(limite);
+        if (limite > grausDeSaida.length) {
+            grausDeEntrada = Arrays.copyOf(grausDeEntrada, limite);
+            grausDeSaida = Arrays.copyOf(grausDeSaida, limite);
+        }
+        celulas = comCapacidade(celulas, arestasAdicionais);
+        arestas = comCapacidade(arestas, arestasAdicionais);
     }
 
     @Override
     public void removeAresta(String label) {
-        matriz.values()
-                .stream()
-                .flatMap(linha -> linha.values().stream())
-                .forEach(adjacencias -> adjacencias.removeIf(adjacencia -> adjacencia.label().equals(label)));
+        checkNotNull(label, MSG_ARESTA_NULA);
+
+        Aresta aresta = arestas.remove(label);
+        if (aresta != null) {
+            int idOrigem = id(aresta.origem());
+            int idDestino = id(aresta.destino());
+            List<Aresta> celula = celulas.get(chave(idOrigem, idDestino));
+            celula.remove(aresta);
+            if (celula.isEmpty()) {
+                celulas.remove(chave(idOrigem, idDestino));
+                matriz.clear(idOrigem, idDestino);
+                transposta.clear(idDestino, idOrigem);
+            }
+            grausDeSaida[idOrigem]--;
+            grausDeEntrada[idDestino]--;
+        }
     }
 
     @Override
@@ -46,19 +99,37 @@ public class DigrafoPorMatriz extends Digrafo {
         checkArgument(existeVertice(origem), MSG_VERTICE_NAO_EXISTE);
         checkArgument(existeVertice(destino), MSG_VERTICE_NAO_EXISTE);
 
-        return matriz.get(origem).get(destino);
+        return new HashSet<>(celula(id(origem), id(destino)));
+    }
+
+    @Override
+    public Aresta encontrarAresta(Vertice origem, Vertice destino) {
+        checkNotNull(origem, MSG_VERTICE_NULO);
+        checkNotNull(destino, MSG_VERTICE_NULO);
+
+        int idOrigem = id(origem);
+        int idDestino = id(destino);
+        if (idOrigem == -1 || idDestino == -1 || !matriz.get(idOrigem, idDestino)) {
+            return null;
+        }
+        return celula(idOrigem, idDestino).getFirst();
     }
 
     @Override
     public Vertice addVertice(Vertice vertice) {
         checkNotNull(vertice, MSG_VERTICE_NULO);
 
-        matriz.putIfAbsent(vertice, new HashMap<>());
-        getVertices()
-                .stream()
-                .forEach(v -> matriz
-                        .get(v)
-                        .putIfAbsent(vertice, new HashSet<>()));
+        if (existeVertice(vertice)) {
+            return vertice;
+        }
+
+        int id = registrarVertice(vertice);
+        matriz.garantirCapacidade(limiteDeIds());
+        transposta.garantirCapacidade(limiteDeIds());
+        if (id >= grausDeSaida.length) {
+            grausDeEntrada = Arrays.copyOf(grausDeEntrada, Math.max(limiteDeIds(), grausDeEntrada.length * 2));
+            grausDeSaida = Arrays.copyOf(grausDeSaida, grausDeEntrada.length);
+        }
         return vertice;
     }
 
@@ -66,24 +137,84 @@ public class DigrafoPorMatriz extends Digrafo {
     public void removeVertice(Vertice vertice) {
         checkNotNull(vertice, MSG_VERTICE_NULO);
 
-        matriz.remove(vertice);
-        getVertices()
-                .stream()
-                .forEach(v -> matriz.get(v).remove(vertice));
+        if (!existeVertice(vertice)) {
+            return;
+        }
+
+        for (Aresta aresta : ImmutableList.copyOf(arestasIncidentes(vertice, Direcao.AMBAS))) {
+            removeAresta(aresta.label());
+        }
+
+        liberarVertice(vertice);
     }
 
     @Override
     public Set<Aresta> getArestas() {
-        return matriz
-                .values()
-                .stream()
-                .flatMap(linha -> linha.values().stream()).flatMap(Set::stream)
-                .collect(Collectors.toSet());
+        return new HashSet<>(arestas.values());
     }
 
     @Override
     public Set<Vertice> getVertices() {
-        return matriz.keySet();
+        return verticesRegistrados();
+    }
+
+    @Override
+    public Aresta encontrarAresta(String label) {
+        checkNotNull(label, MSG_ARESTA_NULA);
+        return arestas.get(label);
+    }
+
+    /**
+     * Retorna os vértices que são destino de arestas partindo de ambos os
+     * vértices informados, combinando as duas linhas da matriz 64 colunas por
+     * vez.
+     *
+     * @param vertice
+     * @param outroVertice
+     * @return os sucessores em comum dos dois vértices
+     */
+    public Set<Vertice> sucessoresEmComum(Vertice vertice, Vertice outroVertice) {
+        checkNotNull(vertice, MSG_VERTICE_NULO);
+        checkNotNull(outroVertice, MSG_VERTICE_NULO);
+        checkArgument(existeVertice(vertice), MSG_VERTICE_NAO_EXISTE);
+        checkArgument(existeVertice(outroVertice), MSG_VERTICE_NAO_EXISTE);
+
+        Set<Vertice> emComum = new HashSet<>();
+        for (int id : matriz.intersecao(id(vertice), id(outroVertice))) {
+            emComum.add(vertice(id));
+        }
+        return emComum;
+    }
+
+    @Override
+    protected Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+        int id = id(vertice);
+        Iterable<Aresta> saida = Iterables.concat(Iterables.transform(matriz.colunas(id), destino -> celula(id, destino)));
+        Iterable<Aresta> entrada = Iterables.concat(Iterables.transform(transposta.colunas(id), origem -> celula(origem, id)));
+        return switch (direcao) {
+            case SAIDA -> Iterables.unmodifiableIterable(saida);
+            case ENTRADA -> Iterables.unmodifiableIterable(entrada);
+            case AMBAS -> Iterables.unmodifiableIterable(
+                    Iterables.concat(saida, Iterables.filter(entrada, aresta -> !aresta.ehLaco())));
+        };
+    }
+
+    private List<Aresta> celula(int origem, int destino) {
+        return celulas.getOrDefault(chave(origem, destino), List.of());
+    }
+
+    private static long chave(int origem, int destino) {
+        return ((long) origem << Integer.SIZE) | destino;
+    }
+
+    @Override
+    protected long grauDeEntrada(Vertice vertice) {
+        return grausDeEntrada[id(vertice)];
+    }
+
+    @Override
+    protected long grauDeSaida(Vertice vertice) {
+        return grausDeSaida[id(vertice)];
     }
 
     @Override
@@ -0,0 +1,333 @@
+package grafo.digrafo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
+import grafo.Aresta;
+import grafo.Direcao;
+import grafo.Grafo;
+import grafo.MapaPersistente;
+import grafo.Vertice;
+
+/**
+ * Digrafo por lista guardado em {@link MapaPersistente}s, que tira
+ * instantâneos imutáveis de si mesmo em O(1).
+ * <br>
+ * Um instantâneo é outro {@code DigrafoVersionado}, somente leitura, que
+ * compartilha os vértices, as arestas, as adjacências e os ids com o grafo no
+ * momento em que foi tirado. As alterações seguintes copiam só os nós dos mapas
+ * que tocam, então o instantâneo pode ser percorrido por algoritmos demorados,
+ * como {@link grafo.algoritmos.BFS} ou
+ * {@link grafo.algoritmos.BellmoreNemhauser}, em outra thread, enquanto o
+ * grafo continua recebendo alterações, sem a cópia completa de
+ * {@link #clonar()}.
+ * <br>
+ * Entre dois instantâneos as alterações são feitas no lugar, nos nós criados
+ * desde o último, então o custo de alterar é próximo ao de uma representação
+ * comum enquanto nenhum instantâneo é tirado.
+ * <br>
+ * {@link #getVertices()}, {@link #getArestas()} e as arestas incidentes a um
+ * vértice também são retornados como instantâneos, e não como visões que mudam
+ * com o grafo, então podem ser percorridos enquanto o próprio laço altera o
+ * grafo. Para isso eles trocam a versão, como um instantâneo; as consultas
+ * pontuais, como {@link #existeVertice(Vertice)}, os graus e
+ * {@link #encontrarAresta(Vertice, Vertice)}, não trocam, então não fazem as
+ * alterações seguintes copiarem nós.
+ * <br>
+ * As alterações e {@link #instantaneo()} são sincronizadas no grafo, então uma
+ * thread pode tirar instantâneos enquanto outra altera. Fora isso, o grafo
+ * mutável deve ser consultado pela mesma thread que o altera; as outras
+ * consultam instantâneos.
+ */
+public class DigrafoVersionado extends Digrafo {
+	private static final String MSG_INSTANTANEO = "Instantâneo do grafo não pode ser alterado";
+
+	private MapaPersistente<Vertice, Adjacencias> vertices = MapaPersistente.vazio();
+	private MapaPersistente<String, Aresta> arestas = MapaPersistente.vazio();
+	/**
+	 * Dono dos nós criados desde o último instantâneo, que ainda podem ser
+	 * alterados no lugar, ou null se este grafo for um instantâneo.
+	 */
+	private Object versao;
+
+	/**
+	 * Arestas que partem e que chegam em um vértice. Também é alterada no lugar
+	 * quando pertence à versão atual.
+	 */
+	private static final class Adjacencias {
+		private final Object dono;
+		private MapaPersistente<String, Aresta> saidas;
+		private MapaPersistente<String, Aresta> entradas;
+
+		Adjacencias(Object dono, MapaPersistente<String, Aresta> saidas, MapaPersistente<String, Aresta> entradas) {
+			this.dono = dono;
+			this.saidas = saidas;
+			this.entradas = entradas;
+		}
+	}
+
+	public DigrafoVersionado() {
+		super(Indexacao.VERSIONADA);
+		this.versao = new Object();
+	}
+
+	private DigrafoVersionado(DigrafoVersionado original) {
+		super(original);
+		this.vertices = original.vertices;
+		this.arestas = original.arestas;
+		this.versao = null;
+	}
+
+	/**
+	 * Tira um instantâneo do estado atual do grafo em O(1), compartilhando as
+	 * estruturas em vez de copiá-las.
+	 *
+	 * @return um digrafo somente leitura com o estado atual, ou este mesmo grafo
+	 *         se ele já for um instantâneo
+	 */
+	public synchronized DigrafoVersionado instantaneo() {
+		if (ehInstantaneo()) {
+			return this;
+		}
+		DigrafoVersionado instantaneo = new DigrafoVersionado(this);
+		versao = new Object();
+		return instantaneo;
+	}
+
+	public final boolean ehInstantaneo() {
+		return versao == null;
+	}
+
+	/**
+	 * Troca a versão, para que as próximas alterações copiem os nós em vez de
+	 * alterá-los no lugar. Assim os mapas lidos em seguida não mudam e podem ser
+	 * percorridos enquanto o grafo é alterado, inclusive pela mesma thread.
+	 */
+	private synchronized void encerrarVersao() {
+		if (!ehInstantaneo()) {
+			versao = new Object();
+		}
+	}
+
+	private void verificarAlteravel() {
+		if (ehInstantaneo()) {
+			throw new UnsupportedOperationException(MSG_INSTANTANEO);
+		}
+	}
+
+	@Override
+	public synchronized void addAresta(Aresta aresta) {
+		checkNotNull(aresta, MSG_ARESTA_NULA);
+		verificarAlteravel();
+		checkArgument(!arestas.contem(aresta.label()), MSG_ARESTA_EXISTE);
+
+		addVertice(aresta.origem());
+		addVertice(aresta.destino());
+		inserirAresta(aresta);
+	}
+
+	@Override
+	protected synchronized void inserirAresta(Aresta aresta) {
+		verificarAlteravel();
+		arestas = arestas.com(aresta.label(), aresta, versao);
+		Adjacencias origem = editavel(aresta.origem());
+		origem.saidas = origem.saidas.com(aresta.label(), aresta, versao);
+		Adjacencias destino = editavel(aresta.destino());
+		destino.entradas = destino.entradas.com(aresta.label(), aresta, versao);
+	}
+
+	/**
+	 * Retorna as adjacências do vértice que podem ser alteradas no lugar,
+	 * copiando-as para a versão atual se forem de uma versão anterior.
+	 */
+	private Adjacencias editavel(Vertice vertice) {
+		Adjacencias adjacencias = vertices.get(vertice);
+		if (adjacencias.dono != versao) {
+			adjacencias = new Adjacencias(versao, adjacencias.saidas, adjacencias.entradas);
+			vertices = vertices.com(vertice, adjacencias, versao);
+		}
+		return adjacencias;
+	}
+
+	/**
+	 * Mapas persistentes não têm capacidade, então a reserva não tem efeito.
+	 */
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+	}
+
+	@Override
+	public synchronized Vertice addVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		verificarAlteravel();
+		if (!vertices.contem(vertice)) {
+			registrarVertice(vertice);
+			vertices = vertices.com(vertice,
+					new Adjacencias(versao, MapaPersistente.vazio(), MapaPersistente.vazio()), versao);
+		}
+		return vertice;
+	}
+
+	@Override
+	public synchronized void removeVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		verificarAlteravel();
+
+		Adjacencias adjacencias = vertices.get(vertice);
+		if (adjacencias == null) {
+			return;
+		}
+		// As adjacências podem ser alteradas no lugar pelas remoções
+		for (Aresta aresta : ImmutableList.copyOf(Iterables.concat(adjacencias.saidas.valores(),
+				adjacencias.entradas.valores()))) {
+			removeAresta(aresta.label());
+		}
+		vertices = vertices.sem(vertice, versao);
+		liberarVertice(vertice);
+	}
+
+	@Override
+	public synchronized Set<Aresta> getArestas() {
+		encerrarVersao();
+		MapaPersistente<String, Aresta> congeladas = arestas;
+		return new AbstractSet<>() {
+			@Override
+			public boolean contains(Object objeto) {
+				return objeto instanceof Aresta aresta && aresta.equals(congeladas.get(aresta.label()));
+			}
+
+			@Override
+			public Iterator<Aresta> iterator() {
+				return congeladas.valores().iterator();
+			}
+
+			@Override
+			public int size() {
+				return congeladas.tamanho();
+			}
+		};
+	}
+
+	@Override
+	public synchronized Set<Vertice> getVertices() {
+		encerrarVersao();
+		MapaPersistente<Vertice, Adjacencias> congelados = vertices;
+		return new AbstractSet<>() {
+			@Override
+			public boolean contains(Object objeto) {
+				return objeto != null && congelados.contem(objeto);
+			}
+
+			@Override
+			public Iterator<Vertice> iterator() {
+				return congelados.chaves().iterator();
+			}
+
+			@Override
+			public int size() {
+				return congelados.tamanho();
+			}
+		};
+	}
+
+	/**
+	 * Consulta o mapa atual sem trocar a versão, ao contrário de
+	 * {@link #getVertices()}.
+	 */
+	@Override
+	protected boolean contemVertice(Vertice vertice) {
+		return vertices.contem(vertice);
+	}
+
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
+	@Override
+	public synchronized void removeAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		verificarAlteravel();
+
+		Aresta aresta = arestas.get(label);
+		if (aresta != null) {
+			arestas = arestas.sem(label, versao);
+			Adjacencias origem = editavel(aresta.origem());
+			origem.saidas = origem.saidas.sem(label, versao);
+			Adjacencias destino = editavel(aresta.destino());
+			destino.entradas = destino.entradas.sem(label, versao);
+		}
+	}
+
+	/**
+	 * Como em {@link DigrafoPorLista}, um vértice que não está no grafo não tem
+	 * arestas, então o resultado é vazio em vez de um erro.
+	 */
+	@Override
+	public Set<Aresta> encontrarArestas(Vertice origem, Vertice destino) {
+		checkNotNull(origem, MSG_VERTICE_NULO);
+		checkNotNull(destino, MSG_VERTICE_NULO);
+
+		Adjacencias adjacencias = vertices.get(origem);
+		if (adjacencias == null) {
+			return Set.of();
+		}
+		return adjacencias.saidas.valores()
+								 .stream()
+								 .filter(aresta -> aresta.destino().equals(destino))
+								 .collect(Collectors.toSet());
+	}
+
+	@Override
+	public Aresta encontrarAresta(Vertice origem, Vertice destino) {
+		checkNotNull(origem, MSG_VERTICE_NULO);
+		checkNotNull(destino, MSG_VERTICE_NULO);
+
+		Adjacencias adjacencias = vertices.get(origem);
+		if (adjacencias == null) {
+			return null;
+		}
+		for (Aresta aresta : adjacencias.saidas.valores()) {
+			if (aresta.destino().equals(destino)) {
+				return aresta;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	protected synchronized Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		encerrarVersao();
+		Adjacencias adjacencias = vertices.get(vertice);
+		return switch (direcao) {
+			case SAIDA -> adjacencias.saidas.valores();
+			case ENTRADA -> adjacencias.entradas.valores();
+			case AMBAS -> Iterables.concat(adjacencias.saidas.valores(),
+					Iterables.filter(adjacencias.entradas.valores(), aresta -> !aresta.ehLaco()));
+		};
+	}
+
+	@Override
+	protected long grauDeEntrada(Vertice vertice) {
+		return vertices.get(vertice).entradas.tamanho();
+	}
+
+	@Override
+	protected long grauDeSaida(Vertice vertice) {
+		return vertices.get(vertice).saidas.tamanho();
+	}
+
+	@Override
+	protected Grafo novaInstancia() {
+		return new DigrafoVersionado();
+	}
+}
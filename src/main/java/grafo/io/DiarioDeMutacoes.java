@@ -0,0 +1,613 @@
+package grafo.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+
+/**
+ * Diário de escrita antecipada (write-ahead log) que torna persistentes as
+ * alterações de um {@link Grafo}.
+ * <br>
+ * As alterações passam pelo diário, que as valida, anexa um registro ao fim do
+ * arquivo de log e só então as aplica no grafo, então uma alteração recusada
+ * não deixa registro e o grafo nunca tem alterações que o log não tenha. Cada
+ * registro leva o tamanho e um CRC32C, então um
+ * registro escrito pela metade numa queda é reconhecido e descartado na
+ * recuperação. Quando o log passa do limite configurado, o grafo inteiro é
+ * gravado como um instantâneo no formato de {@link GrafoMapeado} e um log novo
+ * e vazio é iniciado, de modo que a recuperação carrega o instantâneo em lote e
+ * só reaplica as alterações posteriores a ele.
+ * <br>
+ * Os registros ficam em um buffer até serem escritos e sincronizados com o
+ * disco em lotes. Com {@link Configuracao#sincronizarCadaAlteracao()} cada
+ * alteração só retorna depois de estar no disco, mas as threads que alteram o
+ * grafo ao mesmo tempo compartilham a mesma sincronização (group commit): a
+ * primeira escreve e sincroniza tudo o que estiver no buffer, e as que chegam
+ * enquanto isso esperam pelo lote seguinte. Sem essa opção, o lote é
+ * sincronizado ao encher ou em {@link #sincronizar()}.
+ * <br>
+ * As alterações são serializadas pelo próprio diário, mas o grafo não é
+ * protegido contra leituras simultâneas a elas: quem lê de {@link #getGrafo()}
+ * enquanto outra thread altera deve sincronizar no diário.
+ * <br>
+ * No diretório ficam o instantâneo {@code instantaneo-N.bin} e o log
+ * {@code diario-N.log} da mesma geração N. Cada compactação cria a geração
+ * seguinte e só apaga a anterior depois que o novo instantâneo está no disco.
+ *
+ * @param <G> o tipo do grafo
+ */
+public final class DiarioDeMutacoes<G extends Grafo> implements Closeable {
+	private static final String PREFIXO_DO_INSTANTANEO = "instantaneo-";
+	private static final String EXTENSAO_DO_INSTANTANEO = ".bin";
+	private static final String PREFIXO_DO_LOG = "diario-";
+	private static final String EXTENSAO_DO_LOG = ".log";
+	private static final int TAMANHO_DO_QUADRO = 2 * Integer.BYTES;
+	private static final int TAMANHO_DO_BLOCO = 1 << 20;
+
+	private static final byte ADICIONAR_VERTICE = 1;
+	private static final byte REMOVER_VERTICE = 2;
+	private static final byte ADICIONAR_ARESTA = 3;
+	private static final byte REMOVER_ARESTA = 4;
+
+	private static final String MSG_ARESTA_EXISTE = "Aresta já existe no grafo com o label informado";
+
+	/**
+	 * Quando sincronizar o log e compactá-lo.
+	 *
+	 * @param sincronizarCadaAlteracao se cada alteração espera até estar no disco
+	 * @param bytesPorLote             a partir de quantos bytes no buffer o lote é
+	 *                                 escrito e sincronizado
+	 * @param bytesParaCompactar       a partir de quantos bytes no log ele é
+	 *                                 compactado em um instantâneo
+	 */
+	public record Configuracao(boolean sincronizarCadaAlteracao, int bytesPorLote, long bytesParaCompactar) {
+		public Configuracao {
+			checkArgument(bytesPorLote > 0, "Bytes por lote devem ser positivos");
+			checkArgument(bytesParaCompactar > 0, "Bytes para compactar devem ser positivos");
+		}
+
+		/**
+		 * Sincroniza cada alteração, em lotes de até 64 KiB, e compacta o log ao
+		 * passar de 64 MiB.
+		 */
+		public static Configuracao padrao() {
+			return new Configuracao(true, 1 << 16, 64L << 20);
+		}
+
+		public Configuracao comSincronizarCadaAlteracao(boolean sincronizarCadaAlteracao) {
+			return new Configuracao(sincronizarCadaAlteracao, bytesPorLote, bytesParaCompactar);
+		}
+
+		public Configuracao comBytesPorLote(int bytesPorLote) {
+			return new Configuracao(sincronizarCadaAlteracao, bytesPorLote, bytesParaCompactar);
+		}
+
+		public Configuracao comBytesParaCompactar(long bytesParaCompactar) {
+			return new Configuracao(sincronizarCadaAlteracao, bytesPorLote, bytesParaCompactar);
+		}
+	}
+
+	private final Path diretorio;
+	private final Configuracao configuracao;
+	private final G grafo;
+	private long geracao;
+	private FileChannel log;
+	/** Tamanho do arquivo de log já escrito, onde começa o próximo lote. */
+	private long tamanhoDoLog;
+	private ByteBuffer pendentes;
+	private ByteBuffer reserva;
+	/** Total de bytes anexados desde a abertura, que ordena os registros. */
+	private long anexados;
+	/** Até onde, na mesma contagem de {@link #anexados}, os registros estão no disco. */
+	private long duraveis;
+	private boolean escrevendo;
+	private boolean fechado;
+	private IOException falha;
+
+	private DiarioDeMutacoes(Path diretorio, Configuracao configuracao, G grafo, long geracao) throws IOException {
+		this.diretorio = diretorio;
+		this.configuracao = configuracao;
+		this.grafo = grafo;
+		this.geracao = geracao;
+		this.pendentes = ByteBuffer.allocate(configuracao.bytesPorLote());
+		this.reserva = ByteBuffer.allocate(configuracao.bytesPorLote());
+		this.log = FileChannel.open(caminhoDoLog(geracao), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		this.tamanhoDoLog = log.size();
+	}
+
+	/**
+	 * Abre o diário do diretório com a configuração padrão.
+	 *
+	 * @see #abrir(Path, Supplier, Configuracao)
+	 */
+	public static <G extends Grafo> DiarioDeMutacoes<G> abrir(Path diretorio, Supplier<G> fabrica) throws IOException {
+		return abrir(diretorio, fabrica, Configuracao.padrao());
+	}
+
+	/**
+	 * Abre o diário do diretório, criando-o se não existir, e recupera o grafo:
+	 * carrega o instantâneo mais recente em um grafo vazio criado pela fábrica e
+	 * reaplica os registros do log da mesma geração. Um registro incompleto ou
+	 * corrompido no fim do log, deixado por uma queda no meio da escrita, é
+	 * descartado junto com o que vier depois dele.
+	 *
+	 * @param diretorio
+	 * @param fabrica      cria o grafo vazio que receberá o estado recuperado
+	 * @param configuracao
+	 * @return o diário, com o grafo recuperado em {@link #getGrafo()}
+	 * @throws IOException se os arquivos não puderem ser lidos ou escritos
+	 */
+	public static <G extends Grafo> DiarioDeMutacoes<G> abrir(Path diretorio, Supplier<G> fabrica,
+			Configuracao configuracao) throws IOException {
+		checkNotNull(diretorio, "Diretório não pode ser nulo");
+		checkNotNull(fabrica, "Fábrica de grafos não pode ser nula");
+		checkNotNull(configuracao, "Configuração não pode ser nula");
+
+		Files.createDirectories(diretorio);
+		G grafo = fabrica.get();
+		checkNotNull(grafo, "Fábrica não pode criar um grafo nulo");
+		checkArgument(grafo.getVertices().isEmpty(), "Fábrica deve criar um grafo vazio");
+
+		long geracao = geracaoMaisRecente(diretorio);
+		if (geracao > 0) {
+			carregarInstantaneo(grafo, diretorio.resolve(PREFIXO_DO_INSTANTANEO + geracao + EXTENSAO_DO_INSTANTANEO));
+		}
+		Path log = diretorio.resolve(PREFIXO_DO_LOG + geracao + EXTENSAO_DO_LOG);
+		if (Files.exists(log)) {
+			reaplicar(grafo, log);
+		}
+		apagarGeracoesAnteriores(diretorio, geracao);
+		return new DiarioDeMutacoes<>(diretorio, configuracao, grafo, geracao);
+	}
+
+	/**
+	 * Retorna o grafo mantido pelo diário. Ele não deve ser alterado
+	 * diretamente, ou as alterações não serão registradas.
+	 *
+	 * @return o grafo
+	 */
+	public G getGrafo() {
+		return grafo;
+	}
+
+	public void addVertice(Vertice vertice) throws IOException {
+		checkNotNull(vertice, "Vértice não pode ser nulo");
+		long registro;
+		synchronized (this) {
+			verificarAberto();
+			if (grafo.existeVertice(vertice)) {
+				return;
+			}
+			registro = anexar(ADICIONAR_VERTICE, Double.NaN, bytes(vertice.label()));
+			grafo.addVertice(vertice);
+		}
+		confirmar(registro);
+	}
+
+	public void removeVertice(Vertice vertice) throws IOException {
+		checkNotNull(vertice, "Vértice não pode ser nulo");
+		long registro;
+		synchronized (this) {
+			verificarAberto();
+			if (!grafo.existeVertice(vertice)) {
+				return;
+			}
+			registro = anexar(REMOVER_VERTICE, Double.NaN, bytes(vertice.label()));
+			grafo.removeVertice(vertice);
+		}
+		confirmar(registro);
+	}
+
+	public void addAresta(Aresta aresta) throws IOException {
+		checkNotNull(aresta, "Aresta não pode ser nula");
+		long registro;
+		synchronized (this) {
+			verificarAberto();
+			checkArgument(!grafo.existeAresta(aresta.label()), MSG_ARESTA_EXISTE);
+			registro = anexar(ADICIONAR_ARESTA, aresta.peso(), bytes(aresta.label()),
+					bytes(aresta.origem().label()), bytes(aresta.destino().label()));
+			grafo.addAresta(aresta);
+		}
+		confirmar(registro);
+	}
+
+	public void removeAresta(String label) throws IOException {
+		checkNotNull(label, "Aresta não pode ser nula");
+		long registro;
+		synchronized (this) {
+			verificarAberto();
+			if (!grafo.existeAresta(label)) {
+				return;
+			}
+			registro = anexar(REMOVER_ARESTA, Double.NaN, bytes(label));
+			grafo.removeAresta(label);
+		}
+		confirmar(registro);
+	}
+
+	/**
+	 * Escreve e sincroniza com o disco todos os registros anexados até agora.
+	 *
+	 * @throws IOException se a escrita falhar
+	 */
+	public void sincronizar() throws IOException {
+		long registro;
+		synchronized (this) {
+			verificarAberto();
+			registro = anexados;
+		}
+		sincronizarAte(registro);
+	}
+
+	/**
+	 * Grava o grafo inteiro como o instantâneo da próxima geração, inicia um log
+	 * vazio e apaga o instantâneo e o log anteriores. As alterações esperam até
+	 * a compactação terminar.
+	 *
+	 * @throws IOException se algum arquivo não puder ser escrito
+	 */
+	public synchronized void compactar() throws IOException {
+		verificarAberto();
+		aguardarEscrita();
+		escreverPendentes();
+
+		long proxima = geracao + 1;
+		Path instantaneo = diretorio.resolve(PREFIXO_DO_INSTANTANEO + proxima + EXTENSAO_DO_INSTANTANEO);
+		Path temporario = diretorio.resolve(PREFIXO_DO_INSTANTANEO + proxima + ".tmp");
+		GrafoMapeado.salvar(grafo, temporario);
+		try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+			canal.force(true);
+		}
+		Files.move(temporario, instantaneo, StandardCopyOption.ATOMIC_MOVE);
+		FileChannel novoLog = FileChannel.open(caminhoDoLog(proxima), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		sincronizarDiretorio(diretorio);
+
+		log.close();
+		log = novoLog;
+		tamanhoDoLog = 0;
+		geracao = proxima;
+		apagarGeracoesAnteriores(diretorio, geracao);
+	}
+
+	/**
+	 * Sincroniza os registros pendentes e fecha o log. A escrita é feita com o
+	 * monitor, então nenhum registro anexado antes do fechamento fica de fora. O
+	 * grafo continua acessível, mas não pode mais ser alterado pelo diário.
+	 *
+	 * @throws IOException se a escrita falhar, agora ou em uma escrita anterior
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (fechado) {
+			return;
+		}
+		aguardarEscrita();
+		fechado = true;
+		try {
+			if (falha != null) {
+				throw new IOException("Diário falhou em uma escrita anterior", falha);
+			}
+			escreverPendentes();
+		} finally {
+			log.close();
+		}
+	}
+
+	private void verificarAberto() throws IOException {
+		checkState(!fechado, "Diário está fechado");
+		if (falha != null) {
+			throw new IOException("Diário falhou em uma escrita anterior", falha);
+		}
+	}
+
+	/**
+	 * Codifica o registro no buffer de pendentes, como o tamanho do corpo, o
+	 * CRC32C do corpo e o corpo: o tipo, os rótulos com seus tamanhos e, para
+	 * arestas, o peso.
+	 *
+	 * @return a posição do fim do registro na contagem de bytes anexados
+	 */
+	private long anexar(byte tipo, double peso, byte[]... rotulos) {
+		int corpo = 1 + (tipo == ADICIONAR_ARESTA ? Double.BYTES : 0);
+		for (byte[] rotulo : rotulos) {
+			corpo += Integer.BYTES + rotulo.length;
+		}
+		garantirEspaco(TAMANHO_DO_QUADRO + corpo);
+
+		int inicio = pendentes.position();
+		pendentes.putInt(corpo).putInt(0).put(tipo);
+		for (byte[] rotulo : rotulos) {
+			pendentes.putInt(rotulo.length).put(rotulo);
+		}
+		if (tipo == ADICIONAR_ARESTA) {
+			pendentes.putDouble(peso);
+		}
+		CRC32C crc = new CRC32C();
+		crc.update(pendentes.array(), inicio + TAMANHO_DO_QUADRO, corpo);
+		pendentes.putInt(inicio + Integer.BYTES, (int) crc.getValue());
+
+		anexados += TAMANHO_DO_QUADRO + corpo;
+		return anexados;
+	}
+
+	private void garantirEspaco(int bytes) {
+		if (pendentes.remaining() < bytes) {
+			ByteBuffer maior = ByteBuffer.allocate(Math.max(pendentes.capacity() * 2, pendentes.position() + bytes));
+			pendentes.flip();
+			pendentes = maior.put(pendentes);
+		}
+	}
+
+	/**
+	 * Espera o registro chegar ao disco, quando configurado, ou sincroniza o
+	 * lote se ele tiver enchido. Depois de sincronizar, compacta o log se ele
+	 * tiver passado do limite.
+	 */
+	private void confirmar(long registro) throws IOException {
+		boolean loteCheio;
+		synchronized (this) {
+			loteCheio = anexados - duraveis >= configuracao.bytesPorLote();
+		}
+		if (configuracao.sincronizarCadaAlteracao() || loteCheio) {
+			sincronizarAte(registro);
+		}
+		synchronized (this) {
+			if (!fechado && tamanhoDoLog >= configuracao.bytesParaCompactar()) {
+				compactar();
+			}
+		}
+	}
+
+	/**
+	 * Group commit: se outra thread já estiver escrevendo um lote, espera por
+	 * ele; se o registro ainda não estiver no disco depois disso, esta thread
+	 * troca o buffer de pendentes pelo reserva e escreve e sincroniza, fora do
+	 * monitor, tudo o que tinha sido anexado, enquanto as outras continuam
+	 * anexando no buffer novo.
+	 */
+	private void sincronizarAte(long registro) throws IOException {
+		ByteBuffer lote;
+		long fimDoLote;
+		long posicao;
+		synchronized (this) {
+			while (escrevendo && duraveis < registro && falha == null) {
+				aguardar();
+			}
+			if (falha != null) {
+				throw new IOException("Diário falhou em uma escrita anterior", falha);
+			}
+			if (duraveis >= registro) {
+				return;
+			}
+			escrevendo = true;
+			lote = pendentes;
+			pendentes = reserva;
+			reserva = null;
+			fimDoLote = anexados;
+			posicao = tamanhoDoLog;
+			tamanhoDoLog += lote.position();
+		}
+
+		IOException erro = null;
+		try {
+			lote.flip();
+			while (lote.hasRemaining()) {
+				posicao += log.write(lote, posicao);
+			}
+			log.force(false);
+		} catch (IOException e) {
+			erro = e;
+		}
+
+		synchronized (this) {
+			escrevendo = false;
+			reserva = lote.clear();
+			if (erro == null) {
+				duraveis = fimDoLote;
+			} else {
+				falha = erro;
+			}
+			notifyAll();
+		}
+		if (erro != null) {
+			throw erro;
+		}
+	}
+
+	private void aguardarEscrita() throws IOException {
+		while (escrevendo) {
+			aguardar();
+		}
+	}
+
+	private void aguardar() throws IOException {
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrompido esperando a escrita do diário");
+		}
+	}
+
+	/**
+	 * Escreve e sincroniza os pendentes com o monitor seguro, quando nenhuma
+	 * outra thread está escrevendo.
+	 */
+	private void escreverPendentes() throws IOException {
+		pendentes.flip();
+		while (pendentes.hasRemaining()) {
+			tamanhoDoLog += log.write(pendentes, tamanhoDoLog);
+		}
+		pendentes.clear();
+		log.force(false);
+		duraveis = anexados;
+	}
+
+	private Path caminhoDoLog(long geracao) {
+		return diretorio.resolve(PREFIXO_DO_LOG + geracao + EXTENSAO_DO_LOG);
+	}
+
+	private static byte[] bytes(String rotulo) {
+		return rotulo.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A maior geração com instantâneo completo, ou zero se não houver nenhum.
+	 * Instantâneos são escritos em um arquivo temporário e renomeados no fim,
+	 * então todo arquivo com o nome final está completo.
+	 */
+	private static long geracaoMaisRecente(Path diretorio) throws IOException {
+		long geracao = 0;
+		for (Path arquivo : arquivos(diretorio)) {
+			String nome = arquivo.getFileName().toString();
+			if (nome.startsWith(PREFIXO_DO_INSTANTANEO) && nome.endsWith(EXTENSAO_DO_INSTANTANEO)) {
+				String numero = nome.substring(PREFIXO_DO_INSTANTANEO.length(),
+						nome.length() - EXTENSAO_DO_INSTANTANEO.length());
+				if (!numero.isEmpty() && numero.chars().allMatch(Character::isDigit)) {
+					geracao = Math.max(geracao, Long.parseLong(numero));
+				}
+			}
+		}
+		return geracao;
+	}
+
+	/**
+	 * Apaga os instantâneos, logs e temporários das gerações diferentes da
+	 * atual. Temporários de gerações posteriores vêm de compactações
+	 * interrompidas.
+	 */
+	private static void apagarGeracoesAnteriores(Path diretorio, long geracao) throws IOException {
+		String instantaneo = PREFIXO_DO_INSTANTANEO + geracao + EXTENSAO_DO_INSTANTANEO;
+		String log = PREFIXO_DO_LOG + geracao + EXTENSAO_DO_LOG;
+		for (Path arquivo : arquivos(diretorio)) {
+			String nome = arquivo.getFileName().toString();
+			boolean doDiario = nome.startsWith(PREFIXO_DO_INSTANTANEO) || nome.startsWith(PREFIXO_DO_LOG);
+			if (doDiario && !nome.equals(instantaneo) && !nome.equals(log)) {
+				Files.deleteIfExists(arquivo);
+			}
+		}
+	}
+
+	private static List<Path> arquivos(Path diretorio) throws IOException {
+		List<Path> arquivos = new ArrayList<>();
+		try (DirectoryStream<Path> conteudo = Files.newDirectoryStream(diretorio)) {
+			conteudo.forEach(arquivos::add);
+		}
+		return arquivos;
+	}
+
+	/**
+	 * Sincroniza as entradas do diretório, para que renomeações e arquivos novos
+	 * sobrevivam a uma queda. Alguns sistemas não permitem abrir diretórios, e
+	 * neles isso é ignorado.
+	 */
+	private static void sincronizarDiretorio(Path diretorio) {
+		try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+			canal.force(true);
+		} catch (IOException e) {
+			// Sem suporte a sincronizar diretórios
+		}
+	}
+
+	private static void carregarInstantaneo(Grafo grafo, Path arquivo) throws IOException {
+		GrafoMapeado instantaneo = GrafoMapeado.abrir(arquivo);
+		List<Vertice> vertices = new ArrayList<>(instantaneo.getQuantidadeDeVertices());
+		for (int id = 0; id < instantaneo.getQuantidadeDeVertices(); id++) {
+			vertices.add(instantaneo.vertice(id));
+		}
+		List<Aresta> arestas = new ArrayList<>(instantaneo.getQuantidadeDeArestas());
+		for (int id = 0; id < instantaneo.getQuantidadeDeArestas(); id++) {
+			arestas.add(instantaneo.aresta(id));
+		}
+		grafo.addEmLote(vertices, arestas);
+	}
+
+	/**
+	 * Reaplica os registros do log no grafo, lendo-o em blocos, e trunca o
+	 * arquivo no primeiro registro incompleto ou com CRC inválido.
+	 */
+	private static void reaplicar(Grafo grafo, Path arquivo) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_BLOCO);
+			CRC32C crc = new CRC32C();
+			long validos = 0;
+			boolean terminou = false;
+			while (!terminou) {
+				terminou = canal.read(buffer) == -1;
+				buffer.flip();
+				while (buffer.remaining() >= TAMANHO_DO_QUADRO) {
+					int corpo = buffer.getInt(buffer.position());
+					if (corpo <= 0 || corpo > canal.size()) {
+						terminou = true;
+						break;
+					}
+					if (buffer.remaining() < TAMANHO_DO_QUADRO + corpo) {
+						if (TAMANHO_DO_QUADRO + corpo > buffer.capacity()) {
+							buffer = ByteBuffer.allocate(TAMANHO_DO_QUADRO + corpo).put(buffer).flip();
+						}
+						break;
+					}
+					int esperado = buffer.getInt(buffer.position() + Integer.BYTES);
+					crc.reset();
+					crc.update(buffer.array(), buffer.position() + TAMANHO_DO_QUADRO, corpo);
+					if ((int) crc.getValue() != esperado) {
+						terminou = true;
+						break;
+					}
+					buffer.position(buffer.position() + TAMANHO_DO_QUADRO);
+					aplicar(grafo, buffer.slice(buffer.position(), corpo));
+					buffer.position(buffer.position() + corpo);
+					validos += TAMANHO_DO_QUADRO + corpo;
+				}
+				buffer.compact();
+			}
+			if (validos < canal.size()) {
+				canal.truncate(validos);
+				canal.force(false);
+			}
+		}
+	}
+
+	private static void aplicar(Grafo grafo, ByteBuffer corpo) {
+		byte tipo = corpo.get();
+		switch (tipo) {
+			case ADICIONAR_VERTICE -> grafo.addVertice(new Vertice(rotulo(corpo)));
+			case REMOVER_VERTICE -> grafo.removeVertice(new Vertice(rotulo(corpo)));
+			case ADICIONAR_ARESTA -> {
+				String label = rotulo(corpo);
+				Vertice origem = new Vertice(rotulo(corpo));
+				Vertice destino = new Vertice(rotulo(corpo));
+				grafo.addAresta(new Aresta(label, origem, destino, corpo.getDouble()));
+			}
+			case REMOVER_ARESTA -> grafo.removeAresta(rotulo(corpo));
+			default -> throw new IllegalArgumentException("Registro do diário tem tipo desconhecido: " + tipo);
+		}
+	}
+
+	private static String rotulo(ByteBuffer corpo) {
+		byte[] bytes = new byte[corpo.getInt()];
+		corpo.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
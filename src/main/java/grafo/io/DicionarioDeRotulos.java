@@ -0,0 +1,107 @@
+package grafo.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Índice de hash com endereçamento aberto que atribui ids densos, na ordem de
+ * chegada, a rótulos lidos como bytes UTF-8.
+ * <br>
+ * A busca compara direto nos bytes do bloco lido, então rótulos repetidos não
+ * alocam nada. Cada rótulo novo é copiado uma única vez para um array
+ * compartilhado, de onde pode ser convertido em {@code String}.
+ */
+final class DicionarioDeRotulos {
+	private static final int CAPACIDADE_INICIAL = 1024;
+
+	private byte[] dados = new byte[CAPACIDADE_INICIAL * 8];
+	private int[] inicios = new int[CAPACIDADE_INICIAL + 1];
+	private int[] hashes = new int[CAPACIDADE_INICIAL];
+	/** O id mais um de cada rótulo, ou zero nas posições vazias. */
+	private int[] tabela = new int[CAPACIDADE_INICIAL * 2];
+	private int quantidade;
+
+	/**
+	 * Retorna o id do rótulo, registrando-o se ainda não existir. Ids novos são
+	 * sempre iguais a {@link #tamanho()} antes da chamada.
+	 *
+	 * @param bytes
+	 * @param inicio a posição do primeiro byte do rótulo
+	 * @param fim    a posição seguinte ao último byte do rótulo
+	 * @return o id do rótulo
+	 */
+	int adicionar(byte[] bytes, int inicio, int fim) {
+		int hash = hash(bytes, inicio, fim);
+		int mascara = tabela.length - 1;
+		for (int posicao = hash & mascara;; posicao = (posicao + 1) & mascara) {
+			int id = tabela[posicao] - 1;
+			if (id == -1) {
+				id = registrar(bytes, inicio, fim, hash);
+				tabela[posicao] = id + 1;
+				if (quantidade * 2 > tabela.length) {
+					redimensionarTabela();
+				}
+				return id;
+			}
+			if (hashes[id] == hash
+					&& Arrays.equals(dados, inicios[id], inicios[id + 1], bytes, inicio, fim)) {
+				return id;
+			}
+		}
+	}
+
+	String rotulo(int id) {
+		return new String(dados, inicios[id], inicios[id + 1] - inicios[id], StandardCharsets.UTF_8);
+	}
+
+	int tamanho() {
+		return quantidade;
+	}
+
+	private int registrar(byte[] bytes, int inicio, int fim, int hash) {
+		int tamanho = fim - inicio;
+		int ocupados = inicios[quantidade];
+		if (ocupados + tamanho > dados.length) {
+			dados = Arrays.copyOf(dados, Math.max(ocupados + tamanho, dados.length * 2));
+		}
+		if (quantidade == hashes.length) {
+			hashes = Arrays.copyOf(hashes, hashes.length * 2);
+			inicios = Arrays.copyOf(inicios, hashes.length + 1);
+		}
+		System.arraycopy(bytes, inicio, dados, ocupados, tamanho);
+		hashes[quantidade] = hash;
+		inicios[quantidade + 1] = ocupados + tamanho;
+		return quantidade++;
+	}
+
+	private void redimensionarTabela() {
+		int[] novaTabela = new int[tabela.length * 2];
+		int mascara = novaTabela.length - 1;
+		for (int id = 0; id < quantidade; id++) {
+			int posicao = hashes[id] & mascara;
+			while (novaTabela[posicao] != 0) {
+				posicao = (posicao + 1) & mascara;
+			}
+			novaTabela[posicao] = id + 1;
+		}
+		tabela = novaTabela;
+	}
+
+	/**
+	 * Hash polinomial dos bytes, misturado pela finalização do MurmurHash3 para
+	 * que rótulos parecidos, como {@code v1} e {@code v2}, não caiam em posições
+	 * vizinhas da tabela.
+	 */
+	private static int hash(byte[] bytes, int inicio, int fim) {
+		int hash = 0;
+		for (int i = inicio; i < fim; i++) {
+			hash = 31 * hash + bytes[i];
+		}
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+}
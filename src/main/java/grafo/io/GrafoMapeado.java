@@ -0,0 +1,546 @@
+package grafo.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+
+/**
+ * {@link GrafoCongelado} lido de um arquivo binário mapeado em memória, sem
+ * desserialização.
+ * <br>
+ * Cada seção do arquivo é mapeada por {@link FileChannel#map} e os métodos de
+ * acesso leem direto dela, então abrir o arquivo custa o mesmo para qualquer
+ * tamanho de grafo e as páginas só são carregadas pelo sistema operacional
+ * quando percorridas. Vários processos que abrem o mesmo arquivo compartilham
+ * essas páginas.
+ * <br>
+ * O arquivo, escrito por {@link #salvar(GrafoCongelado, Path)}, tem um
+ * cabeçalho com as quantidades e a posição de cada seção, e as seções abaixo,
+ * todas em little-endian e alinhadas em 8 bytes:
+ * <ul>
+ * <li>o CSR: o início das arestas de cada vértice e, por posição, o destino, o
+ * id da aresta e o peso;</li>
+ * <li>por aresta, a posição em que ela aparece nas arestas da sua origem;</li>
+ * <li>os rótulos dos vértices em UTF-8, o início de cada um e uma tabela de
+ * hash com endereçamento aberto que leva do rótulo ao id;</li>
+ * <li>os rótulos das arestas em UTF-8 e o início de cada um.</li>
+ * </ul>
+ * {@link #vertice(int)} e {@link #aresta(int)} criam os objetos a cada chamada,
+ * e a origem de uma aresta é encontrada por busca binária nos inícios. A
+ * {@link #transposta()} é montada em memória.
+ * <br>
+ * Um {@link java.nio.MappedByteBuffer} tem índices {@code int} e cobre no
+ * máximo 2 GiB, então as seções indexadas por posição ou por aresta são
+ * mapeadas em blocos de 1 GiB, e o arquivo inteiro pode ter vários GiB. O
+ * limite do formato é o de {@link GrafoCongelado}, com posições e ids
+ * {@code int}; os rótulos de vértices e os de arestas ocupam menos de 2 GiB
+ * cada, porque seus inícios também são {@code int}.
+ */
+public final class GrafoMapeado extends GrafoCongelado {
+	private static final int ASSINATURA = 0x47524146;
+	private static final int VERSAO = 1;
+	private static final int TAMANHO_DO_CABECALHO = 32 + 16 * Secao.values().length;
+	private static final int TAMANHO_DO_BUFFER = 1 << 20;
+	private static final int BITS_POR_BLOCO = 30;
+	private static final int BITS_POR_BLOCO_DE_INTEIROS = BITS_POR_BLOCO - 2;
+	private static final int BITS_POR_BLOCO_DE_REAIS = BITS_POR_BLOCO - 3;
+	private static final int MAXIMO_DE_VERTICES = 1 << 27;
+	private static final String MSG_FORMATO_INVALIDO = "Arquivo não é um grafo no formato binário";
+
+	/**
+	 * As seções do arquivo, na ordem em que são escritas.
+	 */
+	private enum Secao {
+		INICIOS,
+		DESTINOS,
+		IDS_ARESTAS,
+		PESOS,
+		POSICOES_ARESTAS,
+		ROTULOS_VERTICES,
+		INICIOS_ROTULOS_VERTICES,
+		TABELA_VERTICES,
+		ROTULOS_ARESTAS,
+		INICIOS_ROTULOS_ARESTAS
+	}
+
+	private final boolean orientado;
+	private final int quantidadeDeVertices;
+	private final int quantidadeDeArestas;
+	private final IntBuffer inicios;
+	private final IntBuffer[] destinos;
+	private final IntBuffer[] idsArestas;
+	private final DoubleBuffer[] pesos;
+	private final IntBuffer[] posicoesArestas;
+	private final ByteBuffer rotulosVertices;
+	private final IntBuffer iniciosRotulosVertices;
+	private final IntBuffer tabelaVertices;
+	private final ByteBuffer rotulosArestas;
+	private final IntBuffer[] iniciosRotulosArestas;
+
+	/**
+	 * @param secoes os blocos mapeados de cada seção; as seções que cabem em um
+	 *               bloco têm um só
+	 */
+	private GrafoMapeado(boolean orientado, int quantidadeDeVertices, int quantidadeDeArestas, ByteBuffer[][] secoes) {
+		this.orientado = orientado;
+		this.quantidadeDeVertices = quantidadeDeVertices;
+		this.quantidadeDeArestas = quantidadeDeArestas;
+		this.inicios = secoes[Secao.INICIOS.ordinal()][0].asIntBuffer();
+		this.destinos = inteiros(secoes[Secao.DESTINOS.ordinal()]);
+		this.idsArestas = inteiros(secoes[Secao.IDS_ARESTAS.ordinal()]);
+		this.pesos = reais(secoes[Secao.PESOS.ordinal()]);
+		this.posicoesArestas = inteiros(secoes[Secao.POSICOES_ARESTAS.ordinal()]);
+		this.rotulosVertices = secoes[Secao.ROTULOS_VERTICES.ordinal()][0];
+		this.iniciosRotulosVertices = secoes[Secao.INICIOS_ROTULOS_VERTICES.ordinal()][0].asIntBuffer();
+		this.tabelaVertices = secoes[Secao.TABELA_VERTICES.ordinal()][0].asIntBuffer();
+		this.rotulosArestas = secoes[Secao.ROTULOS_ARESTAS.ordinal()][0];
+		this.iniciosRotulosArestas = inteiros(secoes[Secao.INICIOS_ROTULOS_ARESTAS.ordinal()]);
+	}
+
+	private static IntBuffer[] inteiros(ByteBuffer[] blocos) {
+		IntBuffer[] inteiros = new IntBuffer[blocos.length];
+		for (int i = 0; i < blocos.length; i++) {
+			inteiros[i] = blocos[i].asIntBuffer();
+		}
+		return inteiros;
+	}
+
+	private static DoubleBuffer[] reais(ByteBuffer[] blocos) {
+		DoubleBuffer[] reais = new DoubleBuffer[blocos.length];
+		for (int i = 0; i < blocos.length; i++) {
+			reais[i] = blocos[i].asDoubleBuffer();
+		}
+		return reais;
+	}
+
+	private static int inteiro(IntBuffer[] blocos, int indice) {
+		return blocos[indice >>> BITS_POR_BLOCO_DE_INTEIROS].get(indice & (1 << BITS_POR_BLOCO_DE_INTEIROS) - 1);
+	}
+
+	private static double real(DoubleBuffer[] blocos, int indice) {
+		return blocos[indice >>> BITS_POR_BLOCO_DE_REAIS].get(indice & (1 << BITS_POR_BLOCO_DE_REAIS) - 1);
+	}
+
+	/**
+	 * Mapeia o arquivo como um grafo somente leitura. O canal é fechado logo
+	 * depois, já que os mapeamentos continuam válidos sem ele.
+	 *
+	 * @param arquivo um arquivo escrito por {@link #salvar(GrafoCongelado, Path)}
+	 * @return a visão do grafo guardado no arquivo
+	 * @throws IOException              se o arquivo não puder ser lido
+	 * @throws IllegalArgumentException se o arquivo não estiver no formato
+	 */
+	public static GrafoMapeado abrir(Path arquivo) throws IOException {
+		checkNotNull(arquivo, "Arquivo não pode ser nulo");
+
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_DO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+			canal.read(cabecalho, 0);
+			checkArgument(!cabecalho.hasRemaining(), MSG_FORMATO_INVALIDO);
+			cabecalho.flip();
+			checkArgument(cabecalho.getInt() == ASSINATURA, MSG_FORMATO_INVALIDO);
+			checkArgument(cabecalho.getInt() == VERSAO, "Versão do formato binário não suportada");
+
+			boolean orientado = cabecalho.getInt() != 0;
+			int vertices = cabecalho.getInt();
+			int arestas = cabecalho.getInt();
+			int posicoes = cabecalho.getInt();
+			int tamanhoDaTabela = cabecalho.getInt();
+			cabecalho.getInt();
+			checkArgument(vertices >= 0 && vertices <= MAXIMO_DE_VERTICES && arestas >= 0 && posicoes >= 0
+					&& Integer.bitCount(tamanhoDaTabela) == 1, MSG_FORMATO_INVALIDO);
+
+			long[] esperados = {
+					4L * vertices + 4, 4L * posicoes, 4L * posicoes, 8L * posicoes, 4L * arestas, -1,
+					4L * vertices + 4, 4L * tamanhoDaTabela, -1, 4L * arestas + 4 };
+			ByteBuffer[][] secoes = new ByteBuffer[esperados.length][];
+			for (int secao = 0; secao < secoes.length; secao++) {
+				long inicio = cabecalho.getLong();
+				long tamanho = cabecalho.getLong();
+				checkArgument(inicio >= TAMANHO_DO_CABECALHO && tamanho >= 0 && inicio + tamanho <= canal.size(),
+						MSG_FORMATO_INVALIDO);
+				checkArgument(esperados[secao] == -1 || esperados[secao] == tamanho, MSG_FORMATO_INVALIDO);
+				if (esperados[secao] == -1) {
+					// Os rótulos são indexados por inícios int e ficam em um só mapeamento
+					checkArgument(tamanho <= Integer.MAX_VALUE, "Rótulos ocupam 2 GiB ou mais");
+					secoes[secao] = new ByteBuffer[] {
+							canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanho).order(ByteOrder.LITTLE_ENDIAN) };
+				} else {
+					secoes[secao] = mapear(canal, inicio, tamanho);
+				}
+			}
+			return new GrafoMapeado(orientado, vertices, arestas, secoes);
+		}
+	}
+
+	/**
+	 * Mapeia a seção em blocos de até 1 GiB, com pelo menos um bloco mesmo se
+	 * ela for vazia.
+	 */
+	private static ByteBuffer[] mapear(FileChannel canal, long inicio, long tamanho) throws IOException {
+		long tamanhoDoBloco = 1L << BITS_POR_BLOCO;
+		ByteBuffer[] blocos = new ByteBuffer[(int) Math.max(1, (tamanho + tamanhoDoBloco - 1) >>> BITS_POR_BLOCO)];
+		for (int i = 0; i < blocos.length; i++) {
+			long deslocamento = i * tamanhoDoBloco;
+			blocos[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio + deslocamento,
+					Math.min(tamanhoDoBloco, tamanho - deslocamento)).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return blocos;
+	}
+
+	/**
+	 * Congela o grafo e o escreve no arquivo.
+	 *
+	 * @see #salvar(GrafoCongelado, Path)
+	 */
+	public static void salvar(Grafo grafo, Path arquivo) throws IOException {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		salvar(grafo.congelar(), arquivo);
+	}
+
+	/**
+	 * Escreve o grafo no formato binário, substituindo o arquivo se ele existir.
+	 * Os ids dos vértices e das arestas são preservados.
+	 * <br>
+	 * O grafo é escrito em um arquivo temporário no mesmo diretório, gravado no
+	 * disco e só então movido atomicamente para o lugar do arquivo. Uma falha
+	 * no meio da escrita deixa o arquivo anterior intacto, e quem já o tinha
+	 * aberto continua lendo a versão anterior.
+	 *
+	 * @param grafo
+	 * @param arquivo
+	 * @throws IOException se o arquivo não puder ser escrito
+	 */
+	public static void salvar(GrafoCongelado grafo, Path arquivo) throws IOException {
+		checkNotNull(grafo, "Grafo não pode ser nulo");
+		checkNotNull(arquivo, "Arquivo não pode ser nulo");
+
+		Path destino = arquivo.toAbsolutePath();
+		Path temporario = Files.createTempFile(destino.getParent(), destino.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+				escrever(grafo, canal);
+				canal.force(true);
+			}
+			Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporario);
+		}
+	}
+
+	private static void escrever(GrafoCongelado grafo, FileChannel canal) throws IOException {
+		int vertices = grafo.getQuantidadeDeVertices();
+		int arestas = grafo.getQuantidadeDeArestas();
+		int posicoes = vertices == 0 ? 0 : grafo.fim(vertices - 1);
+		int[] tabela = tabelaDeVertices(grafo);
+
+		Escritor escritor = new Escritor(canal);
+		escritor.pular(TAMANHO_DO_CABECALHO);
+		long[] secoes = new long[2 * Secao.values().length];
+
+		escritor.iniciar(secoes, Secao.INICIOS);
+		for (int id = 0; id < vertices; id++) {
+			escritor.inteiro(grafo.inicio(id));
+		}
+		escritor.inteiro(posicoes);
+
+		escritor.iniciar(secoes, Secao.DESTINOS);
+		for (int posicao = 0; posicao < posicoes; posicao++) {
+			escritor.inteiro(grafo.destino(posicao));
+		}
+		escritor.iniciar(secoes, Secao.IDS_ARESTAS);
+		for (int posicao = 0; posicao < posicoes; posicao++) {
+			escritor.inteiro(grafo.idAresta(posicao));
+		}
+		escritor.iniciar(secoes, Secao.PESOS);
+		for (int posicao = 0; posicao < posicoes; posicao++) {
+			escritor.real(grafo.peso(posicao));
+		}
+
+		escritor.iniciar(secoes, Secao.POSICOES_ARESTAS);
+		for (int posicao : posicoesDasArestas(grafo)) {
+			escritor.inteiro(posicao);
+		}
+
+		escritor.iniciar(secoes, Secao.ROTULOS_VERTICES);
+		int[] iniciosRotulos = new int[vertices + 1];
+		for (int id = 0; id < vertices; id++) {
+			iniciosRotulos[id + 1] = escritor.rotulo(grafo.vertice(id).label(), iniciosRotulos[id]);
+		}
+		escritor.iniciar(secoes, Secao.INICIOS_ROTULOS_VERTICES);
+		for (int inicio : iniciosRotulos) {
+			escritor.inteiro(inicio);
+		}
+		escritor.iniciar(secoes, Secao.TABELA_VERTICES);
+		for (int posicao : tabela) {
+			escritor.inteiro(posicao);
+		}
+
+		escritor.iniciar(secoes, Secao.ROTULOS_ARESTAS);
+		iniciosRotulos = new int[arestas + 1];
+		for (int id = 0; id < arestas; id++) {
+			iniciosRotulos[id + 1] = escritor.rotulo(grafo.aresta(id).label(), iniciosRotulos[id]);
+		}
+		escritor.iniciar(secoes, Secao.INICIOS_ROTULOS_ARESTAS);
+		for (int inicio : iniciosRotulos) {
+			escritor.inteiro(inicio);
+		}
+		escritor.terminar(secoes, Secao.INICIOS_ROTULOS_ARESTAS);
+
+		ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_DO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+		cabecalho.putInt(ASSINATURA).putInt(VERSAO).putInt(grafo.ehOrientado() ? 1 : 0)
+				.putInt(vertices).putInt(arestas).putInt(posicoes).putInt(tabela.length).putInt(0);
+		for (long valor : secoes) {
+			cabecalho.putLong(valor);
+		}
+		cabecalho.flip();
+		while (cabecalho.hasRemaining()) {
+			canal.write(cabecalho, cabecalho.position());
+		}
+	}
+
+	/**
+	 * Encontra, para cada aresta, a posição em que ela aparece nas arestas da sua
+	 * origem. Em grafos não orientados a aresta aparece também nas do destino,
+	 * que é ignorada.
+	 */
+	private static int[] posicoesDasArestas(GrafoCongelado grafo) {
+		int[] origens = new int[grafo.getQuantidadeDeArestas()];
+		for (int aresta = 0; aresta < origens.length; aresta++) {
+			origens[aresta] = grafo.id(grafo.aresta(aresta).origem());
+		}
+		int[] posicoes = new int[origens.length];
+		for (int id = 0; id < grafo.getQuantidadeDeVertices(); id++) {
+			for (int posicao = grafo.inicio(id); posicao < grafo.fim(id); posicao++) {
+				if (origens[grafo.idAresta(posicao)] == id) {
+					posicoes[grafo.idAresta(posicao)] = posicao;
+				}
+			}
+		}
+		return posicoes;
+	}
+
+	private static int[] tabelaDeVertices(GrafoCongelado grafo) {
+		int vertices = grafo.getQuantidadeDeVertices();
+		checkArgument(vertices <= 1 << 27, "Grafo tem vértices demais para o formato binário");
+		int[] tabela = new int[Integer.highestOneBit(Math.max(1, 2 * vertices - 1)) << 1];
+		int mascara = tabela.length - 1;
+		for (int id = 0; id < vertices; id++) {
+			int posicao = misturar(grafo.vertice(id).label().hashCode()) & mascara;
+			while (tabela[posicao] != 0) {
+				posicao = (posicao + 1) & mascara;
+			}
+			tabela[posicao] = id + 1;
+		}
+		return tabela;
+	}
+
+	/**
+	 * Finalização do MurmurHash3 sobre {@link String#hashCode()}, cujo valor é
+	 * definido pela especificação da linguagem e não muda entre execuções.
+	 */
+	private static int misturar(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+
+	@Override
+	public boolean ehOrientado() {
+		return orientado;
+	}
+
+	@Override
+	public int getQuantidadeDeVertices() {
+		return quantidadeDeVertices;
+	}
+
+	@Override
+	public int getQuantidadeDeArestas() {
+		return quantidadeDeArestas;
+	}
+
+	@Override
+	public int id(Vertice vertice) {
+		checkNotNull(vertice, "Vértice não pode ser nulo");
+		byte[] rotulo = vertice.label().getBytes(StandardCharsets.UTF_8);
+		int mascara = tabelaVertices.limit() - 1;
+		for (int posicao = misturar(vertice.label().hashCode()) & mascara;; posicao = (posicao + 1) & mascara) {
+			int id = tabelaVertices.get(posicao) - 1;
+			if (id == -1) {
+				return -1;
+			}
+			int inicio = iniciosRotulosVertices.get(id);
+			int tamanho = iniciosRotulosVertices.get(id + 1) - inicio;
+			if (tamanho == rotulo.length && rotulosVertices.slice(inicio, tamanho).equals(ByteBuffer.wrap(rotulo))) {
+				return id;
+			}
+		}
+	}
+
+	@Override
+	public Vertice vertice(int id) {
+		return new Vertice(rotulo(rotulosVertices, iniciosRotulosVertices.get(id), iniciosRotulosVertices.get(id + 1)));
+	}
+
+	@Override
+	public Aresta aresta(int idAresta) {
+		int posicao = inteiro(posicoesArestas, idAresta);
+		String rotulo = rotulo(rotulosArestas, inteiro(iniciosRotulosArestas, idAresta),
+				inteiro(iniciosRotulosArestas, idAresta + 1));
+		return new Aresta(rotulo, vertice(dono(posicao)), vertice(destino(posicao)), peso(posicao));
+	}
+
+	private static String rotulo(ByteBuffer rotulos, int inicio, int fim) {
+		byte[] bytes = new byte[fim - inicio];
+		rotulos.get(inicio, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * O último vértice cujas arestas começam até a posição, que é o único cujo
+	 * intervalo a contém.
+	 */
+	private int dono(int posicao) {
+		int menor = 0;
+		int maior = quantidadeDeVertices - 1;
+		while (menor < maior) {
+			int meio = (menor + maior + 1) >>> 1;
+			if (inicios.get(meio) <= posicao) {
+				menor = meio;
+			} else {
+				maior = meio - 1;
+			}
+		}
+		return menor;
+	}
+
+	@Override
+	public int inicio(int id) {
+		return inicios.get(id);
+	}
+
+	@Override
+	public int fim(int id) {
+		return inicios.get(id + 1);
+	}
+
+	@Override
+	public int destino(int posicao) {
+		return inteiro(destinos, posicao);
+	}
+
+	@Override
+	public double peso(int posicao) {
+		return real(pesos, posicao);
+	}
+
+	@Override
+	public int idAresta(int posicao) {
+		return inteiro(idsArestas, posicao);
+	}
+
+	/**
+	 * Escreve sequencialmente no canal por um buffer, alinhando cada seção em 8
+	 * bytes e anotando onde ela começa e quantos bytes tem.
+	 */
+	private static final class Escritor {
+		private final FileChannel canal;
+		private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+		private long posicao;
+		private Secao atual;
+
+		Escritor(FileChannel canal) {
+			this.canal = canal;
+		}
+
+		void pular(int bytes) throws IOException {
+			descarregar();
+			posicao += bytes;
+		}
+
+		void iniciar(long[] secoes, Secao secao) throws IOException {
+			if (atual != null) {
+				terminar(secoes, atual);
+			}
+			while (posicao % 8 != 0) {
+				byte0();
+			}
+			atual = secao;
+			secoes[2 * secao.ordinal()] = posicao;
+		}
+
+		void terminar(long[] secoes, Secao secao) throws IOException {
+			secoes[2 * secao.ordinal() + 1] = posicao - secoes[2 * secao.ordinal()];
+			descarregar();
+		}
+
+		void inteiro(int valor) throws IOException {
+			garantir(Integer.BYTES);
+			buffer.putInt(valor);
+			posicao += Integer.BYTES;
+		}
+
+		void real(double valor) throws IOException {
+			garantir(Double.BYTES);
+			buffer.putDouble(valor);
+			posicao += Double.BYTES;
+		}
+
+		/**
+		 * Escreve o rótulo em UTF-8 e retorna onde ele termina na seção.
+		 */
+		int rotulo(String rotulo, int inicio) throws IOException {
+			byte[] bytes = rotulo.getBytes(StandardCharsets.UTF_8);
+			checkArgument(bytes.length <= Integer.MAX_VALUE - 8 - inicio, "Rótulos ocupam 2 GiB ou mais");
+			for (int escritos = 0; escritos < bytes.length;) {
+				garantir(1);
+				int quantidade = Math.min(buffer.remaining(), bytes.length - escritos);
+				buffer.put(bytes, escritos, quantidade);
+				escritos += quantidade;
+				posicao += quantidade;
+			}
+			return inicio + bytes.length;
+		}
+
+		private void byte0() throws IOException {
+			garantir(1);
+			buffer.put((byte) 0);
+			posicao++;
+		}
+
+		private void garantir(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				descarregar();
+			}
+		}
+
+		private void descarregar() throws IOException {
+			buffer.flip();
+			long destino = posicao - buffer.remaining();
+			while (buffer.hasRemaining()) {
+				destino += canal.write(buffer, destino);
+			}
+			buffer.clear();
+		}
+	}
+}
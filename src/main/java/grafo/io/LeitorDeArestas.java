@@ -0,0 +1,297 @@
+package grafo.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+
+/**
+ * Lê grafos de listas de arestas em texto, uma aresta por linha com os campos
+ * {@code label,origem,destino,peso}, e os insere em lote em qualquer
+ * representação de {@link Grafo}.
+ * <br>
+ * O arquivo é lido por um {@link FileChannel} em blocos de bytes e as linhas
+ * são interpretadas direto nos bytes, sem criar uma {@code String} por campo:
+ * os rótulos dos vértices são deduplicados por um índice de hash sobre os
+ * próprios bytes, então cada vértice vira um único objeto, e os pesos decimais
+ * simples são convertidos sem alocação. Ao fim da leitura as quantidades exatas
+ * são conhecidas, então o grafo reserva a capacidade uma única vez e recebe
+ * tudo por {@link Grafo#addEmLote(Collection, Collection)}.
+ * <br>
+ * Linhas vazias são ignoradas, assim como um cabeçalho com os nomes das
+ * colunas na primeira linha. Espaços ao redor dos campos são descartados e
+ * aspas não são interpretadas, então os campos não podem conter o separador.
+ */
+public final class LeitorDeArestas {
+	private static final int TAMANHO_DO_BLOCO = 1 << 20;
+	private static final int DIGITOS_EXATOS = 15;
+	private static final double[] POTENCIAS_DE_DEZ = new double[DIGITOS_EXATOS + 1];
+	private static final byte[][] CABECALHO = {
+			"label".getBytes(StandardCharsets.US_ASCII),
+			"origem".getBytes(StandardCharsets.US_ASCII),
+			"destino".getBytes(StandardCharsets.US_ASCII),
+			"peso".getBytes(StandardCharsets.US_ASCII) };
+
+	static {
+		POTENCIAS_DE_DEZ[0] = 1.0;
+		for (int i = 1; i < POTENCIAS_DE_DEZ.length; i++) {
+			POTENCIAS_DE_DEZ[i] = POTENCIAS_DE_DEZ[i - 1] * 10.0;
+		}
+	}
+
+	/**
+	 * Como os campos de cada linha são separados.
+	 */
+	public enum Formato {
+		/**
+		 * Campos separados por vírgula.
+		 */
+		CSV((byte) ','),
+		/**
+		 * Campos separados por tabulação.
+		 */
+		TSV((byte) '\t');
+
+		private final byte separador;
+
+		Formato(byte separador) {
+			this.separador = separador;
+		}
+
+		/**
+		 * Escolhe o formato pela extensão do arquivo: {@code .tsv} e {@code .tab}
+		 * são TSV e as demais são CSV.
+		 *
+		 * @param arquivo
+		 * @return o formato do arquivo
+		 */
+		public static Formato de(Path arquivo) {
+			checkNotNull(arquivo, "Arquivo não pode ser nulo");
+			Path nome = arquivo.getFileName();
+			String extensao = nome == null ? "" : nome.toString().toLowerCase();
+			return extensao.endsWith(".tsv") || extensao.endsWith(".tab") ? TSV : CSV;
+		}
+	}
+
+	private final byte separador;
+	private final DicionarioDeRotulos rotulos = new DicionarioDeRotulos();
+	private final List<Vertice> vertices = new ArrayList<>();
+	private final List<Aresta> arestas = new ArrayList<>();
+	private final Set<String> rotulosDeArestas = new HashSet<>();
+	private final int[] campos = new int[8];
+	private long linha;
+	private boolean antesDaPrimeiraAresta = true;
+
+	private LeitorDeArestas(Formato formato) {
+		this.separador = formato.separador;
+	}
+
+	/**
+	 * Lê o arquivo no formato indicado pela sua extensão.
+	 *
+	 * @see #ler(Path, Formato, Supplier)
+	 */
+	public static <G extends Grafo> G ler(Path arquivo, Supplier<G> fabrica) throws IOException {
+		return ler(arquivo, Formato.de(arquivo), fabrica);
+	}
+
+	/**
+	 * Lê todas as arestas do arquivo e as insere em um grafo vazio criado pela
+	 * fábrica, por exemplo {@code DigrafoPorLista::new}. Os vértices recebem ids
+	 * na ordem em que aparecem pela primeira vez no arquivo.
+	 *
+	 * @param arquivo
+	 * @param formato
+	 * @param fabrica cria o grafo que receberá as arestas
+	 * @return o grafo criado pela fábrica, com os vértices e arestas do arquivo
+	 * @throws IOException              se o arquivo não puder ser lido
+	 * @throws IllegalArgumentException se alguma linha for inválida ou se dois
+	 *                                  rótulos de aresta se repetirem
+	 */
+	public static <G extends Grafo> G ler(Path arquivo, Formato formato, Supplier<G> fabrica) throws IOException {
+		checkNotNull(arquivo, "Arquivo não pode ser nulo");
+		checkNotNull(formato, "Formato não pode ser nulo");
+		checkNotNull(fabrica, "Fábrica de grafos não pode ser nula");
+
+		LeitorDeArestas leitor = new LeitorDeArestas(formato);
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			leitor.lerLinhas(canal);
+		}
+
+		G grafo = fabrica.get();
+		checkNotNull(grafo, "Fábrica não pode criar um grafo nulo");
+		checkArgument(grafo.getVertices().isEmpty(), "Fábrica deve criar um grafo vazio");
+		grafo.addEmLote(leitor.vertices, leitor.arestas);
+		return grafo;
+	}
+
+	/**
+	 * Lê o canal em blocos e interpreta cada linha completa. O resto de linha no
+	 * fim de um bloco é movido para o início do buffer antes da próxima leitura,
+	 * e o buffer dobra quando uma única linha não cabe nele.
+	 */
+	private void lerLinhas(ReadableByteChannel canal) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_BLOCO);
+		boolean terminou = false;
+		while (!terminou) {
+			terminou = canal.read(buffer) == -1;
+			byte[] bytes = buffer.array();
+			int limite = buffer.position();
+			int inicio = 0;
+			for (int i = 0; i < limite; i++) {
+				if (bytes[i] == '\n') {
+					lerLinha(bytes, inicio, i);
+					inicio = i + 1;
+				}
+			}
+
+			if (terminou) {
+				if (inicio < limite) {
+					lerLinha(bytes, inicio, limite);
+				}
+			} else if (inicio == 0 && limite == bytes.length) {
+				buffer = ByteBuffer.allocate(bytes.length * 2).put(bytes, 0, limite);
+			} else {
+				System.arraycopy(bytes, inicio, bytes, 0, limite - inicio);
+				buffer.position(limite - inicio);
+			}
+		}
+	}
+
+	private void lerLinha(byte[] bytes, int inicio, int fim) {
+		linha++;
+		if (fim > inicio && bytes[fim - 1] == '\r') {
+			fim--;
+		}
+		if (aparar(bytes, inicio, fim) == fim) {
+			return;
+		}
+
+		int quantidade = 0;
+		int comeco = inicio;
+		for (int i = inicio; i <= fim; i++) {
+			if (i == fim || bytes[i] == separador) {
+				checkArgument(quantidade < 4, "Linha %s: esperados os campos label, origem, destino e peso", linha);
+				campos[2 * quantidade] = aparar(bytes, comeco, i);
+				campos[2 * quantidade + 1] = apararFim(bytes, campos[2 * quantidade], i);
+				quantidade++;
+				comeco = i + 1;
+			}
+		}
+		checkArgument(quantidade == 4, "Linha %s: esperados os campos label, origem, destino e peso", linha);
+
+		if (antesDaPrimeiraAresta) {
+			antesDaPrimeiraAresta = false;
+			if (ehCabecalho(bytes)) {
+				return;
+			}
+		}
+
+		checkArgument(campos[1] > campos[0] && campos[3] > campos[2] && campos[5] > campos[4],
+				"Linha %s: rótulos não podem ser vazios", linha);
+		String label = new String(bytes, campos[0], campos[1] - campos[0], StandardCharsets.UTF_8);
+		checkArgument(rotulosDeArestas.add(label), "Linha %s: rótulo de aresta %s repetido", linha, label);
+		Vertice origem = vertice(bytes, campos[2], campos[3]);
+		Vertice destino = vertice(bytes, campos[4], campos[5]);
+		arestas.add(new Aresta(label, origem, destino, lerPeso(bytes, campos[6], campos[7])));
+	}
+
+	private Vertice vertice(byte[] bytes, int inicio, int fim) {
+		int id = rotulos.adicionar(bytes, inicio, fim);
+		if (id == vertices.size()) {
+			vertices.add(new Vertice(rotulos.rotulo(id)));
+		}
+		return vertices.get(id);
+	}
+
+	private boolean ehCabecalho(byte[] bytes) {
+		for (int campo = 0; campo < CABECALHO.length; campo++) {
+			int inicio = campos[2 * campo];
+			int fim = campos[2 * campo + 1];
+			if (fim - inicio != CABECALHO[campo].length) {
+				return false;
+			}
+			for (int i = inicio; i < fim; i++) {
+				if (Character.toLowerCase(bytes[i]) != CABECALHO[campo][i - inicio]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converte o peso direto dos bytes quando ele é um decimal simples com até 15
+	 * dígitos: a mantissa inteira e a potência de dez são exatas em
+	 * {@code double}, então a divisão tem o mesmo arredondamento de
+	 * {@link Double#parseDouble(String)}. Os demais casos, como expoentes, passam
+	 * por ele.
+	 */
+	private double lerPeso(byte[] bytes, int inicio, int fim) {
+		checkArgument(fim > inicio, "Linha %s: peso não pode ser vazio", linha);
+
+		int i = inicio;
+		boolean negativo = bytes[i] == '-';
+		if (negativo || bytes[i] == '+') {
+			i++;
+		}
+		long mantissa = 0;
+		int digitos = 0;
+		int casasDecimais = 0;
+		boolean ponto = false;
+		for (; i < fim && digitos <= DIGITOS_EXATOS; i++) {
+			byte atual = bytes[i];
+			if (atual >= '0' && atual <= '9') {
+				mantissa = mantissa * 10 + (atual - '0');
+				digitos++;
+				if (ponto) {
+					casasDecimais++;
+				}
+			} else if (atual == '.' && !ponto) {
+				ponto = true;
+			} else {
+				break;
+			}
+		}
+		if (i == fim && digitos > 0 && digitos <= DIGITOS_EXATOS) {
+			double valor = mantissa / POTENCIAS_DE_DEZ[casasDecimais];
+			return negativo ? -valor : valor;
+		}
+
+		try {
+			return Double.parseDouble(new String(bytes, inicio, fim - inicio, StandardCharsets.US_ASCII));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Linha " + linha + ": peso inválido", e);
+		}
+	}
+
+	private static int aparar(byte[] bytes, int inicio, int fim) {
+		while (inicio < fim && bytes[inicio] == ' ') {
+			inicio++;
+		}
+		return inicio;
+	}
+
+	private static int apararFim(byte[] bytes, int inicio, int fim) {
+		while (fim > inicio && bytes[fim - 1] == ' ') {
+			fim--;
+		}
+		return fim;
+	}
+}
@@ -3,21 +3,59 @@ package grafo.nao_orientado;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import grafo.Aresta;
 import grafo.Grafo;
 import grafo.Vertice;
 
 public abstract class GrafoNaoDirecionado extends Grafo {
+	protected GrafoNaoDirecionado() {
+	}
+
+	protected GrafoNaoDirecionado(Indexacao indexacao) {
+		super(indexacao);
+	}
+
+	protected GrafoNaoDirecionado(GrafoNaoDirecionado original) {
+		super(original);
+	}
+
 	public final long getGrau(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
-		return getArestas().stream()
-						   .flatMap(aresta -> List.of(aresta.destino(), aresta.origem()).stream())
-						   .filter(vertice::equals)
-						   .count();
+		return grau(vertice);
+	}
+
+	@Override
+	public final long grau(int id) {
+		return grau(vertice(id));
+	}
+
+	/**
+	 * Retorna o grau do vértice a partir do contador mantido pela representação a
+	 * cada inserção e remoção de aresta. Laços contam duas vezes.
+	 *
+	 * @param vertice
+	 * @return o grau do vértice, ou zero se ele não existir no grafo
+	 */
+	protected abstract long grau(Vertice vertice);
+
+	/**
+	 * Retorna a sequência de graus do grafo, em ordem não crescente.
+	 *
+	 * @return um array com o grau de cada vértice do grafo
+	 */
+	public final long[] sequenciaDeGraus() {
+		long[] graus = getVertices().stream()
+									.mapToLong(this::grau)
+									.sorted()
+									.toArray();
+		for (int i = 0, j = graus.length - 1; i < j; i++, j--) {
+			long grau = graus[i];
+			graus[i] = graus[j];
+			graus[j] = grau;
+		}
+		return graus;
 	}
 
 	@Override
@@ -48,12 +86,12 @@ public abstract class GrafoNaoDirecionado extends Grafo {
 	}
 
 	public final boolean ehEuleriano() {
-		return getVertices().stream().allMatch(vertice -> getGrau(vertice) % 2 == 0);
+		return getVertices().stream().allMatch(vertice -> grau(vertice) % 2 == 0);
 	}
 
 	public final boolean ehSemiEuleriano() {
 		long verticesImpares = getVertices().stream()
-											.filter(vertice -> getGrau(vertice) % 2 != 0)
+											.filter(vertice -> grau(vertice) % 2 != 0)
 											.count();
 		return verticesImpares == 0 || verticesImpares == 2;
 	}
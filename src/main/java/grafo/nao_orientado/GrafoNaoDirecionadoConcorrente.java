@@ -0,0 +1,235 @@
+package grafo.nao_orientado;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+
+import grafo.Aresta;
+import grafo.Direcao;
+import grafo.Grafo;
+import grafo.TravasPorVertice;
+import grafo.Vertice;
+
+/**
+ * Grafo não direcionado por lista que pode ser alterado e consultado por várias
+ * threads ao mesmo tempo, com as mesmas garantias de
+ * {@link grafo.digrafo.DigrafoConcorrente}: as alterações e as consultas de um
+ * vértice ({@code getArestasIncidentes}, {@code getAdjacentes},
+ * {@code getGrau}) são linearizáveis, com as arestas de cada vértice protegidas
+ * por uma das {@link TravasPorVertice}, e {@code getVertices},
+ * {@code getArestas} e as operações sobre o grafo inteiro são fracamente
+ * consistentes.
+ */
+public class GrafoNaoDirecionadoConcorrente extends GrafoNaoDirecionado {
+	private final ConcurrentMap<Vertice, Incidencias> vertices = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Aresta> arestas = new ConcurrentHashMap<>();
+	private final TravasPorVertice travas;
+
+	/**
+	 * Arestas incidentes a um vértice e o seu grau, em que laços contam duas
+	 * vezes, protegidos pela trava do vértice.
+	 */
+	private static final class Incidencias {
+		private final Set<Aresta> arestas = new LinkedHashSet<>();
+		private long grau;
+	}
+
+	public GrafoNaoDirecionadoConcorrente() {
+		this(new TravasPorVertice());
+	}
+
+	/**
+	 * @param quantidadeDeTravas quantas travas dividem os vértices
+	 * @see grafo.digrafo.DigrafoConcorrente#DigrafoConcorrente(int)
+	 */
+	public GrafoNaoDirecionadoConcorrente(int quantidadeDeTravas) {
+		this(new TravasPorVertice(quantidadeDeTravas));
+	}
+
+	private GrafoNaoDirecionadoConcorrente(TravasPorVertice travas) {
+		super(Indexacao.CONCORRENTE);
+		this.travas = travas;
+	}
+
+	@Override
+	public void addAresta(Aresta aresta) {
+		checkNotNull(aresta, MSG_ARESTA_NULA);
+
+		travas.travar(aresta.origem(), aresta.destino());
+		try {
+			checkArgument(!arestas.containsKey(aresta.label()), MSG_ARESTA_EXISTE);
+			Incidencias origem = incidencias(aresta.origem());
+			Incidencias destino = incidencias(aresta.destino());
+			checkArgument(arestas.putIfAbsent(aresta.label(), aresta) == null, MSG_ARESTA_EXISTE);
+			origem.arestas.add(aresta);
+			destino.arestas.add(aresta);
+			origem.grau++;
+			destino.grau++;
+		} finally {
+			travas.destravar(aresta.origem(), aresta.destino());
+		}
+	}
+
+	@Override
+	protected void inserirAresta(Aresta aresta) {
+		addAresta(aresta);
+	}
+
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+	}
+
+	@Override
+	public Set<Aresta> encontrarArestas(Vertice origem, Vertice destino) {
+		checkNotNull(origem, MSG_VERTICE_NULO);
+		checkNotNull(destino, MSG_VERTICE_NULO);
+		checkArgument(existeVertice(origem), MSG_VERTICE_NAO_EXISTE);
+		checkArgument(existeVertice(destino), MSG_VERTICE_NAO_EXISTE);
+
+		return copiarIncidentes(origem).stream()
+									   .filter(aresta -> aresta.conecta(origem, destino))
+									   .collect(Collectors.toSet());
+	}
+
+	@Override
+	public Vertice addVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		if (vertices.containsKey(vertice)) {
+			return vertice;
+		}
+
+		travas.travar(vertice);
+		try {
+			incidencias(vertice);
+		} finally {
+			travas.destravar(vertice);
+		}
+		return vertice;
+	}
+
+	/**
+	 * Retorna as incidências do vértice, inserindo-o se ainda não existir. Deve
+	 * ser chamado com a trava do vértice.
+	 */
+	private Incidencias incidencias(Vertice vertice) {
+		Incidencias incidencias = vertices.get(vertice);
+		if (incidencias == null) {
+			registrarVertice(vertice);
+			incidencias = new Incidencias();
+			vertices.put(vertice, incidencias);
+		}
+		return incidencias;
+	}
+
+	@Override
+	public void removeVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		if (!vertices.containsKey(vertice)) {
+			return;
+		}
+
+		travas.travarTodas();
+		try {
+			Incidencias incidencias = vertices.get(vertice);
+			if (incidencias == null) {
+				return;
+			}
+			for (Aresta aresta : incidencias.arestas) {
+				arestas.remove(aresta.label());
+				if (!aresta.ehLaco()) {
+					Incidencias vizinho = vertices.get(aresta.oposto(vertice));
+					vizinho.arestas.remove(aresta);
+					vizinho.grau--;
+				}
+			}
+			vertices.remove(vertice);
+			liberarVertice(vertice);
+		} finally {
+			travas.destravarTodas();
+		}
+	}
+
+	@Override
+	public Set<Aresta> getArestas() {
+		return new HashSet<>(arestas.values());
+	}
+
+	@Override
+	public Set<Vertice> getVertices() {
+		return Collections.unmodifiableSet(vertices.keySet());
+	}
+
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
+	@Override
+	public void removeAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+
+		Aresta aresta = arestas.get(label);
+		if (aresta == null) {
+			return;
+		}
+		travas.travar(aresta.origem(), aresta.destino());
+		try {
+			if (arestas.remove(label, aresta)) {
+				Incidencias origem = vertices.get(aresta.origem());
+				Incidencias destino = vertices.get(aresta.destino());
+				origem.arestas.remove(aresta);
+				destino.arestas.remove(aresta);
+				origem.grau--;
+				destino.grau--;
+			}
+		} finally {
+			travas.destravar(aresta.origem(), aresta.destino());
+		}
+	}
+
+	@Override
+	protected Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		return copiarIncidentes(vertice);
+	}
+
+	/**
+	 * Copia as arestas com a trava do vértice, então o resultado pode ser
+	 * percorrido enquanto outras threads alteram o grafo.
+	 */
+	private List<Aresta> copiarIncidentes(Vertice vertice) {
+		travas.travar(vertice);
+		try {
+			Incidencias incidencias = vertices.get(vertice);
+			return incidencias == null ? List.of() : ImmutableList.copyOf(incidencias.arestas);
+		} finally {
+			travas.destravar(vertice);
+		}
+	}
+
+	@Override
+	protected long grau(Vertice vertice) {
+		travas.travar(vertice);
+		try {
+			Incidencias incidencias = vertices.get(vertice);
+			return incidencias == null ? 0 : incidencias.grau;
+		} finally {
+			travas.destravar(vertice);
+		}
+	}
+
+	@Override
+	protected Grafo novaInstancia() {
+		return new GrafoNaoDirecionadoConcorrente(travas.quantidade());
+	}
+}
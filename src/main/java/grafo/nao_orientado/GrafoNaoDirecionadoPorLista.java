@@ -7,24 +7,39 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Grafo;
 import grafo.Vertice;
 
 public class GrafoNaoDirecionadoPorLista extends GrafoNaoDirecionado {
-	private final Map<Vertice, List<Aresta>> verticesAdjacencias = new HashMap<>();
+	private Map<Vertice, Set<Aresta>> verticesAdjacencias = new HashMap<>();
+	private Map<String, Aresta> arestas = new HashMap<>();
+	private Map<Vertice, Integer> graus = new HashMap<>();
 
 	@Override
 	public void addAresta(Aresta aresta) {
 		checkNotNull(aresta, MSG_ARESTA_NULA);
-		checkArgument(!existeAresta(aresta.label()), MSG_ARESTA_EXISTE);
+		checkArgument(!arestas.containsKey(aresta.label()), MSG_ARESTA_EXISTE);
 
-		Vertice origem = aresta.origem();
-		Vertice destino = aresta.destino();
+		addVertice(aresta.origem());
+		addVertice(aresta.destino());
+		inserirAresta(aresta);
+	}
 
-		addVertice(origem);
-		addVertice(destino);
+	@Override
+	protected void inserirAresta(Aresta aresta) {
+		verticesAdjacencias.get(aresta.origem()).add(aresta);
+		verticesAdjacencias.get(aresta.destino()).add(aresta);
+		arestas.put(aresta.label(), aresta);
+		graus.merge(aresta.origem(), 1, Integer::sum);
+		graus.merge(aresta.destino(), 1, Integer::sum);
+	}
 
-		verticesAdjacencias.get(origem).add(aresta);
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+		verticesAdjacencias = comCapacidade(verticesAdjacencias, verticesAdicionais);
+		graus = comCapacidade(graus, verticesAdicionais);
+		arestas = comCapacidade(arestas, arestasAdicionais);
 	}
 
 	@Override
@@ -34,22 +49,18 @@ public class GrafoNaoDirecionadoPorLista extends GrafoNaoDirecionado {
 		checkArgument(existeVertice(origem), MSG_VERTICE_NAO_EXISTE);
 		checkArgument(existeVertice(destino), MSG_VERTICE_NAO_EXISTE);
 
-		Set<Aresta> arestas = new HashSet<>();
-		arestas.addAll(verticesAdjacencias.get(origem)
-										  .stream()
-										  .filter(aresta -> aresta.conecta(origem, destino))
-										  .toList());
-		arestas.addAll(verticesAdjacencias.get(destino)
-										  .stream()
-										  .filter(aresta -> aresta.conecta(origem, destino))
-										  .toList());
-		return arestas;
+		return verticesAdjacencias.get(origem)
+								  .stream()
+								  .filter(aresta -> aresta.conecta(origem, destino))
+								  .collect(Collectors.toSet());
 	}
 
 	@Override
 	public Vertice addVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
-		verticesAdjacencias.putIfAbsent(vertice, new ArrayList<>());
+		verticesAdjacencias.putIfAbsent(vertice, new LinkedHashSet<>());
+		graus.putIfAbsent(vertice, 0);
+		registrarVertice(vertice);
 		return vertice;
 	}
 
@@ -57,18 +68,25 @@ public class GrafoNaoDirecionadoPorLista extends GrafoNaoDirecionado {
 	public void removeVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
 
-		verticesAdjacencias.remove(vertice);
-
-		for (List<Aresta> adjacencias : verticesAdjacencias.values()) {
-			adjacencias.removeIf(aresta -> aresta.origem().equals(vertice) || aresta.destino().equals(vertice));
+		Set<Aresta> incidentes = verticesAdjacencias.remove(vertice);
+		if (incidentes == null) {
+			return;
+		}
+		for (Aresta aresta : incidentes) {
+			arestas.remove(aresta.label());
+			if (!aresta.ehLaco()) {
+				Vertice vizinho = aresta.oposto(vertice);
+				verticesAdjacencias.get(vizinho).remove(aresta);
+				graus.merge(vizinho, -1, Integer::sum);
+			}
 		}
+		graus.remove(vertice);
+		liberarVertice(vertice);
 	}
 
 	@Override
 	public Set<Aresta> getArestas() {
-		return verticesAdjacencias.values().stream()
-								  .flatMap(List::stream)
-								  .collect(Collectors.toSet());
+		return new HashSet<>(arestas.values());
 	}
 
 	@Override
@@ -76,15 +94,35 @@ public class GrafoNaoDirecionadoPorLista extends GrafoNaoDirecionado {
 		return verticesAdjacencias.keySet();
 	}
 
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
 	@Override
 	public void removeAresta(String label) {
 		checkNotNull(label, MSG_ARESTA_NULA);
 
-		for (List<Aresta> adjacencias : verticesAdjacencias.values()) {
-			adjacencias.removeIf(aresta -> aresta.label().equals(label));
+		Aresta aresta = arestas.remove(label);
+		if (aresta != null) {
+			verticesAdjacencias.get(aresta.origem()).remove(aresta);
+			verticesAdjacencias.get(aresta.destino()).remove(aresta);
+			graus.merge(aresta.origem(), -1, Integer::sum);
+			graus.merge(aresta.destino(), -1, Integer::sum);
 		}
 	}
 
+	@Override
+	protected Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		return Collections.unmodifiableSet(verticesAdjacencias.get(vertice));
+	}
+
+	@Override
+	protected long grau(Vertice vertice) {
+		return graus.getOrDefault(vertice, 0);
+	}
+
 	@Override
 	protected Grafo novaInstancia() {
 		return new GrafoNaoDirecionadoPorLista();
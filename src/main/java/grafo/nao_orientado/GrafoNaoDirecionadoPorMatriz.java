@@ -1,42 +1,91 @@
 package grafo.nao_orientado;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Grafo;
+import grafo.MatrizDeBits;
 import grafo.Vertice;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+/**
+ * Grafo não direcionado representado por uma matriz de adjacência de bits
+ * simétrica.
+ * <br>
+ * {@link #existeAresta(Vertice, Vertice)} é O(1) e percorrer os vizinhos custa
+ * O(V / 64 + grau). As arestas em si, que podem ser paralelas, ficam em um mapa
+ * à parte indexado pelo par de ids, sem distinguir origem e destino.
+ */
 public class GrafoNaoDirecionadoPorMatriz extends GrafoNaoDirecionado {
 
-	private final Map<Vertice, Map<Vertice, Set<Aresta>>> matriz = new HashMap<>();
+	private final MatrizDeBits matriz = new MatrizDeBits();
+	private Map<Long, List<Aresta>> celulas = new HashMap<>();
+	private Map<String, Aresta> arestas = new HashMap<>();
+	private int[] graus = new int[0];
 
 	@Override
 	public void addAresta(Aresta aresta) {
 		checkNotNull(aresta, MSG_ARESTA_NULA);
-		checkArgument(!existeAresta(aresta.label()), MSG_ARESTA_EXISTE);
+		checkArgument(!arestas.containsKey(aresta.label()), MSG_ARESTA_EXISTE);
 
-		Vertice origem = aresta.origem();
-		Vertice destino = aresta.destino();
+		addVertice(aresta.origem());
+		addVertice(aresta.destino());
+		inserirAresta(aresta);
+	}
 
-		addVertice(origem);
-		addVertice(destino);
+	@Override
+	protected void inserirAresta(Aresta aresta) {
+		int idOrigem = id(aresta.origem());
+		int idDestino = id(aresta.destino());
+		celulas.computeIfAbsent(chave(idOrigem, idDestino), chave -> new ArrayList<>(1)).add(aresta);
+		matriz.set(idOrigem, idDestino);
+		matriz.set(idDestino, idOrigem);
+		arestas.put(aresta.label(), aresta);
+		graus[idOrigem]++;
+		graus[idDestino]++;
+	}
 
-		matriz.get(origem).get(destino).add(aresta);
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+		int limite = limiteDeIds() + verticesAdicionais;
+		matriz.garantirCapacidade(limite);
+		if (limite > graus.length) {
+			graus = Arrays.copyOf(graus, limite);
+		}
+		celulas = comCapacidade(celulas, arestasAdicionais);
+		arestas = comCapacidade(arestas, arestasAdicionais);
 	}
 
 	@Override
 	public void removeAresta(String label) {
-		matriz.values()
-			  .stream()
-			  .flatMap(linha -> linha.values().stream())
-			  .forEach(adjacencias -> adjacencias.removeIf(adjacencia -> adjacencia.label().equals(label)));
+		checkNotNull(label, MSG_ARESTA_NULA);
+
+		Aresta aresta = arestas.remove(label);
+		if (aresta != null) {
+			int idOrigem = id(aresta.origem());
+			int idDestino = id(aresta.destino());
+			List<Aresta> celula = celulas.get(chave(idOrigem, idDestino));
+			celula.remove(aresta);
+			if (celula.isEmpty()) {
+				celulas.remove(chave(idOrigem, idDestino));
+				matriz.clear(idOrigem, idDestino);
+				matriz.clear(idDestino, idOrigem);
+			}
+			graus[idOrigem]--;
+			graus[idDestino]--;
+		}
 	}
 
 	@Override
@@ -46,20 +95,21 @@ public class GrafoNaoDirecionadoPorMatriz extends GrafoNaoDirecionado {
 		checkArgument(existeVertice(origem), MSG_VERTICE_NAO_EXISTE);
 		checkArgument(existeVertice(destino), MSG_VERTICE_NAO_EXISTE);
 
-		Set<Aresta> arestas = new HashSet<>();
-		arestas.addAll(matriz.get(origem).get(destino));
-		arestas.addAll(matriz.get(destino).get(origem));
-		return arestas;
+		return new HashSet<>(celula(id(origem), id(destino)));
 	}
 
 	@Override
 	public Vertice addVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
-		if (existeVertice(vertice)) return vertice;
-
-		matriz.putIfAbsent(vertice, new HashMap<>());
-		matriz.keySet().forEach(outro -> matriz.get(vertice).putIfAbsent(outro, new HashSet<>()));
-		matriz.values().forEach(linha -> linha.putIfAbsent(vertice, new HashSet<>()));
+		if (existeVertice(vertice)) {
+			return vertice;
+		}
+
+		int id = registrarVertice(vertice);
+		matriz.garantirCapacidade(limiteDeIds());
+		if (id >= graus.length) {
+			graus = Arrays.copyOf(graus, Math.max(limiteDeIds(), graus.length * 2));
+		}
 		return vertice;
 	}
 
@@ -67,22 +117,73 @@ public class GrafoNaoDirecionadoPorMatriz extends GrafoNaoDirecionado {
 	public void removeVertice(Vertice vertice) {
 		checkNotNull(vertice, MSG_VERTICE_NULO);
 
-		matriz.remove(vertice);
-		getVertices().forEach(v -> matriz.get(v).remove(vertice));
+		if (!existeVertice(vertice)) {
+			return;
+		}
+
+		for (Aresta aresta : ImmutableList.copyOf(arestasIncidentes(vertice, Direcao.AMBAS))) {
+			removeAresta(aresta.label());
+		}
+
+		liberarVertice(vertice);
 	}
 
 	@Override
 	public Set<Aresta> getArestas() {
-		return matriz
-				.values()
-				.stream()
-				.flatMap(linha -> linha.values().stream()).flatMap(Set::stream)
-				.collect(Collectors.toSet());
+		return new HashSet<>(arestas.values());
 	}
 
 	@Override
 	public Set<Vertice> getVertices() {
-		return matriz.keySet();
+		return verticesRegistrados();
+	}
+
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
+	/**
+	 * Retorna os vértices vizinhos de ambos os vértices informados, combinando as
+	 * duas linhas da matriz 64 colunas por vez.
+	 *
+	 * @param vertice
+	 * @param outroVertice
+	 * @return os vizinhos em comum dos dois vértices
+	 */
+	public Set<Vertice> vizinhosEmComum(Vertice vertice, Vertice outroVertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		checkNotNull(outroVertice, MSG_VERTICE_NULO);
+		checkArgument(existeVertice(vertice), MSG_VERTICE_NAO_EXISTE);
+		checkArgument(existeVertice(outroVertice), MSG_VERTICE_NAO_EXISTE);
+
+		Set<Vertice> emComum = new HashSet<>();
+		for (int id : matriz.intersecao(id(vertice), id(outroVertice))) {
+			emComum.add(vertice(id));
+		}
+		return emComum;
+	}
+
+	@Override
+	protected Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		int id = id(vertice);
+		return Iterables.unmodifiableIterable(
+				Iterables.concat(Iterables.transform(matriz.colunas(id), vizinho -> celula(id, vizinho))));
+	}
+
+	private List<Aresta> celula(int vertice, int outroVertice) {
+		return celulas.getOrDefault(chave(vertice, outroVertice), List.of());
+	}
+
+	private static long chave(int vertice, int outroVertice) {
+		return ((long) Math.min(vertice, outroVertice) << Integer.SIZE) | Math.max(vertice, outroVertice);
+	}
+
+	@Override
+	protected long grau(Vertice vertice) {
+		int id = id(vertice);
+		return id == -1 ? 0 : graus[id];
 	}
 
 	@Override
@@ -0,0 +1,275 @@
+package grafo.nao_orientado;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+
+import grafo.Aresta;
+import grafo.Direcao;
+import grafo.Grafo;
+import grafo.MapaPersistente;
+import grafo.Vertice;
+
+/**
+ * Grafo não direcionado por lista guardado em {@link MapaPersistente}s, que
+ * tira instantâneos imutáveis de si mesmo em O(1), como
+ * {@link grafo.digrafo.DigrafoVersionado}.
+ */
+public class GrafoNaoDirecionadoVersionado extends GrafoNaoDirecionado {
+	private static final String MSG_INSTANTANEO = "Instantâneo do grafo não pode ser alterado";
+
+	private MapaPersistente<Vertice, Incidencias> vertices = MapaPersistente.vazio();
+	private MapaPersistente<String, Aresta> arestas = MapaPersistente.vazio();
+	/**
+	 * Dono dos nós criados desde o último instantâneo, ou null se este grafo for
+	 * um instantâneo.
+	 */
+	private Object versao;
+
+	/**
+	 * Arestas incidentes a um vértice e o seu grau, em que laços contam duas
+	 * vezes. Também é alterada no lugar quando pertence à versão atual.
+	 */
+	private static final class Incidencias {
+		private final Object dono;
+		private MapaPersistente<String, Aresta> arestas;
+		private long grau;
+
+		Incidencias(Object dono, MapaPersistente<String, Aresta> arestas, long grau) {
+			this.dono = dono;
+			this.arestas = arestas;
+			this.grau = grau;
+		}
+	}
+
+	public GrafoNaoDirecionadoVersionado() {
+		super(Indexacao.VERSIONADA);
+		this.versao = new Object();
+	}
+
+	private GrafoNaoDirecionadoVersionado(GrafoNaoDirecionadoVersionado original) {
+		super(original);
+		this.vertices = original.vertices;
+		this.arestas = original.arestas;
+		this.versao = null;
+	}
+
+	/**
+	 * Tira um instantâneo do estado atual do grafo em O(1).
+	 *
+	 * @return um grafo somente leitura com o estado atual, ou este mesmo grafo se
+	 *         ele já for um instantâneo
+	 * @see grafo.digrafo.DigrafoVersionado#instantaneo()
+	 */
+	public synchronized GrafoNaoDirecionadoVersionado instantaneo() {
+		if (ehInstantaneo()) {
+			return this;
+		}
+		GrafoNaoDirecionadoVersionado instantaneo = new GrafoNaoDirecionadoVersionado(this);
+		versao = new Object();
+		return instantaneo;
+	}
+
+	public final boolean ehInstantaneo() {
+		return versao == null;
+	}
+
+	/**
+	 * Troca a versão, para que as próximas alterações copiem os nós em vez de
+	 * alterá-los no lugar. Assim os mapas lidos em seguida não mudam e podem ser
+	 * percorridos enquanto o grafo é alterado, inclusive pela mesma thread.
+	 */
+	private synchronized void encerrarVersao() {
+		if (!ehInstantaneo()) {
+			versao = new Object();
+		}
+	}
+
+	private void verificarAlteravel() {
+		if (ehInstantaneo()) {
+			throw new UnsupportedOperationException(MSG_INSTANTANEO);
+		}
+	}
+
+	@Override
+	public synchronized void addAresta(Aresta aresta) {
+		checkNotNull(aresta, MSG_ARESTA_NULA);
+		verificarAlteravel();
+		checkArgument(!arestas.contem(aresta.label()), MSG_ARESTA_EXISTE);
+
+		addVertice(aresta.origem());
+		addVertice(aresta.destino());
+		inserirAresta(aresta);
+	}
+
+	@Override
+	protected synchronized void inserirAresta(Aresta aresta) {
+		verificarAlteravel();
+		arestas = arestas.com(aresta.label(), aresta, versao);
+		Incidencias origem = editavel(aresta.origem());
+		origem.arestas = origem.arestas.com(aresta.label(), aresta, versao);
+		origem.grau++;
+		Incidencias destino = editavel(aresta.destino());
+		destino.arestas = destino.arestas.com(aresta.label(), aresta, versao);
+		destino.grau++;
+	}
+
+	/**
+	 * Retorna as incidências do vértice que podem ser alteradas no lugar,
+	 * copiando-as para a versão atual se forem de uma versão anterior.
+	 */
+	private Incidencias editavel(Vertice vertice) {
+		Incidencias incidencias = vertices.get(vertice);
+		if (incidencias.dono != versao) {
+			incidencias = new Incidencias(versao, incidencias.arestas, incidencias.grau);
+			vertices = vertices.com(vertice, incidencias, versao);
+		}
+		return incidencias;
+	}
+
+	@Override
+	protected void reservar(int verticesAdicionais, int arestasAdicionais) {
+	}
+
+	@Override
+	public Set<Aresta> encontrarArestas(Vertice origem, Vertice destino) {
+		checkNotNull(origem, MSG_VERTICE_NULO);
+		checkNotNull(destino, MSG_VERTICE_NULO);
+		checkArgument(existeVertice(origem), MSG_VERTICE_NAO_EXISTE);
+		checkArgument(existeVertice(destino), MSG_VERTICE_NAO_EXISTE);
+
+		return vertices.get(origem)
+					   .arestas
+					   .valores()
+					   .stream()
+					   .filter(aresta -> aresta.conecta(origem, destino))
+					   .collect(Collectors.toSet());
+	}
+
+	@Override
+	public synchronized Vertice addVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		verificarAlteravel();
+		if (!vertices.contem(vertice)) {
+			registrarVertice(vertice);
+			vertices = vertices.com(vertice, new Incidencias(versao, MapaPersistente.vazio(), 0), versao);
+		}
+		return vertice;
+	}
+
+	@Override
+	public synchronized void removeVertice(Vertice vertice) {
+		checkNotNull(vertice, MSG_VERTICE_NULO);
+		verificarAlteravel();
+
+		Incidencias incidencias = vertices.get(vertice);
+		if (incidencias == null) {
+			return;
+		}
+		// As incidências podem ser alteradas no lugar pelas remoções
+		for (Aresta aresta : ImmutableList.copyOf(incidencias.arestas.valores())) {
+			removeAresta(aresta.label());
+		}
+		vertices = vertices.sem(vertice, versao);
+		liberarVertice(vertice);
+	}
+
+	@Override
+	public synchronized Set<Aresta> getArestas() {
+		encerrarVersao();
+		MapaPersistente<String, Aresta> congeladas = arestas;
+		return new AbstractSet<>() {
+			@Override
+			public boolean contains(Object objeto) {
+				return objeto instanceof Aresta aresta && aresta.equals(congeladas.get(aresta.label()));
+			}
+
+			@Override
+			public Iterator<Aresta> iterator() {
+				return congeladas.valores().iterator();
+			}
+
+			@Override
+			public int size() {
+				return congeladas.tamanho();
+			}
+		};
+	}
+
+	@Override
+	public synchronized Set<Vertice> getVertices() {
+		encerrarVersao();
+		MapaPersistente<Vertice, Incidencias> congelados = vertices;
+		return new AbstractSet<>() {
+			@Override
+			public boolean contains(Object objeto) {
+				return objeto != null && congelados.contem(objeto);
+			}
+
+			@Override
+			public Iterator<Vertice> iterator() {
+				return congelados.chaves().iterator();
+			}
+
+			@Override
+			public int size() {
+				return congelados.tamanho();
+			}
+		};
+	}
+
+	/**
+	 * Consulta o mapa atual sem trocar a versão, ao contrário de
+	 * {@link #getVertices()}.
+	 */
+	@Override
+	protected boolean contemVertice(Vertice vertice) {
+		return vertices.contem(vertice);
+	}
+
+	@Override
+	public Aresta encontrarAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		return arestas.get(label);
+	}
+
+	@Override
+	public synchronized void removeAresta(String label) {
+		checkNotNull(label, MSG_ARESTA_NULA);
+		verificarAlteravel();
+
+		Aresta aresta = arestas.get(label);
+		if (aresta != null) {
+			arestas = arestas.sem(label, versao);
+			Incidencias origem = editavel(aresta.origem());
+			origem.arestas = origem.arestas.sem(label, versao);
+			origem.grau--;
+			Incidencias destino = editavel(aresta.destino());
+			destino.arestas = destino.arestas.sem(label, versao);
+			destino.grau--;
+		}
+	}
+
+	@Override
+	protected synchronized Iterable<Aresta> arestasIncidentes(Vertice vertice, Direcao direcao) {
+		encerrarVersao();
+		return vertices.get(vertice).arestas.valores();
+	}
+
+	@Override
+	protected long grau(Vertice vertice) {
+		Incidencias incidencias = vertices.get(vertice);
+		return incidencias == null ? 0 : incidencias.grau;
+	}
+
+	@Override
+	protected Grafo novaInstancia() {
+		return new GrafoNaoDirecionadoVersionado();
+	}
+}
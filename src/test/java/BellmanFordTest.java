@@ -0,0 +1,161 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Vertice;
+import grafo.algoritmos.BellmanFord;
+import grafo.algoritmos.BellmanFord.Estrategia;
+import grafo.algoritmos.Dijkstra;
+import grafo.digrafo.Digrafo;
+
+@ParameterizedClass
+@MethodSource("Provider#digrafos")
+public class BellmanFordTest {
+	@Parameter
+	Digrafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void pesosNegativosTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		Vertice verticeE = grafo.addVertice(new Vertice("E"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB, 4.0),
+				new Aresta("AC", verticeA, verticeC, 5.0),
+				new Aresta("CB", verticeC, verticeB, -3.0),
+				new Aresta("BD", verticeB, verticeD, 2.0),
+				new Aresta("EA", verticeE, verticeA, -10.0));
+
+		for (Estrategia estrategia : Estrategia.values()) {
+			BellmanFord bellmanFord = new BellmanFord(grafo, verticeA, estrategia);
+
+			assertFalse(bellmanFord.temCicloNegativo());
+			assertEquals(2.0, bellmanFord.getDistanciaEntre(verticeB), 0.001);
+			assertEquals(4.0, bellmanFord.getDistanciaEntre(verticeD), 0.001);
+			assertEquals(List.of(verticeA, verticeC, verticeB, verticeD), bellmanFord.getCaminhoAte(verticeD));
+			assertFalse(bellmanFord.existeCaminhoAte(verticeE));
+			assertTrue(bellmanFord.getCaminhoAte(verticeE).isEmpty());
+			assertTrue(bellmanFord.getCicloNegativo().isEmpty());
+		}
+	}
+
+	@Test
+	void cicloNegativoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		Vertice verticeE = grafo.addVertice(new Vertice("E"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, 2.0),
+				new Aresta("CD", verticeC, verticeD, -1.0),
+				new Aresta("DB", verticeD, verticeB, -2.0),
+				new Aresta("DE", verticeD, verticeE, 1.0));
+
+		for (Estrategia estrategia : Estrategia.values()) {
+			BellmanFord bellmanFord = new BellmanFord(grafo, verticeA, estrategia);
+			List<Vertice> ciclo = bellmanFord.getCicloNegativo();
+			List<Aresta> arestas = bellmanFord.getArestasDoCicloNegativo();
+
+			assertTrue(bellmanFord.temCicloNegativo(), "A estratégia " + estrategia + " deve achar o ciclo");
+			assertEquals(3, ciclo.size());
+			assertTrue(ciclo.containsAll(List.of(verticeB, verticeC, verticeD)));
+			assertEquals(-1.0, arestas.stream().mapToDouble(Aresta::peso).sum(), 0.001);
+			for (int i = 0; i < ciclo.size(); i++) {
+				assertEquals(ciclo.get(i), arestas.get(i).origem());
+				assertEquals(ciclo.get((i + 1) % ciclo.size()), arestas.get(i).destino());
+			}
+			assertThrows(IllegalStateException.class, () -> bellmanFord.getDistanciaEntre(verticeE));
+		}
+	}
+
+	@Test
+	void cicloNegativoInalcancavelTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, -5.0),
+				new Aresta("CB", verticeC, verticeB, 1.0),
+				new Aresta("CD", verticeC, verticeD, 1.0));
+
+		for (Estrategia estrategia : Estrategia.values()) {
+			assertTrue(new BellmanFord(grafo, verticeA, estrategia).temCicloNegativo());
+
+			BellmanFord bellmanFord = new BellmanFord(grafo, verticeD, estrategia);
+			assertFalse(bellmanFord.temCicloNegativo(), "O ciclo não é alcançável a partir de D");
+			assertEquals(0.0, bellmanFord.getDistanciaEntre(verticeD), 0.001);
+			assertFalse(bellmanFord.existeCaminhoAte(verticeB));
+		}
+	}
+
+	@Test
+	void igualAoDijkstraTest() {
+		Random random = new Random(17);
+		Vertice[] vertices = new Vertice[150];
+		for (int i = 0; i < vertices.length; i++) {
+			vertices[i] = grafo.addVertice(new Vertice("V" + i));
+		}
+		for (int i = 0; i < 600; i++) {
+			grafo.addAresta(new Aresta("E" + i, vertices[random.nextInt(vertices.length)],
+					vertices[random.nextInt(vertices.length)], random.nextInt(50)));
+		}
+
+		Dijkstra dijkstra = new Dijkstra(grafo, vertices[0]);
+		for (Estrategia estrategia : Estrategia.values()) {
+			BellmanFord bellmanFord = new BellmanFord(grafo, vertices[0], estrategia);
+			for (Vertice vertice : vertices) {
+				assertEquals(dijkstra.getDistanciaEntre(vertice), bellmanFord.getDistanciaEntre(vertice), 0.001);
+			}
+		}
+	}
+
+	@Test
+	void estrategiasConcordamEmGrafoGrandeTest() {
+		Random random = new Random(23);
+		Vertice[] vertices = new Vertice[3000];
+		for (int i = 0; i < vertices.length; i++) {
+			vertices[i] = grafo.addVertice(new Vertice("V" + i));
+		}
+		// Arestas só de ids menores para maiores, então não há ciclos
+		for (int i = 0; i < 12000; i++) {
+			int origem = random.nextInt(vertices.length - 1);
+			int destino = origem + 1 + random.nextInt(Math.min(50, vertices.length - origem - 1));
+			grafo.addAresta(new Aresta("E" + i, vertices[origem], vertices[destino], random.nextInt(100) - 60));
+		}
+
+		BellmanFord rodadas = new BellmanFord(grafo, vertices[0], Estrategia.RODADAS);
+		BellmanFord fila = new BellmanFord(grafo, vertices[0], Estrategia.FILA);
+		BellmanFord paralela = new BellmanFord(grafo, vertices[0], Estrategia.PARALELA);
+
+		assertFalse(paralela.temCicloNegativo());
+		for (Vertice vertice : vertices) {
+			assertEquals(rodadas.getDistanciaEntre(vertice), fila.getDistanciaEntre(vertice), 0.001);
+			assertEquals(rodadas.getDistanciaEntre(vertice), paralela.getDistanciaEntre(vertice), 0.001);
+		}
+	}
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.params.ParameterizedClass;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,4 +88,87 @@ public class BellmoreNemhauserTest {
         System.out.println("Caminho: " + caminho);
         System.out.println("Custo: " + custo);
     }
+
+    @Test
+    void testParaleloIgualAoSequencial() {
+        Random random = new Random(7);
+        Vertice[] vertices = new Vertice[9];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = grafo.addVertice(new Vertice("V" + i));
+        }
+        for (int i = 0; i < vertices.length; i++) {
+            for (int j = i + 1; j < vertices.length; j++) {
+                grafo.addAresta(new Aresta("V" + i + "V" + j, vertices[i], vertices[j], 1 + random.nextInt(5)));
+            }
+        }
+
+        BellmoreNemhauser sequencial = new BellmoreNemhauser(grafo, vertices[0]);
+        BellmoreNemhauser paralelo = new BellmoreNemhauser(grafo, vertices[0],
+                BellmoreNemhauser.Configuracao.padrao().comParalelismo(4));
+
+        assertEquals(sequencial.getMelhorCusto(), paralelo.getMelhorCusto(),
+                "O custo deve ser o mesmo com e sem paralelismo");
+        assertEquals(sequencial.getCaminhoHamiltonianoVertices(), paralelo.getCaminhoHamiltonianoVertices(),
+                "O ciclo deve ser o mesmo com e sem paralelismo");
+    }
+
+    @Test
+    void testArestasParalelasUsamAMaisBarata() {
+        Vertice v1 = grafo.addVertice(new Vertice("1"));
+        Vertice v2 = grafo.addVertice(new Vertice("2"));
+        Vertice v3 = grafo.addVertice(new Vertice("3"));
+
+        Aresta barata = new Aresta("12b", v1, v2, 1.0);
+        grafo.addArestas(
+                new Aresta("12a", v1, v2, 9.0),
+                barata,
+                new Aresta("13", v1, v3, 4.0),
+                new Aresta("23", v2, v3, 2.0));
+
+        BellmoreNemhauser bellmoreNemhauser = new BellmoreNemhauser(grafo, v1);
+
+        assertEquals(7.0, bellmoreNemhauser.getMelhorCusto(), 0.001, "Custo mínimo deve usar a aresta 12b");
+        assertTrue(bellmoreNemhauser.getCaminhoHamiltonianoArestas().contains(barata),
+                "O ciclo deve usar a aresta mais barata entre 1 e 2");
+    }
+
+    @Test
+    void testLimitesEncontramOMesmoCiclo() {
+        Random random = new Random(11);
+        Vertice[] vertices = new Vertice[10];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = grafo.addVertice(new Vertice("V" + i));
+        }
+        for (int i = 0; i < vertices.length; i++) {
+            for (int j = i + 1; j < vertices.length; j++) {
+                if (j == i + 1 || random.nextInt(5) > 0) {
+                    grafo.addAresta(new Aresta("V" + i + "V" + j, vertices[i], vertices[j], 1 + random.nextInt(20)));
+                }
+            }
+        }
+
+        // O limite simples é a referência com a mesma configuração de incumbente,
+        // para que a diferença de nós explorados venha só do limite
+        for (boolean incumbenteInicial : new boolean[] { false, true }) {
+            BellmoreNemhauser.Configuracao configuracao = BellmoreNemhauser.Configuracao.padrao()
+                    .comIncumbenteInicial(incumbenteInicial);
+            BellmoreNemhauser referencia = new BellmoreNemhauser(grafo, vertices[0],
+                    configuracao.comLimite(BellmoreNemhauser.Limite.SIMPLES));
+
+            for (BellmoreNemhauser.Limite limite : BellmoreNemhauser.Limite.values()) {
+                BellmoreNemhauser bellmoreNemhauser = new BellmoreNemhauser(grafo, vertices[0],
+                        configuracao.comLimite(limite));
+
+                assertEquals(referencia.getMelhorCusto(), bellmoreNemhauser.getMelhorCusto(),
+                        "O custo com o limite " + limite + " deve ser o mesmo");
+                assertEquals(referencia.getCaminhoHamiltonianoVertices(), bellmoreNemhauser.getCaminhoHamiltonianoVertices(),
+                        "O ciclo com o limite " + limite + " deve ser o mesmo");
+                if (limite != BellmoreNemhauser.Limite.SIMPLES) {
+                    assertTrue(bellmoreNemhauser.getNosExplorados() < referencia.getNosExplorados(),
+                            "O limite " + limite + " deve explorar menos nós que o simples, com incumbente inicial "
+                                    + incumbenteInicial);
+                }
+            }
+        }
+    }
 }
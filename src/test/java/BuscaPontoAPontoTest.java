@@ -0,0 +1,149 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+import grafo.algoritmos.AEstrela;
+import grafo.algoritmos.BFS;
+import grafo.algoritmos.BFSBidirecional;
+import grafo.algoritmos.Dijkstra;
+import grafo.algoritmos.DijkstraBidirecional;
+import grafo.algoritmos.Heuristica;
+import grafo.algoritmos.PontosDeReferencia;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class BuscaPontoAPontoTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void bfsBidirecionalTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 300, 700, 11);
+		GrafoCongelado congelado = grafo.congelar();
+
+		for (int i = 1; i < 40; i++) {
+			BFS bfs = new BFS(congelado, vertices[0]);
+			BFSBidirecional bidirecional = new BFSBidirecional(congelado, vertices[0], vertices[i]);
+			List<Vertice> caminho = bidirecional.getCaminho();
+
+			assertEquals(bfs.existeCaminhoAte(vertices[i]), bidirecional.existeCaminho());
+			if (bidirecional.existeCaminho()) {
+				assertEquals(bfs.getDistanciaEntre(vertices[i]), bidirecional.getDistancia(), 0.001);
+				assertEquals(bfs.getDistanciaEntre(vertices[i]) + 1, caminho.size());
+				assertEquals(vertices[0], caminho.getFirst());
+				assertEquals(vertices[i], caminho.getLast());
+				for (int j = 1; j < caminho.size(); j++) {
+					assertTrue(grafo.existeAresta(caminho.get(j - 1), caminho.get(j)), "O caminho deve seguir as arestas");
+				}
+			}
+		}
+	}
+
+	@Test
+	void dijkstraBidirecionalEAEstrelaTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 300, 1200, 5);
+		GrafoCongelado congelado = grafo.congelar();
+		PontosDeReferencia pontos = new PontosDeReferencia(congelado, 4);
+
+		for (int i = 1; i < 40; i++) {
+			Dijkstra dijkstra = new Dijkstra(congelado, vertices[0]);
+			double esperada = dijkstra.existeCaminhoAte(vertices[i]) ? dijkstra.getDistanciaEntre(vertices[i]) : -1;
+
+			verificar(new DijkstraBidirecional(congelado, vertices[0], vertices[i]), esperada, vertices[0], vertices[i]);
+			verificar(new AEstrela(congelado, vertices[0], vertices[i], Heuristica.nula()), esperada, vertices[0], vertices[i]);
+			verificar(new AEstrela(congelado, vertices[0], vertices[i], pontos), esperada, vertices[0], vertices[i]);
+			verificar(new AEstrela(grafo, vertices[0], vertices[i], pontos), esperada, vertices[0], vertices[i]);
+		}
+	}
+
+	@Test
+	void heuristicasFinalizamMenosVerticesTest() {
+		int lado = 30;
+		Vertice[][] grade = new Vertice[lado][lado];
+		for (int i = 0; i < lado; i++) {
+			for (int j = 0; j < lado; j++) {
+				grade[i][j] = grafo.addVertice(new Vertice(i + "," + j));
+				if (i > 0) {
+					grafo.addAresta(new Aresta(i + "," + j + "v", grade[i - 1][j], grade[i][j], 1.0));
+				}
+				if (j > 0) {
+					grafo.addAresta(new Aresta(i + "," + j + "h", grade[i][j - 1], grade[i][j], 1.0));
+				}
+			}
+		}
+		Heuristica manhattan = (vertice, destino) -> {
+			String[] de = vertice.label().split(",");
+			String[] ate = destino.label().split(",");
+			return Math.abs(Integer.parseInt(de[0]) - Integer.parseInt(ate[0]))
+					+ Math.abs(Integer.parseInt(de[1]) - Integer.parseInt(ate[1]));
+		};
+		Vertice origem = grade[0][0];
+		Vertice destino = grade[lado - 1][lado - 1];
+
+		Dijkstra dijkstra = new Dijkstra(grafo, origem, destino);
+		AEstrela aEstrela = new AEstrela(grafo, origem, destino, manhattan);
+		AEstrela alt = new AEstrela(grafo, origem, destino, new PontosDeReferencia(grafo, 4));
+
+		assertEquals(2.0 * (lado - 1), aEstrela.getDistancia(), 0.001);
+		assertEquals(2.0 * (lado - 1), alt.getDistancia(), 0.001);
+		assertTrue(aEstrela.getQuantidadeDeFinalizados() < dijkstra.getQuantidadeDeFinalizados());
+		assertTrue(alt.getQuantidadeDeFinalizados() < dijkstra.getQuantidadeDeFinalizados());
+	}
+
+	@Test
+	void semCaminhoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		grafo.addAresta(new Aresta("AB", verticeA, verticeB, 2.0));
+
+		assertFalse(new BFSBidirecional(grafo, verticeA, verticeC).existeCaminho());
+		assertFalse(new DijkstraBidirecional(grafo, verticeA, verticeC).existeCaminho());
+		assertFalse(new AEstrela(grafo, verticeA, verticeC, Heuristica.nula()).existeCaminho());
+		assertEquals(-1, new DijkstraBidirecional(grafo, verticeA, verticeC).getDistancia());
+		assertTrue(new AEstrela(grafo, verticeA, verticeC, Heuristica.nula()).getCaminho().isEmpty());
+		assertEquals(List.of(verticeA), new DijkstraBidirecional(grafo, verticeA, verticeA).getCaminho());
+		assertEquals(List.of(verticeA), new BFSBidirecional(grafo, verticeA, verticeA).getCaminho());
+	}
+
+	private void verificar(DijkstraBidirecional busca, double esperada, Vertice origem, Vertice destino) {
+		verificar(busca.existeCaminho(), busca.getDistancia(), busca.getCaminho(), esperada, origem, destino);
+	}
+
+	private void verificar(AEstrela busca, double esperada, Vertice origem, Vertice destino) {
+		verificar(busca.existeCaminho(), busca.getDistancia(), busca.getCaminho(), esperada, origem, destino);
+	}
+
+	private void verificar(boolean existe, double distancia, List<Vertice> caminho, double esperada, Vertice origem,
+			Vertice destino) {
+		assertEquals(esperada != -1, existe);
+		assertEquals(esperada, distancia, 0.001);
+		if (existe) {
+			assertEquals(origem, caminho.getFirst());
+			assertEquals(destino, caminho.getLast());
+			double soma = 0.0;
+			for (int j = 1; j < caminho.size(); j++) {
+				soma += grafo.encontrarArestas(caminho.get(j - 1), caminho.get(j)).stream()
+						.mapToDouble(Aresta::peso).min().orElseThrow();
+			}
+			assertEquals(esperada, soma, 0.001, "O caminho deve somar a distância");
+		}
+	}
+}
@@ -0,0 +1,123 @@
+import grafo.Aresta;
+import grafo.Vertice;
+import grafo.algoritmos.CaixeiroViajanteHeuristico;
+import grafo.algoritmos.CaixeiroViajanteHeuristico.Configuracao;
+import grafo.algoritmos.CaixeiroViajanteHeuristico.Construcao;
+import grafo.algoritmos.HeldKarp;
+import grafo.nao_orientado.GrafoNaoDirecionado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ParameterizedClass
+@MethodSource("Provider#grafosNaoDirecionados")
+public class CaixeiroViajanteHeuristicoTest {
+    @Parameter
+    GrafoNaoDirecionado grafo;
+
+    @BeforeEach
+    void beforeEach() {
+        grafo.resetar();
+    }
+
+    private Vertice[] pontosAleatorios(int quantidade, long semente) {
+        Random random = new Random(semente);
+        Vertice[] vertices = new Vertice[quantidade];
+        double[] x = new double[quantidade];
+        double[] y = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            vertices[i] = grafo.addVertice(new Vertice("V" + i));
+            x[i] = random.nextDouble() * 100;
+            y[i] = random.nextDouble() * 100;
+            for (int j = 0; j < i; j++) {
+                grafo.addAresta(new Aresta("V" + j + "V" + i, vertices[j], vertices[i], Math.hypot(x[i] - x[j], y[i] - y[j])));
+            }
+        }
+        return vertices;
+    }
+
+    private void verificarCiclo(CaixeiroViajanteHeuristico heuristica, Vertice inicial, int quantidade) {
+        List<Vertice> caminho = heuristica.getCaminhoHamiltonianoVertices();
+        assertEquals(inicial, caminho.getFirst(), "Deve começar no vértice inicial");
+        assertEquals(inicial, caminho.getLast(), "Deve terminar no vértice inicial");
+        assertEquals(quantidade, caminho.stream().distinct().count(), "Deve passar por todos os vértices");
+        assertEquals(heuristica.getMelhorCusto(),
+                heuristica.getCaminhoHamiltonianoArestas().stream().mapToDouble(Aresta::peso).sum(), 0.001,
+                "As arestas devem somar o custo do ciclo");
+    }
+
+    @Test
+    void testSemCicloHamiltoniano() {
+        Vertice v1 = grafo.addVertice(new Vertice("1"));
+        Vertice v2 = grafo.addVertice(new Vertice("2"));
+        Vertice v3 = grafo.addVertice(new Vertice("3"));
+
+        grafo.addArestas(
+                new Aresta("12", v1, v2, 1.0),
+                new Aresta("23", v2, v3, 2.0));
+
+        CaixeiroViajanteHeuristico heuristica = new CaixeiroViajanteHeuristico(grafo, v1);
+
+        assertEquals(Double.MAX_VALUE, heuristica.getMelhorCusto(), "Um caminho não tem ciclo hamiltoniano");
+        assertTrue(heuristica.getCaminhoHamiltonianoVertices().isEmpty(), "Não deve haver ciclo");
+    }
+
+    @Test
+    void testSemOrcamentoRetornaConstrucao() {
+        Vertice[] vertices = pontosAleatorios(30, 3);
+
+        for (Construcao construcao : Construcao.values()) {
+            Configuracao configuracao = Configuracao.padrao()
+                    .comConstrucao(construcao)
+                    .comOrcamento(Duration.ZERO);
+            CaixeiroViajanteHeuristico heuristica = new CaixeiroViajanteHeuristico(grafo, vertices[7], configuracao);
+
+            assertEquals(heuristica.getCustoInicial(), heuristica.getMelhorCusto(), 0.001,
+                    "Sem orçamento, o ciclo deve ser o da construção " + construcao);
+            verificarCiclo(heuristica, vertices[7], vertices.length);
+        }
+    }
+
+    @Test
+    void testEncontraOOtimoEmInstanciaPequena() {
+        Vertice[] vertices = pontosAleatorios(11, 8);
+
+        double custoOtimo = new HeldKarp(grafo, vertices[0]).getMelhorCusto();
+
+        for (Construcao construcao : Construcao.values()) {
+            Configuracao configuracao = Configuracao.padrao()
+                    .comConstrucao(construcao)
+                    .comOrcamento(Duration.ofSeconds(5));
+            CaixeiroViajanteHeuristico heuristica = new CaixeiroViajanteHeuristico(grafo, vertices[0], configuracao);
+
+            assertEquals(custoOtimo, heuristica.getMelhorCusto(), 0.001,
+                    "A construção " + construcao + " deve chegar ao ótimo");
+            verificarCiclo(heuristica, vertices[0], vertices.length);
+        }
+    }
+
+    @Test
+    void testBuscaLocalMelhoraOCicloInicial() {
+        Vertice[] vertices = pontosAleatorios(150, 13);
+
+        for (Construcao construcao : Construcao.values()) {
+            Configuracao configuracao = Configuracao.padrao()
+                    .comConstrucao(construcao)
+                    .comVizinhos(8)
+                    .comOrcamento(Duration.ofMillis(300));
+            CaixeiroViajanteHeuristico heuristica = new CaixeiroViajanteHeuristico(grafo, vertices[42], configuracao);
+
+            assertTrue(heuristica.getMelhorCusto() < heuristica.getCustoInicial(),
+                    "A busca local deve melhorar o ciclo da construção " + construcao);
+            verificarCiclo(heuristica, vertices[42], vertices.length);
+        }
+    }
+}
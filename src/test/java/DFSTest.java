@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.algoritmos.DFS;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class DFSTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void temposTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("AD", verticeA, verticeD));
+
+		DFS.Resultado resultado = new DFS(grafo).getResultado();
+
+		Set<Integer> tempos = new HashSet<>();
+		for (Vertice vertice : grafo.getVertices()) {
+			int descoberto = resultado.descobertos().get(vertice);
+			int finalizado = resultado.finalizados().get(vertice);
+			assertTrue(descoberto < finalizado, "O vértice deve ser descoberto antes de ser finalizado");
+			tempos.add(descoberto);
+			tempos.add(finalizado);
+
+			Vertice antecessor = resultado.antecessores().get(vertice);
+			if (antecessor != null) {
+				assertTrue(grafo.getAdjacentes(antecessor).contains(vertice),
+						"O antecessor deve ter aresta para o vértice");
+				assertTrue(resultado.descobertos().get(antecessor) < descoberto
+						&& finalizado < resultado.finalizados().get(antecessor),
+						"O intervalo do vértice deve estar contido no do antecessor");
+			}
+		}
+		assertEquals(8, tempos.size(), "Os tempos devem ir de 1 a 8 sem repetição");
+	}
+
+	@Test
+	void ciclosTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CA", verticeC, verticeA),
+				new Aresta("DD", verticeD, verticeD));
+
+		List<List<Vertice>> ciclos = new DFS(grafo).getCiclos();
+
+		assertEquals(2, ciclos.size(), "Devem existir dois ciclos: o triângulo e o laço");
+		assertTrue(ciclos.contains(List.of(verticeD)), "O laço em D deve ser um ciclo");
+		assertTrue(ciclos.stream().anyMatch(ciclo -> Set.copyOf(ciclo).equals(Set.of(verticeA, verticeB, verticeC))
+				&& ciclo.size() == 3), "O triângulo ABC deve ser um ciclo");
+	}
+
+	@Test
+	void cadeiaLongaTest() {
+		Vertice anterior = grafo.addVertice(new Vertice("V0"));
+		for (int i = 1; i < 10_000; i++) {
+			Vertice atual = new Vertice("V" + i);
+			grafo.addAresta(new Aresta("A" + i, anterior, atual));
+			anterior = atual;
+		}
+
+		DFS dfs = new DFS(grafo);
+
+		assertEquals(10_000, dfs.getResultado().finalizados().size(), "Todos os vértices devem ser finalizados");
+		assertTrue(dfs.getCiclos().isEmpty(), "Uma cadeia não tem ciclos");
+	}
+}
@@ -0,0 +1,198 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.io.DiarioDeMutacoes;
+import grafo.io.DiarioDeMutacoes.Configuracao;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class DiarioDeMutacoesTest {
+	@Parameter
+	Grafo grafo;
+
+	@TempDir
+	Path diretorio;
+
+	Supplier<Grafo> fabrica;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+		fabrica = grafo::clonar;
+	}
+
+	@Test
+	void recuperaAposFecharTest() throws IOException {
+		Grafo esperado;
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica)) {
+			alterar(diario, 40, 150);
+			esperado = diario.getGrafo().clonar();
+		}
+
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica)) {
+			assertEquals(esperado, diario.getGrafo());
+		}
+	}
+
+	@Test
+	void alteracaoInvalidaNaoEhRegistradaTest() throws IOException {
+		Vertice a = new Vertice("A");
+		Vertice b = new Vertice("B");
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica)) {
+			diario.addAresta(new Aresta("AB", a, b, 1.0));
+			diario.sincronizar();
+			long tamanho = Files.size(diretorio.resolve("diario-0.log"));
+			assertThrows(IllegalArgumentException.class, () -> diario.addAresta(new Aresta("AB", b, a, 2.0)));
+			diario.sincronizar();
+			assertEquals(tamanho, Files.size(diretorio.resolve("diario-0.log")));
+		}
+
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica)) {
+			assertEquals(1, diario.getGrafo().getArestas().size());
+			assertEquals(a, diario.getGrafo().encontrarAresta("AB").origem());
+		}
+	}
+
+	@Test
+	void descartaRegistroIncompletoTest() throws IOException {
+		Path copia = diretorio.resolve("copia");
+		Files.createDirectories(copia);
+		Grafo esperado;
+		DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio.resolve("original"), fabrica);
+		alterar(diario, 20, 60);
+		diario.sincronizar();
+		esperado = diario.getGrafo().clonar();
+		// Simula uma queda: copia os arquivos como estão, com um registro escrito pela metade
+		try (Stream<Path> arquivos = Files.list(diretorio.resolve("original"))) {
+			for (Path arquivo : arquivos.toList()) {
+				Files.copy(arquivo, copia.resolve(arquivo.getFileName()));
+			}
+		}
+		Path log = copia.resolve("diario-0.log");
+		long tamanho = Files.size(log);
+		Files.write(log, new byte[] { 0, 0, 0, 40, 1, 2, 3, 4, 3, 0 }, StandardOpenOption.APPEND);
+		diario.close();
+
+		try (DiarioDeMutacoes<Grafo> recuperado = DiarioDeMutacoes.abrir(copia, fabrica)) {
+			assertEquals(esperado, recuperado.getGrafo());
+			assertEquals(tamanho, Files.size(log));
+		}
+	}
+
+	@Test
+	void compactaEmInstantaneoTest() throws IOException {
+		Configuracao configuracao = Configuracao.padrao().comBytesParaCompactar(4096);
+		Grafo esperado;
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica, configuracao)) {
+			alterar(diario, 60, 400);
+			esperado = diario.getGrafo().clonar();
+		}
+
+		List<String> nomes;
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			nomes = arquivos.map(arquivo -> arquivo.getFileName().toString()).sorted().toList();
+		}
+		assertEquals(2, nomes.size());
+		assertTrue(nomes.get(0).startsWith("diario-") && !nomes.get(0).equals("diario-0.log"));
+		assertTrue(nomes.get(1).startsWith("instantaneo-"));
+		assertTrue(Files.size(diretorio.resolve(nomes.get(0))) < 4096);
+
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica, configuracao)) {
+			assertEquals(esperado, diario.getGrafo());
+			diario.removeVertice(new Vertice("V0"));
+			esperado.removeVertice(new Vertice("V0"));
+			diario.compactar();
+		}
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica, configuracao)) {
+			assertEquals(esperado, diario.getGrafo());
+		}
+	}
+
+	@Test
+	void escritoresConcorrentesTest() throws Exception {
+		int threads = 4;
+		int arestasPorThread = 100;
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica)) {
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			List<Future<?>> tarefas = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				tarefas.add(executor.submit(() -> {
+					for (int i = 0; i < arestasPorThread; i++) {
+						diario.addAresta(new Aresta("T" + thread + "E" + i, new Vertice("T" + thread + "V" + i),
+								new Vertice("T" + thread + "V" + (i + 1)), i));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> tarefa : tarefas) {
+				tarefa.get();
+			}
+			executor.shutdown();
+		}
+
+		try (DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica)) {
+			assertEquals(threads * arestasPorThread, diario.getGrafo().getArestas().size());
+			assertEquals(threads * (arestasPorThread + 1), diario.getGrafo().getVertices().size());
+		}
+	}
+
+	@Test
+	void lotesSemSincronizarCadaAlteracaoTest() throws IOException {
+		Configuracao configuracao = Configuracao.padrao().comSincronizarCadaAlteracao(false).comBytesPorLote(256);
+		DiarioDeMutacoes<Grafo> diario = DiarioDeMutacoes.abrir(diretorio, fabrica, configuracao);
+		alterar(diario, 30, 100);
+		// Lotes cheios já foram escritos antes do fechamento
+		assertTrue(Files.size(diretorio.resolve("diario-0.log")) > 0);
+		Grafo esperado = diario.getGrafo().clonar();
+		diario.close();
+		assertThrows(IllegalStateException.class, () -> diario.addVertice(new Vertice("X")));
+
+		try (DiarioDeMutacoes<Grafo> recuperado = DiarioDeMutacoes.abrir(diretorio, fabrica, configuracao)) {
+			assertEquals(esperado, recuperado.getGrafo());
+		}
+	}
+
+	private void alterar(DiarioDeMutacoes<Grafo> diario, int quantidadeDeVertices, int quantidadeDeArestas)
+			throws IOException {
+		Random random = new Random(5);
+		Vertice[] vertices = new Vertice[quantidadeDeVertices];
+		for (int i = 0; i < vertices.length; i++) {
+			vertices[i] = new Vertice("V" + i);
+			diario.addVertice(vertices[i]);
+		}
+		for (int i = 0; i < quantidadeDeArestas; i++) {
+			diario.addAresta(new Aresta("E" + i, vertices[random.nextInt(vertices.length)],
+					vertices[random.nextInt(vertices.length)], random.nextInt(100) / 4.0));
+		}
+		for (int i = 0; i < quantidadeDeArestas; i += 7) {
+			diario.removeAresta("E" + i);
+		}
+		diario.removeVertice(vertices[vertices.length - 1]);
+		diario.addVertice(new Vertice("isolado ç"));
+	}
+}
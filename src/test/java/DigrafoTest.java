@@ -1,4 +1,8 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.util.Set;
 
@@ -8,9 +12,14 @@ import org.junit.jupiter.params.Parameter;
 import org.junit.jupiter.params.ParameterizedClass;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Vertice;
 import grafo.digrafo.Digrafo;
+import grafo.digrafo.DigrafoPorMatriz;
 
 @ParameterizedClass
 @MethodSource("Provider#digrafos")
@@ -49,6 +58,96 @@ public class DigrafoTest {
 		assertEquals(0, grafo.getGrauDeSaida(verticeD), "Grau de saída do vértice D deve ser 0");
 	}
 
+	@Test
+	void sequenciaDeGrausTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("AC", verticeA, verticeC),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CC", verticeC, verticeC));
+
+		assertArrayEquals(new long[] { 3, 1, 0 }, grafo.sequenciaDeGrausDeEntrada(),
+				"Sequência de graus de entrada deve ser 3, 1, 0");
+		assertArrayEquals(new long[] { 2, 1, 1 }, grafo.sequenciaDeGrausDeSaida(),
+				"Sequência de graus de saída deve ser 2, 1, 1");
+
+		grafo.removeVertice(verticeA);
+		assertArrayEquals(new long[] { 2, 0 }, grafo.sequenciaDeGrausDeEntrada(),
+				"Sequência de graus de entrada deve ser 2, 0");
+		assertArrayEquals(new long[] { 1, 1 }, grafo.sequenciaDeGrausDeSaida(),
+				"Sequência de graus de saída deve ser 1, 1");
+	}
+
+	@Test
+	void getGrauAposRemocaoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("CB", verticeC, verticeB),
+				new Aresta("BC", verticeB, verticeC));
+
+		grafo.removeAresta("CB");
+		assertEquals(1, grafo.getGrauDeEntrada(verticeB), "Grau de entrada do vértice B deve ser 1");
+		assertEquals(0, grafo.getGrauDeSaida(verticeC), "Grau de saída do vértice C deve ser 0");
+
+		grafo.removeVertice(verticeB);
+		assertEquals(0, grafo.getGrauDeSaida(verticeA), "Grau de saída do vértice A deve ser 0 após remover B");
+		assertEquals(0, grafo.getGrauDeEntrada(verticeC), "Grau de entrada do vértice C deve ser 0 após remover B");
+	}
+
+	@Test
+	void getVizinhosTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		Aresta arestaAB = new Aresta("AB", verticeA, verticeB);
+		Aresta arestaCA = new Aresta("CA", verticeC, verticeA);
+		Aresta arestaAA = new Aresta("AA", verticeA, verticeA);
+
+		grafo.addArestas(arestaAB, arestaCA, arestaAA);
+
+		assertEquals(Set.of(verticeA, verticeB), Sets.newHashSet(grafo.getVizinhos(verticeA, Direcao.SAIDA)),
+				"Vizinhos de saída de A devem ser A e B");
+		assertEquals(Set.of(verticeA, verticeC), Sets.newHashSet(grafo.getVizinhos(verticeA, Direcao.ENTRADA)),
+				"Vizinhos de entrada de A devem ser A e C");
+		assertEquals(3, Iterables.size(grafo.getArestasIncidentes(verticeA, Direcao.AMBAS)),
+				"A deve ter 3 arestas incidentes, com o laço contado uma vez");
+		assertEquals(Set.of(verticeA), grafo.getAdjacentes(verticeC), "C deve ser adjacente apenas a A");
+	}
+
+	@Test
+	void removeVerticeComPredecessoresTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		Aresta arestaBC = new Aresta("BC", verticeB, verticeC);
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				arestaBC,
+				new Aresta("CA", verticeC, verticeA),
+				new Aresta("AA", verticeA, verticeA));
+
+		assertEquals(Set.of(verticeA, verticeC), Sets.newHashSet(grafo.getVizinhos(verticeA, Direcao.ENTRADA)),
+				"Predecessores de A devem ser A e C");
+
+		grafo.removeVertice(verticeA);
+
+		assertEquals(Set.of(arestaBC), grafo.getArestas(), "Apenas a aresta BC deve restar");
+		assertEquals(0, grafo.getGrauDeEntrada(verticeB), "Grau de entrada do vértice B deve ser 0");
+		assertEquals(0, Iterables.size(grafo.getVizinhos(verticeC, Direcao.SAIDA)), "C não deve ter sucessores");
+		assertEquals(Set.of(verticeB), Sets.newHashSet(grafo.getVizinhos(verticeC, Direcao.ENTRADA)),
+				"O único predecessor de C deve ser B");
+	}
+
 	@Test
 	void getArestasTest() {
 		Vertice verticeA = grafo.addVertice(new Vertice("A"));
@@ -71,4 +170,47 @@ public class DigrafoTest {
 		assertEquals(1, grafo.encontrarArestas(verticeB, verticeC).size(), "O grafo deve ter 1 aresta BC.");
 	}
 
+	@Test
+	void sucessoresEmComumTest() {
+		assumeTrue(grafo instanceof DigrafoPorMatriz, "Apenas a representação por matriz");
+		DigrafoPorMatriz matriz = (DigrafoPorMatriz) grafo;
+
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AC", verticeA, verticeC),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("AD", verticeA, verticeD),
+				new Aresta("DB", verticeD, verticeB));
+
+		assertEquals(Set.of(verticeC), matriz.sucessoresEmComum(verticeA, verticeB),
+				"O único sucessor em comum de A e B deve ser C");
+		assertEquals(Set.of(), matriz.sucessoresEmComum(verticeC, verticeD),
+				"C e D não devem ter sucessores em comum");
+	}
+
+	@Test
+	void ehEulerianoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CA", verticeC, verticeA));
+
+		assertTrue(grafo.ehEuleriano(), "Um ciclo orientado deve ser Euleriano");
+		assertTrue(grafo.ehSemiEuleriano(), "Um grafo Euleriano também é semi-Euleriano");
+
+		grafo.addAresta(new Aresta("AC", verticeA, verticeC));
+		assertFalse(grafo.ehEuleriano(), "Com AC, A e C ficam desbalanceados");
+		assertTrue(grafo.ehSemiEuleriano(), "Com AC, existe um caminho euleriano de A até C");
+
+		grafo.addAresta(new Aresta("AB2", verticeA, verticeB));
+		assertFalse(grafo.ehSemiEuleriano(), "A com duas saídas a mais não permite caminho euleriano");
+	}
 }
@@ -0,0 +1,136 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.algoritmos.Dijkstra;
+import grafo.digrafo.Digrafo;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class DijkstraTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void caminhoMaisLeveTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		grafo.addVertice(new Vertice("E"));
+
+		grafo.addArestas(
+				new Aresta("AD", verticeA, verticeD, 10.0),
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, 2.0),
+				new Aresta("CD", verticeC, verticeD, 3.0),
+				new Aresta("CD2", verticeC, verticeD, 1.5));
+
+		Dijkstra dijkstra = new Dijkstra(grafo, verticeA);
+
+		assertEquals(4.5, dijkstra.getDistanciaEntre(verticeD), 0.001);
+		assertEquals(List.of(verticeA, verticeB, verticeC, verticeD), dijkstra.getCaminhoAte(verticeD));
+		assertEquals(List.of("AB", "BC", "CD2"),
+				dijkstra.getArestasAte(verticeD).stream().map(Aresta::label).toList());
+		assertEquals(0.0, dijkstra.getDistanciaEntre(verticeA), 0.001);
+		assertEquals(List.of(verticeA), dijkstra.getCaminhoAte(verticeA));
+		assertFalse(dijkstra.existeCaminhoAte(new Vertice("E")));
+		assertEquals(Double.POSITIVE_INFINITY, dijkstra.getDistanciaEntre(new Vertice("E")));
+		assertTrue(dijkstra.getCaminhoAte(new Vertice("E")).isEmpty());
+	}
+
+	@Test
+	void pontoAPontoTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 200, 800, 3);
+
+		Dijkstra completo = new Dijkstra(grafo, vertices[0]);
+		Dijkstra pontoAPonto = new Dijkstra(grafo, vertices[0], vertices[1]);
+
+		assertEquals(completo.getDistanciaEntre(vertices[1]), pontoAPonto.getDistanciaEntre(vertices[1]), 0.001);
+		assertEquals(completo.getCaminhoAte(vertices[1]).size(), pontoAPonto.getCaminhoAte(vertices[1]).size());
+		assertTrue(pontoAPonto.getQuantidadeDeFinalizados() <= completo.getQuantidadeDeFinalizados());
+	}
+
+	@Test
+	void igualAoRelaxamentoExaustivoTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 60, 240, 7);
+		double[] esperadas = relaxarExaustivamente(vertices, 0);
+
+		Dijkstra dijkstra = new Dijkstra(grafo, vertices[0]);
+
+		for (int i = 0; i < vertices.length; i++) {
+			if (esperadas[i] == Double.POSITIVE_INFINITY) {
+				assertFalse(dijkstra.existeCaminhoAte(vertices[i]));
+				continue;
+			}
+			assertEquals(esperadas[i], dijkstra.getDistanciaEntre(vertices[i]), 0.001);
+			double soma = dijkstra.getArestasAte(vertices[i]).stream().mapToDouble(Aresta::peso).sum();
+			assertEquals(esperadas[i], soma, 0.001, "As arestas do caminho devem somar a distância");
+		}
+	}
+
+	@Test
+	void destinoInalcancavelTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, 2.0));
+
+		Dijkstra dijkstra = new Dijkstra(grafo, verticeA, verticeD);
+
+		assertEquals(Double.POSITIVE_INFINITY, dijkstra.getDistanciaEntre(verticeD));
+		assertFalse(dijkstra.existeCaminhoAte(verticeD));
+		assertTrue(dijkstra.getCaminhoAte(verticeD).isEmpty());
+		assertTrue(dijkstra.getArestasAte(verticeD).isEmpty());
+		assertEquals(3.0, dijkstra.getDistanciaEntre(verticeC), 0.001,
+				"Sem alcançar o destino, a busca finaliza todos os vértices alcançáveis");
+	}
+
+	@Test
+	void pesoNegativoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		grafo.addAresta(new Aresta("AB", verticeA, verticeB, -1.0));
+
+		assertThrows(IllegalArgumentException.class, () -> new Dijkstra(grafo, verticeA));
+	}
+
+	private double[] relaxarExaustivamente(Vertice[] vertices, int origem) {
+		List<Vertice> lista = Arrays.asList(vertices);
+		double[] distancias = new double[vertices.length];
+		Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+		distancias[origem] = 0.0;
+		for (int rodada = 0; rodada < vertices.length; rodada++) {
+			for (Aresta aresta : grafo.getArestas()) {
+				int o = lista.indexOf(aresta.origem());
+				int d = lista.indexOf(aresta.destino());
+				distancias[d] = Math.min(distancias[d], distancias[o] + aresta.peso());
+				if (!(grafo instanceof Digrafo)) {
+					distancias[o] = Math.min(distancias[o], distancias[d] + aresta.peso());
+				}
+			}
+		}
+		return distancias;
+	}
+}
@@ -0,0 +1,120 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.algoritmos.BellmanFord;
+import grafo.algoritmos.Dijkstra;
+import grafo.algoritmos.DistanciasEntreTodos;
+import grafo.algoritmos.DistanciasEntreTodos.Metodo;
+import grafo.digrafo.Digrafo;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class DistanciasEntreTodosTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void igualAoDijkstraTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 150, 900, 3);
+
+		DistanciasEntreTodos floydWarshall = new DistanciasEntreTodos(grafo, Metodo.FLOYD_WARSHALL);
+		DistanciasEntreTodos dijkstraRepetido = new DistanciasEntreTodos(grafo, Metodo.DIJKSTRA_REPETIDO);
+
+		for (int i = 0; i < vertices.length; i += 7) {
+			Dijkstra dijkstra = new Dijkstra(grafo, vertices[i]);
+			for (Vertice destino : vertices) {
+				double esperada = dijkstra.getDistanciaEntre(destino);
+				assertEquals(esperada, floydWarshall.getDistancia(vertices[i], destino), 0.001);
+				assertEquals(esperada, dijkstraRepetido.getDistancia(vertices[i], destino), 0.001);
+				verificarCaminho(floydWarshall, vertices[i], destino);
+				verificarCaminho(dijkstraRepetido, vertices[i], destino);
+			}
+		}
+	}
+
+	@Test
+	void pesosNegativosTest() {
+		assumeTrue(grafo instanceof Digrafo);
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 120, 500, 15, 9);
+
+		DistanciasEntreTodos floydWarshall = new DistanciasEntreTodos(grafo, Metodo.FLOYD_WARSHALL);
+		DistanciasEntreTodos johnson = new DistanciasEntreTodos(grafo, Metodo.DIJKSTRA_REPETIDO);
+
+		for (int i = 0; i < vertices.length; i += 11) {
+			BellmanFord bellmanFord = new BellmanFord((Digrafo) grafo, vertices[i]);
+			for (Vertice destino : vertices) {
+				assertEquals(bellmanFord.getDistanciaEntre(destino), floydWarshall.getDistancia(vertices[i], destino), 0.001);
+				assertEquals(bellmanFord.getDistanciaEntre(destino), johnson.getDistancia(vertices[i], destino), 0.001);
+				verificarCaminho(johnson, vertices[i], destino);
+			}
+		}
+	}
+
+	@Test
+	void cicloNegativoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, -3.0),
+				new Aresta("CA", verticeC, verticeA, 1.0));
+
+		for (Metodo metodo : Metodo.values()) {
+			assertThrows(IllegalArgumentException.class, () -> new DistanciasEntreTodos(grafo, metodo));
+		}
+	}
+
+	@Test
+	void matrizEEscolhaDoMetodoTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 40, 40 * 39, 5);
+		DistanciasEntreTodos denso = new DistanciasEntreTodos(grafo);
+		assertEquals(Metodo.FLOYD_WARSHALL, denso.getMetodo());
+
+		double[] matriz = denso.getMatrizDeDistancias();
+		List<Vertice> ordem = denso.getVertices();
+		assertEquals(vertices.length * vertices.length, matriz.length);
+		for (int i = 0; i < ordem.size(); i++) {
+			assertEquals(0.0, matriz[i * ordem.size() + i]);
+			assertEquals(denso.getDistancia(ordem.get(i), ordem.get(0)), matriz[i * ordem.size()]);
+		}
+
+		grafo.resetar();
+		GrafosAleatorios.preencher(grafo, 600, 1200, 5);
+		assertEquals(Metodo.DIJKSTRA_REPETIDO, new DistanciasEntreTodos(grafo).getMetodo());
+	}
+
+	private void verificarCaminho(DistanciasEntreTodos distancias, Vertice origem, Vertice destino) {
+		List<Vertice> caminho = distancias.getCaminho(origem, destino);
+		if (!distancias.existeCaminho(origem, destino)) {
+			assertTrue(caminho.isEmpty());
+			return;
+		}
+		assertEquals(origem, caminho.getFirst());
+		assertEquals(destino, caminho.getLast());
+		double soma = 0.0;
+		for (int j = 1; j < caminho.size(); j++) {
+			soma += grafo.encontrarArestas(caminho.get(j - 1), caminho.get(j)).stream()
+					.mapToDouble(Aresta::peso).min().orElseThrow();
+		}
+		assertEquals(distancias.getDistancia(origem, destino), soma, 0.001, "O caminho deve somar a distância");
+	}
+}
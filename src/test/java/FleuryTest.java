@@ -44,4 +44,30 @@ public class FleuryTest {
 
         assertEquals(grafo.getArestas(), Set.copyOf(caminho));
     }
+
+    @Test
+    void fleuryComPonteTest() {
+        Vertice verticeA = grafo.addVertice(new Vertice("A"));
+        Vertice verticeB = grafo.addVertice(new Vertice("B"));
+        Vertice verticeC = grafo.addVertice(new Vertice("C"));
+        Vertice verticeD = grafo.addVertice(new Vertice("D"));
+        Vertice verticeE = grafo.addVertice(new Vertice("E"));
+
+        grafo.addArestas(
+                new Aresta("AB", verticeA, verticeB),
+                new Aresta("BC", verticeB, verticeC),
+                new Aresta("CA", verticeC, verticeA),
+                new Aresta("CD", verticeC, verticeD),
+                new Aresta("DE", verticeD, verticeE),
+                new Aresta("EC", verticeE, verticeC));
+
+        List<Aresta> caminho = (new Fleury(grafo, verticeC)).getCaminhoEuleriano();
+
+        assertEquals(grafo.getArestas(), Set.copyOf(caminho));
+        Vertice atual = verticeC;
+        for (Aresta aresta : caminho) {
+            atual = aresta.oposto(atual);
+        }
+        assertEquals(verticeC, atual, "O circuito deve terminar no vértice inicial");
+    }
 }
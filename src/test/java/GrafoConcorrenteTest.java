@@ -0,0 +1,248 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Direcao;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+import grafo.digrafo.Digrafo;
+import grafo.digrafo.DigrafoPorLista;
+import grafo.nao_orientado.GrafoNaoDirecionadoPorLista;
+
+@ParameterizedClass
+@MethodSource("Provider#grafosConcorrentes")
+public class GrafoConcorrenteTest {
+	private static final int ESCRITORES = 4;
+
+	@Parameter
+	Grafo grafo;
+
+	ExecutorService executor;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+		executor = Executors.newFixedThreadPool(ESCRITORES + 2);
+	}
+
+	@AfterEach
+	void afterEach() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void escritoresELeitoresSimultaneosTest() throws Exception {
+		Vertice[] vertices = vertices(300);
+		int arestasPorEscritor = 2000;
+		AtomicBoolean escrevendo = new AtomicBoolean(true);
+
+		List<Future<?>> escritores = new ArrayList<>();
+		for (int e = 0; e < ESCRITORES; e++) {
+			int escritor = e;
+			escritores.add(executor.submit(() -> {
+				Random random = new Random(escritor);
+				for (int i = 0; i < arestasPorEscritor; i++) {
+					grafo.addAresta(new Aresta("E" + escritor + "_" + i, vertices[random.nextInt(vertices.length)],
+							vertices[random.nextInt(vertices.length)], i));
+				}
+				return null;
+			}));
+		}
+		// Só há inserções, então o grau lido de um vértice nunca pode diminuir
+		Callable<Void> leitor = () -> {
+			Random random = new Random(ESCRITORES);
+			long[] ultimos = new long[vertices.length];
+			while (escrevendo.get()) {
+				int i = random.nextInt(vertices.length);
+				if (grafo.existeVertice(vertices[i])) {
+					long grau = grafo.getGrauDeSaida(vertices[i]);
+					assertTrue(grau >= ultimos[i]);
+					ultimos[i] = grau;
+					assertTrue(grafo.getAdjacentes(vertices[i]).size() <= grafo.getGrauDeSaida(vertices[i]));
+				}
+			}
+			return null;
+		};
+		List<Future<?>> leitores = List.of(executor.submit(leitor), executor.submit(leitor));
+
+		for (Future<?> escritor : escritores) {
+			escritor.get();
+		}
+		escrevendo.set(false);
+		for (Future<?> l : leitores) {
+			l.get();
+		}
+
+		assertEquals(ESCRITORES * arestasPorEscritor, grafo.getArestas().size());
+		assertConsistente();
+	}
+
+	@Test
+	void rotuloDisputadoTest() throws Exception {
+		Vertice[] vertices = vertices(64);
+		AtomicInteger aceitas = new AtomicInteger();
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int e = 0; e < ESCRITORES; e++) {
+			int escritor = e;
+			tarefas.add(executor.submit(() -> {
+				for (int i = 0; i < 500; i++) {
+					try {
+						grafo.addAresta(new Aresta("A" + i, vertices[(i + escritor) % vertices.length],
+								vertices[(i * 7 + escritor) % vertices.length], 1.0));
+						aceitas.incrementAndGet();
+					} catch (IllegalArgumentException e1) {
+						// Outra thread inseriu o rótulo primeiro
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get();
+		}
+
+		assertEquals(500, aceitas.get());
+		assertEquals(500, grafo.getArestas().size());
+		assertConsistente();
+	}
+
+	@Test
+	void insercoesERemocoesSimultaneasTest() throws Exception {
+		Vertice[] vertices = vertices(100);
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int e = 0; e < ESCRITORES; e++) {
+			int escritor = e;
+			tarefas.add(executor.submit(() -> {
+				Random random = new Random(escritor);
+				for (int i = 0; i < 3000; i++) {
+					String label = "E" + escritor + "_" + random.nextInt(300);
+					if (grafo.existeAresta(label)) {
+						grafo.removeAresta(label);
+					} else {
+						grafo.addAresta(new Aresta(label, vertices[random.nextInt(vertices.length)],
+								vertices[random.nextInt(vertices.length)], 1.0));
+					}
+					if (i % 500 == 0) {
+						grafo.removeVertice(vertices[random.nextInt(vertices.length)]);
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get();
+		}
+
+		assertConsistente();
+	}
+
+	@Test
+	void congelarDuranteEscritasTest() throws Exception {
+		int arestasPorEscritor = 3000;
+		AtomicBoolean escrevendo = new AtomicBoolean(true);
+		List<Future<?>> escritores = new ArrayList<>();
+		for (int e = 0; e < ESCRITORES; e++) {
+			int escritor = e;
+			escritores.add(executor.submit(() -> {
+				// Cada aresta traz extremos novos, inseridos junto com ela
+				for (int i = 0; i < arestasPorEscritor; i++) {
+					grafo.addAresta(new Aresta("E" + escritor + "_" + i, new Vertice("O" + escritor + "_" + i),
+							new Vertice("D" + escritor + "_" + i), i));
+				}
+				return null;
+			}));
+		}
+		Future<Integer> leitor = executor.submit(() -> {
+			int congelamentos = 0;
+			while (escrevendo.get() || congelamentos == 0) {
+				GrafoCongelado congelado = grafo.congelar();
+				for (int id = 0; id < congelado.getQuantidadeDeVertices(); id++) {
+					for (int posicao = congelado.inicio(id); posicao < congelado.fim(id); posicao++) {
+						Aresta aresta = congelado.aresta(congelado.idAresta(posicao));
+						assertTrue(aresta.conecta(congelado.vertice(id), congelado.vertice(congelado.destino(posicao))));
+					}
+				}
+				congelamentos++;
+			}
+			return congelamentos;
+		});
+
+		for (Future<?> escritor : escritores) {
+			escritor.get();
+		}
+		escrevendo.set(false);
+		assertTrue(leitor.get() > 0);
+		assertEquals(ESCRITORES * arestasPorEscritor, grafo.congelar().getQuantidadeDeArestas());
+	}
+
+	@Test
+	void encontrarArestasComVerticeAusenteComoPorListaTest() {
+		Grafo porLista = grafo instanceof Digrafo ? new DigrafoPorLista() : new GrafoNaoDirecionadoPorLista();
+		Vertice a = new Vertice("A");
+		Vertice ausente = new Vertice("X");
+		grafo.addVertice(a);
+		porLista.addVertice(a);
+
+		if (porLista instanceof Digrafo) {
+			assertEquals(porLista.encontrarArestas(a, ausente), grafo.encontrarArestas(a, ausente));
+			assertEquals(porLista.encontrarArestas(ausente, a), grafo.encontrarArestas(ausente, a));
+		} else {
+			assertThrows(IllegalArgumentException.class, () -> grafo.encontrarArestas(a, ausente));
+			assertThrows(IllegalArgumentException.class, () -> grafo.encontrarArestas(ausente, a));
+		}
+	}
+
+	private Vertice[] vertices(int quantidade) {
+		Vertice[] vertices = new Vertice[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			vertices[i] = new Vertice("V" + i);
+		}
+		return vertices;
+	}
+
+	/**
+	 * Verifica que as adjacências, os graus e o índice de arestas concordam
+	 * depois que as threads terminaram.
+	 */
+	private void assertConsistente() {
+		Set<Aresta> arestas = grafo.getArestas();
+		Set<Aresta> incidentes = new HashSet<>();
+		long somaDosGraus = 0;
+		for (Vertice vertice : grafo.getVertices()) {
+			assertEquals(vertice, grafo.vertice(grafo.id(vertice)));
+			int saidas = 0;
+			for (Aresta aresta : grafo.getArestasIncidentes(vertice, Direcao.SAIDA)) {
+				assertTrue(arestas.contains(aresta));
+				incidentes.add(aresta);
+				saidas++;
+			}
+			if (grafo instanceof Digrafo) {
+				assertEquals(saidas, grafo.getGrauDeSaida(vertice));
+			}
+			somaDosGraus += grafo.getGrauDeSaida(vertice);
+		}
+		assertEquals(arestas, incidentes);
+		assertEquals(arestas.size() * (grafo instanceof Digrafo ? 1L : 2L), somaDosGraus);
+	}
+}
@@ -0,0 +1,152 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+import grafo.algoritmos.BFS;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class GrafoCongeladoTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void congelarTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB, 1.5),
+				new Aresta("BC", verticeB, verticeC, 2.5),
+				new Aresta("CC", verticeC, verticeC));
+
+		GrafoCongelado congelado = grafo.congelar();
+
+		assertEquals(4, congelado.getQuantidadeDeVertices(), "O grafo congelado deve ter 4 vértices");
+		assertEquals(3, congelado.getQuantidadeDeArestas(), "O grafo congelado deve ter 3 arestas");
+		assertEquals(-1, congelado.id(new Vertice("E")), "Vértice inexistente não deve ter id");
+
+		for (Vertice vertice : grafo.getVertices()) {
+			int id = congelado.id(vertice);
+			assertEquals(vertice, congelado.vertice(id), "O id deve levar de volta ao mesmo vértice");
+
+			Set<Vertice> vizinhos = new HashSet<>();
+			for (int posicao = congelado.inicio(id); posicao < congelado.fim(id); posicao++) {
+				vizinhos.add(congelado.vertice(congelado.destino(posicao)));
+				Aresta aresta = congelado.aresta(congelado.idAresta(posicao));
+				assertEquals(aresta.peso(), congelado.peso(posicao), "O peso deve ser o da aresta original");
+			}
+			assertEquals(grafo.getAdjacentes(vertice), vizinhos,
+					"Os vizinhos no grafo congelado devem ser os adjacentes de " + vertice.label());
+		}
+
+		assertEquals(grafo.componentesConexas(), congelado.componentesConexas(),
+				"O número de componentes conexas deve ser o mesmo");
+		assertFalse(congelado.ehConexo(), "O vértice D isolado torna o grafo desconexo");
+
+		grafo.addAresta(new Aresta("CD", verticeC, verticeD));
+		assertEquals(3, congelado.getQuantidadeDeArestas(), "O grafo congelado não deve mudar com o original");
+		assertTrue(grafo.congelar().ehConexo(), "O novo grafo congelado deve ser conexo");
+	}
+
+	@Test
+	void bfsNoGrafoCongeladoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC));
+
+		BFS bfs = new BFS(grafo.congelar(), verticeA);
+
+		assertEquals(2, bfs.getDistanciaEntre(verticeC), "A distância de A até C deve ser 2");
+		assertEquals(List.of(verticeA, verticeB, verticeC), bfs.getCaminhoAte(verticeC),
+				"O caminho de A até C deve passar por B");
+		assertFalse(bfs.existeCaminhoAte(verticeD), "Não deve existir caminho até D");
+		assertEquals(new BFS(grafo, verticeA).getResultado(), bfs.getResultado(),
+				"A BFS sobre o grafo e sobre o grafo congelado devem ter o mesmo resultado");
+	}
+
+	@Test
+	void transpostaTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("CB", verticeC, verticeB, 2));
+
+		GrafoCongelado congelado = grafo.congelar();
+		GrafoCongelado transposta = congelado.transposta();
+		int idB = transposta.id(verticeB);
+
+		Set<Vertice> chegamEmB = new HashSet<>();
+		for (int posicao = transposta.inicio(idB); posicao < transposta.fim(idB); posicao++) {
+			chegamEmB.add(transposta.vertice(transposta.destino(posicao)));
+		}
+		assertEquals(Set.of(verticeA, verticeC), chegamEmB, "A e C devem chegar em B");
+		assertEquals(congelado, transposta.transposta(), "A transposta da transposta deve ser o próprio grafo");
+	}
+
+	@Test
+	void bfsParalelaTest() {
+		Random random = new Random(42);
+		Vertice[] vertices = new Vertice[3000];
+		for (int i = 0; i < vertices.length; i++) {
+			vertices[i] = grafo.addVertice(new Vertice("V" + i));
+		}
+		for (int i = 0; i < vertices.length * 3; i++) {
+			grafo.addAresta(new Aresta("A" + i, vertices[random.nextInt(vertices.length)],
+					vertices[random.nextInt(vertices.length)]));
+		}
+
+		GrafoCongelado congelado = grafo.congelar();
+		BFS sequencial = new BFS(congelado, vertices[0]);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (boolean alternarDirecao : new boolean[] { false, true }) {
+				BFS paralela = new BFS(congelado, vertices[0], pool, alternarDirecao);
+
+				assertEquals(sequencial.getResultado().distancias(), paralela.getResultado().distancias(),
+						"As distâncias devem ser as mesmas da busca sequencial");
+				assertEquals(sequencial.getResultado().cores(), paralela.getResultado().cores(),
+						"Os vértices alcançados devem ser os mesmos da busca sequencial");
+				paralela.getResultado().antecessores().forEach((vertice, antecessor) -> {
+					assertEquals(paralela.getDistanciaEntre(antecessor) + 1, paralela.getDistanciaEntre(vertice),
+							"O antecessor deve estar no nível anterior");
+					assertTrue(grafo.getAdjacentes(antecessor).contains(vertice),
+							"O antecessor deve ter aresta para o vértice");
+				});
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
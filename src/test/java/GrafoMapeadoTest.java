@@ -0,0 +1,161 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.GrafoCongelado;
+import grafo.Vertice;
+import grafo.algoritmos.BFS;
+import grafo.algoritmos.DFS;
+import grafo.algoritmos.Dijkstra;
+import grafo.io.GrafoMapeado;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class GrafoMapeadoTest {
+	@Parameter
+	Grafo grafo;
+
+	@TempDir
+	Path diretorio;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void mesmoConteudoDoCongeladoTest() throws IOException {
+		GrafosAleatorios.preencher(grafo, 300, 1200, 11);
+		Vertice isolado = grafo.addVertice(new Vertice("isolado ç"));
+		grafo.addAresta(new Aresta("laço", isolado, isolado, 0.5));
+		// Rótulos maiores que o buffer de escrita
+		Vertice longo = grafo.addVertice(new Vertice("x".repeat(3 << 19)));
+		grafo.addAresta(new Aresta("y".repeat(3 << 19), longo, isolado, 2.0));
+		GrafoCongelado congelado = grafo.congelar();
+		Path arquivo = diretorio.resolve("grafo.bin");
+
+		GrafoMapeado.salvar(congelado, arquivo);
+		GrafoMapeado mapeado = GrafoMapeado.abrir(arquivo);
+
+		assertEquals(congelado.ehOrientado(), mapeado.ehOrientado());
+		assertEquals(congelado.getQuantidadeDeVertices(), mapeado.getQuantidadeDeVertices());
+		assertEquals(congelado.getQuantidadeDeArestas(), mapeado.getQuantidadeDeArestas());
+		for (int id = 0; id < congelado.getQuantidadeDeVertices(); id++) {
+			assertEquals(congelado.vertice(id), mapeado.vertice(id));
+			assertEquals(id, mapeado.id(congelado.vertice(id)));
+			assertEquals(congelado.inicio(id), mapeado.inicio(id));
+			assertEquals(congelado.fim(id), mapeado.fim(id));
+			for (int posicao = congelado.inicio(id); posicao < congelado.fim(id); posicao++) {
+				assertEquals(congelado.destino(posicao), mapeado.destino(posicao));
+				assertEquals(congelado.peso(posicao), mapeado.peso(posicao));
+				assertEquals(congelado.idAresta(posicao), mapeado.idAresta(posicao));
+			}
+		}
+		for (int aresta = 0; aresta < congelado.getQuantidadeDeArestas(); aresta++) {
+			assertEquals(congelado.aresta(aresta), mapeado.aresta(aresta));
+		}
+		assertEquals(-1, mapeado.id(new Vertice("inexistente")));
+		assertEquals(congelado.componentesConexas(), mapeado.componentesConexas());
+	}
+
+	@Test
+	void algoritmosSobreOArquivoTest() throws IOException {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 200, 600, 11);
+		Path arquivo = diretorio.resolve("grafo.bin");
+		GrafoMapeado.salvar(grafo, arquivo);
+		GrafoMapeado mapeado = GrafoMapeado.abrir(arquivo);
+
+		assertEquals(new BFS(grafo, vertices[0]).getResultado(), new BFS(mapeado, vertices[0]).getResultado());
+		assertEquals(new DFS(grafo).getResultado().descobertos().keySet(),
+				new DFS(mapeado).getResultado().descobertos().keySet());
+
+		Dijkstra esperado = new Dijkstra(grafo, vertices[0]);
+		Dijkstra obtido = new Dijkstra(mapeado, vertices[0]);
+		for (Vertice vertice : vertices) {
+			assertEquals(esperado.existeCaminhoAte(vertice), obtido.existeCaminhoAte(vertice));
+			if (esperado.existeCaminhoAte(vertice)) {
+				assertEquals(esperado.getDistanciaEntre(vertice), obtido.getDistanciaEntre(vertice), 1e-9);
+			}
+		}
+
+		GrafoCongelado transposta = mapeado.transposta();
+		GrafoCongelado transpostaEsperada = grafo.congelar().transposta();
+		for (int id = 0; id < transposta.getQuantidadeDeVertices(); id++) {
+			assertEquals(mapeado.vertice(id), transposta.vertice(id));
+			assertEquals(transpostaEsperada.inicio(id), transposta.inicio(id));
+			for (int posicao = transposta.inicio(id); posicao < transposta.fim(id); posicao++) {
+				assertEquals(transpostaEsperada.destino(posicao), transposta.destino(posicao));
+				assertEquals(transpostaEsperada.idAresta(posicao), transposta.idAresta(posicao));
+			}
+		}
+		assertEquals(mapeado, transposta.transposta());
+	}
+
+	@Test
+	void grafoVazioTest() throws IOException {
+		Path arquivo = diretorio.resolve("vazio.bin");
+		GrafoMapeado.salvar(grafo, arquivo);
+
+		GrafoMapeado mapeado = GrafoMapeado.abrir(arquivo);
+
+		assertEquals(0, mapeado.getQuantidadeDeVertices());
+		assertEquals(0, mapeado.getQuantidadeDeArestas());
+		assertEquals(-1, mapeado.id(new Vertice("A")));
+	}
+
+	@Test
+	void salvarSubstituiOArquivoAtomicamenteTest() throws IOException {
+		Path arquivo = diretorio.resolve("grafo.bin");
+		GrafosAleatorios.preencher(grafo, 50, 100, 11);
+		GrafoCongelado anterior = grafo.congelar();
+		GrafoMapeado.salvar(anterior, arquivo);
+		GrafoMapeado aberto = GrafoMapeado.abrir(arquivo);
+
+		grafo.addAresta(new Aresta("nova", new Vertice("V0"), new Vertice("novo"), 1.0));
+		GrafoMapeado.salvar(grafo, arquivo);
+
+		assertEquals(arestas(anterior), arestas(aberto), "Quem já tinha aberto o arquivo continua vendo a versão anterior");
+		assertEquals(grafo.getArestas(), arestas(GrafoMapeado.abrir(arquivo)));
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			assertEquals(List.of(arquivo), arquivos.toList(), "O arquivo temporário não deve sobrar");
+		}
+	}
+
+	@Test
+	void arquivoInvalidoTest() throws IOException {
+		Path curto = Files.writeString(diretorio.resolve("curto.bin"), "GRAF");
+		Path truncado = diretorio.resolve("truncado.bin");
+		GrafosAleatorios.preencher(grafo, 50, 100, 11);
+		GrafoMapeado.salvar(grafo, truncado);
+		byte[] bytes = Files.readAllBytes(truncado);
+		Files.write(truncado, Arrays.copyOf(bytes, bytes.length - 16));
+
+		assertThrows(IllegalArgumentException.class, () -> GrafoMapeado.abrir(curto));
+		assertThrows(IllegalArgumentException.class, () -> GrafoMapeado.abrir(truncado));
+	}
+
+	private static Set<Aresta> arestas(GrafoCongelado grafo) {
+		Set<Aresta> arestas = new HashSet<>();
+		for (int aresta = 0; aresta < grafo.getQuantidadeDeArestas(); aresta++) {
+			arestas.add(grafo.aresta(aresta));
+		}
+		return arestas;
+	}
+}
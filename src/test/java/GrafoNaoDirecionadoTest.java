@@ -1,3 +1,4 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -11,9 +12,13 @@ import org.junit.jupiter.params.Parameter;
 import org.junit.jupiter.params.ParameterizedClass;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.google.common.collect.Sets;
+
 import grafo.Aresta;
+import grafo.Direcao;
 import grafo.Vertice;
 import grafo.nao_orientado.GrafoNaoDirecionado;
+import grafo.nao_orientado.GrafoNaoDirecionadoPorMatriz;
 
 @ParameterizedClass
 @MethodSource("Provider#grafosNaoDirecionados")
@@ -112,6 +117,53 @@ public class GrafoNaoDirecionadoTest {
 		assertEquals(2, grafo.getGrau(verticeE), "Grau do vértice E deve ser 2 (laço)");
 	}
 
+	@Test
+	void getGrauAposRemocaoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CC", verticeC, verticeC));
+
+		assertArrayEquals(new long[] { 3, 2, 1 }, grafo.sequenciaDeGraus(), "Sequência de graus deve ser 3, 2, 1");
+
+		grafo.removeAresta("CC");
+		assertEquals(1, grafo.getGrau(verticeC), "Grau do vértice C deve ser 1 após remover o laço");
+
+		grafo.removeVertice(verticeB);
+		assertEquals(0, grafo.getGrau(verticeA), "Grau do vértice A deve ser 0 após remover B");
+		assertEquals(0, grafo.getGrau(verticeC), "Grau do vértice C deve ser 0 após remover B");
+		assertArrayEquals(new long[] { 0, 0 }, grafo.sequenciaDeGraus(), "Sequência de graus deve ser 0, 0");
+	}
+
+	@Test
+	void getArestasIncidentesTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		Aresta arestaAB = new Aresta("AB", verticeA, verticeB);
+		Aresta arestaCA = new Aresta("CA", verticeC, verticeA);
+		Aresta arestaAA = new Aresta("AA", verticeA, verticeA);
+
+		grafo.addArestas(arestaAB, arestaCA, arestaAA);
+
+		for (Direcao direcao : Direcao.values()) {
+			assertEquals(Set.of(arestaAB, arestaCA, arestaAA),
+					Sets.newHashSet(grafo.getArestasIncidentes(verticeA, direcao)),
+					"Todas as arestas de A devem ser incidentes na direção " + direcao);
+			assertEquals(Set.of(verticeA), Sets.newHashSet(grafo.getVizinhos(verticeC, direcao)),
+					"C deve ter apenas A como vizinho na direção " + direcao);
+		}
+
+		grafo.removeVertice(verticeA);
+		assertEquals(0, grafo.getArestas().size(), "Remover A deve remover todas as suas arestas");
+		assertEquals(0, grafo.getGrau(verticeB), "Grau do vértice B deve ser 0 após remover A");
+	}
+
 	@Test
 	void getGrauDeEntradaESaidaTest() {
 		Vertice verticeA = grafo.addVertice(new Vertice("A"));
@@ -199,4 +251,28 @@ public class GrafoNaoDirecionadoTest {
 		assertTrue(grafoUnido.existeAresta(verticeB, verticeA), "A aresta BA deve existir no grafo unido");
 		assertTrue(grafoUnido.existeAresta(verticeC, verticeC), "A aresta CC deve existir no grafo unido");
 	}
+
+	@Test
+	void vizinhosEmComumTest() {
+		assumeTrue(grafo instanceof GrafoNaoDirecionadoPorMatriz, "Apenas a representação por matriz");
+		GrafoNaoDirecionadoPorMatriz matriz = (GrafoNaoDirecionadoPorMatriz) grafo;
+
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AC", verticeA, verticeC),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("DA", verticeD, verticeA),
+				new Aresta("BD", verticeB, verticeD));
+
+		assertEquals(Set.of(verticeC, verticeD), matriz.vizinhosEmComum(verticeA, verticeB),
+				"Os vizinhos em comum de A e B devem ser C e D");
+
+		grafo.removeAresta("BD");
+		assertEquals(Set.of(verticeC), matriz.vizinhosEmComum(verticeA, verticeB),
+				"Após remover BD, o único vizinho em comum deve ser C");
+	}
 }
@@ -1,10 +1,13 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.util.Arrays;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -170,6 +173,55 @@ public class GrafoTest {
 		assertFalse(grafo.existeAresta(verticeA, verticeB), "Aresta entre A e B não deve existir após remoção total");
 	}
 
+	@Test
+	void idsDosVerticesTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("AC", verticeA, verticeC));
+
+		assertEquals(3, grafo.limiteDeIds(), "Os ids de 3 vértices devem ficar abaixo de 3");
+		assertEquals(Set.of(0, 1, 2), Set.of(grafo.id(verticeA), grafo.id(verticeB), grafo.id(verticeC)),
+				"Os ids devem ser densos");
+		assertEquals(verticeB, grafo.vertice(grafo.id(verticeB)), "O id deve levar de volta ao mesmo vértice");
+		assertEquals(-1, grafo.id(new Vertice("D")), "Vértice inexistente não deve ter id");
+		assertEquals(Set.of(grafo.id(verticeB), grafo.id(verticeC)),
+				Arrays.stream(grafo.adjacentesIds(grafo.id(verticeA))).boxed().collect(Collectors.toSet()),
+				"Os adjacentes de A devem ser B e C");
+		assertEquals(2, grafo.grau(grafo.id(verticeA)), "O grau de A deve ser 2");
+
+		int idB = grafo.id(verticeB);
+		grafo.removeVertice(verticeB);
+		assertThrows(IllegalArgumentException.class, () -> grafo.vertice(idB), "O id de B deve ficar livre");
+
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		assertEquals(idB, grafo.id(verticeD), "O id liberado por B deve ser reaproveitado");
+		assertEquals(3, grafo.limiteDeIds(), "Reaproveitar ids não deve aumentar o limite");
+
+		grafo.resetar();
+		assertEquals(0, grafo.limiteDeIds(), "O limite de ids deve voltar a zero após resetar");
+	}
+
+	@Test
+	void muitosVerticesTest() {
+		Vertice centro = grafo.addVertice(new Vertice("centro"));
+		for (int i = 0; i < 150; i++) {
+			grafo.addAresta(new Aresta("A" + i, centro, new Vertice("V" + i)));
+		}
+
+		Vertice ultimo = new Vertice("V149");
+		assertEquals(151, grafo.getVertices().size(), "O grafo deve ter 151 vértices");
+		assertTrue(grafo.existeAresta(centro, ultimo), "Aresta entre centro e V149 deve existir");
+		assertEquals(150, grafo.getAdjacentes(centro).size(), "O centro deve ter 150 adjacentes");
+
+		grafo.removeVertice(new Vertice("V100"));
+		assertEquals(149, grafo.getAdjacentes(centro).size(), "O centro deve ter 149 adjacentes após remoção");
+		assertTrue(grafo.existeAresta(centro, ultimo), "Aresta entre centro e V149 deve continuar existindo");
+	}
+
 	@Test
 	void getConectadosTest() {
 		Vertice verticeA = grafo.addVertice(new Vertice("A"));
@@ -0,0 +1,256 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Direcao;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.algoritmos.BFS;
+import grafo.digrafo.Digrafo;
+import grafo.digrafo.DigrafoVersionado;
+import grafo.nao_orientado.GrafoNaoDirecionadoVersionado;
+
+@ParameterizedClass
+@MethodSource("Provider#grafosVersionados")
+public class GrafoVersionadoTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void instantaneoNaoVeAlteracoesTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 200, 800, 3);
+		Grafo esperado = grafo.clonar();
+		Grafo instantaneo = instantaneo();
+		BFS bfsEsperada = new BFS(esperado, vertices[0]);
+
+		Random random = new Random(4);
+		for (int i = 0; i < 800; i += 3) {
+			grafo.removeAresta("E" + i);
+		}
+		for (int i = 0; i < 20; i++) {
+			grafo.removeVertice(vertices[random.nextInt(vertices.length)]);
+		}
+		for (int i = 0; i < 300; i++) {
+			grafo.addAresta(new Aresta("N" + i, new Vertice("N" + random.nextInt(50)),
+					vertices[random.nextInt(vertices.length)], 1.0));
+		}
+
+		assertEquals(esperado, instantaneo);
+		assertFalse(grafo.equals(instantaneo));
+		assertEquals(bfsEsperada.getResultado(), new BFS(instantaneo, vertices[0]).getResultado());
+		assertIdsConsistentes(instantaneo);
+		assertIdsConsistentes(grafo);
+
+		Grafo atual = grafo.clonar();
+		assertEquals(atual, instantaneo());
+	}
+
+	@Test
+	void instantaneosSucessivosTest() {
+		Random random = new Random(7);
+		List<Grafo> esperados = new ArrayList<>();
+		List<Grafo> instantaneos = new ArrayList<>();
+		// Rótulos com o mesmo hashCode, para que os mapas tenham colisões
+		String[] colisoes = { "AaAa", "AaBB", "BBAa", "BBBB" };
+		for (int rodada = 0; rodada < 10; rodada++) {
+			for (int i = 0; i < 50; i++) {
+				String label = random.nextInt(4) == 0 ? colisoes[random.nextInt(colisoes.length)] + random.nextInt(3)
+						: "E" + random.nextInt(200);
+				if (grafo.existeAresta(label)) {
+					grafo.removeAresta(label);
+				} else {
+					grafo.addAresta(new Aresta(label, new Vertice("V" + random.nextInt(40)),
+							new Vertice("V" + random.nextInt(40)), random.nextInt(10)));
+				}
+			}
+			esperados.add(grafo.clonar());
+			instantaneos.add(instantaneo());
+		}
+
+		for (int i = 0; i < esperados.size(); i++) {
+			assertEquals(esperados.get(i), instantaneos.get(i));
+			assertIdsConsistentes(instantaneos.get(i));
+			for (Vertice vertice : esperados.get(i).getVertices()) {
+				assertEquals(esperados.get(i).getGrauDeSaida(vertice), instantaneos.get(i).getGrauDeSaida(vertice));
+				assertEquals(esperados.get(i).getGrauDeEntrada(vertice),
+						instantaneos.get(i).getGrauDeEntrada(vertice));
+			}
+		}
+	}
+
+	@Test
+	void instantaneoSomenteLeituraTest() {
+		Vertice a = grafo.addVertice(new Vertice("A"));
+		Grafo instantaneo = instantaneo();
+
+		assertThrows(UnsupportedOperationException.class, () -> instantaneo.addVertice(new Vertice("B")));
+		assertThrows(UnsupportedOperationException.class,
+				() -> instantaneo.addAresta(new Aresta("AA", a, a, 1.0)));
+		assertThrows(UnsupportedOperationException.class, () -> instantaneo.removeVertice(a));
+		assertSame(instantaneo, instantaneo(instantaneo));
+
+		Grafo copia = instantaneo.clonar();
+		copia.addVertice(new Vertice("B"));
+		assertEquals(2, copia.getVertices().size());
+		assertEquals(1, instantaneo.getVertices().size());
+	}
+
+	@Test
+	void idsDoInstantaneoNaoMudamTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 300, 0, 6);
+		Grafo instantaneo = instantaneo();
+		Vertice[] porId = new Vertice[instantaneo.limiteDeIds()];
+		for (int id = 0; id < porId.length; id++) {
+			porId[id] = instantaneo.vertice(id);
+		}
+
+		// Os ids removidos são reaproveitados, em blocos já compartilhados e novos
+		for (int i = 0; i < vertices.length; i += 3) {
+			grafo.removeVertice(vertices[i]);
+		}
+		for (int i = 0; i < 150; i++) {
+			grafo.addVertice(new Vertice("N" + i));
+		}
+
+		for (int id = 0; id < porId.length; id++) {
+			assertSame(porId[id], instantaneo.vertice(id));
+		}
+		assertIdsConsistentes(instantaneo);
+		assertIdsConsistentes(grafo);
+		assertIdsConsistentes(instantaneo());
+	}
+
+	@Test
+	void consultasPontuaisNaoTrocamAVersaoTest() throws ReflectiveOperationException {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 50, 200, 9);
+		Object versao = versao(grafo);
+		for (int i = 0; i < 200; i++) {
+			Vertice origem = vertices[i % vertices.length];
+			Vertice destino = new Vertice("N" + i);
+			assertFalse(grafo.existeVertice(destino));
+			assertTrue(grafo.getGrauDeSaida(origem) >= 0);
+			grafo.encontrarAresta(origem, vertices[i * 7 % vertices.length]);
+			grafo.addAresta(new Aresta("N" + i, origem, destino, 1.0));
+			assertTrue(grafo.existeVertice(destino));
+			if (i % 2 == 0) {
+				grafo.removeAresta("E" + i);
+			}
+		}
+		// Sem troca de versão, as alterações foram feitas no lugar
+		assertSame(versao, versao(grafo));
+
+		grafo.getArestas();
+		assertFalse(versao == versao(grafo));
+	}
+
+	@Test
+	void removerDuranteIteracaoTest() {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 50, 200, 8);
+		for (Aresta aresta : grafo.getArestasIncidentes(vertices[0], Direcao.AMBAS)) {
+			grafo.removeAresta(aresta.label());
+		}
+		assertEquals(0, grafo.getGrauDeSaida(vertices[0]));
+		assertEquals(0, grafo.getGrauDeEntrada(vertices[0]));
+
+		for (Aresta aresta : grafo.getArestas()) {
+			grafo.removeAresta(aresta.label());
+		}
+		assertTrue(grafo.getArestas().isEmpty());
+
+		for (Vertice vertice : grafo.getVertices()) {
+			grafo.removeVertice(vertice);
+		}
+		assertTrue(grafo.getVertices().isEmpty());
+	}
+
+	@Test
+	void leitoresDeInstantaneosDuranteAlteracoesTest() throws Exception {
+		Vertice[] vertices = GrafosAleatorios.preencher(grafo, 100, 300, 1);
+		AtomicBoolean alterando = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> escritor = executor.submit(() -> {
+				Random random = new Random(2);
+				for (int i = 0; i < 20_000; i++) {
+					String label = "E" + random.nextInt(600);
+					if (grafo.existeAresta(label)) {
+						grafo.removeAresta(label);
+					} else {
+						grafo.addAresta(new Aresta(label, vertices[random.nextInt(vertices.length)],
+								vertices[random.nextInt(vertices.length)], 1.0));
+					}
+				}
+				alterando.set(false);
+			});
+			Future<Integer> leitor = executor.submit(() -> {
+				int leituras = 0;
+				while (alterando.get() || leituras == 0) {
+					Grafo instantaneo = instantaneo();
+					long somaDosGraus = 0;
+					for (Vertice vertice : instantaneo.getVertices()) {
+						somaDosGraus += instantaneo.getGrauDeSaida(vertice);
+						for (Aresta aresta : instantaneo.getArestasIncidentes(vertice, Direcao.SAIDA)) {
+							assertTrue(instantaneo.existeAresta(aresta.label()));
+						}
+					}
+					int fator = instantaneo instanceof Digrafo ? 1 : 2;
+					assertEquals((long) fator * instantaneo.getArestas().size(), somaDosGraus);
+					new BFS(instantaneo, vertices[0]);
+					leituras++;
+				}
+				return leituras;
+			});
+			escritor.get();
+			assertTrue(leitor.get() > 0);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Grafo instantaneo() {
+		return instantaneo(grafo);
+	}
+
+	private static Grafo instantaneo(Grafo grafo) {
+		return grafo instanceof DigrafoVersionado digrafo
+				? digrafo.instantaneo()
+				: ((GrafoNaoDirecionadoVersionado) grafo).instantaneo();
+	}
+
+	private static Object versao(Grafo grafo) throws ReflectiveOperationException {
+		Field versao = grafo.getClass().getDeclaredField("versao");
+		versao.setAccessible(true);
+		return versao.get(grafo);
+	}
+
+	private void assertIdsConsistentes(Grafo grafo) {
+		for (Vertice vertice : grafo.getVertices()) {
+			int id = grafo.id(vertice);
+			assertTrue(id >= 0 && id < grafo.limiteDeIds());
+			assertEquals(vertice, grafo.vertice(id));
+		}
+	}
+}
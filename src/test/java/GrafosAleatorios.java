@@ -0,0 +1,52 @@
+import java.util.Random;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+
+public abstract class GrafosAleatorios {
+    /**
+     * Preenche o grafo com os vértices V0, V1, ... e as arestas E0, E1, ...
+     * entre vértices sorteados, com pesos entre 0 e 99,9. A mesma semente gera
+     * sempre o mesmo grafo.
+     *
+     * @return os vértices, na ordem dos rótulos
+     */
+    public static Vertice[] preencher(Grafo grafo, int quantidadeDeVertices, int quantidadeDeArestas, long semente) {
+        return preencher(grafo, quantidadeDeVertices, quantidadeDeArestas, 0, semente);
+    }
+
+    /**
+     * Como {@link #preencher(Grafo, int, int, long)}, mas com uma parte das
+     * arestas com peso negativo. Com arestas negativas, toda aresta vai do
+     * vértice de menor índice para o de maior, então um digrafo não tem ciclos
+     * negativos.
+     *
+     * @param percentualNegativo o percentual aproximado de arestas negativas
+     */
+    public static Vertice[] preencher(Grafo grafo, int quantidadeDeVertices, int quantidadeDeArestas,
+            int percentualNegativo, long semente) {
+        Random random = new Random(semente);
+        Vertice[] vertices = new Vertice[quantidadeDeVertices];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = grafo.addVertice(new Vertice("V" + i));
+        }
+        for (int i = 0; i < quantidadeDeArestas; i++) {
+            int origem = random.nextInt(vertices.length);
+            int destino = random.nextInt(vertices.length);
+            double peso = random.nextInt(1000) / 10.0;
+            if (percentualNegativo > 0) {
+                if (origem > destino) {
+                    int troca = origem;
+                    origem = destino;
+                    destino = troca;
+                }
+                if (random.nextInt(100) < percentualNegativo && origem != destino) {
+                    peso = -peso;
+                }
+            }
+            grafo.addAresta(new Aresta("E" + i, vertices[origem], vertices[destino], peso));
+        }
+        return vertices;
+    }
+}
@@ -0,0 +1,106 @@
+import grafo.Aresta;
+import grafo.Vertice;
+import grafo.algoritmos.BellmoreNemhauser;
+import grafo.algoritmos.HeldKarp;
+import grafo.nao_orientado.GrafoNaoDirecionado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ParameterizedClass
+@MethodSource("Provider#grafosNaoDirecionados")
+public class HeldKarpTest {
+    @Parameter
+    GrafoNaoDirecionado grafo;
+
+    @BeforeEach
+    void beforeEach() {
+        grafo.resetar();
+    }
+
+    @Test
+    void testGrafoCompleto3Vertices() {
+        Vertice v1 = grafo.addVertice(new Vertice("1"));
+        Vertice v2 = grafo.addVertice(new Vertice("2"));
+        Vertice v3 = grafo.addVertice(new Vertice("3"));
+
+        grafo.addArestas(
+                new Aresta("12", v1, v2, 1.0),
+                new Aresta("13", v1, v3, 4.0),
+                new Aresta("23", v2, v3, 2.0));
+
+        HeldKarp heldKarp = new HeldKarp(grafo, v1);
+
+        assertEquals(7.0, heldKarp.getMelhorCusto(), 0.001, "Custo mínimo deve ser 7.0");
+        assertEquals(4, heldKarp.getCaminhoHamiltonianoVertices().size(), "Caminho deve ter 4 vértices");
+        assertEquals(3, heldKarp.getCaminhoHamiltonianoArestas().size(), "Ciclo deve ter 3 arestas");
+    }
+
+    @Test
+    void testSemCicloHamiltoniano() {
+        Vertice v1 = grafo.addVertice(new Vertice("1"));
+        Vertice v2 = grafo.addVertice(new Vertice("2"));
+        Vertice v3 = grafo.addVertice(new Vertice("3"));
+
+        grafo.addArestas(
+                new Aresta("12", v1, v2, 1.0),
+                new Aresta("23", v2, v3, 2.0));
+
+        HeldKarp heldKarp = new HeldKarp(grafo, v1);
+
+        assertEquals(Double.MAX_VALUE, heldKarp.getMelhorCusto(), "Um caminho não tem ciclo hamiltoniano");
+        assertTrue(heldKarp.getCaminhoHamiltonianoVertices().isEmpty(), "Não deve haver ciclo");
+    }
+
+    @Test
+    void testIgualAoBellmoreNemhauser() {
+        Random random = new Random(5);
+        Vertice[] vertices = new Vertice[10];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = grafo.addVertice(new Vertice("V" + i));
+        }
+        for (int i = 0; i < vertices.length; i++) {
+            for (int j = i + 1; j < vertices.length; j++) {
+                if (j == i + 1 || random.nextInt(4) > 0) {
+                    grafo.addAresta(new Aresta("V" + i + "V" + j, vertices[i], vertices[j], 1 + random.nextInt(50)));
+                }
+            }
+        }
+
+        double custoOtimo = new BellmoreNemhauser(grafo, vertices[3]).getMelhorCusto();
+
+        for (HeldKarp.Armazenamento armazenamento : HeldKarp.Armazenamento.values()) {
+            HeldKarp heldKarp = new HeldKarp(grafo, vertices[3], armazenamento);
+            List<Vertice> caminho = heldKarp.getCaminhoHamiltonianoVertices();
+
+            assertEquals(custoOtimo, heldKarp.getMelhorCusto(), 0.001,
+                    "O custo com armazenamento " + armazenamento + " deve ser o ótimo");
+            assertEquals(vertices[3], caminho.getFirst(), "Deve começar no vértice inicial");
+            assertEquals(vertices[3], caminho.getLast(), "Deve terminar no vértice inicial");
+            assertEquals(vertices.length, caminho.stream().distinct().count(), "Deve passar por todos os vértices");
+            assertEquals(custoOtimo, heldKarp.getCaminhoHamiltonianoArestas().stream().mapToDouble(Aresta::peso).sum(),
+                    0.001, "As arestas devem somar o custo do ciclo");
+        }
+    }
+
+    @Test
+    void testRecusaGrafoAcimaDoLimite() {
+        Vertice anterior = grafo.addVertice(new Vertice("V0"));
+        for (int i = 1; i < 26; i++) {
+            Vertice vertice = grafo.addVertice(new Vertice("V" + i));
+            grafo.addAresta(new Aresta("E" + i, anterior, vertice, 1.0));
+            anterior = vertice;
+        }
+        Vertice inicial = new Vertice("V0");
+
+        assertThrows(IllegalArgumentException.class, () -> new HeldKarp(grafo, inicial),
+                "A tabela de 26 vértices não cabe na memória e deve ser recusada");
+    }
+}
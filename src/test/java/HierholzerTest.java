@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.algoritmos.Hierholzer;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class HierholzerTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void circuitoEulerianoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		Vertice verticeE = grafo.addVertice(new Vertice("E"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CA", verticeC, verticeA),
+				new Aresta("CD", verticeC, verticeD),
+				new Aresta("DE", verticeD, verticeE),
+				new Aresta("EC", verticeE, verticeC),
+				new Aresta("EE", verticeE, verticeE));
+
+		List<Aresta> caminho = new Hierholzer(grafo, verticeA).getCaminhoEuleriano();
+
+		assertEquals(grafo.getArestas(), Set.copyOf(caminho), "O circuito deve usar todas as arestas");
+		assertEquals(verticeA, percorrer(verticeA, caminho), "O circuito deve terminar no vértice inicial");
+	}
+
+	@Test
+	void caminhoEulerianoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CA", verticeC, verticeA),
+				new Aresta("CD", verticeC, verticeD));
+
+		List<Aresta> caminho = new Hierholzer(grafo).getCaminhoEuleriano();
+
+		assertEquals(grafo.getArestas(), Set.copyOf(caminho), "O caminho deve usar todas as arestas");
+		Vertice inicio = caminho.getFirst().label().equals("CD") ? verticeD : verticeC;
+		assertEquals(inicio.equals(verticeC) ? verticeD : verticeC, percorrer(inicio, caminho),
+				"O caminho deve ligar C e D");
+		assertThrows(IllegalArgumentException.class, () -> new Hierholzer(grafo, verticeA),
+				"O caminho não pode começar em um vértice de grau par");
+	}
+
+	@Test
+	void cicloLongoTest() {
+		Vertice primeiro = grafo.addVertice(new Vertice("V0"));
+		Vertice anterior = primeiro;
+		for (int i = 1; i < 5_000; i++) {
+			Vertice atual = new Vertice("V" + i);
+			grafo.addAresta(new Aresta("A" + i, anterior, atual));
+			anterior = atual;
+		}
+		grafo.addAresta(new Aresta("A0", anterior, primeiro));
+
+		List<Aresta> caminho = new Hierholzer(grafo, primeiro).getCaminhoEuleriano();
+
+		assertEquals(5_000, caminho.size(), "O circuito deve usar todas as arestas");
+		assertEquals(primeiro, percorrer(primeiro, caminho), "O circuito deve terminar no vértice inicial");
+	}
+
+	private static Vertice percorrer(Vertice inicio, List<Aresta> caminho) {
+		Vertice atual = inicio;
+		for (Aresta aresta : caminho) {
+			atual = aresta.oposto(atual);
+		}
+		return atual;
+	}
+}
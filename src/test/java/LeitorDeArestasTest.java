@@ -0,0 +1,169 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.io.LeitorDeArestas;
+import grafo.io.LeitorDeArestas.Formato;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class LeitorDeArestasTest {
+	@Parameter
+	Grafo grafo;
+
+	@TempDir
+	Path diretorio;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void leituraCsvTest() throws IOException {
+		Path arquivo = escrever("arestas.csv", """
+				label,origem,destino,peso
+				AB,A,B,1
+				BC , B , C , -2.5\r
+
+				CA,C,A,1e3
+				São,São Paulo,A,0.1
+				AA,A,A,007""");
+
+		assertSame(grafo, LeitorDeArestas.ler(arquivo, () -> grafo));
+
+		Vertice verticeA = new Vertice("A");
+		Vertice verticeB = new Vertice("B");
+		Vertice verticeC = new Vertice("C");
+		Vertice saoPaulo = new Vertice("São Paulo");
+		assertEquals(4, grafo.getVertices().size());
+		assertEquals(new Aresta("AB", verticeA, verticeB, 1.0), grafo.encontrarAresta("AB"));
+		assertEquals(new Aresta("BC", verticeB, verticeC, -2.5), grafo.encontrarAresta("BC"));
+		assertEquals(new Aresta("CA", verticeC, verticeA, 1000.0), grafo.encontrarAresta("CA"));
+		assertEquals(new Aresta("São", saoPaulo, verticeA, 0.1), grafo.encontrarAresta("São"));
+		assertEquals(new Aresta("AA", verticeA, verticeA, 7.0), grafo.encontrarAresta("AA"));
+		assertEquals(5, grafo.getArestas().size());
+		assertEquals(List.of(verticeA, verticeB, verticeC, saoPaulo),
+				List.of(grafo.vertice(0), grafo.vertice(1), grafo.vertice(2), grafo.vertice(3)));
+	}
+
+	@Test
+	void leituraTsvTest() throws IOException {
+		Path arquivo = escrever("arestas.tsv", "AB\tA\tB\t2\nBA\tB\tA\t3\n");
+		assertEquals(Formato.TSV, Formato.de(arquivo));
+
+		LeitorDeArestas.ler(arquivo, () -> grafo);
+
+		assertEquals(2, grafo.getVertices().size());
+		assertEquals(3.0, grafo.encontrarAresta("BA").peso());
+	}
+
+	@Test
+	void igualAoInseridoUmAUmTest() throws IOException {
+		// Mais de um bloco de leitura, com linhas partidas entre blocos
+		Random random = new Random(7);
+		Grafo esperado = grafo.clonar();
+		StringBuilder conteudo = new StringBuilder();
+		for (int i = 0; i < 60_000; i++) {
+			Vertice origem = new Vertice("v" + random.nextInt(5_000));
+			Vertice destino = new Vertice("v" + random.nextInt(5_000));
+			double peso = random.nextInt(100_000) / 100.0;
+			esperado.addAresta(new Aresta("e" + i, origem, destino, peso));
+			conteudo.append("e").append(i).append(',').append(origem.label()).append(',')
+					.append(destino.label()).append(',').append(peso).append('\n');
+		}
+		Path arquivo = escrever("grande.csv", conteudo.toString());
+
+		LeitorDeArestas.ler(arquivo, () -> grafo);
+
+		assertEquals(esperado, grafo);
+	}
+
+	@Test
+	void linhaMaiorQueOBlocoTest() throws IOException {
+		String rotulo = "x".repeat(3 << 20);
+		Path arquivo = escrever("longa.csv", "AB,A,B,1\nlonga," + rotulo + ",A,2\n");
+
+		LeitorDeArestas.ler(arquivo, () -> grafo);
+
+		assertTrue(grafo.existeVertice(new Vertice(rotulo)));
+		assertEquals(2, grafo.getArestas().size());
+	}
+
+	@Test
+	void linhasInvalidasTest() throws IOException {
+		Path camposAMais = escrever("a.csv", "AB,A,B,1\nBC,B,C,1,9\n");
+		Path semOrigem = escrever("b.csv", "AB,,B,1\n");
+		Path pesoInvalido = escrever("c.csv", "AB,A,B,um\n");
+		Path labelRepetido = escrever("d.csv", "AB,A,B,1\nAB,B,C,1\n");
+
+		IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+				() -> LeitorDeArestas.ler(camposAMais, () -> grafo));
+		assertTrue(erro.getMessage().startsWith("Linha 2"));
+		assertThrows(IllegalArgumentException.class, () -> LeitorDeArestas.ler(semOrigem, () -> grafo));
+		assertThrows(IllegalArgumentException.class, () -> LeitorDeArestas.ler(pesoInvalido, () -> grafo));
+		erro = assertThrows(IllegalArgumentException.class, () -> LeitorDeArestas.ler(labelRepetido, () -> grafo));
+		assertTrue(erro.getMessage().startsWith("Linha 2"));
+	}
+
+	@Test
+	void addEmLoteTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = new Vertice("B");
+		Vertice verticeC = new Vertice("C");
+
+		grafo.addEmLote(List.of(verticeB, verticeC), List.of(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, 2.0)));
+
+		assertEquals(3, grafo.getVertices().size());
+		assertTrue(grafo.existeAresta(verticeA, verticeB));
+		assertEquals(1, grafo.getGrauDeSaida(verticeA));
+		assertThrows(IllegalArgumentException.class,
+				() -> grafo.addEmLote(List.of(), List.of(new Aresta("AB", verticeA, verticeC))));
+		assertThrows(IllegalArgumentException.class,
+				() -> grafo.addEmLote(List.of(), List.of(new Aresta("AD", verticeA, new Vertice("D")))));
+	}
+
+	@Test
+	void addEmLoteInvalidoNaoAlteraOGrafoTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = new Vertice("B");
+		Vertice verticeC = new Vertice("C");
+
+		assertThrows(IllegalArgumentException.class, () -> grafo.addEmLote(List.of(verticeB, verticeC), List.of(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, 2.0),
+				new Aresta("AB", verticeC, verticeA, 3.0))));
+		assertThrows(IllegalArgumentException.class, () -> grafo.addEmLote(List.of(verticeB), List.of(
+				new Aresta("AB", verticeA, verticeB, 1.0),
+				new Aresta("BC", verticeB, verticeC, 2.0))));
+
+		assertEquals(Set.of(verticeA), grafo.getVertices());
+		assertTrue(grafo.getArestas().isEmpty());
+		assertEquals(0, grafo.getGrauDeSaida(verticeA));
+	}
+
+	private Path escrever(String nome, String conteudo) throws IOException {
+		return Files.writeString(diretorio.resolve(nome), conteudo, StandardCharsets.UTF_8);
+	}
+}
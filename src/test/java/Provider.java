@@ -2,23 +2,37 @@ import java.util.stream.Stream;
 
 import grafo.Grafo;
 import grafo.digrafo.Digrafo;
+import grafo.digrafo.DigrafoConcorrente;
 import grafo.digrafo.DigrafoPorLista;
 import grafo.digrafo.DigrafoPorMatriz;
+import grafo.digrafo.DigrafoVersionado;
 import grafo.nao_orientado.GrafoNaoDirecionado;
+import grafo.nao_orientado.GrafoNaoDirecionadoConcorrente;
 import grafo.nao_orientado.GrafoNaoDirecionadoPorLista;
 import grafo.nao_orientado.GrafoNaoDirecionadoPorMatriz;
+import grafo.nao_orientado.GrafoNaoDirecionadoVersionado;
 
 public abstract class Provider {
     public static Stream<Digrafo> digrafos() {
-        return Stream.of(new DigrafoPorLista(), new DigrafoPorMatriz());
+        return Stream.of(new DigrafoPorLista(), new DigrafoPorLista(false), new DigrafoPorMatriz(),
+                new DigrafoConcorrente(), new DigrafoVersionado());
     }
 
     public static Stream<GrafoNaoDirecionado> grafosNaoDirecionados() {
-        return Stream.of(new GrafoNaoDirecionadoPorLista(), new GrafoNaoDirecionadoPorMatriz());
+        return Stream.of(new GrafoNaoDirecionadoPorLista(), new GrafoNaoDirecionadoPorMatriz(),
+                new GrafoNaoDirecionadoConcorrente(), new GrafoNaoDirecionadoVersionado());
     }
 
     public static Stream<Grafo> grafos() {
         return Stream.concat(digrafos(), grafosNaoDirecionados());
     }
 
+    public static Stream<Grafo> grafosConcorrentes() {
+        return Stream.of(new DigrafoConcorrente(), new GrafoNaoDirecionadoConcorrente());
+    }
+
+    public static Stream<Grafo> grafosVersionados() {
+        return Stream.of(new DigrafoVersionado(), new GrafoNaoDirecionadoVersionado());
+    }
+
 }
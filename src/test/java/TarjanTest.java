@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.Parameter;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.Vertice;
+import grafo.algoritmos.Tarjan;
+
+@ParameterizedClass
+@MethodSource("Provider#grafos")
+public class TarjanTest {
+	@Parameter
+	Grafo grafo;
+
+	@BeforeEach
+	void beforeEach() {
+		grafo.resetar();
+	}
+
+	@Test
+	void pontesEArticulacoesTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		Vertice verticeE = grafo.addVertice(new Vertice("E"));
+		Vertice verticeF = grafo.addVertice(new Vertice("F"));
+
+		Aresta arestaCD = new Aresta("CD", verticeC, verticeD);
+		Aresta arestaDE = new Aresta("DE", verticeD, verticeE);
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CA", verticeC, verticeA),
+				arestaCD,
+				arestaDE,
+				new Aresta("EE", verticeE, verticeE),
+				new Aresta("F1", verticeF, verticeE),
+				new Aresta("F2", verticeF, verticeE));
+
+		Tarjan tarjan = new Tarjan(grafo);
+
+		assertEquals(Set.of(arestaCD, arestaDE), tarjan.getPontes(), "As pontes devem ser CD e DE");
+		assertEquals(Set.of(verticeC, verticeD, verticeE), tarjan.getPontosDeArticulacao(),
+				"Os pontos de articulação devem ser C, D e E");
+	}
+
+	@Test
+	void removerArestaTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+
+		Aresta arestaAB = new Aresta("AB", verticeA, verticeB);
+		Aresta arestaBC = new Aresta("BC", verticeB, verticeC);
+		Aresta arestaCA = new Aresta("CA", verticeC, verticeA);
+		grafo.addArestas(arestaAB, arestaBC, arestaCA);
+
+		Tarjan tarjan = new Tarjan(grafo);
+		assertFalse(tarjan.ehPonte(arestaAB), "Em um triângulo nenhuma aresta é ponte");
+
+		tarjan.removerAresta(arestaCA);
+		assertTrue(tarjan.ehPonte(arestaAB), "Sem CA, AB deve ser ponte");
+		assertTrue(tarjan.ehPontoDeArticulacao(verticeB), "Sem CA, B deve ser ponto de articulação");
+		assertEquals(Set.of(arestaAB, arestaBC), tarjan.getPontes(), "Sem CA, as pontes devem ser AB e BC");
+		assertFalse(grafo.ehPonte(arestaAB), "O grafo original não deve ser afetado pela análise");
+	}
+
+	@Test
+	void ehPonteDoGrafoConcordaComTarjanTest() {
+		Vertice verticeA = grafo.addVertice(new Vertice("A"));
+		Vertice verticeB = grafo.addVertice(new Vertice("B"));
+		Vertice verticeC = grafo.addVertice(new Vertice("C"));
+		Vertice verticeD = grafo.addVertice(new Vertice("D"));
+		Vertice verticeE = grafo.addVertice(new Vertice("E"));
+		Vertice verticeF = grafo.addVertice(new Vertice("F"));
+		grafo.addVertice(new Vertice("G"));
+
+		grafo.addArestas(
+				new Aresta("AB", verticeA, verticeB),
+				new Aresta("BC", verticeB, verticeC),
+				new Aresta("CA", verticeC, verticeA),
+				new Aresta("CD", verticeC, verticeD),
+				new Aresta("ED", verticeE, verticeD),
+				new Aresta("EE", verticeE, verticeE),
+				new Aresta("F1", verticeF, verticeE),
+				new Aresta("F2", verticeE, verticeF));
+
+		Tarjan tarjan = new Tarjan(grafo);
+		for (Aresta aresta : grafo.getArestas()) {
+			assertEquals(tarjan.ehPonte(aresta), grafo.ehPonte(aresta),
+					"Grafo e Tarjan devem concordar sobre a aresta " + aresta.label());
+		}
+	}
+}